@@ -0,0 +1,59 @@
+# PowerShell script to check SQL query budgets of key endpoints (CI)
+# Start the backend first: mvn -Pci spring-boot:run -Dspring-boot.run.profiles=prod,ci
+# Budgets are configured in application.properties (app.query-budget.endpoints); in the ci profile
+# an endpoint over its budget answers 500, which makes this script exit with code 1.
+param(
+    [string]$BaseUrl = "http://localhost:8080",
+    [int]$StartupTimeoutSeconds = 180
+)
+
+# Wait until the application (including the CI seeders) is ready
+$deadline = (Get-Date).AddSeconds($StartupTimeoutSeconds)
+$ready = $false
+while ((Get-Date) -lt $deadline) {
+    try {
+        $health = Invoke-RestMethod -Uri "$BaseUrl/actuator/health/readiness" -TimeoutSec 5
+        if ($health.status -eq "UP") {
+            $ready = $true
+            break
+        }
+    } catch {
+        # Not started yet
+    }
+    Start-Sleep -Seconds 2
+}
+if (-not $ready) {
+    Write-Host "Backend not ready after $StartupTimeoutSeconds seconds"
+    exit 1
+}
+
+$requests = @(
+    @{ Method = "GET";  Path = "/api/pemilihan/search-paged?page=0&size=10" },
+    @{ Method = "GET";  Path = "/api/pemilihan/search?keyword=CI" },
+    @{ Method = "POST"; Path = "/api/laporan/search"; Body = '{"page":0,"size":10}' },
+    @{ Method = "GET";  Path = "/api/komunikasi/feed?page=0&size=10" },
+    @{ Method = "GET";  Path = "/api/detail-laporan/user/1?page=0&size=10" }
+)
+
+$failed = 0
+foreach ($request in $requests) {
+    $uri = "$BaseUrl$($request.Path)"
+    try {
+        if ($request.Body) {
+            $response = Invoke-WebRequest -Uri $uri -Method $request.Method -Body $request.Body -ContentType "application/json" -UseBasicParsing
+        } else {
+            $response = Invoke-WebRequest -Uri $uri -Method $request.Method -UseBasicParsing
+        }
+        Write-Host "OK    $($request.Method) $($request.Path): $($response.Headers['X-Query-Count']) queries"
+    } catch {
+        $failed++
+        $status = $_.Exception.Response.StatusCode.value__
+        Write-Host "FAIL  $($request.Method) $($request.Path): HTTP $status $($_.ErrorDetails.Message)"
+    }
+}
+
+if ($failed -gt 0) {
+    Write-Host "$failed endpoint(s) over budget or failing"
+    exit 1
+}
+Write-Host "All endpoints within their query budgets"
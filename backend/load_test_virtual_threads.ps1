@@ -0,0 +1,89 @@
+# PowerShell 7 load test to compare platform-thread and virtual-thread request handling
+# Run it twice against the same endpoint, once per mode, and compare the two result files:
+#   VIRTUAL_THREADS_ENABLED=false -> pwsh ./load_test_virtual_threads.ps1 -Label platform
+#   VIRTUAL_THREADS_ENABLED=true  -> pwsh ./load_test_virtual_threads.ps1 -Label virtual -CompareWith target/loadtest-platform.json
+# Pick an endpoint that blocks on I/O (database or wilayah API), otherwise both modes look the same.
+param(
+    [string]$BaseUrl = "http://localhost:8080",
+    [string]$Path = "/api/pemilihan/search-paged?page=0&size=10",
+    [string]$Token = "",
+    [int]$Concurrency = 400,
+    [int]$Requests = 4000,
+    [int]$TimeoutSeconds = 60,
+    [string]$Label = "run",
+    [string]$CompareWith = ""
+)
+
+if ($PSVersionTable.PSVersion.Major -lt 7) {
+    Write-Host "PowerShell 7 or newer is required (ForEach-Object -Parallel)"
+    exit 1
+}
+
+$uri = "$BaseUrl$Path"
+$perWorker = [math]::Ceiling($Requests / $Concurrency)
+Write-Host "[$Label] $Requests x GET $uri with $Concurrency concurrent clients"
+
+# Warm up caches and the connection pool so both runs start from the same state
+$headers = @{}
+if ($Token) { $headers.Authorization = "Bearer $Token" }
+for ($i = 0; $i -lt 20; $i++) {
+    try { Invoke-WebRequest -Uri $uri -Headers $headers -UseBasicParsing -TimeoutSec $TimeoutSeconds | Out-Null } catch { }
+}
+
+$started = Get-Date
+$samples = 1..$Concurrency | ForEach-Object -ThrottleLimit $Concurrency -Parallel {
+    $client = [System.Net.Http.HttpClient]::new()
+    $client.Timeout = [TimeSpan]::FromSeconds($using:TimeoutSeconds)
+    if ($using:Token) {
+        $client.DefaultRequestHeaders.Authorization = [System.Net.Http.Headers.AuthenticationHeaderValue]::new("Bearer", $using:Token)
+    }
+    for ($i = 0; $i -lt $using:perWorker; $i++) {
+        $watch = [System.Diagnostics.Stopwatch]::StartNew()
+        $status = 0
+        try {
+            $response = $client.GetAsync($using:uri).GetAwaiter().GetResult()
+            $status = [int]$response.StatusCode
+            $response.Dispose()
+        } catch {
+            # Timeout or connection refused
+        }
+        [pscustomobject]@{ Millis = $watch.Elapsed.TotalMilliseconds; Status = $status }
+    }
+    $client.Dispose()
+}
+$elapsedSeconds = ((Get-Date) - $started).TotalSeconds
+
+$ok = @($samples | Where-Object { $_.Status -ge 200 -and $_.Status -lt 400 })
+$latencies = @($ok | ForEach-Object { $_.Millis } | Sort-Object)
+function Percentile($sorted, $p) {
+    if ($sorted.Count -eq 0) { return 0 }
+    return [math]::Round($sorted[[math]::Min($sorted.Count - 1, [math]::Floor($sorted.Count * $p))], 1)
+}
+
+$result = [pscustomobject]@{
+    Label         = $Label
+    Path          = $Path
+    Concurrency   = $Concurrency
+    Requests      = $samples.Count
+    Errors        = $samples.Count - $ok.Count
+    Seconds       = [math]::Round($elapsedSeconds, 1)
+    Throughput    = [math]::Round($ok.Count / $elapsedSeconds, 1)
+    P50Millis     = Percentile $latencies 0.50
+    P95Millis     = Percentile $latencies 0.95
+    P99Millis     = Percentile $latencies 0.99
+}
+$result | Format-List
+
+New-Item -ItemType Directory -Force -Path "target" | Out-Null
+$resultFile = "target/loadtest-$Label.json"
+$result | ConvertTo-Json | Set-Content -Path $resultFile
+Write-Host "Saved to $resultFile"
+
+if ($CompareWith) {
+    $baseline = Get-Content -Path $CompareWith | ConvertFrom-Json
+    Write-Host ""
+    Write-Host ("{0,-12} {1,14} {2,14}" -f "", $baseline.Label, $result.Label)
+    foreach ($metric in "Throughput", "P50Millis", "P95Millis", "P99Millis", "Errors") {
+        Write-Host ("{0,-12} {1,14} {2,14}" -f $metric, $baseline.$metric, $result.$metric)
+    }
+}
@@ -0,0 +1,40 @@
+package com.shadcn.backend.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kodepos seed file line parsing, per line of a typical INSERT block: mostly value rows,
+ * plus the statement header and a comment that must be skipped.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataSeederBenchmark {
+
+    private static final String[] LINES = {
+        "-- Data kodepos Jawa Tengah",
+        "INSERT INTO wilayah_kodepos (kode, kodepos) VALUES",
+        "('33.74.01.1001', '50131'),",
+        "('33.74.01.1002', '50132'),",
+        "('33.74.01.1003', '50133'),",
+        "('33.74.01.1004', '50134'),",
+        "('33.74.01.1005', '50135'),",
+        "('33.74.01.1006', '50136'),",
+        "('33.74.01.1007', '50137'),",
+        "('33.74.01.1008', '50138')"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void parseKodeposLine(Blackhole blackhole) {
+        for (String line : LINES) {
+            blackhole.consume(DataSeeder.parseKodeposLine(line));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.shadcn.backend.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shadcn.backend.model.Biografi;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the biografi list page and the komunikasi feed, with the ObjectMapper
+ * configured like spring.jackson.* in application.properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter writer;
+    private BiografiResponse biografi;
+    private List<BiografiResponse> biografiPage;
+    private PostKomunikasiDTO post;
+    private List<PostKomunikasiDTO> feed;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        writer = objectMapper.writer();
+
+        biografi = biografi(1L);
+        biografiPage = new ArrayList<>();
+        post = post(1L);
+        feed = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            biografiPage.add(biografi(id));
+            feed.add(post(id));
+        }
+    }
+
+    @Benchmark
+    public byte[] biografiResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(biografi);
+    }
+
+    @Benchmark
+    public byte[] biografiResponsePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(biografiPage);
+    }
+
+    @Benchmark
+    public byte[] postKomunikasi() throws JsonProcessingException {
+        return writer.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] postKomunikasiFeed() throws JsonProcessingException {
+        return writer.writeValueAsBytes(feed);
+    }
+
+    private static BiografiResponse biografi(long id) {
+        List<WorkExperienceRequest> workExperiences = new ArrayList<>();
+        workExperiences.add(new WorkExperienceRequest("Dokter Umum", "RSUP Dr. Kariadi",
+            LocalDate.of(2015, 3, 1), LocalDate.of(2019, 6, 30), "Pelayanan poliklinik umum"));
+        workExperiences.add(new WorkExperienceRequest("Dokter Spesialis", "RS Telogorejo",
+            LocalDate.of(2019, 7, 1), null, "Spesialis penyakit dalam"));
+
+        return new BiografiResponse(id, "Alumni " + id, "2201" + id, "alumni" + id + "@example.com", "081234567890",
+            LocalDate.of(1990, 5, 12), "Semarang", "LAKI_LAKI", "Islam",
+            LocalDate.of(2014, 8, 20), "Kedokteran", "3.65",
+            workExperiences, LocalDate.of(2015, 3, 1),
+            null, "Dokter Spesialis", "RS Telogorejo",
+            "Jl. Pandanaran No. " + id, "Semarang", "Jawa Tengah", "Lulusan terbaik angkatan", "Membaca, bersepeda",
+            "@alumni" + id, null, "alumni-" + id + ".jpg", Biografi.StatusBiografi.AKTIF,
+            LocalDateTime.of(2024, 1, 15, 9, 30), LocalDateTime.of(2024, 6, 2, 14, 5));
+    }
+
+    private static PostKomunikasiDTO post(long id) {
+        PostKomunikasiDTO post = new PostKomunikasiDTO();
+        post.setPostId(id);
+        post.setKonten("Reuni akbar angkatan 2014 akan diadakan bulan depan di aula fakultas. Mohon konfirmasi kehadiran.");
+        post.setBiografiId(id);
+        post.setAuthorName("Alumni " + id);
+        post.setAuthorPhoto("alumni-" + id + ".jpg");
+        post.setAuthorJurusan("Kedokteran");
+        post.setAuthorAlumniTahun("2014");
+        post.setLikeCount(12);
+        post.setDislikeCount(1);
+        post.setCommentCount(3);
+        post.setUserReaction("LIKE");
+        post.setStatus("ACTIVE");
+        post.setCreatedAt(LocalDateTime.of(2024, 6, 2, 14, 5));
+        post.setUpdatedAt(LocalDateTime.of(2024, 6, 2, 14, 5));
+
+        for (int i = 1; i <= 2; i++) {
+            MediaPostDTO media = new MediaPostDTO();
+            media.setMediaId(id * 10 + i);
+            media.setPostId(id);
+            media.setMediaUrl("/api/files/komunikasi/" + id + "-" + i + ".jpg");
+            media.setMediaType("IMAGE");
+            media.setMediaOrder(i);
+            media.setMimeType("image/jpeg");
+            media.setFileSize(245_760L);
+            media.setCreatedAt(LocalDateTime.of(2024, 6, 2, 14, 5));
+            post.getMedia().add(media);
+        }
+
+        post.getRecentReactions().add(new ReactionSummaryDTO("LIKE", "\uD83D\uDC4D", 12, "Alumni 2", null));
+
+        for (int i = 1; i <= 3; i++) {
+            PostCommentDTO comment = new PostCommentDTO();
+            comment.setCommentId(id * 10 + i);
+            comment.setPostId(id);
+            comment.setBiografiId((long) i);
+            comment.setAuthorName("Alumni " + i);
+            comment.setKonten("Siap hadir!");
+            comment.setStatus("ACTIVE");
+            comment.setCreatedAt(LocalDateTime.of(2024, 6, 2, 15, i));
+            post.getRecentComments().add(comment);
+        }
+        return post;
+    }
+}
@@ -0,0 +1,58 @@
+package com.shadcn.backend.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parsing that runs on every authenticated request, before any repository lookup.
+ * The invalid token measures the exception path taken for garbage Authorization headers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthServiceBenchmark {
+
+    @Param({"user", "pegawai", "invalid"})
+    private String tokenType;
+
+    private AuthService authService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // Token parsing never touches the repositories, the password encoder or the metrics
+        authService = new AuthService(null, null, null, null);
+        token = switch (tokenType) {
+            case "user" -> encode("42:admin:$2a$10$N9qo");
+            case "pegawai" -> encode("P1207:pegawai.semarang:$2a$10$7EqJ");
+            default -> "not-a-base64-token!";
+        };
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return authService.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public boolean isPegawaiToken() {
+        return authService.isPegawaiToken(token);
+    }
+
+    // Both calls, as AuthService.getUserFromToken makes them
+    @Benchmark
+    public void userIdAndType(Blackhole blackhole) {
+        blackhole.consume(authService.getUserIdFromToken(token));
+        blackhole.consume(authService.isPegawaiToken(token));
+    }
+
+    private static String encode(String tokenData) {
+        return Base64.getEncoder().encodeToString(tokenData.getBytes());
+    }
+}
@@ -0,0 +1,154 @@
+package com.shadcn.backend.service;
+
+import com.shadcn.backend.dto.PemilihanDTO;
+import com.shadcn.backend.model.DetailPemilihan;
+import com.shadcn.backend.model.JenisLaporan;
+import com.shadcn.backend.model.Laporan;
+import com.shadcn.backend.model.Pemilihan;
+import com.shadcn.backend.repository.DetailPemilihanRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PemilihanService.convertToDTO with the wilayah lists served from memory, so the numbers
+ * cover the DTO mapping and the linear name lookups but not the wilayah API or the database.
+ * The lists have realistic sizes (38 provinces, 35 regencies, 25 districts, 20 villages).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PemilihanServiceBenchmark {
+
+    private static final int DETAIL_COUNT = 5;
+
+    @Param({"KOTA", "KELURAHAN"})
+    private Pemilihan.TingkatPemilihan tingkat;
+
+    private PemilihanService pemilihanService;
+    private Pemilihan pemilihan;
+
+    @Setup
+    public void setUp() {
+        pemilihan = new Pemilihan();
+        pemilihan.setPemilihanId(1L);
+        pemilihan.setNamaPemilihan("Pemilihan Walikota Semarang");
+        pemilihan.setDeskripsiPemilihan("Pemantauan pemilihan tingkat kota");
+        pemilihan.setTahun(2024);
+        pemilihan.setTanggalMulai(LocalDateTime.of(2024, 11, 1, 8, 0));
+        pemilihan.setTanggalSelesai(LocalDateTime.of(2024, 11, 27, 17, 0));
+        pemilihan.setTingkatPemilihan(tingkat);
+        pemilihan.setStatus(Pemilihan.StatusPemilihan.AKTIF);
+        pemilihan.setProvinsiId("33");
+        pemilihan.setKotaId("33.74");
+        pemilihan.setKecamatanId("33.74.25");
+        pemilihan.setKelurahanId("33.74.25.1020");
+        pemilihan.setRt("003");
+        pemilihan.setRw("007");
+        pemilihan.setAlamatLokasi("Jl. Pemuda No. 1");
+
+        pemilihanService = new PemilihanService();
+        ReflectionTestUtils.setField(pemilihanService, "wilayahService", new FixtureWilayahService());
+        ReflectionTestUtils.setField(pemilihanService, "detailPemilihanRepository", detailRepository(details(pemilihan)));
+    }
+
+    @Benchmark
+    public PemilihanDTO convertToDTO() {
+        return pemilihanService.convertToDTO(pemilihan);
+    }
+
+    private static List<DetailPemilihan> details(Pemilihan pemilihan) {
+        JenisLaporan jenisLaporan = new JenisLaporan();
+        jenisLaporan.setJenisLaporanId(1L);
+        jenisLaporan.setNama("Laporan Harian");
+
+        List<DetailPemilihan> details = new ArrayList<>();
+        for (int i = 1; i <= DETAIL_COUNT; i++) {
+            Laporan laporan = new Laporan();
+            laporan.setLaporanId((long) i);
+            laporan.setNamaLaporan("Laporan " + i);
+            laporan.setJenisLaporan(jenisLaporan);
+
+            DetailPemilihan detail = new DetailPemilihan();
+            detail.setDetailPemilihanId((long) i);
+            detail.setPemilihan(pemilihan);
+            detail.setLaporan(laporan);
+            detail.setUrutanTampil(i);
+            detail.setPosisiLayout(i);
+            detail.setKeterangan("Keterangan " + i);
+            details.add(detail);
+        }
+        return details;
+    }
+
+    // Only the query convertToDTO runs is answered; anything else is a benchmark bug
+    private static DetailPemilihanRepository detailRepository(List<DetailPemilihan> details) {
+        return (DetailPemilihanRepository) Proxy.newProxyInstance(
+            DetailPemilihanRepository.class.getClassLoader(),
+            new Class<?>[] {DetailPemilihanRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findByPemilihanIdWithLaporanOrderByUrutan")) {
+                    return details;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    /**
+     * Wilayah lists in the shape of the wilayah.id responses, built once.
+     */
+    static class FixtureWilayahService extends WilayahService {
+
+        private final Map<String, Object> provinces = response("33", 38, "Provinsi");
+        private final Map<String, Map<String, Object>> children = new HashMap<>();
+
+        FixtureWilayahService() {
+            children.put("33", response("33.74", 35, "Kota"));
+            children.put("33.74", response("33.74.25", 25, "Kecamatan"));
+            children.put("33.74.25", response("33.74.25.1020", 20, "Kelurahan"));
+        }
+
+        @Override
+        public Map<String, Object> getProvinces() {
+            return provinces;
+        }
+
+        @Override
+        public Map<String, Object> getRegencies(String provinceCode) {
+            return children.get(provinceCode);
+        }
+
+        @Override
+        public Map<String, Object> getDistricts(String regencyCode) {
+            return children.get(regencyCode);
+        }
+
+        @Override
+        public Map<String, Object> getVillages(String districtCode) {
+            return children.get(districtCode);
+        }
+
+        private static Map<String, Object> response(String target, int count, String label) {
+            List<Map<String, Object>> data = new ArrayList<>();
+            for (int i = 1; i < count; i++) {
+                data.add(Map.of("code", target + "-" + i, "name", label + " " + i));
+            }
+            // The looked-up code comes last: the worst case for the linear scan
+            data.add(Map.of("code", target, "name", label + " " + target));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("data", data);
+            return response;
+        }
+    }
+}
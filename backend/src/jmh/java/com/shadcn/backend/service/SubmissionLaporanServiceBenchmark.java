@@ -0,0 +1,27 @@
+package com.shadcn.backend.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SubmissionLaporanService.parseDate for each accepted format. Later formats pay for the
+ * failed attempts before them, and an unparseable value pays for all three.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubmissionLaporanServiceBenchmark {
+
+    @Param({"2024-08-17", "17/08/2024", "17-08-2024", "17 Agustus 2024"})
+    private String tanggal;
+
+    @Benchmark
+    public LocalDate parseDate() {
+        return SubmissionLaporanService.parseDate(tanggal);
+    }
+}
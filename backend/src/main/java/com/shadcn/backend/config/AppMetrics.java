@@ -0,0 +1,63 @@
+package com.shadcn.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters and timers for the application's hot operations, exported with the rest of the
+ * actuator metrics (/actuator/prometheus).
+ *
+ * All metric names and tags are defined here so services only report what happened. Tag values
+ * come from fixed sets (never user input) to keep the number of time series bounded.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param account user, pegawai or unknown
+     * @param outcome success, invalid_password, inactive or not_found
+     */
+    public void login(String account, String outcome) {
+        meterRegistry.counter("app.auth.logins", "account", account, "outcome", outcome).increment();
+    }
+
+    public void submissionCreated(boolean success) {
+        meterRegistry.counter("app.submissions.created", "outcome", success ? "success" : "failure").increment();
+    }
+
+    /**
+     * @param target post or comment
+     */
+    public void reactionToggled(String target, Object previousType, Object currentType) {
+        String result = previousType == null ? "added" : currentType == null ? "removed" : "changed";
+        meterRegistry.counter("app.reactions.toggled", "target", target, "result", result).increment();
+    }
+
+    /**
+     * One call to the WhatsApp API.
+     *
+     * @param mode single or bulk
+     * @param sent messages the API accepted
+     * @param failed messages the API rejected, or all of them when the call failed
+     */
+    public void whatsAppRequest(String mode, boolean success, int sent, int failed, long startNanos) {
+        Timer.builder("app.whatsapp.requests")
+            .tag("mode", mode)
+            .tag("outcome", success ? "success" : "failure")
+            .register(meterRegistry)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (sent > 0) {
+            meterRegistry.counter("app.whatsapp.messages", "mode", mode, "outcome", "sent").increment(sent);
+        }
+        if (failed > 0) {
+            meterRegistry.counter("app.whatsapp.messages", "mode", mode, "outcome", "failed").increment(failed);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.shadcn.backend.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.shadcn.backend.service.WilayahService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Spring cache manager with an explicit policy per cache.
+ *
+ * Only the caches declared here exist; a @Cacheable with an unknown name fails instead of
+ * silently creating an unbounded cache. Every cache records statistics, which Spring Boot
+ * binds to the actuator metrics (cache.gets, cache.puts, cache.evictions, cache.size).
+ *
+ * Wilayah lists hardly ever change, so they live for days and are refreshed in the background
+ * once they are older than the refresh interval; readers keep getting the cached list while
+ * the reload runs, and a failed reload keeps the old one.
+ */
+@Configuration
+@Slf4j
+public class CacheConfig {
+
+    public static final String PROVINCES = "provinces";
+    public static final String REGENCIES = "regencies";
+    public static final String DISTRICTS = "districts";
+    public static final String VILLAGES = "villages";
+    public static final String BIOGRAFI = "biografi";
+
+    @Value("${app.cache.wilayah.expire-after-write:7d}")
+    private Duration wilayahExpireAfterWrite;
+
+    @Value("${app.cache.wilayah.refresh-after-write:24h}")
+    private Duration wilayahRefreshAfterWrite;
+
+    // Upper bound on cached wilayah list items (one weight unit per region in a list)
+    @Value("${app.cache.wilayah.max-items:200000}")
+    private long wilayahMaxItems;
+
+    @Value("${app.cache.biografi.expire-after-write:5m}")
+    private Duration biografiExpireAfterWrite;
+
+    @Value("${app.cache.biografi.max-pages:200}")
+    private long biografiMaxPages;
+
+    private final AtomicInteger refreshThreadCounter = new AtomicInteger();
+
+    // Background reloads call the wilayah.id API; keep them off the common pool
+    private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "cache-refresh-" + refreshThreadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<WilayahService> wilayahService) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // No dynamic caches: only the ones registered below
+        cacheManager.setCacheNames(List.of());
+
+        cacheManager.registerCustomCache(PROVINCES, wilayahCache(1000,
+                key -> wilayahService.getObject().fetchProvinces()));
+        cacheManager.registerCustomCache(REGENCIES, wilayahCache(wilayahMaxItems / 20,
+                key -> wilayahService.getObject().fetchRegencies((String) key)));
+        cacheManager.registerCustomCache(DISTRICTS, wilayahCache(wilayahMaxItems / 4,
+                key -> wilayahService.getObject().fetchDistricts((String) key)));
+        cacheManager.registerCustomCache(VILLAGES, wilayahCache(wilayahMaxItems,
+                key -> wilayahService.getObject().fetchVillages((String) key)));
+
+        // Biografi list pages (DTOs only), evicted on every biografi write
+        cacheManager.registerCustomCache(BIOGRAFI, Caffeine.newBuilder()
+                .maximumSize(biografiMaxPages)
+                .expireAfterWrite(biografiExpireAfterWrite)
+                .recordStats()
+                .build());
+
+        log.info("Cache manager configured with caches {}", cacheManager.getCacheNames());
+        return cacheManager;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private LoadingCache<Object, Object> wilayahCache(
+            long maxItems, Function<Object, Map<String, Object>> fetch) {
+        return Caffeine.newBuilder()
+                .maximumWeight(Math.max(maxItems, 1))
+                .weigher((Object key, Object value) -> weight(value))
+                .expireAfterWrite(wilayahExpireAfterWrite)
+                .refreshAfterWrite(wilayahRefreshAfterWrite)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(new WilayahLoader(fetch));
+    }
+
+    // Number of regions in a wilayah API response, at least 1
+    private static int weight(Object value) {
+        if (value instanceof Map<?, ?> response && response.get("data") instanceof List<?> data) {
+            return Math.max(data.size(), 1);
+        }
+        return 1;
+    }
+
+    /**
+     * Loads wilayah lists through the uncached WilayahService methods. Error responses are
+     * never cached: a miss returns null so the @Cacheable method runs and reports the error,
+     * and a failed refresh keeps the previous list.
+     */
+    private record WilayahLoader(Function<Object, Map<String, Object>> fetch) implements CacheLoader<Object, Object> {
+
+        @Override
+        public Object load(Object key) {
+            Map<String, Object> response = fetch.apply(key);
+            return isError(response) ? null : response;
+        }
+
+        @Override
+        public Object reload(Object key, Object oldValue) {
+            Map<String, Object> response = fetch.apply(key);
+            if (isError(response)) {
+                log.warn("Wilayah cache refresh failed for key {}, keeping cached value", key);
+                return oldValue;
+            }
+            return response;
+        }
+
+        private static boolean isError(Map<String, Object> response) {
+            return response == null || Boolean.TRUE.equals(response.get("error"));
+        }
+    }
+}
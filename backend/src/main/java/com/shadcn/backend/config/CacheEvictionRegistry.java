@@ -0,0 +1,62 @@
+package com.shadcn.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which writes invalidate which caches.
+ *
+ * Services call {@link #evict(String)} with their writer name instead of naming caches
+ * themselves, so the full write-to-cache mapping is kept in one place. Inside a transaction
+ * the caches are cleared after commit; a reader in between would otherwise cache the
+ * pre-commit state again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheEvictionRegistry {
+
+    public static final String BIOGRAFI_WRITE = "biografi-write";
+
+    // Wilayah caches have no writer here: they only expire or are refreshed from the API
+    private static final Map<String, List<String>> EVICTIONS = Map.of(
+            BIOGRAFI_WRITE, List.of(CacheConfig.BIOGRAFI));
+
+    private final CacheManager cacheManager;
+
+    public void evict(String writer) {
+        List<String> cacheNames = EVICTIONS.get(writer);
+        if (cacheNames == null) {
+            throw new IllegalArgumentException("Unknown cache writer: " + writer);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(writer, cacheNames);
+                }
+            });
+        } else {
+            clear(writer, cacheNames);
+        }
+    }
+
+    private void clear(String writer, List<String> cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.debug("Caches {} cleared after {}", cacheNames, writer);
+    }
+}
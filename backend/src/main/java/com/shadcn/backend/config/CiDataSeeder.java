@@ -0,0 +1,156 @@
+package com.shadcn.backend.config;
+
+import com.shadcn.backend.model.*;
+import com.shadcn.backend.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed data set for the ci profile, so the query budgets in application.properties are
+ * checked against pages that are actually full: every listing in check_query_budget.ps1
+ * returns at least one page of rows with their relations (detail laporan, media, submissions).
+ */
+@Component
+@Profile("ci")
+@RequiredArgsConstructor
+@Slf4j
+public class CiDataSeeder implements CommandLineRunner {
+
+    private static final int PEMILIHAN_COUNT = 12;
+    private static final int LAPORAN_PER_PEMILIHAN = 3;
+    private static final int BIOGRAFI_COUNT = 5;
+    private static final int POST_COUNT = 15;
+    private static final int SUBMISSION_COUNT = 15;
+
+    private final PegawaiRepository pegawaiRepository;
+    private final JenisLaporanRepository jenisLaporanRepository;
+    private final TahapanLaporanRepository tahapanLaporanRepository;
+    private final LaporanRepository laporanRepository;
+    private final PemilihanRepository pemilihanRepository;
+    private final DetailPemilihanRepository detailPemilihanRepository;
+    private final SubmissionLaporanRepository submissionLaporanRepository;
+    private final BiografiRepository biografiRepository;
+    private final PostKomunikasiRepository postKomunikasiRepository;
+    private final MediaPostRepository mediaPostRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        if (pemilihanRepository.count() > 0) {
+            log.info("CI data already present, skipping");
+            return;
+        }
+
+        Pegawai pegawai = new Pegawai();
+        pegawai.setUsername("ci.pegawai");
+        pegawai.setPassword("ci-password-not-used");
+        pegawai.setFullName("Pegawai CI");
+        pegawai.setEmail("ci.pegawai@example.com");
+        pegawai.setRole("PEGAWAI");
+        pegawai.setStatus(Pegawai.PegawaiStatus.AKTIF);
+        pegawai = pegawaiRepository.save(pegawai);
+
+        JenisLaporan jenisLaporan = new JenisLaporan();
+        jenisLaporan.setNama("Laporan Pengawasan");
+        jenisLaporan = jenisLaporanRepository.save(jenisLaporan);
+
+        TahapanLaporan tahapan = new TahapanLaporan();
+        tahapan.setNama("Tahapan Pemungutan Suara");
+        tahapan.setJenisLaporan(jenisLaporan);
+        tahapan = tahapanLaporanRepository.save(tahapan);
+
+        List<Laporan> laporanList = new ArrayList<>();
+        for (int i = 1; i <= LAPORAN_PER_PEMILIHAN; i++) {
+            Laporan laporan = new Laporan();
+            laporan.setNamaLaporan("Laporan CI " + i);
+            laporan.setUserId(1L);
+            laporan.setJenisLaporan(jenisLaporan);
+            laporanList.add(laporan);
+        }
+        laporanList = laporanRepository.saveAll(laporanList);
+
+        List<Pemilihan> pemilihanList = new ArrayList<>();
+        List<DetailPemilihan> details = new ArrayList<>();
+        for (int i = 1; i <= PEMILIHAN_COUNT; i++) {
+            Pemilihan pemilihan = new Pemilihan();
+            pemilihan.setNamaPemilihan("Pemilihan CI " + i);
+            pemilihan.setTahun(2024);
+            pemilihan.setTingkatPemilihan(Pemilihan.TingkatPemilihan.KOTA);
+            pemilihan.setStatus(Pemilihan.StatusPemilihan.AKTIF);
+            pemilihan.setTanggalMulai(LocalDateTime.of(2024, 11, 1, 8, 0));
+            pemilihan.setTanggalSelesai(LocalDateTime.of(2024, 11, 27, 17, 0));
+            pemilihan.setProvinsiId("33");
+            pemilihan.setKotaId("33.74");
+            pemilihan.setUserId(1L);
+            pemilihanList.add(pemilihan);
+
+            for (int urutan = 1; urutan <= laporanList.size(); urutan++) {
+                DetailPemilihan detail = new DetailPemilihan();
+                detail.setPemilihan(pemilihan);
+                detail.setLaporan(laporanList.get(urutan - 1));
+                detail.setUrutanTampil(urutan);
+                detail.setPosisiLayout(urutan);
+                details.add(detail);
+            }
+        }
+        pemilihanList = pemilihanRepository.saveAll(pemilihanList);
+        detailPemilihanRepository.saveAll(details);
+
+        List<SubmissionLaporan> submissions = new ArrayList<>();
+        for (int i = 1; i <= SUBMISSION_COUNT; i++) {
+            SubmissionLaporan submission = new SubmissionLaporan();
+            submission.setJudul("Submission CI " + i);
+            submission.setKonten("Isi laporan " + i);
+            submission.setTanggalLaporan("2024-11-27");
+            submission.setStatus(SubmissionLaporan.StatusLaporan.SUBMITTED);
+            submission.setPegawai(pegawai);
+            submission.setTahapanLaporan(tahapan);
+            submission.setJenisLaporan(jenisLaporan);
+            submission.setLaporan(laporanList.get(i % laporanList.size()));
+            submission.setPemilihan(pemilihanList.get(i % pemilihanList.size()));
+            submissions.add(submission);
+        }
+        submissionLaporanRepository.saveAll(submissions);
+
+        List<Biografi> biografiList = new ArrayList<>();
+        for (int i = 1; i <= BIOGRAFI_COUNT; i++) {
+            Biografi biografi = new Biografi();
+            biografi.setNamaLengkap("Alumni CI " + i);
+            biografi.setAlumniTahun("2014");
+            biografi.setEmail("alumni.ci" + i + "@example.com");
+            biografi.setNomorTelepon("08123456780" + i);
+            biografiList.add(biografi);
+        }
+        biografiList = biografiRepository.saveAll(biografiList);
+
+        List<MediaPost> media = new ArrayList<>();
+        for (int i = 1; i <= POST_COUNT; i++) {
+            Biografi author = biografiList.get(i % biografiList.size());
+            PostKomunikasi post = new PostKomunikasi();
+            post.setKonten("Post CI " + i);
+            post.setBiografi(author);
+            post.setAuthorName(author.getNamaLengkap());
+            post = postKomunikasiRepository.save(post);
+
+            for (int order = 0; order < 2; order++) {
+                MediaPost mediaPost = new MediaPost();
+                mediaPost.setPostKomunikasi(post);
+                mediaPost.setMediaUrl("/api/files/ci/" + i + "-" + order + ".jpg");
+                mediaPost.setMediaType(MediaPost.MediaType.IMAGE);
+                mediaPost.setMediaOrder(order);
+                media.add(mediaPost);
+            }
+        }
+        mediaPostRepository.saveAll(media);
+
+        log.info("CI data seeded: {} pemilihan, {} submissions, {} posts", PEMILIHAN_COUNT, SUBMISSION_COUNT, POST_COUNT);
+    }
+}
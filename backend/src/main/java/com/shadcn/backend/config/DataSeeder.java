@@ -15,11 +15,15 @@ import java.io.*;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 public class DataSeeder implements CommandLineRunner {
     
     private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+    
+    private static final Pattern KODEPOS_LINE = Pattern.compile("^\\('([^']+)', '([^']+)'\\),$");
     @Autowired
     private UserRepository userRepository;
     @Autowired
@@ -527,25 +531,17 @@ public class DataSeeder implements CommandLineRunner {
                     }
                     
                     // Parse lines like: ('11.01.01.2001', '23773'),
-                    if (line.matches("^\\('.*', '.*'\\),$")) {
-                        try {
-                            // Extract kode and kodepos using regex
-                            String pattern = "^\\('([^']+)', '([^']+)'\\),$";
-                            if (line.matches(pattern)) {
-                                String kode = line.replaceAll(pattern, "$1");
-                                String kodepos = line.replaceAll(pattern, "$2");
-                                
-                                // Validate data
-                                if (kode.length() >= 10 && kodepos.length() == 5) {
-                                    kodeposList.add(new WilayahKodepos(kode, kodepos));
-                                    parsedCount++;
-                                } else {
-                                    logger.debug("Invalid data format on line {}: kode={}, kodepos={}", lineCount, kode, kodepos);
-                                    errorCount++;
-                                }
-                            }
-                        } catch (Exception e) {
-                            logger.debug("Error parsing line {}: {} - {}", lineCount, line, e.getMessage());
+                    String[] values = parseKodeposLine(line);
+                    if (values != null) {
+                        String kode = values[0];
+                        String kodepos = values[1];
+                        
+                        // Validate data
+                        if (kode.length() >= 10 && kodepos.length() == 5) {
+                            kodeposList.add(new WilayahKodepos(kode, kodepos));
+                            parsedCount++;
+                        } else {
+                            logger.debug("Invalid data format on line {}: kode={}, kodepos={}", lineCount, kode, kodepos);
                             errorCount++;
                         }
                     }
@@ -569,6 +565,15 @@ public class DataSeeder implements CommandLineRunner {
         return kodeposList;
     }
     
+    /**
+     * Extract kode and kodepos from a value row such as ('11.01.01.2001', '23773'),
+     * Returns null for any other line. Package-private for the benchmarks.
+     */
+    static String[] parseKodeposLine(String line) {
+        Matcher matcher = KODEPOS_LINE.matcher(line);
+        return matcher.matches() ? new String[] {matcher.group(1), matcher.group(2)} : null;
+    }
+    
     private void seedFallbackKodepos() {
         logger.info("Seeding fallback sample postal codes...");
         
@@ -0,0 +1,150 @@
+package com.shadcn.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of connections checked out at once with a fair semaphore sized to the Hikari
+ * pool (spring.datasource.hikari.maximum-pool-size, 50 in production).
+ *
+ * With platform threads the Tomcat pool bounds how many requests can wait for a connection. On
+ * virtual threads that bound is gone: during a submission peak thousands of requests can reach
+ * the pool at once. The semaphore queues them in arrival order and fails a request with the
+ * same SQLTransientConnectionException as Hikari once connection-timeout has passed. Its queue
+ * is exported as app.db.concurrency.waiting.
+ *
+ * Enabled together with spring.threads.virtual.enabled unless app.db-concurrency.enabled says
+ * otherwise.
+ */
+@Configuration
+@Slf4j
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseConcurrencyLimiter(Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean enabled = environment.getProperty("app.db-concurrency.enabled", Boolean.class, virtualThreads);
+        int maxConnections = environment.getProperty("app.db-concurrency.max-connections", Integer.class,
+            environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMillis = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof LimitedDataSource) {
+                    return bean;
+                }
+                log.info("Database concurrency for {} limited to {} connections", beanName, maxConnections);
+                return new LimitedDataSource(dataSource, maxConnections, timeoutMillis);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            LimitedDataSource limited;
+            try {
+                if (!dataSource.isWrapperFor(LimitedDataSource.class)) {
+                    return;
+                }
+                limited = dataSource.unwrap(LimitedDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("app.db.concurrency.waiting", limited.permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .register(registry);
+            Gauge.builder("app.db.concurrency.active", limited, LimitedDataSource::active)
+                .description("Connections checked out through the concurrency limiter")
+                .register(registry);
+        };
+    }
+
+    static final class LimitedDataSource extends DelegatingDataSource {
+
+        private final Semaphore permits;
+        private final int maxConnections;
+        private final long timeoutMillis;
+
+        LimitedDataSource(DataSource target, int maxConnections, long timeoutMillis) {
+            super(target);
+            this.permits = new Semaphore(maxConnections, true);
+            this.maxConnections = maxConnections;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return releaseOnClose(super.getConnection());
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return releaseOnClose(super.getConnection(username, password));
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        int active() {
+            return maxConnections - permits.availablePermits();
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("No database connection permit within " + timeoutMillis
+                        + " ms (" + maxConnections + " in use, " + permits.getQueueLength() + " waiting)");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+            }
+        }
+
+        // The permit is returned exactly once, on the first close()
+        private Connection releaseOnClose(Connection connection) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    boolean close = method.getName().equals("close") && method.getParameterCount() == 0;
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (close && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.shadcn.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-endpoint SQL statement and latency budgets, checked by QueryBudgetFilter.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.query-budget")
+public class QueryBudgetProperties {
+    
+    private boolean enabled = true;
+    // Answer 500 instead of the real response when an endpoint goes over its query budget (CI only)
+    private boolean strict = false;
+    private List<Endpoint> endpoints = new ArrayList<>();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public boolean isStrict() {
+        return strict;
+    }
+    
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+    
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+    
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+    
+    public static class Endpoint {
+        
+        // HTTP method, or empty for any method
+        private String method;
+        // Ant-style path pattern, e.g. /api/detail-laporan/user/*
+        private String pattern;
+        // Maximum SQL statements per request, 0 = no limit
+        private int maxQueries;
+        // Maximum request duration in milliseconds, 0 = no limit (only logged, never fails)
+        private long maxMillis;
+        
+        public String getMethod() {
+            return method;
+        }
+        
+        public void setMethod(String method) {
+            this.method = method;
+        }
+        
+        public String getPattern() {
+            return pattern;
+        }
+        
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+        
+        public int getMaxQueries() {
+            return maxQueries;
+        }
+        
+        public void setMaxQueries(int maxQueries) {
+            this.maxQueries = maxQueries;
+        }
+        
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+        
+        public void setMaxMillis(long maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.shadcn.backend.config;
+
+/**
+ * Counts the SQL statements executed on the current thread.
+ *
+ * Fed by the datasource-proxy listener of {@link QueryDiagnosticsConfig}, so JPA queries, lazy
+ * loads and plain JdbcTemplate statements (bulk upserts, batch inserts, aggregate reads) are
+ * all counted. A JDBC batch counts once per SQL string. Counting only happens between
+ * {@link #start()} and {@link #stop()}; outside that window {@link #record(int)} does nothing.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    /**
+     * Statements counted since {@link #start()}, or 0 when counting was not started.
+     */
+    public static int stop() {
+        int[] statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements != null ? statements[0] : 0;
+    }
+
+    static void record(int count) {
+        int[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0] += count;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.shadcn.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Finds N+1 patterns and slow statements in real traffic.
+ *
+ * Every executed statement is reduced to a fingerprint (literals and IN lists collapsed). In a
+ * sampled request, a fingerprint that runs more than repeat-threshold times is an offender: it
+ * is recorded with the route and the application frame that issued it (the service method
+ * calling the repository), aggregated across requests. Statements slower than slow-query-ms
+ * are recorded from every request, with the Java types of their bind parameters but never the
+ * values. Both lists are served by the querydiagnostics actuator endpoint.
+ *
+ * Unsampled requests only pay for a ThreadLocal read and the elapsed-time comparison.
+ */
+@Component
+@Slf4j
+public class QueryDiagnostics {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String APP_PACKAGE = "com.shadcn.backend.";
+
+    @Value("${app.query-diagnostics.enabled:true}")
+    private boolean enabled;
+
+    // Share of requests whose statements are fingerprinted (0.0 - 1.0)
+    @Value("${app.query-diagnostics.sample-rate:0.05}")
+    private double sampleRate;
+
+    // Same fingerprint more often than this in one request is reported
+    @Value("${app.query-diagnostics.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${app.query-diagnostics.slow-query-ms:500}")
+    private long slowQueryMillis;
+
+    @Value("${app.query-diagnostics.max-offenders:200}")
+    private int maxOffenders;
+
+    @Value("${app.query-diagnostics.max-slow-queries:100}")
+    private int maxSlowQueries;
+
+    private final ThreadLocal<RequestTrace> currentRequest = new ThreadLocal<>();
+
+    // route + fingerprint -> aggregated offender
+    private Cache<String, Offender> offenders;
+
+    private final ConcurrentLinkedDeque<SlowQuery> slowQueries = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger slowQueryCount = new AtomicInteger();
+
+    /**
+     * Repeated statement in one request.
+     *
+     * @param callSite application frame that issued the statement, e.g. PemilihanService.convertToDTO:431
+     * @param requests sampled requests in which it exceeded the threshold
+     */
+    public record Offender(String route, String fingerprint, String callSite, long requests,
+                           int maxRepeats, int lastRepeats, LocalDateTime lastSeen) {
+    }
+
+    /**
+     * @param bindShape Java type of each bind parameter, per batch entry for batches
+     */
+    public record SlowQuery(LocalDateTime at, String request, String fingerprint, long millis,
+                            List<List<String>> bindShape, boolean batch) {
+    }
+
+    private static final class RequestTrace {
+        private final String request;
+        // Fingerprints are only collected for sampled requests
+        private final Map<String, Occurrence> occurrences;
+
+        private RequestTrace(String request, boolean sampled) {
+            this.request = request;
+            this.occurrences = sampled ? new HashMap<>() : null;
+        }
+    }
+
+    private static final class Occurrence {
+        private int count;
+        private String callSite;
+    }
+
+    @PostConstruct
+    public void init() {
+        offenders = Caffeine.newBuilder()
+            .maximumSize(maxOffenders)
+            .expireAfterWrite(Duration.ofDays(7))
+            .build();
+    }
+
+    /**
+     * Start tracing the current thread's request, e.g. "GET /api/pemilihan/search-paged".
+     */
+    public void beginRequest(String request) {
+        if (!enabled) {
+            return;
+        }
+        boolean sampled = sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        currentRequest.set(new RequestTrace(request, sampled));
+    }
+
+    /**
+     * Finish the current request and record the fingerprints it repeated too often.
+     *
+     * @param route route template once the handler is known, otherwise the raw request
+     */
+    public void endRequest(String route) {
+        RequestTrace trace = currentRequest.get();
+        currentRequest.remove();
+        if (trace == null || trace.occurrences == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, Occurrence> entry : trace.occurrences.entrySet()) {
+            Occurrence occurrence = entry.getValue();
+            if (occurrence.count <= repeatThreshold) {
+                continue;
+            }
+            String fingerprint = entry.getKey();
+            Offender offender = offenders.asMap().compute(route + " " + fingerprint, (key, previous) -> previous == null
+                ? new Offender(route, fingerprint, occurrence.callSite, 1, occurrence.count, occurrence.count, now)
+                : new Offender(route, fingerprint, occurrence.callSite, previous.requests() + 1,
+                    Math.max(previous.maxRepeats(), occurrence.count), occurrence.count, now));
+            if (offender.requests() == 1) {
+                log.warn("Repeated query: {} ran {} times in {} from {}: {}",
+                    route, occurrence.count, trace.request, occurrence.callSite, fingerprint);
+            }
+        }
+    }
+
+    /**
+     * Called after every statement execution with its SQL (one entry per batch) and duration.
+     * The bind shape is only computed when the statement turns out to be slow.
+     */
+    public void afterStatement(List<String> sqls, long millis, boolean batch, Supplier<List<List<String>>> bindShape) {
+        if (!enabled) {
+            return;
+        }
+        RequestTrace trace = currentRequest.get();
+
+        if (trace != null && trace.occurrences != null) {
+            for (String sql : sqls) {
+                Occurrence occurrence = trace.occurrences.computeIfAbsent(fingerprint(sql), key -> new Occurrence());
+                occurrence.count++;
+                // Walk the stack only once per fingerprint, when it becomes an offender
+                if (occurrence.count == repeatThreshold + 1) {
+                    occurrence.callSite = callSite();
+                }
+            }
+        }
+
+        if (millis >= slowQueryMillis && !sqls.isEmpty()) {
+            String fingerprint = fingerprint(sqls.get(0));
+            String request = trace != null ? trace.request : Thread.currentThread().getName();
+            slowQueries.addLast(new SlowQuery(LocalDateTime.now(), request, fingerprint, millis, bindShape.get(), batch));
+            if (slowQueryCount.incrementAndGet() > maxSlowQueries && slowQueries.pollFirst() != null) {
+                slowQueryCount.decrementAndGet();
+            }
+            log.warn("Slow query ({} ms) in {}: {}", millis, request, fingerprint);
+        }
+    }
+
+    /**
+     * Offenders by the number of requests they appeared in, then by their worst repeat count.
+     */
+    public List<Offender> getOffenders() {
+        List<Offender> result = new ArrayList<>(offenders.asMap().values());
+        result.sort(Comparator.comparingLong(Offender::requests).thenComparingInt(Offender::maxRepeats).reversed());
+        return result;
+    }
+
+    /**
+     * Most recent slow statements first.
+     */
+    public List<SlowQuery> getSlowQueries() {
+        List<SlowQuery> result = new ArrayList<>(slowQueries);
+        return result.reversed();
+    }
+
+    public Map<String, Object> getSettings() {
+        return Map.of(
+            "enabled", enabled,
+            "sampleRate", sampleRate,
+            "repeatThreshold", repeatThreshold,
+            "slowQueryMs", slowQueryMillis);
+    }
+
+    public void reset() {
+        offenders.invalidateAll();
+        slowQueries.clear();
+        slowQueryCount.set(0);
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    // Innermost application frame outside the diagnostics code, e.g. PemilihanService.convertToDTO:431
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE))
+            .filter(frame -> !frame.getClassName().startsWith(APP_PACKAGE + "config.Query")
+                && !frame.getClassName().startsWith(APP_PACKAGE + "filter."))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+            .orElse("unknown"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.shadcn.backend.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps the DataSource so every statement execution is counted by {@link QueryCounter} and
+ * reported to {@link QueryDiagnostics} with its duration. The proxy is only left out when both
+ * app.query-diagnostics.enabled and app.query-budget.enabled are false.
+ */
+@Configuration
+public class QueryDiagnosticsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryDiagnosticsDataSourceProxy(
+            Environment environment, ObjectProvider<QueryDiagnostics> queryDiagnostics) {
+        boolean diagnosticsEnabled = environment.getProperty("app.query-diagnostics.enabled", Boolean.class, true);
+        boolean budgetEnabled = environment.getProperty("app.query-budget.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(diagnosticsEnabled || budgetEnabled) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new DiagnosticsListener(diagnosticsEnabled ? queryDiagnostics : null))
+                    .build();
+            }
+        };
+    }
+
+    private static final class DiagnosticsListener implements QueryExecutionListener {
+
+        // null when only the query budget is enabled
+        private final ObjectProvider<QueryDiagnostics> provider;
+        // Resolved on first use: the DataSource is created before the diagnostics bean
+        private volatile QueryDiagnostics queryDiagnostics;
+
+        private DiagnosticsListener(ObjectProvider<QueryDiagnostics> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            QueryCounter.record(queryInfoList.size());
+            if (provider == null) {
+                return;
+            }
+
+            QueryDiagnostics diagnostics = queryDiagnostics;
+            if (diagnostics == null) {
+                diagnostics = provider.getIfAvailable();
+                if (diagnostics == null) {
+                    return;
+                }
+                queryDiagnostics = diagnostics;
+            }
+
+            List<String> sqls = new ArrayList<>(queryInfoList.size());
+            for (QueryInfo queryInfo : queryInfoList) {
+                sqls.add(queryInfo.getQuery());
+            }
+            diagnostics.afterStatement(sqls, execInfo.getElapsedTime(), execInfo.isBatch(), () -> bindShape(queryInfoList));
+        }
+
+        // Java type of each bind parameter, never the value
+        private static List<List<String>> bindShape(List<QueryInfo> queryInfoList) {
+            List<List<String>> shape = new ArrayList<>();
+            for (QueryInfo queryInfo : queryInfoList) {
+                for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+                    List<String> types = new ArrayList<>(parameters.size());
+                    for (ParameterSetOperation parameter : parameters) {
+                        Object[] args = parameter.getArgs();
+                        boolean isNull = "setNull".equals(parameter.getMethod().getName()) || args.length < 2 || args[1] == null;
+                        types.add(isNull ? "null" : args[1].getClass().getSimpleName());
+                    }
+                    shape.add(types);
+                }
+            }
+            return shape;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.shadcn.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/querydiagnostics: repeated-query offenders and recent slow statements.
+ * DELETE clears both lists, e.g. after deploying a fix.
+ */
+@Component
+@Endpoint(id = "querydiagnostics")
+@RequiredArgsConstructor
+public class QueryDiagnosticsEndpoint {
+
+    private final QueryDiagnostics queryDiagnostics;
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", queryDiagnostics.getSettings());
+        report.put("offenders", queryDiagnostics.getOffenders());
+        report.put("slowQueries", queryDiagnostics.getSlowQueries());
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryDiagnostics.reset();
+    }
+}
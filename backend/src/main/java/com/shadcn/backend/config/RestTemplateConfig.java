@@ -1,14 +1,26 @@
 package com.shadcn.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
     
+    // Without timeouts a stalled WhatsApp or wilayah API call blocks its thread indefinitely
+    @Value("${app.http.connect-timeout-ms:5000}")
+    private int connectTimeoutMillis;
+    
+    @Value("${app.http.read-timeout-ms:30000}")
+    private int readTimeoutMillis;
+    
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+        return new RestTemplate(requestFactory);
     }
 }
@@ -1,13 +1,19 @@
 package com.shadcn.backend.config;
 
+import com.shadcn.backend.model.User;
+import com.shadcn.backend.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfigurationSource;
 
 @Configuration
@@ -21,7 +27,7 @@ public class SecurityConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }    @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ObjectProvider<AuthService> authService) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource))
             .csrf(csrf -> csrf.disable())
@@ -34,10 +40,40 @@ public class SecurityConfig {
                 .requestMatchers("/uploads/**").permitAll()
                 .requestMatchers("/biografi/public/**").permitAll()
                 .requestMatchers("/berita/public/**").permitAll()
+                // Query diagnostics show SQL shapes and call sites, metrics expose endpoint and
+                // business counters - admin token only (Prometheus scrapes with an admin bearer token)
+                .requestMatchers(
+                        AntPathRequestMatcher.antMatcher("/actuator/querydiagnostics/**"),
+                        AntPathRequestMatcher.antMatcher("/actuator/prometheus"),
+                        AntPathRequestMatcher.antMatcher("/actuator/metrics/**"))
+                    .access((authentication, context) ->
+                        new AuthorizationDecision(isAdminRequest(context.getRequest(), authService.getObject())))
+                // Progress matrix and its rebuild (a full recount of a pemilihan) - admin token only;
+                // @PreAuthorize on the controller is not enforced because method security is off
+                .requestMatchers(AntPathRequestMatcher.antMatcher("/api/detail-laporan/progress/**"))
+                    .access((authentication, context) ->
+                        new AuthorizationDecision(isAdminRequest(context.getRequest(), authService.getObject())))
+                // Bulk pemilihan assignment rewrites pegawai_pemilihan and total_tps - admin token only
+                .requestMatchers(AntPathRequestMatcher.antMatcher("/api/pegawai/pemilihan/bulk"))
+                    .access((authentication, context) ->
+                        new AuthorizationDecision(isAdminRequest(context.getRequest(), authService.getObject())))
+                // Pegawai import creates accounts (role from the file) and its status lists them - admin token only
+                .requestMatchers(AntPathRequestMatcher.antMatcher("/api/pegawai/import/**"))
+                    .access((authentication, context) ->
+                        new AuthorizationDecision(isAdminRequest(context.getRequest(), authService.getObject())))
                 // Allow all for now - authentication will be handled in controllers
                 .anyRequest().permitAll()
             );
         
         return http.build();
     }
+
+    private static boolean isAdminRequest(HttpServletRequest request, AuthService authService) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return false;
+        }
+        User user = authService.getUserFromToken(authHeader.substring(7));
+        return user != null && user.isAdmin();
+    }
 }
@@ -34,8 +34,10 @@ public class CommentController {
     }
 
     @GetMapping("/berita/{beritaId}")
-    public ResponseEntity<List<CommentResponse>> getCommentsByBerita(@PathVariable Long beritaId) {
-        List<CommentResponse> comments = commentService.getCommentsByBerita(beritaId);
+    public ResponseEntity<List<CommentResponse>> getCommentsByBerita(
+            @PathVariable Long beritaId,
+            @RequestParam(required = false) Long currentUserId) {
+        List<CommentResponse> comments = commentService.getCommentsByBerita(beritaId, currentUserId);
         return ResponseEntity.ok(comments);
     }
 
@@ -43,10 +45,11 @@ public class CommentController {
     public ResponseEntity<Page<CommentResponse>> getCommentsByBeritaPaginated(
             @PathVariable Long beritaId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long currentUserId) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<CommentResponse> commentsPage = commentService.getCommentsByBeritaPaginated(beritaId, pageable);
+        Page<CommentResponse> commentsPage = commentService.getCommentsByBeritaPaginated(beritaId, pageable, currentUserId);
         return ResponseEntity.ok(commentsPage);
     }    @PostMapping("/{commentId}/like")
     public ResponseEntity<?> likeComment(
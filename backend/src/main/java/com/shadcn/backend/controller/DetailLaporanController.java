@@ -3,10 +3,12 @@ package com.shadcn.backend.controller;
 import com.shadcn.backend.dto.DetailLaporanRequest;
 import com.shadcn.backend.dto.DetailLaporanResponse;
 import com.shadcn.backend.dto.PaginatedResponse;
+import com.shadcn.backend.dto.ProgressMatrixResponse;
 import com.shadcn.backend.model.SubmissionLaporan;
 import com.shadcn.backend.model.Pegawai;
 import com.shadcn.backend.model.User;
 import com.shadcn.backend.service.SubmissionLaporanService;
+import com.shadcn.backend.service.SubmissionProgressService;
 import com.shadcn.backend.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,7 +18,9 @@ import org.springframework.web.bind.annotation.*;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -30,6 +34,9 @@ public class DetailLaporanController {
     
     @Autowired
     private AuthService authService;
+    
+    @Autowired
+    private SubmissionProgressService submissionProgressService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
@@ -358,4 +365,26 @@ public class DetailLaporanController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @GetMapping("/progress/pemilihan/{pemilihanId}")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public ResponseEntity<ProgressMatrixResponse> getProgressMatrix(@PathVariable Long pemilihanId) {
+        try {
+            return submissionProgressService.getMatrix(pemilihanId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            logger.error("Error building progress matrix for pemilihan {}", pemilihanId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/progress/pemilihan/{pemilihanId}/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildProgress(@PathVariable Long pemilihanId) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("pemilihanId", pemilihanId);
+        result.put("cells", submissionProgressService.rebuild(pemilihanId));
+        return ResponseEntity.ok(result);
+    }
 }
@@ -11,7 +11,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +19,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.io.IOException;
@@ -289,26 +289,23 @@ public class DocumentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }    @GetMapping("/{id}/download")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id) {
+    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id, HttpServletRequest request) {
         try {
-            Resource resource = documentService.downloadDocument(id);
-            DocumentResponse document = documentService.getDocumentById(id)
-                    .orElseThrow(() -> new RuntimeException("Document not found"));
+            // Follow-up range requests of the same download are not counted again
+            DocumentService.DocumentFile file = documentService.downloadDocument(id, FileResponseSupport.isInitialRequest(request));
 
             String contentDisposition = "attachment";
             // Untuk file gambar, bisa menggunakan inline untuk preview di browser
-            if (document.getMimeType() != null && 
-                (document.getMimeType().startsWith("image/") || 
-                 document.getMimeType().equals("application/pdf"))) {
+            if (file.mimeType() != null && 
+                (file.mimeType().startsWith("image/") || 
+                 file.mimeType().equals("application/pdf"))) {
                 contentDisposition = "inline";
             }
             
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(
-                        document.getMimeType() != null ? document.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                           contentDisposition + "; filename=\"" + document.getFileName() + "\"")
-                    .body(resource);
+            MediaType mediaType = MediaType.parseMediaType(
+                    file.mimeType() != null ? file.mimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            return FileResponseSupport.serve(request, file.path(), file.size(), file.lastModified(), mediaType,
+                    contentDisposition + "; filename=\"" + file.fileName() + "\"");
         } catch (IOException e) {
             log.error("IO Error downloading document: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -319,7 +316,9 @@ public class DocumentController {
             log.error("Error downloading document: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
-    }    @GetMapping("/stats")
+    }
+
+    @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getDocumentStats() {
         try {
             // This can be implemented to show document statistics
@@ -347,9 +346,11 @@ public class DocumentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }    @GetMapping("/{id}/comments")
-    public ResponseEntity<List<KomentarDocumentDto>> getComments(@PathVariable Long id) {
+    public ResponseEntity<List<KomentarDocumentDto>> getComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long currentUserId) {
         try {
-            List<KomentarDocumentDto> comments = documentService.getCommentsByDocumentDtoList(id);
+            List<KomentarDocumentDto> comments = documentService.getCommentsByDocumentDtoList(id, currentUserId);
             return ResponseEntity.ok(comments);
         } catch (Exception e) {
             log.error("Error getting comments for document " + id, e);
@@ -1,13 +1,11 @@
 package com.shadcn.backend.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,26 +27,16 @@ public class FileController {
     private String uploadDir;
 
     @GetMapping("/download/{subDir}/{fileName}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String subDir, @PathVariable String fileName) {
+    public ResponseEntity<Resource> downloadFile(@PathVariable String subDir, @PathVariable String fileName,
+                                                 HttpServletRequest request) {
         try {
-            Path filePath = Paths.get(uploadDir, subDir, fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists() || !resource.isReadable()) {
+            Path filePath = FileResponseSupport.resolve(uploadDir, subDir, fileName);
+            ResponseEntity<Resource> response = FileResponseSupport.serveFile(request, filePath,
+                    "attachment; filename=\"" + getOriginalFileName(fileName) + "\"");
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
                 log.warn("File not found or not readable: {}/{}", subDir, fileName);
-                return ResponseEntity.notFound().build();
-            }
-
-            // Determine content type
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
             }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + getOriginalFileName(fileName) + "\"")
-                    .body(resource);
+            return response;
 
         } catch (IOException e) {
             log.error("Error downloading file: {}/{}", subDir, fileName, e);
@@ -60,32 +48,20 @@ public class FileController {
     }
 
     @GetMapping("/preview/{subDir}/{fileName}")
-    public ResponseEntity<Resource> previewFile(@PathVariable String subDir, @PathVariable String fileName) {
+    public ResponseEntity<Resource> previewFile(@PathVariable String subDir, @PathVariable String fileName,
+                                                HttpServletRequest request) {
         try {
-            Path filePath = Paths.get(uploadDir, subDir, fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists() || !resource.isReadable()) {
-                log.warn("File not found or not readable: {}/{}", subDir, fileName);
-                return ResponseEntity.notFound().build();
-            }
-
-            // Determine content type
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-            }
+            Path filePath = FileResponseSupport.resolve(uploadDir, subDir, fileName);
 
             // For preview, use inline disposition for viewable files
-            String disposition = "inline";
-            if (!isViewableFile(contentType)) {
-                disposition = "attachment";
+            String originalFileName = getOriginalFileName(fileName);
+            ResponseEntity<Resource> response = FileResponseSupport.serveFileWithDisposition(request, filePath,
+                    mediaType -> (isViewableFile(mediaType.toString()) ? "inline" : "attachment")
+                            + "; filename=\"" + originalFileName + "\"");
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
+                log.warn("File not found or not readable: {}/{}", subDir, fileName);
             }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, disposition + "; filename=\"" + getOriginalFileName(fileName) + "\"")
-                    .body(resource);
+            return response;
 
         } catch (IOException e) {
             log.error("Error previewing file: {}/{}", subDir, fileName, e);
@@ -5,23 +5,19 @@ import com.shadcn.backend.dto.FilePegawaiResponse;
 import com.shadcn.backend.dto.FilePegawaiBatchRequest;
 import com.shadcn.backend.dto.FilePegawaiGroupResponse;
 import com.shadcn.backend.service.FilePegawaiService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 
 @RestController
@@ -152,40 +148,22 @@ public class FilePegawaiController {
     
     @GetMapping("/preview/{fileName}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR') or hasRole('USER')")
-    public ResponseEntity<Resource> previewFile(@PathVariable String fileName) {
+    public ResponseEntity<Resource> previewFile(@PathVariable String fileName, HttpServletRequest request) {
         try {
             // Check if file exists in permanent storage
-            Path filePath = Paths.get(uploadDir).resolve("documents").resolve(fileName);
+            Path filePath = FileResponseSupport.resolve(uploadDir, "documents", fileName);
             
-            if (!Files.exists(filePath) || !Files.isRegularFile(filePath)) {
+            // For preview, use inline disposition for viewable files
+            ResponseEntity<Resource> response = FileResponseSupport.serveFileWithDisposition(request, filePath, mediaType -> {
+                String contentType = mediaType.toString();
+                String disposition = contentType.startsWith("image/") || contentType.equals("application/pdf")
+                    ? "inline" : "attachment";
+                return disposition + "; filename=\"" + fileName + "\"";
+            });
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
                 log.warn("File not found or not readable: {}", fileName);
-                return ResponseEntity.notFound().build();
-            }
-
-            Resource resource = new UrlResource(filePath.toUri());
-            if (!resource.exists() || !resource.isReadable()) {
-                log.warn("File resource not readable: {}", fileName);
-                return ResponseEntity.notFound().build();
-            }
-
-            String contentType;
-            try {
-                contentType = Files.probeContentType(filePath);
-                if (contentType == null) {
-                    contentType = "application/octet-stream";
-                }
-            } catch (Exception e) {
-                contentType = "application/octet-stream";
             }
-
-            // For preview, use inline disposition for viewable files
-            String disposition = contentType.startsWith("image/") || contentType.equals("application/pdf") 
-                ? "inline" : "attachment";
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, disposition + "; filename=\"" + fileName + "\"")
-                    .body(resource);
+            return response;
                     
         } catch (Exception e) {
             log.error("Error previewing file: {}", fileName, e);
@@ -195,36 +173,17 @@ public class FilePegawaiController {
     
     @GetMapping("/download/{fileName}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR') or hasRole('USER')")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String fileName) {
+    public ResponseEntity<Resource> downloadFile(@PathVariable String fileName, HttpServletRequest request) {
         try {
             // Check if file exists in permanent storage
-            Path filePath = Paths.get(uploadDir).resolve("documents").resolve(fileName);
-            
-            if (!Files.exists(filePath) || !Files.isRegularFile(filePath)) {
-                log.warn("File not found or not readable: {}", fileName);
-                return ResponseEntity.notFound().build();
-            }
+            Path filePath = FileResponseSupport.resolve(uploadDir, "documents", fileName);
 
-            Resource resource = new UrlResource(filePath.toUri());
-            if (!resource.exists() || !resource.isReadable()) {
-                log.warn("File resource not readable: {}", fileName);
-                return ResponseEntity.notFound().build();
-            }
-
-            String contentType;
-            try {
-                contentType = Files.probeContentType(filePath);
-                if (contentType == null) {
-                    contentType = "application/octet-stream";
-                }
-            } catch (Exception e) {
-                contentType = "application/octet-stream";
+            ResponseEntity<Resource> response = FileResponseSupport.serveFile(request, filePath,
+                    "attachment; filename=\"" + fileName + "\"");
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
+                log.warn("File not found or not readable: {}", fileName);
             }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .body(resource);
+            return response;
                     
         } catch (Exception e) {
             log.error("Error downloading file: {}", fileName, e);
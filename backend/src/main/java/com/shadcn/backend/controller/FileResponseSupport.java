@@ -0,0 +1,164 @@
+package com.shadcn.backend.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Shared file streaming for download/serving endpoints.
+ *
+ * - Conditional GET: a weak ETag from size and modification time plus Last-Modified, so
+ *   revalidation returns 304 without touching the file.
+ * - Full responses are handed to Tomcat's sendfile when the connector supports it, so the
+ *   file goes from page cache to socket without passing through the JVM.
+ * - Range requests are answered by Spring MVC as 206 partial content from a
+ *   {@link FileSystemResource}.
+ * - MIME types are resolved only for files that exist and remembered per extension in a bounded
+ *   cache; extensionless files are probed each time.
+ */
+public final class FileResponseSupport {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // File extension -> detected media type. Bounded because extensions come from request URLs
+    private static final Cache<String, MediaType> MEDIA_TYPES = Caffeine.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    private FileResponseSupport() {
+    }
+
+    /**
+     * True when the request asks for (part of) the file body rather than a later range, i.e.
+     * when it should count as a download.
+     */
+    public static boolean isInitialRequest(HttpServletRequest request) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        return range == null || range.replace(" ", "").startsWith("bytes=0-");
+    }
+
+    /**
+     * Resolve a file below an upload directory; null when the segments point outside of it.
+     */
+    public static Path resolve(String baseDir, String... segments) {
+        Path base = Paths.get(baseDir).toAbsolutePath().normalize();
+        Path path = base;
+        for (String segment : segments) {
+            path = path.resolve(segment);
+        }
+        path = path.normalize();
+        return path.startsWith(base) && !path.equals(base) ? path : null;
+    }
+
+    /**
+     * Media type of an existing file, detected from its extension the first time that extension
+     * is seen. Files without an extension are probed individually.
+     */
+    private static MediaType mediaType(Path path) {
+        String fileName = path.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0 || dot == fileName.length() - 1) {
+            return detectMediaType(path);
+        }
+        String extension = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return MEDIA_TYPES.get(extension, ext -> detectMediaType(path));
+    }
+
+    private static MediaType detectMediaType(Path path) {
+        MediaType mediaType = MediaTypeFactory.getMediaType(path.getFileName().toString()).orElse(null);
+        if (mediaType == null) {
+            try {
+                String probed = Files.probeContentType(path);
+                mediaType = probed != null ? MediaType.parseMediaType(probed) : null;
+            } catch (IOException | RuntimeException e) {
+                mediaType = null;
+            }
+        }
+        return mediaType != null ? mediaType : MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * Serve a file from disk, or 404 when it is missing or not a regular file. The file is
+     * stat'ed once; its content is never read into the heap.
+     */
+    public static ResponseEntity<Resource> serveFile(HttpServletRequest request, Path path, String contentDisposition)
+            throws IOException {
+        return serveFileWithDisposition(request, path, mediaType -> contentDisposition);
+    }
+
+    /**
+     * Like {@link #serveFile(HttpServletRequest, Path, String)}, with the Content-Disposition
+     * chosen from the file's media type once the file is known to exist.
+     */
+    public static ResponseEntity<Resource> serveFileWithDisposition(HttpServletRequest request, Path path,
+                                                                    Function<MediaType, String> contentDisposition)
+            throws IOException {
+        if (path == null) {
+            return ResponseEntity.notFound().build();
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!attributes.isRegularFile() || !Files.isReadable(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        MediaType mediaType = mediaType(path);
+        return serve(request, path, attributes.size(), attributes.lastModifiedTime().toMillis(),
+                mediaType, contentDisposition.apply(mediaType));
+    }
+
+    public static ResponseEntity<Resource> serve(HttpServletRequest request, Path path, long size, long lastModified,
+                                                 MediaType mediaType, String contentDisposition) {
+        String eTag = "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        if (new ServletWebRequest(request).checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(mediaType);
+        headers.setETag(eTag);
+        headers.setLastModified(lastModified);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (contentDisposition != null) {
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        }
+
+        if (request.getHeader(HttpHeaders.RANGE) == null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Zero-copy: Tomcat writes the file itself once the (empty) response is committed
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            headers.setContentLength(size);
+            return ResponseEntity.ok().headers(headers).build();
+        }
+
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(path));
+    }
+}
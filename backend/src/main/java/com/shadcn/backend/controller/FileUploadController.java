@@ -1,7 +1,9 @@
 package com.shadcn.backend.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -85,19 +87,10 @@ public class FileUploadController {
 
     @GetMapping("/photos/{filename}")
     @PreAuthorize("hasAuthority('file-pegawai.read')")
-    public ResponseEntity<byte[]> getPhoto(@PathVariable String filename) {
+    public ResponseEntity<Resource> getPhoto(@PathVariable String filename, HttpServletRequest request) {
         try {
-            Path filePath = Paths.get(uploadDir, "photos", filename);
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
-            }
-
-            byte[] fileContent = Files.readAllBytes(filePath);
-            String contentType = Files.probeContentType(filePath);
-            
-            return ResponseEntity.ok()
-                    .header("Content-Type", contentType != null ? contentType : "application/octet-stream")
-                    .body(fileContent);
+            Path filePath = FileResponseSupport.resolve(uploadDir, "photos", filename);
+            return FileResponseSupport.serveFile(request, filePath, null);
 
         } catch (IOException e) {
             log.error("Error retrieving photo: {}", e.getMessage());
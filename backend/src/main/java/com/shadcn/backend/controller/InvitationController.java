@@ -1,10 +1,12 @@
 package com.shadcn.backend.controller;
 
+import com.shadcn.backend.dto.BulkInvitationJobResponse;
 import com.shadcn.backend.dto.InvitationRequest;
 import com.shadcn.backend.dto.InvitationResponse;
 import com.shadcn.backend.dto.PagedInvitationResponse;
 import com.shadcn.backend.dto.RegistrationFromInvitationRequest;
 import com.shadcn.backend.model.User;
+import com.shadcn.backend.service.BulkInvitationService;
 import com.shadcn.backend.service.InvitationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
 import java.util.List;
@@ -24,7 +27,8 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class InvitationController {
     
-    private final InvitationService invitationService;    /**
+    private final InvitationService invitationService;
+    private final BulkInvitationService bulkInvitationService;    /**
      * Send invitation to alumni
      */
     @PostMapping("/send")
@@ -47,6 +51,41 @@ public class InvitationController {
         }
     }
     
+    /**
+     * Import invitations in bulk from a CSV or JSON file; processing continues in the background
+     */
+    @PostMapping(value = "/bulk", consumes = "multipart/form-data")
+    public ResponseEntity<?> importInvitations(@RequestPart("file") MultipartFile file) {
+        try {
+            BulkInvitationJobResponse job = bulkInvitationService.startImport(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (RuntimeException e) {
+            log.warn("Failed to start bulk invitation import: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            log.error("Error starting bulk invitation import", e);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Terjadi kesalahan saat membaca file undangan");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
+    /**
+     * Get bulk invitation import progress
+     */
+    @GetMapping("/bulk/{jobId}")
+    public ResponseEntity<?> getBulkImportStatus(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(bulkInvitationService.getJob(jobId));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+    
     /**
      * Get invitation by token
      */
@@ -53,9 +53,10 @@ public class KomentarController {
     public ResponseEntity<Page<KomentarBeritaDto>> getKomentarByBeritaPaginatedDto(
             @PathVariable Long beritaId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long currentUserId) {
         
-        Page<KomentarBeritaDto> komentarPage = komentarService.getKomentarByBeritaPaginatedDto(beritaId, page, size);
+        Page<KomentarBeritaDto> komentarPage = komentarService.getKomentarByBeritaPaginatedDto(beritaId, page, size, currentUserId);
         return ResponseEntity.ok(komentarPage);
     }
 
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -350,6 +351,43 @@ public class LaporanController {
         }
     }
 
+    // Clone laporan setup ke banyak pemilihan sekaligus
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<?> cloneLaporanToPemilihan(
+            @PathVariable Long id,
+            @Valid @RequestBody LaporanCloneRequest cloneRequest,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        try {
+            // Check authorization
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Anda harus login untuk menyalin laporan");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+            }
+
+            String token = authHeader.substring(7);
+            Long userId = authService.getUserIdFromToken(token);
+
+            if (userId == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Token tidak valid atau telah kedaluwarsa");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+            }
+
+            List<LaporanDto> clones = laporanService.cloneLaporanToPemilihan(id, cloneRequest, userId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(clones);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            log.error("Error cloning laporan {}", id, e);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Terjadi kesalahan saat menyalin laporan");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     // Update laporan status (admin only)
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateLaporanStatus(
@@ -2,7 +2,10 @@ package com.shadcn.backend.controller;
 
 import com.shadcn.backend.dto.PagedResponse;
 import com.shadcn.backend.dto.PaymentFilterRequest;
+import com.shadcn.backend.dto.PaymentKeysetResponse;
+import com.shadcn.backend.dto.PaymentReportResponse;
 import com.shadcn.backend.model.Payment;
+import com.shadcn.backend.service.PaymentReportService;
 import com.shadcn.backend.service.PaymentService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -14,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +32,9 @@ public class PaymentController {
     
     @Autowired
     private PaymentService paymentService;
+    
+    @Autowired
+    private PaymentReportService paymentReportService;
       @GetMapping
     public ResponseEntity<List<Payment>> getAllPayments() {
         logger.info("Request received to get all payments");
@@ -190,21 +197,35 @@ public class PaymentController {
 
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getPaymentStatistics() {
-        Map<String, Object> statistics = new HashMap<>();
-        
-        // Total amounts by status
-        for (Payment.PaymentStatus status : Payment.PaymentStatus.values()) {
-            BigDecimal totalAmount = paymentService.getTotalAmountByStatus(status);
-            Long count = paymentService.getCountByStatus(status);
-            
-            Map<String, Object> statusData = new HashMap<>();
-            statusData.put("totalAmount", totalAmount);
-            statusData.put("count", count);
-            
-            statistics.put(status.name().toLowerCase(), statusData);
+        return ResponseEntity.ok(paymentService.getStatusStatistics());
+    }
+    
+    @GetMapping("/keyset")
+    public ResponseEntity<PaymentKeysetResponse> getPaymentsKeyset(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Payment.PaymentStatus status,
+            @RequestParam(required = false) Payment.PaymentMethod method,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return ResponseEntity.ok(paymentService.getPaymentsKeyset(cursor, size, status, method,
+            minAmount, maxAmount, startDate, endDate));
+    }
+    
+    @GetMapping("/report")
+    public ResponseEntity<?> getPaymentReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            PaymentReportResponse report = paymentReportService.getReport(from, to);
+            return ResponseEntity.ok(report);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         }
-        
-        return ResponseEntity.ok(statistics);
     }
     
     @GetMapping("/statistics/status/{status}")
@@ -1,10 +1,14 @@
 package com.shadcn.backend.controller;
 
+import com.shadcn.backend.dto.BulkPegawaiImportJobResponse;
+import com.shadcn.backend.dto.BulkPemilihanAssignmentRequest;
+import com.shadcn.backend.dto.BulkPemilihanAssignmentResponse;
 import com.shadcn.backend.dto.PegawaiRequest;
 import com.shadcn.backend.dto.PegawaiResponse;
 import com.shadcn.backend.dto.UpdatePegawaiRequest;
 import com.shadcn.backend.dto.UserUpdateRequest;
 import com.shadcn.backend.model.Pegawai;
+import com.shadcn.backend.service.BulkPegawaiImportService;
 import com.shadcn.backend.service.PegawaiService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +20,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +35,7 @@ import java.util.Optional;
 public class PegawaiController {
 
     private final PegawaiService pegawaiService;
+    private final BulkPegawaiImportService bulkPegawaiImportService;
 
     @PostMapping("/check-duplicate")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
@@ -277,6 +283,51 @@ public class PegawaiController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importPegawai(@RequestPart("file") MultipartFile file) {
+        try {
+            BulkPegawaiImportJobResponse job = bulkPegawaiImportService.startImport(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (RuntimeException e) {
+            log.warn("Failed to start pegawai import: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            log.error("Error starting pegawai import", e);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Terjadi kesalahan saat membaca file pegawai");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getImportStatus(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(bulkPegawaiImportService.getJob(jobId));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+
+    @PostMapping("/pemilihan/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkAssignPemilihan(@Valid @RequestBody BulkPemilihanAssignmentRequest request) {
+        try {
+            BulkPemilihanAssignmentResponse response = pegawaiService.bulkAssignPemilihan(request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            log.error("Error in bulk pemilihan assignment: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @GetMapping("/exists/username/{username}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
     public ResponseEntity<Map<String, Boolean>> checkUsernameExists(@PathVariable String username) {
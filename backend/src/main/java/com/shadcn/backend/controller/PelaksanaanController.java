@@ -217,9 +217,10 @@ public class PelaksanaanController {
     public ResponseEntity<Page<KomentarPelaksanaanDto>> getComments(
             @PathVariable Long id,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long currentUserId) {
 
-        Page<KomentarPelaksanaanDto> comments = pelaksanaanService.getCommentsDto(id, page, size);
+        Page<KomentarPelaksanaanDto> comments = pelaksanaanService.getCommentsDto(id, page, size, currentUserId);
         return ResponseEntity.ok(comments);
     }
 
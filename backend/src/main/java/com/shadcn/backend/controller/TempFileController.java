@@ -1,11 +1,10 @@
 package com.shadcn.backend.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -105,32 +104,19 @@ public class TempFileController {
     }
 
     @GetMapping("/preview/{fileName}")
-    public ResponseEntity<Resource> previewTempFile(@PathVariable String fileName) {
+    public ResponseEntity<Resource> previewTempFile(@PathVariable String fileName, HttpServletRequest request) {
         try {
-            Path filePath = Paths.get(tempUploadDir).resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists() || !resource.isReadable()) {
-                log.warn("Temp file not found or not readable: {}", fileName);
-                return ResponseEntity.notFound().build();
-            }
-
-            // Determine content type
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-            }
+            Path filePath = FileResponseSupport.resolve(tempUploadDir, fileName);
 
             // For preview, use inline disposition for viewable files
-            String disposition = "inline";
-            if (!isViewableFile(contentType)) {
-                disposition = "attachment";
+            String originalFileName = getOriginalFileName(fileName);
+            ResponseEntity<Resource> response = FileResponseSupport.serveFileWithDisposition(request, filePath,
+                    mediaType -> (isViewableFile(mediaType.toString()) ? "inline" : "attachment")
+                            + "; filename=\"" + originalFileName + "\"");
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
+                log.warn("Temp file not found or not readable: {}", fileName);
             }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, disposition + "; filename=\"" + getOriginalFileName(fileName) + "\"")
-                    .body(resource);
+            return response;
 
         } catch (IOException e) {
             log.error("Error previewing temp file: {}", fileName, e);
@@ -142,26 +128,15 @@ public class TempFileController {
     }
 
     @GetMapping("/download/{fileName}")
-    public ResponseEntity<Resource> downloadTempFile(@PathVariable String fileName) {
+    public ResponseEntity<Resource> downloadTempFile(@PathVariable String fileName, HttpServletRequest request) {
         try {
-            Path filePath = Paths.get(tempUploadDir).resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists() || !resource.isReadable()) {
+            Path filePath = FileResponseSupport.resolve(tempUploadDir, fileName);
+            ResponseEntity<Resource> response = FileResponseSupport.serveFile(request, filePath,
+                    "attachment; filename=\"" + getOriginalFileName(fileName) + "\"");
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
                 log.warn("Temp file not found or not readable: {}", fileName);
-                return ResponseEntity.notFound().build();
             }
-
-            // Determine content type
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-            }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + getOriginalFileName(fileName) + "\"")
-                    .body(resource);
+            return response;
 
         } catch (IOException e) {
             log.error("Error downloading temp file: {}", fileName, e);
@@ -229,9 +229,10 @@ public class UsulanController {
     public ResponseEntity<Page<KomentarUsulanDto>> getComments(
             @PathVariable Long id,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long currentUserId) {
         
-        Page<KomentarUsulanDto> comments = usulanService.getCommentsDto(id, page, size);
+        Page<KomentarUsulanDto> comments = usulanService.getCommentsDto(id, page, size, currentUserId);
         return ResponseEntity.ok(comments);
     }// Like a comment
     @PostMapping("/komentar/{commentId}/like")
@@ -105,17 +105,14 @@ public class WilayahController {
      */
     @PostMapping("/names")
     public ResponseEntity<Map<String, String>> getWilayahNames(@RequestBody Map<String, String> kodeMap) {
-        Map<String, String> response = new java.util.HashMap<>();
-        
-        for (Map.Entry<String, String> entry : kodeMap.entrySet()) {
-            String kode = entry.getKey();
-            // entry.getValue() contains type information (currently not used)
-            
-            if (kode != null && !kode.isEmpty()) {
-                try {
-                    String nama = wilayahCacheService.getNamaByKode(kode);
-                    response.put(kode, nama);
-                } catch (Exception e) {
+        // Values contain type information (currently not used); codes are resolved in one batch
+        Map<String, String> response;
+        try {
+            response = wilayahCacheService.resolveNames(kodeMap.keySet());
+        } catch (Exception e) {
+            response = new java.util.HashMap<>();
+            for (String kode : kodeMap.keySet()) {
+                if (kode != null && !kode.isEmpty()) {
                     response.put(kode, kode); // Fallback to code
                 }
             }
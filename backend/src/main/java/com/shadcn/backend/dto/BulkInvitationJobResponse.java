@@ -0,0 +1,38 @@
+package com.shadcn.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInvitationJobResponse {
+    
+    private String jobId;
+    private String status;
+    
+    // Rows read from the upload and unique valid contacts left after normalization
+    private int totalRows;
+    private int validContacts;
+    
+    private int processed;
+    private int created;
+    private int duplicateInFile;
+    private int alreadyRegistered;
+    private int alreadyInvited;
+    private int invalid;
+    
+    // First validation/processing errors, e.g. "Baris 12: nomor HP tidak valid"
+    private List<String> errors;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startedAt;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishedAt;
+}
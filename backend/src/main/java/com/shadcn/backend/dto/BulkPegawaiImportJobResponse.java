@@ -0,0 +1,47 @@
+package com.shadcn.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPegawaiImportJobResponse {
+    
+    private String jobId;
+    private String status;
+    
+    // Data rows read from the upload and rows that passed validation
+    private int totalRows;
+    private int validRows;
+    
+    private int processed;
+    private int created;
+    private int duplicateInFile;
+    private int alreadyExists;
+    private int invalid;
+    private int failed;
+    
+    // Per-row errors (first 1000)
+    private List<RowError> errors;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startedAt;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String username;
+        private String message;
+    }
+}
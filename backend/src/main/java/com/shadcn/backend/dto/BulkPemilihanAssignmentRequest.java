@@ -0,0 +1,35 @@
+package com.shadcn.backend.dto;
+
+import com.shadcn.backend.model.Pegawai;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPemilihanAssignmentRequest {
+    
+    public enum Action {
+        ASSIGN, REMOVE
+    }
+    
+    @NotNull(message = "Aksi harus diisi")
+    private Action action;
+    
+    @NotEmpty(message = "Minimal satu pemilihan harus dipilih")
+    private List<Long> pemilihanIds;
+    
+    // Explicit pegawai ids; when empty the filter below selects the pegawai
+    private List<Long> pegawaiIds;
+    
+    // Filter, used only when pegawaiIds is empty
+    private Pegawai.PegawaiStatus status;
+    private String jabatan;
+    private String provinsi;
+    private String kota;
+}
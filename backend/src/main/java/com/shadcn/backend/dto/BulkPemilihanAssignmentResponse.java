@@ -0,0 +1,30 @@
+package com.shadcn.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPemilihanAssignmentResponse {
+    
+    private BulkPemilihanAssignmentRequest.Action action;
+    
+    private int pegawaiCount;
+    private int pemilihanCount;
+    
+    // Join-table rows inserted (ASSIGN) or deleted (REMOVE)
+    private long changedAssignments;
+    
+    // Pairs that were already assigned (ASSIGN) or not assigned (REMOVE)
+    private long unchangedAssignments;
+    
+    // Pegawai whose totalTps was recomputed
+    private long updatedPegawai;
+    
+    private List<Long> unknownPegawaiIds;
+    private List<Long> unknownPemilihanIds;
+}
@@ -23,4 +23,6 @@ public class CommentResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<CommentResponse> replies;
+    // LIKE/DISLIKE of the viewer (currentUserId), null when not voted or anonymous
+    private String userVote;
 }
@@ -18,7 +18,10 @@ public class KomentarBeritaDto {
     private LocalDateTime updatedAt;
     private Integer likes = 0;
     private Integer dislikes = 0;
+    private Long parentId;
     private List<KomentarBeritaDto> replies;
+    // LIKE/DISLIKE of the viewer (currentUserId), null when not voted or anonymous
+    private String userVote;
     
     // Constructor without replies (for parent comments)
     public KomentarBeritaDto(Long id, String konten, String namaPengguna, Long biografiId, 
@@ -45,4 +48,12 @@ public class KomentarBeritaDto {
         this.likes = likes;
         this.dislikes = dislikes;
     }
+    
+    // Constructor with parent id (replies loaded for a whole thread)
+    public KomentarBeritaDto(Long id, String konten, String namaPengguna, Long biografiId, 
+                            LocalDateTime tanggalKomentar, LocalDateTime updatedAt, Integer likes, Integer dislikes,
+                            Long parentId) {
+        this(id, konten, namaPengguna, biografiId, tanggalKomentar, updatedAt, likes, dislikes);
+        this.parentId = parentId;
+    }
 }
@@ -0,0 +1,20 @@
+package com.shadcn.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LaporanCloneRequest {
+    
+    @NotEmpty(message = "Minimal satu pemilihan harus dipilih")
+    private List<Long> pemilihanIds;
+    
+    // Posisi layout for the new detail pemilihan rows (default 1)
+    private Integer posisiLayout;
+}
@@ -0,0 +1,34 @@
+package com.shadcn.backend.dto;
+
+import com.shadcn.backend.model.JenisLaporan;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LaporanListItemDto {
+    
+    private LaporanDto laporan;
+    
+    // Names of all jenis laporan linked through the laporan's tahapan (first 10)
+    private List<String> jenisLaporanNames;
+    
+    // Summary of the first 3 linked jenis laporan
+    private List<JenisLaporanSummary> jenisLaporanList;
+    
+    private int totalJenisLaporan;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class JenisLaporanSummary {
+        private Long jenisLaporanId;
+        private String nama;
+        private String deskripsi;
+        private JenisLaporan.StatusJenisLaporan status;
+    }
+}
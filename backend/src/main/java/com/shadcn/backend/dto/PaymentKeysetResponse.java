@@ -0,0 +1,21 @@
+package com.shadcn.backend.dto;
+
+import com.shadcn.backend.model.Payment;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentKeysetResponse {
+    
+    private List<Payment> content;
+    private int size;
+    
+    // Pass as "cursor" to fetch the next page; null on the last page
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,35 @@
+package com.shadcn.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReportResponse {
+    
+    private LocalDate from;
+    private LocalDate to;
+    
+    private long totalCount;
+    private BigDecimal totalAmount;
+    
+    private List<Bucket> byStatus;
+    private List<Bucket> byMethod;
+    private List<Bucket> byDay;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        // Status or method name, or ISO date for daily buckets
+        private String key;
+        private long count;
+        private BigDecimal totalAmount;
+    }
+}
@@ -0,0 +1,57 @@
+package com.shadcn.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressMatrixResponse {
+    
+    private Long pemilihanId;
+    private String namaPemilihan;
+    
+    // One column per (laporan, tahapan) of the pemilihan, in display order
+    private List<ProgressColumn> columns;
+    
+    // One row per pegawai; cells are aligned with columns
+    private List<ProgressRow> rows;
+    
+    private int totalPegawai;
+    private long totalCells;
+    private long completedCells;
+    private double completionPercentage;
+    private LocalDateTime generatedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProgressColumn {
+        private Long laporanId;
+        private String namaLaporan;
+        private Long tahapanLaporanId;
+        private String namaTahapan;
+        private String jenisLaporanNama;
+        private int completed;
+        private double completionPercentage;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProgressRow {
+        private Long pegawaiId;
+        private String fullName;
+        private String nip;
+        // Latest submission status per column, null when nothing was submitted
+        private List<String> statuses;
+        // Number of submissions per column
+        private List<Integer> counts;
+        private int completed;
+        private double completionPercentage;
+    }
+}
@@ -0,0 +1,156 @@
+package com.shadcn.backend.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadcn.backend.config.QueryBudgetProperties;
+import com.shadcn.backend.config.QueryCounter;
+import com.shadcn.backend.config.QueryDiagnostics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and time of each request and checks them against the budgets in
+ * app.query-budget.endpoints. Runs before the security filters, so token lookups count too.
+ *
+ * By default an endpoint over budget is only logged. In strict mode (the ci profile) a budgeted
+ * endpoint's response is buffered and replaced by a 500 when it ran more statements than its
+ * budget, so an N+1 introduced by a change fails the CI smoke run instead of reaching production.
+ * Latency budgets are always log-only; timings on CI machines are too noisy to fail on.
+ *
+ * The count of every request is also recorded as the http.server.requests.queries summary,
+ * tagged like Spring's http.server.requests timer (method and route template), and the request
+ * is traced by QueryDiagnostics for repeated and slow statements.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final QueryBudgetProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final QueryDiagnostics queryDiagnostics;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryBudgetProperties.Endpoint budget = findBudget(request);
+        boolean enforce = properties.isStrict() && budget != null && budget.getMaxQueries() > 0;
+        HttpServletResponse target = enforce ? new ContentCachingResponseWrapper(response) : response;
+
+        long startNanos = System.nanoTime();
+        QueryCounter.start();
+        queryDiagnostics.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        int queries;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            queries = QueryCounter.stop();
+            queryDiagnostics.endRequest(request.getMethod() + " " + route(request));
+        }
+        long millis = (System.nanoTime() - startNanos) / 1_000_000;
+        recordQueries(request, queries);
+
+        boolean overQueries = check(request, budget, queries, millis);
+        if (!enforce) {
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = (ContentCachingResponseWrapper) target;
+        if (overQueries) {
+            writeBudgetError(response, request, budget, queries);
+        } else {
+            wrapper.setHeader(QUERY_COUNT_HEADER, String.valueOf(queries));
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void recordQueries(HttpServletRequest request, int queries) {
+        DistributionSummary.builder("http.server.requests.queries")
+            .description("SQL statements per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", route(request))
+            .register(meterRegistry)
+            .record(queries);
+    }
+
+    // Route template such as /api/pemilihan/{id}; raw URIs would create a series per id
+    private static String route(HttpServletRequest request) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return route != null ? route.toString() : "UNKNOWN";
+    }
+
+    private QueryBudgetProperties.Endpoint findBudget(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (QueryBudgetProperties.Endpoint endpoint : properties.getEndpoints()) {
+            boolean methodMatches = endpoint.getMethod() == null || endpoint.getMethod().isBlank()
+                || endpoint.getMethod().equalsIgnoreCase(request.getMethod());
+            if (methodMatches && endpoint.getPattern() != null && pathMatcher.match(endpoint.getPattern(), path)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    // Logs the request against its budget; returns true when the statement budget was exceeded
+    private boolean check(HttpServletRequest request, QueryBudgetProperties.Endpoint budget, int queries, long millis) {
+        if (budget == null) {
+            log.debug("{} {}: {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(), queries, millis);
+            return false;
+        }
+
+        boolean overQueries = budget.getMaxQueries() > 0 && queries > budget.getMaxQueries();
+        if (overQueries) {
+            log.warn("Query budget exceeded: {} {} ran {} SQL statements (budget {})",
+                request.getMethod(), request.getRequestURI(), queries, budget.getMaxQueries());
+        }
+        if (budget.getMaxMillis() > 0 && millis > budget.getMaxMillis()) {
+            log.warn("Latency budget exceeded: {} {} took {} ms (budget {} ms)",
+                request.getMethod(), request.getRequestURI(), millis, budget.getMaxMillis());
+        }
+        if (!overQueries) {
+            log.debug("{} {}: {} SQL statements in {} ms (budget {})",
+                request.getMethod(), request.getRequestURI(), queries, millis, budget.getMaxQueries());
+        }
+        return overQueries;
+    }
+
+    private void writeBudgetError(HttpServletResponse response, HttpServletRequest request,
+                                  QueryBudgetProperties.Endpoint budget, int queries) throws IOException {
+        // Nothing was committed yet: the real response only went into the buffer
+        response.reset();
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(QUERY_COUNT_HEADER, String.valueOf(queries));
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+            "error", "Query budget terlampaui: " + queries + " query SQL, batas " + budget.getMaxQueries(),
+            "path", request.getRequestURI()));
+    }
+}
@@ -13,11 +13,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "komentar_berita")
+@Table(name = "komentar_berita",
+    indexes = @Index(name = "idx_komentar_berita_root", columnList = "root_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class KomentarBerita {
+public class KomentarBerita implements ReactionCounted {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,6 +45,11 @@ public class KomentarBerita {
     @JsonBackReference("parent-child")
     private KomentarBerita parentKomentar;
     
+    // Top-level comment of the thread (null on top-level comments), so a page of threads loads
+    // its replies with one root_id IN (...) query
+    @Column(name = "root_id", updatable = false)
+    private Long rootId;
+    
     @OneToMany(mappedBy = "parentKomentar", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference("parent-child")
     private List<KomentarBerita> replies;
@@ -53,14 +59,23 @@ public class KomentarBerita {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @Column(name = "likes", nullable = false)
+    @Column(name = "likes", nullable = false, updatable = false)
     private Integer likes = 0;
     
-    @Column(name = "dislikes", nullable = false)
+    @Column(name = "dislikes", nullable = false, updatable = false)
     private Integer dislikes = 0;
     
     @PrePersist
     protected void onCreate() {
+        if (parentKomentar != null && rootId == null) {
+            // A top-level parent is the root; walking further up only happens below replies
+            // written before root_id existed and not yet backfilled
+            KomentarBerita top = parentKomentar;
+            while (top.getRootId() == null && top.getParentKomentar() != null) {
+                top = top.getParentKomentar();
+            }
+            rootId = top.getRootId() != null ? top.getRootId() : top.getId();
+        }
         tanggalKomentar = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
@@ -69,4 +84,10 @@ public class KomentarBerita {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    @Override
+    public void addReactionDelta(int likeDelta, int dislikeDelta) {
+        likes = (likes == null ? 0 : likes) + likeDelta;
+        dislikes = (dislikes == null ? 0 : dislikes) + dislikeDelta;
+    }
 }
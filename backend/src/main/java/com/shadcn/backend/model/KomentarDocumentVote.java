@@ -8,7 +8,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "komentar_document_vote")
+@Table(name = "komentar_document_vote",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"komentar_id", "biografi_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
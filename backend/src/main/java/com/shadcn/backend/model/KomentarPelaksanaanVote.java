@@ -8,7 +8,8 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "komentar_pelaksanaan_vote")
+@Table(name = "komentar_pelaksanaan_vote",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"komentar_id", "biografi_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor 
@@ -28,7 +28,7 @@ import java.util.ArrayList;
 @AllArgsConstructor
 @EqualsAndHashCode(exclude = {"replies", "reactions"})
 @ToString(exclude = {"replies", "reactions"})
-public class PostComment {
+public class PostComment implements ReactionCounted {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long commentId;
@@ -91,10 +91,10 @@ public class PostComment {
     private List<CommentReaction> reactions = new ArrayList<>();
 
     // Reaction counts for performance
-    @Column(name = "like_count", nullable = false)
+    @Column(name = "like_count", nullable = false, updatable = false)
     private Integer likeCount = 0;
 
-    @Column(name = "dislike_count", nullable = false)
+    @Column(name = "dislike_count", nullable = false, updatable = false)
     private Integer dislikeCount = 0;
 
     @Column(name = "reply_count", nullable = false)
@@ -190,4 +190,10 @@ public class PostComment {
             }
         }
     }
+
+    @Override
+    public void addReactionDelta(int likeDelta, int dislikeDelta) {
+        likeCount = (likeCount == null ? 0 : likeCount) + likeDelta;
+        dislikeCount = (dislikeCount == null ? 0 : dislikeCount) + dislikeDelta;
+    }
 }
@@ -27,7 +27,7 @@ import java.util.ArrayList;
 @AllArgsConstructor
 @EqualsAndHashCode(exclude = {"media", "reactions", "comments"})
 @ToString(exclude = {"media", "reactions", "comments"})
-public class PostKomunikasi {
+public class PostKomunikasi implements ReactionCounted {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long postId;
@@ -77,10 +77,10 @@ public class PostKomunikasi {
     private List<PostComment> comments = new ArrayList<>();
 
     // Reaction counts for performance
-    @Column(name = "like_count", nullable = false)
+    @Column(name = "like_count", nullable = false, updatable = false)
     private Integer likeCount = 0;
 
-    @Column(name = "dislike_count", nullable = false)
+    @Column(name = "dislike_count", nullable = false, updatable = false)
     private Integer dislikeCount = 0;
 
     @Column(name = "comment_count", nullable = false)
@@ -177,4 +177,10 @@ public class PostKomunikasi {
             }
         }
     }
+
+    @Override
+    public void addReactionDelta(int likeDelta, int dislikeDelta) {
+        likeCount = (likeCount == null ? 0 : likeCount) + likeDelta;
+        dislikeCount = (dislikeCount == null ? 0 : dislikeCount) + dislikeDelta;
+    }
 }
@@ -0,0 +1,16 @@
+package com.shadcn.backend.model;
+
+/**
+ * Entity with denormalized like/dislike counters.
+ *
+ * The counter columns are mapped {@code updatable = false}: they are only written by the
+ * relative {@code applyReactionDelta} repository updates, so a managed instance whose counters
+ * were adjusted in memory is never flushed back over concurrent increments.
+ */
+public interface ReactionCounted {
+
+    /**
+     * Mirror a delta that was just applied in the database on this instance.
+     */
+    void addReactionDelta(int likeDelta, int dislikeDelta);
+}
@@ -0,0 +1,50 @@
+package com.shadcn.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated submission progress cell: how many submissions a pegawai has for one tahapan
+ * of a laporan in a pemilihan, and the status of the latest one. Maintained by
+ * SubmissionProgressService together with every submission write.
+ */
+@Entity
+@Table(name = "submission_progress",
+    uniqueConstraints = @UniqueConstraint(name = "uk_submission_progress_cell",
+        columnNames = {"pemilihan_id", "laporan_id", "tahapan_laporan_id", "pegawai_id"}),
+    indexes = @Index(name = "idx_submission_progress_pemilihan", columnList = "pemilihan_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionProgress {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "pemilihan_id", nullable = false)
+    private Long pemilihanId;
+    
+    @Column(name = "laporan_id", nullable = false)
+    private Long laporanId;
+    
+    @Column(name = "tahapan_laporan_id", nullable = false)
+    private Long tahapanLaporanId;
+    
+    @Column(name = "pegawai_id", nullable = false)
+    private Long pegawaiId;
+    
+    @Column(name = "submission_count", nullable = false)
+    private Integer submissionCount = 0;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "latest_status", length = 20)
+    private SubmissionLaporan.StatusLaporan latestStatus;
+    
+    @Column(name = "latest_submission_at")
+    private LocalDateTime latestSubmissionAt;
+}
@@ -18,7 +18,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Usulan {
+public class Usulan implements ReactionCounted {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -52,10 +52,10 @@ public class Usulan {
     @Column(name = "email_pengusul", length = 100)
     private String emailPengusul;
     
-    @Column(name = "jumlah_upvote", nullable = false)
+    @Column(name = "jumlah_upvote", nullable = false, updatable = false)
     private Long jumlahUpvote = 0L;
     
-    @Column(name = "jumlah_downvote", nullable = false)
+    @Column(name = "jumlah_downvote", nullable = false, updatable = false)
     private Long jumlahDownvote = 0L;
     
     @Enumerated(EnumType.STRING)
@@ -111,4 +111,10 @@ public class Usulan {
     public enum StatusUsulan {
         AKTIF, EXPIRED, DALAM_PELAKSANAAN, SELESAI
     }
+
+    @Override
+    public void addReactionDelta(int likeDelta, int dislikeDelta) {
+        jumlahUpvote = (jumlahUpvote == null ? 0L : jumlahUpvote) + likeDelta;
+        jumlahDownvote = (jumlahDownvote == null ? 0L : jumlahDownvote) + dislikeDelta;
+    }
 }
@@ -0,0 +1,97 @@
+package com.shadcn.backend.model;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbound WhatsApp message waiting to be delivered by the queue workers.
+ */
+@Entity
+@Table(name = "whatsapp_outbox", indexes = {
+    @Index(name = "idx_whatsapp_outbox_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_whatsapp_outbox_invitation", columnList = "invitation_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatsAppOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "nomor_hp", nullable = false, length = 20)
+    private String nomorHp;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    // Invitation whose status is updated once this message is delivered (optional)
+    @Column(name = "invitation_id")
+    private Long invitationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime nextAttemptAt;
+
+    // Set by the worker that claimed the row for dispatch
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "whatsapp_message_id")
+    private String whatsappMessageId;
+
+    @Column(name = "sent_at")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime sentAt;
+
+    @Column(name = "created_at", updatable = false)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    public enum OutboxStatus {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED
+    }
+
+    public WhatsAppOutbox(String nomorHp, String message, Long invitationId) {
+        this.nomorHp = nomorHp;
+        this.message = message;
+        this.invitationId = invitationId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = LocalDateTime.now();
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
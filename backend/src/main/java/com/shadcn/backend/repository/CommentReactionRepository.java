@@ -20,6 +20,10 @@ public interface CommentReactionRepository extends JpaRepository<CommentReaction
     @Query("SELECT r FROM CommentReaction r WHERE r.commentId = :commentId ORDER BY r.createdAt DESC")
     List<CommentReaction> findByCommentId(@Param("commentId") Long commentId);
     
+    // Find a user's reactions for a batch of comments
+    @Query("SELECT r FROM CommentReaction r WHERE r.commentId IN :commentIds AND r.biografiId = :biografiId")
+    List<CommentReaction> findByCommentIdInAndBiografiId(@Param("commentIds") List<Long> commentIds, @Param("biografiId") Long biografiId);
+    
     // Count reactions by type for a comment
     @Query("SELECT r.reactionType, COUNT(r) FROM CommentReaction r WHERE r.commentId = :commentId GROUP BY r.reactionType")
     List<Object[]> countReactionsByType(@Param("commentId") Long commentId);
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -36,6 +37,22 @@ public interface DetailLaporanRepository extends JpaRepository<DetailLaporan, Lo
            "FROM DetailLaporan dl WHERE dl.laporan.laporanId = :laporanId")
     Object[] getLaporanProgress(@Param("laporanId") Long laporanId);
     
+    // Laporan id -> jenis laporan id links for a page of laporan, in tahapan order
+    @Query("SELECT dl.laporan.laporanId, t.jenisLaporan.jenisLaporanId FROM DetailLaporan dl JOIN dl.tahapanLaporan t " +
+           "WHERE dl.laporan.laporanId IN :laporanIds ORDER BY dl.laporan.laporanId, t.urutanTahapan")
+    List<Object[]> findJenisLaporanLinksByLaporanIds(@Param("laporanIds") Collection<Long> laporanIds);
+    
+    // Laporan id -> tahapan laporan id links for a set of laporan, in tahapan order
+    @Query("SELECT dl.laporan.laporanId, dl.tahapanLaporan.tahapanLaporanId FROM DetailLaporan dl JOIN dl.tahapanLaporan t " +
+           "WHERE dl.laporan.laporanId IN :laporanIds ORDER BY dl.laporan.laporanId, t.urutanTahapan")
+    List<Object[]> findTahapanLinksByLaporanIds(@Param("laporanIds") Collection<Long> laporanIds);
+    
+    // Progress (laporan id, total, selesai) for a page of laporan
+    @Query("SELECT dl.laporan.laporanId, COUNT(dl), " +
+           "SUM(CASE WHEN dl.status = 'SELESAI' THEN 1 ELSE 0 END) " +
+           "FROM DetailLaporan dl WHERE dl.laporan.laporanId IN :laporanIds GROUP BY dl.laporan.laporanId")
+    List<Object[]> getLaporanProgressByLaporanIds(@Param("laporanIds") Collection<Long> laporanIds);
+    
     // Check if all tahapan completed for laporan
     @Query("SELECT COUNT(dl) = 0 FROM DetailLaporan dl WHERE dl.laporan.laporanId = :laporanId AND dl.status != 'SELESAI'")
     boolean isAllTahapanCompleted(@Param("laporanId") Long laporanId);
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +18,10 @@ public interface DetailPemilihanRepository extends JpaRepository<DetailPemilihan
     @Query("SELECT dp FROM DetailPemilihan dp LEFT JOIN FETCH dp.laporan l LEFT JOIN FETCH l.jenisLaporan jl WHERE dp.pemilihan.pemilihanId = :pemilihanId ORDER BY dp.urutanTampil")
     List<DetailPemilihan> findByPemilihanIdWithLaporanOrderByUrutan(@Param("pemilihanId") Long pemilihanId);
     
+    // Detail laporan of a page of pemilihan in one query
+    @Query("SELECT dp FROM DetailPemilihan dp LEFT JOIN FETCH dp.laporan l LEFT JOIN FETCH l.jenisLaporan jl WHERE dp.pemilihan.pemilihanId IN :pemilihanIds ORDER BY dp.urutanTampil")
+    List<DetailPemilihan> findByPemilihanIdsWithLaporanOrderByUrutan(@Param("pemilihanIds") Collection<Long> pemilihanIds);
+    
     @Query("SELECT dp FROM DetailPemilihan dp WHERE dp.pemilihan.pemilihanId = :pemilihanId AND dp.posisiLayout = :posisi ORDER BY dp.urutanTampil")
     List<DetailPemilihan> findByPemilihanIdAndPosisi(@Param("pemilihanId") Long pemilihanId, @Param("posisi") Integer posisi);
     
@@ -26,6 +31,9 @@ public interface DetailPemilihanRepository extends JpaRepository<DetailPemilihan
     @Query("SELECT MAX(dp.urutanTampil) FROM DetailPemilihan dp WHERE dp.pemilihan.pemilihanId = :pemilihanId")
     Integer getMaxUrutanTampil(@Param("pemilihanId") Long pemilihanId);
     
+    @Query("SELECT dp.pemilihan.pemilihanId, MAX(dp.urutanTampil) FROM DetailPemilihan dp WHERE dp.pemilihan.pemilihanId IN :pemilihanIds GROUP BY dp.pemilihan.pemilihanId")
+    List<Object[]> getMaxUrutanTampilByPemilihanIds(@Param("pemilihanIds") Collection<Long> pemilihanIds);
+    
     @Query("SELECT dp FROM DetailPemilihan dp WHERE dp.laporan.laporanId = :laporanId")
     List<DetailPemilihan> findByLaporanId(@Param("laporanId") Long laporanId);
     
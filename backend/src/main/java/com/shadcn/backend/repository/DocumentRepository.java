@@ -4,6 +4,7 @@ import com.shadcn.backend.model.Document;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -84,4 +85,9 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findTop3PopularThisMonth(@Param("startOfMonth") java.time.LocalDateTime startOfMonth);
     
     Long countByCreatedAtBetween(java.time.LocalDateTime start, java.time.LocalDateTime end);
+    
+    // Apply buffered downloads with a relative update so concurrent flushes never lose counts
+    @Modifying
+    @Query("UPDATE Document d SET d.downloadCount = COALESCE(d.downloadCount, 0) + :delta WHERE d.id = :id")
+    int incrementDownloadCount(@Param("id") Long id, @Param("delta") int delta);
 }
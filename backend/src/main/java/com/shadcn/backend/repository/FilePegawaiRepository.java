@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -38,6 +39,40 @@ public interface FilePegawaiRepository extends JpaRepository<FilePegawai, Long>
                                      @Param("isActive") Boolean isActive, 
                                      Pageable pageable);
     
+    // One row per (pegawai, kategori) group of matching files:
+    // pegawaiId, pegawai name, kategoriId, kategori name, first createdAt, last updatedAt
+    @Query(value = "SELECT fp.pegawai.id, p.fullName, fp.kategori.id, k.nama, MIN(fp.createdAt), MAX(fp.updatedAt) " +
+           "FROM FilePegawai fp JOIN fp.pegawai p JOIN fp.kategori k WHERE " +
+           "(:search IS NULL OR LOWER(fp.judul) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR LOWER(fp.deskripsi) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:pegawaiId IS NULL OR fp.pegawai.id = :pegawaiId) AND " +
+           "(:kategoriId IS NULL OR fp.kategori.id = :kategoriId) AND " +
+           "(:isActive IS NULL OR fp.isActive = :isActive) " +
+           "GROUP BY fp.pegawai.id, p.fullName, fp.kategori.id, k.nama",
+           countQuery = "SELECT COUNT(DISTINCT CONCAT(fp.pegawai.id, '_', fp.kategori.id)) FROM FilePegawai fp WHERE " +
+           "(:search IS NULL OR LOWER(fp.judul) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR LOWER(fp.deskripsi) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:pegawaiId IS NULL OR fp.pegawai.id = :pegawaiId) AND " +
+           "(:kategoriId IS NULL OR fp.kategori.id = :kategoriId) AND " +
+           "(:isActive IS NULL OR fp.isActive = :isActive)")
+    Page<Object[]> findGroups(@Param("search") String search,
+                              @Param("pegawaiId") Long pegawaiId,
+                              @Param("kategoriId") Long kategoriId,
+                              @Param("isActive") Boolean isActive,
+                              Pageable pageable);
+    
+    // Matching files of a page of groups, with pegawai and kategori loaded; caller keeps the exact pairs
+    @Query("SELECT fp FROM FilePegawai fp JOIN FETCH fp.pegawai JOIN FETCH fp.kategori WHERE " +
+           "fp.pegawai.id IN :pegawaiIds AND fp.kategori.id IN :kategoriIds AND " +
+           "(:search IS NULL OR LOWER(fp.judul) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR LOWER(fp.deskripsi) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:isActive IS NULL OR fp.isActive = :isActive) " +
+           "ORDER BY fp.createdAt DESC, fp.id DESC")
+    List<FilePegawai> findGroupFiles(@Param("pegawaiIds") Collection<Long> pegawaiIds,
+                                     @Param("kategoriIds") Collection<Long> kategoriIds,
+                                     @Param("search") String search,
+                                     @Param("isActive") Boolean isActive);
+    
     // Count files by pegawai
     long countByPegawaiAndIsActiveTrue(Pegawai pegawai);
     
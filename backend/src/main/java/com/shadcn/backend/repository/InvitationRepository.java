@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.List;
+import java.util.Collection;
 import java.time.LocalDateTime;
 
 @Repository
@@ -40,9 +41,17 @@ public interface InvitationRepository extends JpaRepository<Invitation, Long> {
     @Query("SELECT COUNT(i) > 0 FROM Invitation i WHERE i.nomorHp = :nomorHp AND i.status IN ('PENDING', 'SENT') AND i.expiresAt > :now")
     boolean hasValidInvitation(@Param("nomorHp") String nomorHp, @Param("now") LocalDateTime now);
     
-    // Find invitations sent today
-    @Query("SELECT i FROM Invitation i WHERE DATE(i.sentAt) = CURRENT_DATE")
-    List<Invitation> findTodaysInvitations();
+    // Phone numbers from the given set that have a valid invitation
+    @Query("SELECT DISTINCT i.nomorHp FROM Invitation i WHERE i.nomorHp IN :nomorHps AND i.status IN ('PENDING', 'SENT') AND i.expiresAt > :now")
+    List<String> findPhonesWithValidInvitation(@Param("nomorHps") Collection<String> nomorHps, @Param("now") LocalDateTime now);
+    
+    // Id and token of invitations with the given tokens
+    @Query("SELECT i.id, i.invitationToken FROM Invitation i WHERE i.invitationToken IN :tokens")
+    List<Object[]> findIdsByInvitationTokenIn(@Param("tokens") Collection<String> tokens);
+    
+    // Find invitations sent in [from, to), e.g. today; a range instead of DATE() works on every dialect and uses an index
+    @Query("SELECT i FROM Invitation i WHERE i.sentAt >= :from AND i.sentAt < :to")
+    List<Invitation> findSentBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
     
     // Find all invitations ordered by created date
     @Query("SELECT i FROM Invitation i ORDER BY i.createdAt DESC")
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,20 @@ public interface JenisLaporanRepository extends JpaRepository<JenisLaporan, Long
     @Query("SELECT jl FROM JenisLaporan jl WHERE jl.status = 'AKTIF' ORDER BY jl.nama ASC")
     List<JenisLaporan> findActiveJenisLaporan();
     
+    // Active types with (jenis, tahapan count, laporan count), without loading the collections
+    @Query("SELECT jl, " +
+           "(SELECT COUNT(t) FROM TahapanLaporan t WHERE t.jenisLaporan = jl), " +
+           "(SELECT COUNT(l) FROM Laporan l WHERE l.jenisLaporan = jl) " +
+           "FROM JenisLaporan jl WHERE jl.status = 'AKTIF' ORDER BY jl.nama ASC")
+    List<Object[]> findActiveJenisLaporanWithCounts();
+    
+    // (jenis id, tahapan count, laporan count) for a set of jenis laporan
+    @Query("SELECT jl.jenisLaporanId, " +
+           "(SELECT COUNT(t) FROM TahapanLaporan t WHERE t.jenisLaporan = jl), " +
+           "(SELECT COUNT(l) FROM Laporan l WHERE l.jenisLaporan = jl) " +
+           "FROM JenisLaporan jl WHERE jl.jenisLaporanId IN :ids")
+    List<Object[]> countTahapanAndLaporanByIds(@Param("ids") Collection<Long> ids);
+    
     // Check if nama already exists (for validation)
     @Query("SELECT COUNT(jl) > 0 FROM JenisLaporan jl WHERE LOWER(jl.nama) = LOWER(:nama) AND jl.jenisLaporanId != :id")
     boolean existsByNamaIgnoreCaseAndIdNot(@Param("nama") String nama, @Param("id") Long id);
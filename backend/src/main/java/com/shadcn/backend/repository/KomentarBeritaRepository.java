@@ -5,10 +5,12 @@ import com.shadcn.backend.dto.KomentarBeritaDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -41,6 +43,9 @@ public interface KomentarBeritaRepository extends JpaRepository<KomentarBerita,
     @Query("SELECT k FROM KomentarBerita k WHERE k.parentKomentar.id IN :parentIds ORDER BY k.parentKomentar.id, k.tanggalKomentar ASC")
     List<KomentarBerita> findRepliesByParentIds(@Param("parentIds") List<Long> parentIds);
     
+    // Every reply below the given top-level comments; the threads are assembled in memory
+    List<KomentarBerita> findByRootIdInOrderByTanggalKomentarAsc(Collection<Long> rootIds);
+    
     // Get parent comments as DTOs without lazy loading issues
     @Query("SELECT new com.shadcn.backend.dto.KomentarBeritaDto(" +
            "k.id, k.konten, k.namaPengguna, k.biografiId, k.tanggalKomentar, k.updatedAt, k.likes, k.dislikes) " +
@@ -49,11 +54,16 @@ public interface KomentarBeritaRepository extends JpaRepository<KomentarBerita,
            "ORDER BY k.tanggalKomentar DESC")
     Page<KomentarBeritaDto> findParentCommentsDtoByBeritaId(@Param("beritaId") Long beritaId, Pageable pageable);
     
-    // Get replies for a parent comment as DTOs
+    // Every reply below a page of top-level comments as DTOs; the threads are assembled in memory
     @Query("SELECT new com.shadcn.backend.dto.KomentarBeritaDto(" +
-           "k.id, k.konten, k.namaPengguna, k.biografiId, k.tanggalKomentar, k.updatedAt, k.likes, k.dislikes) " +
+           "k.id, k.konten, k.namaPengguna, k.biografiId, k.tanggalKomentar, k.updatedAt, k.likes, k.dislikes, k.parentKomentar.id) " +
            "FROM KomentarBerita k " +
-           "WHERE k.parentKomentar.id = :parentId " +
+           "WHERE k.rootId IN :rootIds " +
            "ORDER BY k.tanggalKomentar ASC")
-    List<KomentarBeritaDto> findRepliesDtoByParentId(@Param("parentId") Long parentId);
+    List<KomentarBeritaDto> findRepliesDtoByRootIds(@Param("rootIds") Collection<Long> rootIds);
+    
+    // Apply a like/dislike delta without recounting the vote table
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE KomentarBerita k SET k.updatedAt = LOCAL DATETIME, k.likes = k.likes + :likeDelta, k.dislikes = k.dislikes + :dislikeDelta WHERE k.id = :id")
+    int applyReactionDelta(@Param("id") Long id, @Param("likeDelta") int likeDelta, @Param("dislikeDelta") int dislikeDelta);
 }
@@ -5,10 +5,12 @@ import com.shadcn.backend.dto.KomentarDocumentDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -30,11 +32,19 @@ public interface KomentarDocumentRepository extends JpaRepository<KomentarDocume
            "ORDER BY k.tanggalKomentar DESC")
     Page<KomentarDocumentDto> findParentCommentsDtoByDocumentId(@Param("documentId") Long documentId, Pageable pageable);
     
-    // Get replies for a parent comment as DTOs
+    // Every reply below a page of top-level comments as DTOs; the threads are assembled in memory
     @Query("SELECT new com.shadcn.backend.dto.KomentarDocumentDto(" +
-           "k.id, k.konten, k.namaPengguna, k.biografiId, k.tanggalKomentar, k.updatedAt, k.likes, k.dislikes) " +
+           "k.id, k.konten, k.namaPengguna, k.biografiId, k.tanggalKomentar, k.updatedAt, k.likes, k.dislikes, k.parentKomentar.id) " +
            "FROM KomentarDocument k " +
-           "WHERE k.parentKomentar.id = :parentId " +
+           "WHERE k.rootId IN :rootIds " +
            "ORDER BY k.tanggalKomentar ASC")
-    List<KomentarDocumentDto> findRepliesDtoByParentId(@Param("parentId") Long parentId);
+    List<KomentarDocumentDto> findRepliesDtoByRootIds(@Param("rootIds") Collection<Long> rootIds);
+    
+    // Every reply below the given top-level comments; the threads are assembled in memory
+    List<KomentarDocument> findByRootIdInOrderByTanggalKomentarAsc(Collection<Long> rootIds);
+    
+    // Apply a like/dislike delta without recounting the vote table
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE KomentarDocument k SET k.updatedAt = LOCAL DATETIME, k.likes = k.likes + :likeDelta, k.dislikes = k.dislikes + :dislikeDelta WHERE k.id = :id")
+    int applyReactionDelta(@Param("id") Long id, @Param("likeDelta") int likeDelta, @Param("dislikeDelta") int dislikeDelta);
 }
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,6 +15,10 @@ public interface KomentarPelaksanaanVoteRepository extends JpaRepository<Komenta
     
     Optional<KomentarPelaksanaanVote> findByKomentarIdAndBiografiId(Long komentarId, Long biografiId);
     
+    // The viewer's votes on a page of comments, as [komentarId, voteType]
+    @Query("SELECT v.komentar.id, v.voteType FROM KomentarPelaksanaanVote v WHERE v.komentar.id IN :komentarIds AND v.biografiId = :biografiId")
+    List<Object[]> findVoteTypesByKomentarIds(@Param("komentarIds") Collection<Long> komentarIds, @Param("biografiId") Long biografiId);
+    
     @Query("SELECT COUNT(v) FROM KomentarPelaksanaanVote v WHERE v.komentar.id = :komentarId AND v.voteType = 'LIKE'")
     long countLikesByKomentarId(@Param("komentarId") Long komentarId);
     
@@ -22,11 +22,36 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
     
     List<Payment> findByUser(User user);
     
-    List<Payment> findByUserId(Long userId);
+    @Query("SELECT p FROM Payment p JOIN FETCH p.user ORDER BY p.id DESC")
+    List<Payment> findAllWithUser();
     
-    List<Payment> findByStatus(Payment.PaymentStatus status);
+    @Query("SELECT p FROM Payment p JOIN FETCH p.user WHERE p.user.id = :userId ORDER BY p.id DESC")
+    List<Payment> findByUserId(@Param("userId") Long userId);
     
-    List<Payment> findByMethod(Payment.PaymentMethod method);
+    @Query("SELECT p FROM Payment p JOIN FETCH p.user WHERE p.status = :status ORDER BY p.id DESC")
+    List<Payment> findByStatus(@Param("status") Payment.PaymentStatus status);
+    
+    @Query("SELECT p FROM Payment p JOIN FETCH p.user WHERE p.method = :method ORDER BY p.id DESC")
+    List<Payment> findByMethod(@Param("method") Payment.PaymentMethod method);
+    
+    // Keyset listing: newest first, continuing below the last seen id; page size via Pageable
+    @Query("SELECT p FROM Payment p JOIN FETCH p.user WHERE " +
+           "(:afterId IS NULL OR p.id < :afterId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:method IS NULL OR p.method = :method) AND " +
+           "(:minAmount IS NULL OR p.amount >= :minAmount) AND " +
+           "(:maxAmount IS NULL OR p.amount <= :maxAmount) AND " +
+           "(:startDate IS NULL OR p.createdAt >= :startDate) AND " +
+           "(:endDate IS NULL OR p.createdAt < :endDate) " +
+           "ORDER BY p.id DESC")
+    List<Payment> findKeysetPage(@Param("afterId") Long afterId,
+                                 @Param("status") Payment.PaymentStatus status,
+                                 @Param("method") Payment.PaymentMethod method,
+                                 @Param("minAmount") BigDecimal minAmount,
+                                 @Param("maxAmount") BigDecimal maxAmount,
+                                 @Param("startDate") LocalDateTime startDate,
+                                 @Param("endDate") LocalDateTime endDate,
+                                 Pageable pageable);
     
     // Advanced filtering methods with pagination
     @Query("SELECT p FROM Payment p WHERE " +
@@ -44,10 +69,10 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
             Pageable pageable
     );
     
-    @Query("SELECT p FROM Payment p WHERE p.amount BETWEEN :minAmount AND :maxAmount")
+    @Query("SELECT p FROM Payment p JOIN FETCH p.user WHERE p.amount BETWEEN :minAmount AND :maxAmount ORDER BY p.id DESC")
     List<Payment> findByAmountBetween(@Param("minAmount") BigDecimal minAmount, @Param("maxAmount") BigDecimal maxAmount);
     
-    @Query("SELECT p FROM Payment p WHERE p.createdAt BETWEEN :startDate AND :endDate")
+    @Query("SELECT p FROM Payment p JOIN FETCH p.user WHERE p.createdAt BETWEEN :startDate AND :endDate ORDER BY p.id DESC")
     List<Payment> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = :status")
@@ -55,4 +80,14 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
     
     @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = :status")
     Long getCountByStatus(@Param("status") Payment.PaymentStatus status);
+    
+    // count and amount per status in one pass
+    @Query("SELECT p.status, COUNT(p), SUM(p.amount) FROM Payment p GROUP BY p.status")
+    List<Object[]> getTotalsByStatus();
+    
+    // day, status, method, count, amount for payments created in [start, end)
+    @Query("SELECT CAST(p.createdAt AS LocalDate), p.status, p.method, COUNT(p), SUM(p.amount) FROM Payment p " +
+           "WHERE p.createdAt >= :start AND p.createdAt < :end " +
+           "GROUP BY CAST(p.createdAt AS LocalDate), p.status, p.method")
+    List<Object[]> getDailyTotals(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +38,19 @@ public interface PegawaiRepository extends JpaRepository<Pegawai, Long> {
     
     boolean existsByNipAndIdNot(String nip, Long id);
     
+    // Set-based duplicate checks for bulk import: values from the given set that are taken
+    @Query("SELECT p.username FROM Pegawai p WHERE p.username IN :values")
+    List<String> findExistingUsernames(@Param("values") Collection<String> values);
+    
+    @Query("SELECT p.email FROM Pegawai p WHERE p.email IN :values")
+    List<String> findExistingEmails(@Param("values") Collection<String> values);
+    
+    @Query("SELECT p.phoneNumber FROM Pegawai p WHERE p.phoneNumber IN :values")
+    List<String> findExistingPhoneNumbers(@Param("values") Collection<String> values);
+    
+    @Query("SELECT p.nip FROM Pegawai p WHERE p.nip IN :values")
+    List<String> findExistingNips(@Param("values") Collection<String> values);
+    
     List<Pegawai> findByStatus(Pegawai.PegawaiStatus status);
     
     List<Pegawai> findByJabatan_Nama(String jabatanNama);
@@ -73,6 +87,34 @@ public interface PegawaiRepository extends JpaRepository<Pegawai, Long> {
     @Query("SELECT COUNT(p) FROM Pegawai p JOIN p.pemilihanList pm WHERE pm.pemilihanId = :pemilihanId")
     long countByPemilihanId(@Param("pemilihanId") Long pemilihanId);
     
+    // Pegawai per pemilihan for a page of pemilihan, as [pemilihanId, count]
+    @Query("SELECT pm.pemilihanId, COUNT(p) FROM Pegawai p JOIN p.pemilihanList pm WHERE pm.pemilihanId IN :pemilihanIds GROUP BY pm.pemilihanId")
+    List<Object[]> countByPemilihanIds(@Param("pemilihanIds") Collection<Long> pemilihanIds);
+    
+    // (id, fullName, nip) of the pegawai assigned to a pemilihan, without loading the entities
+    @Query("SELECT p.id, p.fullName, p.nip FROM Pegawai p JOIN p.pemilihanList pm WHERE pm.pemilihanId = :pemilihanId")
+    List<Object[]> findSummaryByPemilihanId(@Param("pemilihanId") Long pemilihanId);
+    
+    // (id, fullName, nip) for a set of pegawai ids
+    @Query("SELECT p.id, p.fullName, p.nip FROM Pegawai p WHERE p.id IN :ids")
+    List<Object[]> findSummaryByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Ids from the given set that exist
+    @Query("SELECT p.id FROM Pegawai p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    // Ids of the pegawai matching an optional status/jabatan/wilayah filter
+    @Query("SELECT p.id FROM Pegawai p LEFT JOIN p.jabatan j WHERE " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:jabatan IS NULL OR :jabatan = '' OR LOWER(j.nama) = LOWER(:jabatan)) AND " +
+           "(:provinsi IS NULL OR :provinsi = '' OR p.provinsi = :provinsi) AND " +
+           "(:kota IS NULL OR :kota = '' OR p.kota = :kota) " +
+           "ORDER BY p.id")
+    List<Long> findIdsByFilter(@Param("status") Pegawai.PegawaiStatus status,
+                               @Param("jabatan") String jabatan,
+                               @Param("provinsi") String provinsi,
+                               @Param("kota") String kota);
+    
     // Advanced filtering query
     @Query("SELECT p FROM Pegawai p WHERE " +
            "(:search IS NULL OR :search = '' OR " +
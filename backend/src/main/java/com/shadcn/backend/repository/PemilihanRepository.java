@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -117,4 +118,8 @@ public interface PemilihanRepository extends JpaRepository<Pemilihan, Long> {
     // Monthly statistics for dashboard
     @Query("SELECT COUNT(p) FROM Pemilihan p WHERE YEAR(p.createdAt) = :year AND MONTH(p.createdAt) = :month")
     Long countByCreatedAtYearAndMonth(@Param("year") int year, @Param("month") int month);
+    
+    // Ids from the given set that exist
+    @Query("SELECT p.pemilihanId FROM Pemilihan p WHERE p.pemilihanId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
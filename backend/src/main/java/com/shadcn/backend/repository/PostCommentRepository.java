@@ -4,6 +4,7 @@ import com.shadcn.backend.model.PostComment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,11 +16,12 @@ import java.util.Optional;
 public interface PostCommentRepository extends JpaRepository<PostComment, Long> {
     
     // Find active comments for a post (top level only)
-    @Query("SELECT c FROM PostComment c WHERE c.postId = :postId AND c.parentCommentId IS NULL AND c.status = 'AKTIF' ORDER BY c.createdAt ASC")
+    @Query(value = "SELECT c FROM PostComment c LEFT JOIN FETCH c.biografi WHERE c.postId = :postId AND c.parentCommentId IS NULL AND c.status = 'AKTIF' ORDER BY c.createdAt ASC",
+           countQuery = "SELECT COUNT(c) FROM PostComment c WHERE c.postId = :postId AND c.parentCommentId IS NULL AND c.status = 'AKTIF'")
     Page<PostComment> findTopLevelCommentsByPostId(@Param("postId") Long postId, Pageable pageable);
     
     // Find replies to a comment
-    @Query("SELECT c FROM PostComment c WHERE c.parentCommentId = :parentCommentId AND c.status = 'AKTIF' ORDER BY c.createdAt ASC")
+    @Query("SELECT c FROM PostComment c LEFT JOIN FETCH c.biografi WHERE c.parentCommentId = :parentCommentId AND c.status = 'AKTIF' ORDER BY c.createdAt ASC")
     List<PostComment> findRepliesByParentCommentId(@Param("parentCommentId") Long parentCommentId);
     
     // Find active comment by ID
@@ -39,7 +41,7 @@ public interface PostCommentRepository extends JpaRepository<PostComment, Long>
     Long countRepliesByParentCommentId(@Param("parentCommentId") Long parentCommentId);
     
     // Find recent comments for a post (for preview)
-    @Query("SELECT c FROM PostComment c WHERE c.postId = :postId AND c.status = 'AKTIF' ORDER BY c.createdAt DESC")
+    @Query("SELECT c FROM PostComment c LEFT JOIN FETCH c.biografi WHERE c.postId = :postId AND c.status = 'AKTIF' ORDER BY c.createdAt DESC")
     List<PostComment> findRecentCommentsByPostId(@Param("postId") Long postId, Pageable pageable);
     
     // Find comments by user
@@ -56,4 +58,9 @@ public interface PostCommentRepository extends JpaRepository<PostComment, Long>
     // Find all comments in a thread (post + all comments and replies)
     @Query("SELECT c FROM PostComment c WHERE c.postId = :postId AND c.status = 'AKTIF' ORDER BY c.createdAt ASC")
     List<PostComment> findAllCommentsByPostId(@Param("postId") Long postId);
+    
+    // Apply a like/dislike delta without recounting the vote table
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE PostComment c SET c.likeCount = c.likeCount + :likeDelta, c.dislikeCount = c.dislikeCount + :dislikeDelta WHERE c.commentId = :commentId")
+    int applyReactionDelta(@Param("commentId") Long commentId, @Param("likeDelta") int likeDelta, @Param("dislikeDelta") int dislikeDelta);
 }
@@ -4,6 +4,7 @@ import com.shadcn.backend.model.PostKomunikasi;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -75,6 +76,14 @@ public interface PostKomunikasiRepository extends JpaRepository<PostKomunikasi,
     // Count posts between dates
     @Query("SELECT COUNT(p) FROM PostKomunikasi p WHERE p.status = 'AKTIF' " +
            "AND p.createdAt >= :startDate AND p.createdAt < :endDate")
-    Long countPostsBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);    // Find top recent posts for trending analysis
-    List<PostKomunikasi> findTop50ByStatusOrderByCreatedAtDesc(PostKomunikasi.StatusPost status);
+    Long countPostsBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    // Content and creation time of posts in the trending window (no entity hydration)
+    @Query("SELECT p.konten, p.createdAt FROM PostKomunikasi p WHERE p.status = :status AND p.createdAt >= :since")
+    List<Object[]> findKontenAndCreatedAtSince(@Param("status") PostKomunikasi.StatusPost status, @Param("since") LocalDateTime since);
+    
+    // Apply a like/dislike delta without recounting the vote table
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE PostKomunikasi p SET p.likeCount = p.likeCount + :likeDelta, p.dislikeCount = p.dislikeCount + :dislikeDelta WHERE p.postId = :postId")
+    int applyReactionDelta(@Param("postId") Long postId, @Param("likeDelta") int likeDelta, @Param("dislikeDelta") int dislikeDelta);
 }
@@ -4,12 +4,16 @@ import com.shadcn.backend.model.SubmissionLampiran;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SubmissionLampiranRepository extends JpaRepository<SubmissionLampiran, Long> {
     
     List<SubmissionLampiran> findBySubmissionLaporanIdOrderByTanggalUploadDesc(Long submissionLaporanId);
+
+    // Attachments of a page of submissions in one query
+    List<SubmissionLampiran> findBySubmissionLaporanIdInOrderByTanggalUploadDesc(Collection<Long> submissionLaporanIds);
     
     void deleteBySubmissionLaporanId(Long submissionLaporanId);
 }
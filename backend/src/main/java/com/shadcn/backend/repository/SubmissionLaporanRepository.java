@@ -15,7 +15,10 @@ public interface SubmissionLaporanRepository extends JpaRepository<SubmissionLap
     
     List<SubmissionLaporan> findByPegawaiIdOrderByTanggalBuatDesc(Long pegawaiId);
     
-    Page<SubmissionLaporan> findByPegawaiIdOrderByTanggalBuatDesc(Long pegawaiId, Pageable pageable);
+    // Pegawai, laporan and pemilihan are fetched with the page; the listing shows their names
+    @Query(value = "SELECT s FROM SubmissionLaporan s JOIN FETCH s.pegawai p JOIN FETCH s.laporan JOIN FETCH s.pemilihan WHERE p.id = :pegawaiId ORDER BY s.tanggalBuat DESC",
+           countQuery = "SELECT COUNT(s) FROM SubmissionLaporan s WHERE s.pegawai.id = :pegawaiId")
+    Page<SubmissionLaporan> findByPegawaiIdOrderByTanggalBuatDesc(@Param("pegawaiId") Long pegawaiId, Pageable pageable);
     
     List<SubmissionLaporan> findByPegawaiIdAndStatusOrderByTanggalBuatDesc(Long pegawaiId, SubmissionLaporan.StatusLaporan status);
     
@@ -32,5 +35,7 @@ public interface SubmissionLaporanRepository extends JpaRepository<SubmissionLap
     Long countByPegawaiIdAndStatus(@Param("pegawaiId") Long pegawaiId, @Param("status") SubmissionLaporan.StatusLaporan status);
     
     // Find all submissions for all employees (for admin)
+    @Query(value = "SELECT s FROM SubmissionLaporan s JOIN FETCH s.pegawai JOIN FETCH s.laporan JOIN FETCH s.pemilihan ORDER BY s.tanggalBuat DESC",
+           countQuery = "SELECT COUNT(s) FROM SubmissionLaporan s")
     Page<SubmissionLaporan> findAllByOrderByTanggalBuatDesc(Pageable pageable);
 }
@@ -0,0 +1,99 @@
+package com.shadcn.backend.repository;
+
+import com.shadcn.backend.model.SubmissionProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SubmissionProgressRepository extends JpaRepository<SubmissionProgress, Long> {
+    
+    // All cells of one pemilihan
+    List<SubmissionProgress> findByPemilihanId(Long pemilihanId);
+    
+    // Add one submission to a cell, creating it if needed (atomic under concurrent submits)
+    @Modifying
+    @Query(value = "INSERT INTO submission_progress " +
+                   "(pemilihan_id, laporan_id, tahapan_laporan_id, pegawai_id, submission_count, latest_status, latest_submission_at) " +
+                   "VALUES (:pemilihanId, :laporanId, :tahapanId, :pegawaiId, 1, :status, :submittedAt) " +
+                   "ON DUPLICATE KEY UPDATE submission_count = submission_count + 1, " +
+                   "latest_status = VALUES(latest_status), latest_submission_at = VALUES(latest_submission_at)",
+           nativeQuery = true)
+    int increment(@Param("pemilihanId") Long pemilihanId, @Param("laporanId") Long laporanId,
+                  @Param("tahapanId") Long tahapanId, @Param("pegawaiId") Long pegawaiId,
+                  @Param("status") String status, @Param("submittedAt") LocalDateTime submittedAt);
+    
+    // Remove one submission from a cell
+    @Modifying
+    @Query(value = "UPDATE submission_progress SET submission_count = submission_count - 1 " +
+                   "WHERE pemilihan_id = :pemilihanId AND laporan_id = :laporanId " +
+                   "AND tahapan_laporan_id = :tahapanId AND pegawai_id = :pegawaiId",
+           nativeQuery = true)
+    int decrement(@Param("pemilihanId") Long pemilihanId, @Param("laporanId") Long laporanId,
+                  @Param("tahapanId") Long tahapanId, @Param("pegawaiId") Long pegawaiId);
+    
+    // Set the latest status of a cell after a submission was edited in place
+    @Modifying
+    @Query(value = "UPDATE submission_progress SET latest_status = :status, latest_submission_at = :submittedAt " +
+                   "WHERE pemilihan_id = :pemilihanId AND laporan_id = :laporanId " +
+                   "AND tahapan_laporan_id = :tahapanId AND pegawai_id = :pegawaiId",
+           nativeQuery = true)
+    int updateLatestStatus(@Param("pemilihanId") Long pemilihanId, @Param("laporanId") Long laporanId,
+                           @Param("tahapanId") Long tahapanId, @Param("pegawaiId") Long pegawaiId,
+                           @Param("status") String status, @Param("submittedAt") LocalDateTime submittedAt);
+    
+    // Recompute the latest status of a cell from its remaining submissions, after one was deleted
+    // or moved out; the pending delete/update is flushed first so the subqueries do not see it
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE submission_progress SET " +
+                   "latest_status = (SELECT l.status FROM submission_laporan l " +
+                   " WHERE l.pemilihan_id = :pemilihanId AND l.laporan_id = :laporanId " +
+                   " AND l.tahapan_laporan_id = :tahapanId AND l.user_id = :pegawaiId " +
+                   " ORDER BY l.tanggal_update DESC, l.id DESC LIMIT 1), " +
+                   "latest_submission_at = (SELECT MAX(l.tanggal_update) FROM submission_laporan l " +
+                   " WHERE l.pemilihan_id = :pemilihanId AND l.laporan_id = :laporanId " +
+                   " AND l.tahapan_laporan_id = :tahapanId AND l.user_id = :pegawaiId) " +
+                   "WHERE pemilihan_id = :pemilihanId AND laporan_id = :laporanId " +
+                   "AND tahapan_laporan_id = :tahapanId AND pegawai_id = :pegawaiId",
+           nativeQuery = true)
+    int refreshLatest(@Param("pemilihanId") Long pemilihanId, @Param("laporanId") Long laporanId,
+                      @Param("tahapanId") Long tahapanId, @Param("pegawaiId") Long pegawaiId);
+    
+    // Drop a cell once it no longer has submissions
+    @Modifying
+    @Query(value = "DELETE FROM submission_progress WHERE pemilihan_id = :pemilihanId AND laporan_id = :laporanId " +
+                   "AND tahapan_laporan_id = :tahapanId AND pegawai_id = :pegawaiId AND submission_count <= 0",
+           nativeQuery = true)
+    int deleteIfEmpty(@Param("pemilihanId") Long pemilihanId, @Param("laporanId") Long laporanId,
+                      @Param("tahapanId") Long tahapanId, @Param("pegawaiId") Long pegawaiId);
+    
+    // Pemilihan that have at least one submission
+    @Query(value = "SELECT DISTINCT pemilihan_id FROM submission_laporan", nativeQuery = true)
+    List<Long> findPemilihanIdsWithSubmissions();
+    
+    // Rebuild: clear the cells of one pemilihan
+    @Modifying
+    @Query(value = "DELETE FROM submission_progress WHERE pemilihan_id = :pemilihanId", nativeQuery = true)
+    int deleteByPemilihan(@Param("pemilihanId") Long pemilihanId);
+    
+    // Rebuild: aggregate the cells of one pemilihan from the submissions; the latest status is
+    // that of the most recently updated submission (highest id on ties). Plain SQL, no MySQL functions.
+    @Modifying
+    @Query(value = "INSERT INTO submission_progress " +
+                   "(pemilihan_id, laporan_id, tahapan_laporan_id, pegawai_id, submission_count, latest_status, latest_submission_at) " +
+                   "SELECT s.pemilihan_id, s.laporan_id, s.tahapan_laporan_id, s.user_id, COUNT(*), " +
+                   "(SELECT l.status FROM submission_laporan l " +
+                   " WHERE l.pemilihan_id = s.pemilihan_id AND l.laporan_id = s.laporan_id " +
+                   " AND l.tahapan_laporan_id = s.tahapan_laporan_id AND l.user_id = s.user_id " +
+                   " ORDER BY l.tanggal_update DESC, l.id DESC LIMIT 1), " +
+                   "MAX(s.tanggal_update) " +
+                   "FROM submission_laporan s WHERE s.pemilihan_id = :pemilihanId " +
+                   "GROUP BY s.pemilihan_id, s.laporan_id, s.tahapan_laporan_id, s.user_id",
+           nativeQuery = true)
+    int rebuildPemilihan(@Param("pemilihanId") Long pemilihanId);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,6 +27,18 @@ public interface TahapanLaporanRepository extends JpaRepository<TahapanLaporan,
     @Query("SELECT tl FROM TahapanLaporan tl WHERE tl.jenisLaporan.jenisLaporanId = :jenisLaporanId AND tl.status = 'AKTIF' ORDER BY tl.urutanTahapan ASC")
     List<TahapanLaporan> findActiveTahapanByJenisLaporan(@Param("jenisLaporanId") Long jenisLaporanId);
     
+    // All tahapan with their jenis laporan, for the template catalog
+    @Query("SELECT tl FROM TahapanLaporan tl JOIN FETCH tl.jenisLaporan ORDER BY tl.urutanTahapan ASC, tl.tahapanLaporanId ASC")
+    List<TahapanLaporan> findAllWithJenisLaporan();
+    
+    // Active tahapan (with their jenis laporan) for a set of jenis laporan
+    @Query("SELECT tl FROM TahapanLaporan tl JOIN FETCH tl.jenisLaporan jl WHERE jl.jenisLaporanId IN :jenisLaporanIds AND tl.status = 'AKTIF' ORDER BY tl.urutanTahapan ASC")
+    List<TahapanLaporan> findActiveTahapanByJenisLaporanIds(@Param("jenisLaporanIds") Collection<Long> jenisLaporanIds);
+    
+    // (jenis laporan id, tahapan id) of all active tahapan for a set of jenis laporan
+    @Query("SELECT tl.jenisLaporan.jenisLaporanId, tl.tahapanLaporanId FROM TahapanLaporan tl WHERE tl.jenisLaporan.jenisLaporanId IN :jenisLaporanIds AND tl.status = 'AKTIF' ORDER BY tl.urutanTahapan ASC")
+    List<Object[]> findActiveTahapanIdsByJenisLaporanIds(@Param("jenisLaporanIds") Collection<Long> jenisLaporanIds);
+    
     // Find by nama containing
     Page<TahapanLaporan> findByNamaContainingIgnoreCase(String nama, Pageable pageable);
     
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +37,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByPhoneNumber(String phoneNumber);
     
+    // Phone numbers from the given set that already belong to a user
+    @Query("SELECT u.phoneNumber FROM User u WHERE u.phoneNumber IN :phoneNumbers")
+    List<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+    
     List<User> findByStatus(User.UserStatus status);
     
     Page<User> findByStatus(User.UserStatus status, Pageable pageable);
@@ -5,6 +5,7 @@ import com.shadcn.backend.dto.UsulanSummaryDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -105,4 +106,9 @@ public interface UsulanRepository extends JpaRepository<Usulan, Long> {
     List<Usulan> findTop5ByOrderByCreatedAtDesc();
     
     Long countByCreatedAtBetween(java.time.LocalDateTime start, java.time.LocalDateTime end);
+    
+    // Apply an upvote/downvote delta without recounting the vote table
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Usulan u SET u.jumlahUpvote = u.jumlahUpvote + :likeDelta, u.jumlahDownvote = u.jumlahDownvote + :dislikeDelta WHERE u.id = :id")
+    int applyReactionDelta(@Param("id") Long id, @Param("likeDelta") long likeDelta, @Param("dislikeDelta") long dislikeDelta);
 }
@@ -0,0 +1,46 @@
+package com.shadcn.backend.repository;
+
+import com.shadcn.backend.model.WhatsAppOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WhatsAppOutboxRepository extends JpaRepository<WhatsAppOutbox, Long> {
+
+    // Ids of pending messages whose next attempt is due, oldest first
+    @Query("SELECT o.id FROM WhatsAppOutbox o WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt ASC, o.id ASC")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Claim pending messages for this worker; rows claimed by another instance are skipped
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WhatsAppOutbox o SET o.status = 'SENDING', o.claimToken = :token, o.updatedAt = :now WHERE o.id IN :ids AND o.status = 'PENDING'")
+    int claim(@Param("ids") List<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    // Messages claimed with the given token
+    List<WhatsAppOutbox> findByClaimTokenAndStatusOrderByIdAsc(String claimToken, WhatsAppOutbox.OutboxStatus status);
+
+    // Put back messages left in SENDING by a worker that died mid-dispatch; the claim token is
+    // cleared so a late result from that worker no longer matches the row
+    @Modifying
+    @Query("UPDATE WhatsAppOutbox o SET o.status = 'PENDING', o.claimToken = NULL WHERE o.status = 'SENDING' AND o.updatedAt < :before")
+    int releaseStale(@Param("before") LocalDateTime before);
+
+    // Resend: point the invitation's waiting message at the new text and make it due now
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WhatsAppOutbox o SET o.nomorHp = :nomorHp, o.message = :message, o.attempts = 0, " +
+           "o.nextAttemptAt = :now, o.updatedAt = :now WHERE o.invitationId = :invitationId AND o.status = 'PENDING'")
+    int refreshPending(@Param("invitationId") Long invitationId, @Param("nomorHp") String nomorHp,
+                       @Param("message") String message, @Param("now") LocalDateTime now);
+
+    boolean existsByInvitationIdAndStatus(Long invitationId, WhatsAppOutbox.OutboxStatus status);
+
+    // Count messages by status for monitoring
+    long countByStatus(WhatsAppOutbox.OutboxStatus status);
+}
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,8 @@ public interface WilayahKecamatanRepository extends JpaRepository<WilayahKecamat
     
     Optional<WilayahKecamatan> findByKode(String kode);
     
+    List<WilayahKecamatan> findByKodeIn(Collection<String> kodes);
+    
     List<WilayahKecamatan> findByKotaKode(String kotaKode);
     
     Page<WilayahKecamatan> findByKotaKode(String kotaKode, Pageable pageable);
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,8 @@ public interface WilayahKelurahanRepository extends JpaRepository<WilayahKelurah
     
     Optional<WilayahKelurahan> findByKode(String kode);
     
+    List<WilayahKelurahan> findByKodeIn(Collection<String> kodes);
+    
     List<WilayahKelurahan> findByKecamatanKode(String kecamatanKode);
     
     Page<WilayahKelurahan> findByKecamatanKode(String kecamatanKode, Pageable pageable);
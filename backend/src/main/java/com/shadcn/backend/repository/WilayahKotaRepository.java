@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,8 @@ public interface WilayahKotaRepository extends JpaRepository<WilayahKota, String
     
     Optional<WilayahKota> findByKode(String kode);
     
+    List<WilayahKota> findByKodeIn(Collection<String> kodes);
+    
     List<WilayahKota> findByProvinsiKode(String provinsiKode);
     
     Page<WilayahKota> findByProvinsiKode(String provinsiKode, Pageable pageable);
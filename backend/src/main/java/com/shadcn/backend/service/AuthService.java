@@ -1,5 +1,6 @@
 package com.shadcn.backend.service;
 
+import com.shadcn.backend.config.AppMetrics;
 import com.shadcn.backend.dto.AuthResponse;
 import com.shadcn.backend.dto.UserSummaryDto;
 import com.shadcn.backend.model.User;
@@ -23,6 +24,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PegawaiRepository pegawaiRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AppMetrics appMetrics;
       public AuthResponse authenticate(String username, String password) {
         log.debug("Attempting authentication for username: {}", username);
         
@@ -34,11 +36,13 @@ public class AuthService {
             
             if (!passwordEncoder.matches(password, user.getPassword())) {
                 log.warn("Invalid password for user: {}", username);
+                appMetrics.login("user", "invalid_password");
                 throw new RuntimeException("Invalid password");
             }
             
             if (user.getStatus() != User.UserStatus.ACTIVE) {
                 log.warn("Inactive user attempted login: {}", username);
+                appMetrics.login("user", "inactive");
                 throw new RuntimeException("User account is not active");
             }
             
@@ -49,6 +53,7 @@ public class AuthService {
             UserSummaryDto userSummary = new UserSummaryDto(user);
             
             log.info("Authentication successful for user: {}", username);
+            appMetrics.login("user", "success");
             return new AuthResponse(token, userSummary, Long.MAX_VALUE); // Never expires
         }
         
@@ -60,11 +65,13 @@ public class AuthService {
             
             if (!passwordEncoder.matches(password, pegawai.getPassword())) {
                 log.warn("Invalid password for pegawai: {}", username);
+                appMetrics.login("pegawai", "invalid_password");
                 throw new RuntimeException("Invalid password");
             }
             
             if (pegawai.getStatus() != Pegawai.PegawaiStatus.AKTIF) {
                 log.warn("Inactive pegawai attempted login: {}", username);
+                appMetrics.login("pegawai", "inactive");
                 throw new RuntimeException("Pegawai account is not active");
             }
             
@@ -75,10 +82,12 @@ public class AuthService {
             UserSummaryDto userSummary = convertPegawaiToUserSummary(pegawai);
             
             log.info("Authentication successful for pegawai: {}", username);
+            appMetrics.login("pegawai", "success");
             return new AuthResponse(token, userSummary, Long.MAX_VALUE); // Never expires
         }
         
         log.warn("User/Pegawai not found: {}", username);
+        appMetrics.login("unknown", "not_found");
         throw new RuntimeException("User not found");
     }
       /**
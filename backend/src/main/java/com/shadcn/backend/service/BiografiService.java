@@ -1,5 +1,7 @@
 package com.shadcn.backend.service;
 
+import com.shadcn.backend.config.CacheConfig;
+import com.shadcn.backend.config.CacheEvictionRegistry;
 import com.shadcn.backend.dto.BiografiEditDto;
 import com.shadcn.backend.dto.BiografiProfileDto;
 import com.shadcn.backend.dto.BiografiFilterRequest;
@@ -25,7 +27,6 @@ import com.shadcn.backend.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -58,11 +59,11 @@ public class BiografiService {
     private final UserRepository userRepository;
     private final WilayahService wilayahService;
     private final WilayahCacheService wilayahCacheService;
+    private final CacheEvictionRegistry cacheEvictionRegistry;
 
     /**
-     * Get all biografi with pagination and caching
+     * Get all biografi with pagination
      */
-    @Cacheable(value = "biografi", key = "#page + '_' + #size + '_' + #sortBy + '_' + #sortDirection")
     public Page<Biografi> getAllBiografi(int page, int size, String sortBy, String sortDirection) {
         log.debug("Fetching biografi page: {}, size: {}, sortBy: {}, direction: {}", 
                  page, size, sortBy, sortDirection);
@@ -184,7 +185,9 @@ public class BiografiService {
         Biografi biografi = new Biografi();
         updateBiografiFromRequest(biografi, biografiRequest);
         
-        return biografiRepository.save(biografi);
+        Biografi saved = biografiRepository.save(biografi);
+        cacheEvictionRegistry.evict(CacheEvictionRegistry.BIOGRAFI_WRITE);
+        return saved;
     }    
     // Update biografi
     @Transactional
@@ -208,7 +211,9 @@ public class BiografiService {
         Biografi biografi = existingBiografi.get();
         updateBiografiFromRequest(biografi, biografiRequest);
         
-        return biografiRepository.save(biografi);
+        Biografi saved = biografiRepository.save(biografi);
+        cacheEvictionRegistry.evict(CacheEvictionRegistry.BIOGRAFI_WRITE);
+        return saved;
     }
 
     // Delete biografi (soft delete by changing status)
@@ -222,6 +227,7 @@ public class BiografiService {
         Biografi biografiEntity = biografi.get();
         biografiEntity.setStatus(Biografi.StatusBiografi.TIDAK_AKTIF);
         biografiRepository.save(biografiEntity);
+        cacheEvictionRegistry.evict(CacheEvictionRegistry.BIOGRAFI_WRITE);
     }    // Hard delete biografi with cascade deletion for users
     @Transactional
     public void hardDeleteBiografi(Long id) {
@@ -239,6 +245,7 @@ public class BiografiService {
         
         // Delete the biografi
         biografiRepository.deleteById(id);
+        cacheEvictionRegistry.evict(CacheEvictionRegistry.BIOGRAFI_WRITE);
     }
 
     // Search biografi by name
@@ -496,8 +503,9 @@ public class BiografiService {
     }
       public List<String> getDistinctKota() {
         List<String> kotaCodes = biografiRepository.findDistinctKota();
+        Map<String, String> names = wilayahCacheService.resolveNames(kotaCodes);
         return kotaCodes.stream()
-            .map(code -> wilayahCacheService.getNamaByKode(code))
+            .map(code -> code != null && !code.isEmpty() ? names.getOrDefault(code, code) : "")
             .filter(name -> name != null && !name.isEmpty())
             .distinct()
             .sorted()
@@ -506,8 +514,9 @@ public class BiografiService {
     
     public List<String> getDistinctProvinsi() {
         List<String> provinsiCodes = biografiRepository.findDistinctProvinsi();
+        Map<String, String> names = wilayahCacheService.resolveNames(provinsiCodes);
         return provinsiCodes.stream()
-            .map(code -> wilayahCacheService.getNamaByKode(code))
+            .map(code -> code != null && !code.isEmpty() ? names.getOrDefault(code, code) : "")
             .filter(name -> name != null && !name.isEmpty())
             .distinct()
             .sorted()
@@ -525,8 +534,9 @@ public class BiografiService {
     }
       public List<String> getDistinctKecamatan() {
         List<String> kecamatanCodes = biografiRepository.findDistinctKecamatan();
+        Map<String, String> names = wilayahCacheService.resolveNames(kecamatanCodes);
         return kecamatanCodes.stream()
-            .map(code -> wilayahCacheService.getNamaByKode(code))
+            .map(code -> code != null && !code.isEmpty() ? names.getOrDefault(code, code) : "")
             .filter(name -> name != null && !name.isEmpty())
             .distinct()
             .sorted()
@@ -535,8 +545,9 @@ public class BiografiService {
     
     public List<String> getDistinctKelurahan() {
         List<String> kelurahanCodes = biografiRepository.findDistinctKelurahan();
+        Map<String, String> names = wilayahCacheService.resolveNames(kelurahanCodes);
         return kelurahanCodes.stream()
-            .map(code -> wilayahCacheService.getNamaByKode(code))
+            .map(code -> code != null && !code.isEmpty() ? names.getOrDefault(code, code) : "")
             .filter(name -> name != null && !name.isEmpty())
             .distinct()
             .sorted()
@@ -547,9 +558,10 @@ public class BiografiService {
     public Map<String, String> getProvinsiMappings() {
         List<String> provinsiCodes = biografiRepository.findDistinctProvinsi();
         Map<String, String> mappings = new HashMap<>();
+        Map<String, String> names = wilayahCacheService.resolveNames(provinsiCodes);
         
         for (String code : provinsiCodes) {
-            String nama = wilayahCacheService.getNamaByKode(code);
+            String nama = code != null && !code.isEmpty() ? names.getOrDefault(code, code) : "";
             if (nama != null && !nama.isEmpty()) {
                 mappings.put(nama, code); // name -> code mapping
             }
@@ -560,9 +572,10 @@ public class BiografiService {
     public Map<String, String> getKotaMappings() {
         List<String> kotaCodes = biografiRepository.findDistinctKota();
         Map<String, String> mappings = new HashMap<>();
+        Map<String, String> names = wilayahCacheService.resolveNames(kotaCodes);
         
         for (String code : kotaCodes) {
-            String nama = wilayahCacheService.getNamaByKode(code);
+            String nama = code != null && !code.isEmpty() ? names.getOrDefault(code, code) : "";
             if (nama != null && !nama.isEmpty()) {
                 mappings.put(nama, code); // name -> code mapping
             }
@@ -573,9 +586,10 @@ public class BiografiService {
     public Map<String, String> getKecamatanMappings() {
         List<String> kecamatanCodes = biografiRepository.findDistinctKecamatan();
         Map<String, String> mappings = new HashMap<>();
+        Map<String, String> names = wilayahCacheService.resolveNames(kecamatanCodes);
         
         for (String code : kecamatanCodes) {
-            String nama = wilayahCacheService.getNamaByKode(code);
+            String nama = code != null && !code.isEmpty() ? names.getOrDefault(code, code) : "";
             if (nama != null && !nama.isEmpty()) {
                 mappings.put(nama, code); // name -> code mapping
             }
@@ -586,9 +600,10 @@ public class BiografiService {
     public Map<String, String> getKelurahanMappings() {
         List<String> kelurahanCodes = biografiRepository.findDistinctKelurahan();
         Map<String, String> mappings = new HashMap<>();
+        Map<String, String> names = wilayahCacheService.resolveNames(kelurahanCodes);
         
         for (String code : kelurahanCodes) {
-            String nama = wilayahCacheService.getNamaByKode(code);
+            String nama = code != null && !code.isEmpty() ? names.getOrDefault(code, code) : "";
             if (nama != null && !nama.isEmpty()) {
                 mappings.put(nama, code); // name -> code mapping
             }
@@ -631,7 +646,9 @@ public class BiografiService {
         return Optional.empty();
     }
 
-    // Get all biografi with pagination using DTO to avoid lazy loading issues
+    // Get all biografi with pagination using DTO to avoid lazy loading issues; pages are cached
+    // until the next biografi write
+    @Cacheable(value = CacheConfig.BIOGRAFI, key = "#page + '_' + #size + '_' + #sortBy + '_' + #sortDirection")
     public Page<BiografiSearchDto> getAllBiografiDto(int page, int size, String sortBy, String sortDirection) {
         Sort sort = sortDirection.equalsIgnoreCase("desc") 
             ? Sort.by(sortBy).descending() 
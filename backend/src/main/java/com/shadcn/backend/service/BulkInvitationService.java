@@ -0,0 +1,330 @@
+package com.shadcn.backend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shadcn.backend.dto.BulkInvitationJobResponse;
+import com.shadcn.backend.repository.InvitationRepository;
+import com.shadcn.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk alumni invitation import.
+ *
+ * The upload (CSV with nama/nomor HP columns, or a JSON array of {@code {namaLengkap, nomorHp}})
+ * is streamed once: phone numbers are normalized and duplicates dropped while reading. The
+ * contacts are then processed in the background in chunks, each chunk costing one users query,
+ * one invitations query and two JDBC batch inserts (invitations and their WhatsApp outbox rows).
+ * Progress is exposed through {@link #getJob(String)}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkInvitationService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ERRORS = 100;
+
+    private static final String INSERT_INVITATION =
+        "INSERT INTO invitations (nama_lengkap, nomor_hp, invitation_token, status, sent_at, expires_at, created_at, updated_at) " +
+        "VALUES (?, ?, ?, 'PENDING', ?, ?, ?, ?)";
+
+    private static final String INSERT_OUTBOX =
+        "INSERT INTO whatsapp_outbox (nomor_hp, message, invitation_id, status, attempts, next_attempt_at, created_at, updated_at) " +
+        "VALUES (?, ?, ?, 'PENDING', 0, ?, ?, ?)";
+
+    private final InvitationRepository invitationRepository;
+    private final UserRepository userRepository;
+    private final WhatsAppService whatsAppService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.invitation.expiry-days:7}")
+    private int expiryDays;
+
+    // Finished jobs stay visible for a day
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofHours(24))
+        .maximumSize(200)
+        .build();
+
+    private ExecutorService executor;
+
+    record Contact(int row, String namaLengkap, String nomorHp, String nomorWhatsApp) {
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-invitation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Parse the upload and start processing it in the background.
+     */
+    public BulkInvitationJobResponse startImport(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("File import undangan kosong");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString());
+        List<Contact> contacts;
+        try (InputStream in = file.getInputStream()) {
+            contacts = isJson(file) ? parseJson(in, job) : parseCsv(in, job);
+        }
+        job.validContacts = contacts.size();
+        jobs.put(job.id, job);
+
+        executor.submit(() -> run(job, contacts));
+        log.info("Bulk invitation job {} started with {} contacts from {} rows", job.id, contacts.size(), job.totalRows);
+        return job.toResponse();
+    }
+
+    public BulkInvitationJobResponse getJob(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new RuntimeException("Job import undangan tidak ditemukan");
+        }
+        return job.toResponse();
+    }
+
+    private void run(Job job, List<Contact> contacts) {
+        job.status = "RUNNING";
+        try {
+            for (int from = 0; from < contacts.size(); from += CHUNK_SIZE) {
+                processChunk(job, contacts.subList(from, Math.min(from + CHUNK_SIZE, contacts.size())));
+            }
+            job.status = "COMPLETED";
+        } catch (Exception e) {
+            log.error("Bulk invitation job {} failed: {}", job.id, e.getMessage(), e);
+            job.addError("Import dihentikan: " + e.getMessage());
+            job.status = "FAILED";
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            log.info("Bulk invitation job {} {}: {} created, {} registered, {} already invited",
+                job.id, job.status, job.created.get(), job.alreadyRegistered.get(), job.alreadyInvited.get());
+        }
+    }
+
+    private void processChunk(Job job, List<Contact> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Users and invitations may store either the 08xx or the +62 form
+        Set<String> phones = new HashSet<>(chunk.size() * 2);
+        for (Contact contact : chunk) {
+            phones.add(contact.nomorHp());
+            phones.add(contact.nomorWhatsApp());
+        }
+        Set<String> registered = new HashSet<>(userRepository.findExistingPhoneNumbers(phones));
+        Set<String> invited = new HashSet<>(invitationRepository.findPhonesWithValidInvitation(phones, now));
+
+        List<Contact> accepted = new ArrayList<>(chunk.size());
+        for (Contact contact : chunk) {
+            if (registered.contains(contact.nomorHp()) || registered.contains(contact.nomorWhatsApp())) {
+                job.alreadyRegistered.incrementAndGet();
+            } else if (invited.contains(contact.nomorHp()) || invited.contains(contact.nomorWhatsApp())) {
+                job.alreadyInvited.incrementAndGet();
+            } else {
+                accepted.add(contact);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            insertInvitations(accepted, now);
+            job.created.addAndGet(accepted.size());
+        }
+        job.processed.addAndGet(chunk.size());
+    }
+
+    private void insertInvitations(List<Contact> contacts, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        Timestamp expiresAt = Timestamp.valueOf(now.plusDays(expiryDays));
+
+        Map<String, Contact> byToken = new LinkedHashMap<>();
+        for (Contact contact : contacts) {
+            byToken.put(UUID.randomUUID().toString().replace("-", ""), contact);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> invitationRows = new ArrayList<>(byToken.size());
+            byToken.forEach((token, contact) -> invitationRows.add(new Object[] {
+                contact.namaLengkap(), contact.nomorHp(), token, timestamp, expiresAt, timestamp, timestamp
+            }));
+            jdbcTemplate.batchUpdate(INSERT_INVITATION, invitationRows);
+
+            List<Object[]> outboxRows = new ArrayList<>(byToken.size());
+            for (Object[] idAndToken : invitationRepository.findIdsByInvitationTokenIn(byToken.keySet())) {
+                Long invitationId = (Long) idAndToken[0];
+                String token = (String) idAndToken[1];
+                Contact contact = byToken.get(token);
+                outboxRows.add(new Object[] {
+                    contact.nomorHp(),
+                    whatsAppService.buildInvitationMessage(contact.namaLengkap(), token),
+                    invitationId, timestamp, timestamp, timestamp
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_OUTBOX, outboxRows);
+        });
+    }
+
+    private List<Contact> parseCsv(InputStream in, Job job) throws IOException {
+        Map<String, Contact> contacts = new LinkedHashMap<>();
+        // nama and phone column
+        int[] columns = {0, 1};
+
+        SpreadsheetRowReader.readCsv(in, (row, cells) -> {
+            // Optional header row: pick the columns by name
+            if (row == 1 && cells.stream().noneMatch(cell -> cell.matches(".*\\d{6,}.*"))) {
+                for (int i = 0; i < cells.size(); i++) {
+                    String header = cells.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+                    if (header.startsWith("nama") || header.equals("name")) {
+                        columns[0] = i;
+                    } else if (header.contains("hp") || header.contains("phone") || header.contains("telepon")) {
+                        columns[1] = i;
+                    }
+                }
+                return;
+            }
+
+            String nama = cells.size() > columns[0] ? cells.get(columns[0]) : null;
+            String phone = cells.size() > columns[1] ? cells.get(columns[1]) : null;
+            addContact(contacts, job, row, nama, phone);
+        });
+        return new ArrayList<>(contacts.values());
+    }
+
+    private List<Contact> parseJson(InputStream in, Job job) throws IOException {
+        Map<String, Contact> contacts = new LinkedHashMap<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Format JSON harus berupa array kontak");
+            }
+            int row = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row++;
+                JsonNode node = objectMapper.readTree(parser);
+                addContact(contacts, job, row,
+                    firstText(node, "namaLengkap", "nama"),
+                    firstText(node, "nomorHp", "phone"));
+            }
+        }
+        return new ArrayList<>(contacts.values());
+    }
+
+    private void addContact(Map<String, Contact> contacts, Job job, int row, String nama, String phone) {
+        job.totalRows++;
+        nama = nama != null ? nama.trim() : "";
+        String digits = phone != null ? phone.replaceAll("[^\\d]", "") : "";
+
+        if (nama.isEmpty() || nama.length() > 100) {
+            job.invalid.incrementAndGet();
+            job.addError("Baris " + row + ": nama lengkap kosong atau lebih dari 100 karakter");
+            return;
+        }
+        if (digits.length() < 9 || digits.length() > 15) {
+            job.invalid.incrementAndGet();
+            job.addError("Baris " + row + ": nomor HP tidak valid");
+            return;
+        }
+
+        // Normalize once; the first occurrence of a number wins
+        String nomorHp = whatsAppService.formatPhoneNumber(phone);
+        if (contacts.containsKey(nomorHp)) {
+            job.duplicateInFile.incrementAndGet();
+            return;
+        }
+        contacts.put(nomorHp, new Contact(row, nama, nomorHp, whatsAppService.formatPhoneNumberForWhatsApp(phone)));
+    }
+
+    private static String firstText(JsonNode node, String... fields) {
+        for (String field : fields) {
+            JsonNode value = node.get(field);
+            if (value != null && !value.isNull()) {
+                return value.asText();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isJson(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".json"))
+            || (contentType != null && contentType.contains("json"));
+    }
+
+    /**
+     * Mutable job state; counters are written by the import thread and read by status requests.
+     */
+    static final class Job {
+        final String id;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger duplicateInFile = new AtomicInteger();
+        final AtomicInteger alreadyRegistered = new AtomicInteger();
+        final AtomicInteger alreadyInvited = new AtomicInteger();
+        final AtomicInteger invalid = new AtomicInteger();
+        final List<String> errors = new CopyOnWriteArrayList<>();
+        volatile String status = "QUEUED";
+        volatile int totalRows;
+        volatile int validContacts;
+        volatile LocalDateTime finishedAt;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        void addError(String error) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        BulkInvitationJobResponse toResponse() {
+            // Copy-on-write: the snapshot needs no lock while the job thread appends
+            List<String> errorSnapshot = new ArrayList<>(errors);
+            return new BulkInvitationJobResponse(id, status, totalRows, validContacts,
+                processed.get(), created.get(), duplicateInFile.get(), alreadyRegistered.get(),
+                alreadyInvited.get(), invalid.get(), errorSnapshot, startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.shadcn.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shadcn.backend.dto.BulkPegawaiImportJobResponse;
+import com.shadcn.backend.model.Jabatan;
+import com.shadcn.backend.model.Pegawai;
+import com.shadcn.backend.repository.JabatanRepository;
+import com.shadcn.backend.repository.PegawaiRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk pegawai import from CSV or XLSX.
+ *
+ * The upload is streamed row by row and validated with the same rules as {@code PegawaiRequest};
+ * duplicates inside the file are dropped while reading. Valid rows are then processed in the
+ * background in chunks: one IN query per unique column against existing pegawai, BCrypt on a
+ * fixed pool sized to the cores, and one JDBC batch insert. A chunk whose batch fails (e.g. a
+ * concurrent insert took a username) is retried row by row so every failure is reported
+ * against its row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkPegawaiImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ROWS = 20000;
+    private static final int MAX_ERRORS = 1000;
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final String INSERT_PEGAWAI =
+        "INSERT INTO pegawai (username, password, full_name, email, phone_number, nip, pendidikan, role, jabatan_id, " +
+        "status, alamat, provinsi, kota, kecamatan, kelurahan, kode_pos, total_tps, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    // Normalized header -> field
+    private static final Map<String, String> HEADER_ALIASES = new HashMap<>();
+    static {
+        HEADER_ALIASES.put("username", "username");
+        HEADER_ALIASES.put("password", "password");
+        HEADER_ALIASES.put("katasandi", "password");
+        HEADER_ALIASES.put("fullname", "fullName");
+        HEADER_ALIASES.put("nama", "fullName");
+        HEADER_ALIASES.put("namalengkap", "fullName");
+        HEADER_ALIASES.put("name", "fullName");
+        HEADER_ALIASES.put("email", "email");
+        HEADER_ALIASES.put("phonenumber", "phoneNumber");
+        HEADER_ALIASES.put("phone", "phoneNumber");
+        HEADER_ALIASES.put("nohp", "phoneNumber");
+        HEADER_ALIASES.put("nomorhp", "phoneNumber");
+        HEADER_ALIASES.put("telepon", "phoneNumber");
+        HEADER_ALIASES.put("nip", "nip");
+        HEADER_ALIASES.put("pendidikan", "pendidikan");
+        HEADER_ALIASES.put("role", "role");
+        HEADER_ALIASES.put("jabatan", "jabatan");
+        HEADER_ALIASES.put("status", "status");
+        HEADER_ALIASES.put("alamat", "alamat");
+        HEADER_ALIASES.put("provinsi", "provinsi");
+        HEADER_ALIASES.put("kota", "kota");
+        HEADER_ALIASES.put("kecamatan", "kecamatan");
+        HEADER_ALIASES.put("kelurahan", "kelurahan");
+        HEADER_ALIASES.put("kodepos", "kodePos");
+    }
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("username", "password", "fullName", "email", "jabatan");
+
+    private final PegawaiRepository pegawaiRepository;
+    private final JabatanRepository jabatanRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 0 = one hashing thread per core
+    @Value("${app.pegawai-import.hash-threads:0}")
+    private int hashThreads;
+
+    // Finished jobs stay visible for a day
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofHours(24))
+        .maximumSize(100)
+        .build();
+
+    private ExecutorService executor;
+    private ExecutorService hashPool;
+
+    record ImportRow(int row, String username, String password, String fullName, String email, String phoneNumber,
+                     String nip, String pendidikan, String role, Long jabatanId, Pegawai.PegawaiStatus status,
+                     String alamat, String provinsi, String kota, String kecamatan, String kelurahan, String kodePos) {
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pegawai-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "pegawai-import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Pegawai import hashing pool started with {} threads", threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * Read and validate the upload, then create the pegawai in the background.
+     */
+    public BulkPegawaiImportJobResponse startImport(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("File import pegawai kosong");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString());
+        RowParser parser = new RowParser(job, loadJabatanIds());
+        if (isXlsx(file)) {
+            Path temp = Files.createTempFile("pegawai-import-", ".xlsx");
+            try {
+                file.transferTo(temp);
+                SpreadsheetRowReader.readXlsx(temp, parser);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } else {
+            try (InputStream in = file.getInputStream()) {
+                SpreadsheetRowReader.readCsv(in, parser);
+            }
+        }
+        if (parser.columns == null) {
+            throw new RuntimeException("File import pegawai tidak memiliki baris header");
+        }
+
+        List<ImportRow> rows = parser.rows;
+        job.validRows = rows.size();
+        jobs.put(job.id, job);
+
+        executor.submit(() -> run(job, rows));
+        log.info("Pegawai import job {} started with {} valid rows from {} rows", job.id, rows.size(), job.totalRows);
+        return job.toResponse();
+    }
+
+    public BulkPegawaiImportJobResponse getJob(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new RuntimeException("Job import pegawai tidak ditemukan");
+        }
+        return job.toResponse();
+    }
+
+    private void run(Job job, List<ImportRow> rows) {
+        job.status = "RUNNING";
+        try {
+            for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+                processChunk(job, rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size())));
+            }
+            job.status = "COMPLETED";
+        } catch (Exception e) {
+            log.error("Pegawai import job {} failed: {}", job.id, e.getMessage(), e);
+            job.addError(0, null, "Import dihentikan: " + e.getMessage());
+            job.status = "FAILED";
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            log.info("Pegawai import job {} {}: {} created, {} already exist, {} failed",
+                job.id, job.status, job.created.get(), job.alreadyExists.get(), job.failed.get());
+        }
+    }
+
+    private void processChunk(Job job, List<ImportRow> chunk) throws InterruptedException {
+        // Set-based uniqueness checks; MySQL compares case-insensitively, so do we
+        Set<String> usernames = existing(chunk, ImportRow::username, pegawaiRepository::findExistingUsernames);
+        Set<String> emails = existing(chunk, ImportRow::email, pegawaiRepository::findExistingEmails);
+        Set<String> phones = existing(chunk, ImportRow::phoneNumber, pegawaiRepository::findExistingPhoneNumbers);
+        Set<String> nips = existing(chunk, ImportRow::nip, pegawaiRepository::findExistingNips);
+
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String conflict = usernames.contains(lower(row.username())) ? "Username sudah terdaftar"
+                : emails.contains(lower(row.email())) ? "Email sudah terdaftar"
+                : row.phoneNumber() != null && phones.contains(lower(row.phoneNumber())) ? "Nomor telepon sudah terdaftar"
+                : row.nip() != null && nips.contains(lower(row.nip())) ? "NIP sudah terdaftar"
+                : null;
+            if (conflict != null) {
+                job.alreadyExists.incrementAndGet();
+                job.addError(row.row(), row.username(), conflict);
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            insert(job, accepted, hashPasswords(accepted));
+        }
+        job.processed.addAndGet(chunk.size());
+    }
+
+    private Set<String> existing(List<ImportRow> chunk, Function<ImportRow, String> field,
+                                 Function<Collection<String>, List<String>> query) {
+        Set<String> values = new HashSet<>();
+        for (ImportRow row : chunk) {
+            String value = field.apply(row);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        Set<String> found = new HashSet<>();
+        if (!values.isEmpty()) {
+            for (String value : query.apply(values)) {
+                found.add(lower(value));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * BCrypt is deliberately slow; spread the chunk over the hashing pool.
+     */
+    private List<String> hashPasswords(List<ImportRow> rows) throws InterruptedException {
+        List<Callable<String>> tasks = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            tasks.add(() -> passwordEncoder.encode(row.password()));
+        }
+
+        List<String> hashes = new ArrayList<>(rows.size());
+        for (Future<String> future : hashPool.invokeAll(tasks)) {
+            try {
+                hashes.add(future.get());
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Gagal mengenkripsi password: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return hashes;
+    }
+
+    private void insert(Job job, List<ImportRow> rows, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> params = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            params.add(toParams(rows.get(i), hashes.get(i), now));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_PEGAWAI, params));
+            job.created.addAndGet(rows.size());
+            return;
+        } catch (DataAccessException e) {
+            log.warn("Pegawai import job {}: batch insert failed, retrying {} rows one by one: {}",
+                job.id, rows.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = params.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_PEGAWAI, row));
+                job.created.incrementAndGet();
+            } catch (DataAccessException e) {
+                job.failed.incrementAndGet();
+                job.addError(rows.get(i).row(), rows.get(i).username(), "Gagal menyimpan: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private static Object[] toParams(ImportRow row, String passwordHash, Timestamp now) {
+        return new Object[] {
+            row.username(), passwordHash, row.fullName(), row.email(), row.phoneNumber(), row.nip(), row.pendidikan(),
+            row.role(), row.jabatanId(), row.status().name(), row.alamat(), row.provinsi(), row.kota(),
+            row.kecamatan(), row.kelurahan(), row.kodePos(), now, now
+        };
+    }
+
+    private Map<String, Long> loadJabatanIds() {
+        Map<String, Long> jabatanIds = new HashMap<>();
+        for (Jabatan jabatan : jabatanRepository.findAll()) {
+            if (jabatan.getNama() != null) {
+                jabatanIds.put(lower(jabatan.getNama().trim()), jabatan.getId());
+            }
+        }
+        return jabatanIds;
+    }
+
+    private static boolean isXlsx(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".xlsx"))
+            || (contentType != null && contentType.contains("spreadsheetml"));
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Maps the header row to fields, validates every data row and drops in-file duplicates.
+     */
+    private static final class RowParser implements SpreadsheetRowReader.RowHandler {
+        private final Job job;
+        private final Map<String, Long> jabatanIds;
+        private final List<ImportRow> rows = new ArrayList<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> phones = new HashSet<>();
+        private final Set<String> nips = new HashSet<>();
+        private Map<String, Integer> columns;
+
+        RowParser(Job job, Map<String, Long> jabatanIds) {
+            this.job = job;
+            this.jabatanIds = jabatanIds;
+        }
+
+        @Override
+        public void accept(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                readHeader(cells);
+                return;
+            }
+
+            job.totalRows++;
+            if (job.totalRows > MAX_ROWS) {
+                throw new RuntimeException("File import pegawai melebihi batas " + MAX_ROWS + " baris");
+            }
+
+            String username = cell(cells, "username");
+            String email = cell(cells, "email");
+            String error = validate(cells, username, email);
+            if (error != null) {
+                job.invalid.incrementAndGet();
+                job.addError(rowNumber, username, error);
+                return;
+            }
+
+            String phone = cell(cells, "phoneNumber");
+            String nip = cell(cells, "nip");
+            if (!usernames.add(lower(username)) || !emails.add(lower(email))
+                    || (phone != null && !phones.add(lower(phone))) || (nip != null && !nips.add(lower(nip)))) {
+                job.duplicateInFile.incrementAndGet();
+                job.addError(rowNumber, username, "Duplikat username, email, nomor telepon atau NIP di dalam file");
+                return;
+            }
+
+            String jabatan = cell(cells, "jabatan");
+            String status = cell(cells, "status");
+            String role = cell(cells, "role");
+            rows.add(new ImportRow(rowNumber, username, cell(cells, "password"), cell(cells, "fullName"), email,
+                phone, nip, cell(cells, "pendidikan"), role != null ? role : "USER",
+                jabatanIds.get(lower(jabatan)),
+                status != null ? Pegawai.PegawaiStatus.valueOf(status.toUpperCase(Locale.ROOT)) : Pegawai.PegawaiStatus.AKTIF,
+                cell(cells, "alamat"), cell(cells, "provinsi"), cell(cells, "kota"), cell(cells, "kecamatan"),
+                cell(cells, "kelurahan"), cell(cells, "kodePos")));
+        }
+
+        private void readHeader(List<String> cells) {
+            columns = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String field = HEADER_ALIASES.get(cells.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", ""));
+                if (field != null) {
+                    columns.putIfAbsent(field, i);
+                }
+            }
+            for (String required : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(required)) {
+                    throw new RuntimeException("Kolom wajib tidak ditemukan di header: " + required);
+                }
+            }
+        }
+
+        private String validate(List<String> cells, String username, String email) {
+            String password = cell(cells, "password");
+            String fullName = cell(cells, "fullName");
+            String jabatan = cell(cells, "jabatan");
+            String status = cell(cells, "status");
+
+            if (username == null || username.length() < 3 || username.length() > 50) {
+                return "Username harus antara 3-50 karakter";
+            }
+            if (password == null || password.length() < 6) {
+                return "Password minimal 6 karakter";
+            }
+            if (fullName == null || fullName.length() > 100) {
+                return "Nama lengkap kosong atau lebih dari 100 karakter";
+            }
+            if (email == null || !EMAIL_PATTERN.matcher(email).matches()) {
+                return "Format email tidak valid";
+            }
+            if (tooLong(cells, "phoneNumber", 20) || tooLong(cells, "nip", 50) || tooLong(cells, "pendidikan", 100)
+                    || tooLong(cells, "role", 100) || tooLong(cells, "alamat", 500) || tooLong(cells, "provinsi", 100)
+                    || tooLong(cells, "kota", 100) || tooLong(cells, "kecamatan", 100)
+                    || tooLong(cells, "kelurahan", 100) || tooLong(cells, "kodePos", 10)) {
+                return "Salah satu kolom melebihi panjang maksimal";
+            }
+            if (status != null && !status.toUpperCase(Locale.ROOT).matches("AKTIF|TIDAK_AKTIF|SUSPEND")) {
+                return "Status harus AKTIF, TIDAK_AKTIF, atau SUSPEND";
+            }
+            if (jabatan == null) {
+                return "Jabatan tidak boleh kosong";
+            }
+            if (!jabatanIds.containsKey(lower(jabatan))) {
+                return "Jabatan tidak ditemukan: " + jabatan;
+            }
+            return null;
+        }
+
+        private boolean tooLong(List<String> cells, String field, int max) {
+            String value = cell(cells, field);
+            return value != null && value.length() > max;
+        }
+
+        private String cell(List<String> cells, String field) {
+            Integer index = columns.get(field);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    /**
+     * Mutable job state; counters are written by the import thread and read by status requests.
+     */
+    static final class Job {
+        final String id;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger duplicateInFile = new AtomicInteger();
+        final AtomicInteger alreadyExists = new AtomicInteger();
+        final AtomicInteger invalid = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final List<BulkPegawaiImportJobResponse.RowError> errors = new CopyOnWriteArrayList<>();
+        volatile String status = "QUEUED";
+        volatile int totalRows;
+        volatile int validRows;
+        volatile LocalDateTime finishedAt;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        void addError(int row, String username, String message) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new BulkPegawaiImportJobResponse.RowError(row, username, message));
+            }
+        }
+
+        BulkPegawaiImportJobResponse toResponse() {
+            List<BulkPegawaiImportJobResponse.RowError> errorSnapshot = new ArrayList<>(errors);
+            return new BulkPegawaiImportJobResponse(id, status, totalRows, validRows, processed.get(), created.get(),
+                duplicateInFile.get(), alreadyExists.get(), invalid.get(), failed.get(), errorSnapshot,
+                startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.shadcn.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Fills root_id of replies written before the column existed.
+ *
+ * New replies get their root_id on insert (see the comment entities' onCreate). Existing replies
+ * are resolved one thread level per statement: first the direct replies of top-level comments,
+ * then replies whose parent already has a root_id, until nothing changes. The statements read
+ * the table through derived tables so MySQL accepts the self-reference.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentRootBackfillService {
+
+    // Deeper threads are not expected; a parent cycle would otherwise keep the loop going
+    private static final int MAX_DEPTH = 100;
+
+    private static final List<String> COMMENT_TABLES = List.of(
+        "komentar_berita", "komentar_document", "komentar_usulan", "komentar_pelaksanaan");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        for (String table : COMMENT_TABLES) {
+            try {
+                backfill(table);
+            } catch (Exception e) {
+                log.error("Comment root_id backfill of {} failed: {}", table, e.getMessage(), e);
+            }
+        }
+    }
+
+    int backfill(String table) {
+        Integer missing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + table + " WHERE parent_id IS NOT NULL AND root_id IS NULL", Integer.class);
+        if (missing == null || missing == 0) {
+            return 0;
+        }
+
+        int updated = jdbcTemplate.update(
+            "UPDATE " + table + " SET root_id = parent_id " +
+            "WHERE root_id IS NULL AND parent_id IN " +
+            "(SELECT id FROM (SELECT id FROM " + table + " WHERE parent_id IS NULL) roots)");
+        int level = updated;
+        for (int depth = 2; level > 0 && depth <= MAX_DEPTH; depth++) {
+            level = jdbcTemplate.update(
+                "UPDATE " + table + " SET root_id = " +
+                "(SELECT p.root_id FROM (SELECT id, root_id FROM " + table + " WHERE root_id IS NOT NULL) p " +
+                "WHERE p.id = " + table + ".parent_id) " +
+                "WHERE root_id IS NULL AND parent_id IN " +
+                "(SELECT id FROM (SELECT id FROM " + table + " WHERE root_id IS NOT NULL) known)");
+            updated += level;
+        }
+
+        log.info("Comment root_id backfilled for {} of {} replies in {}", updated, missing, table);
+        return updated;
+    }
+}
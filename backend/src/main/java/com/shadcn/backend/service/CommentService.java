@@ -10,6 +10,7 @@ import com.shadcn.backend.repository.KomentarBeritaVoteRepository;
 import com.shadcn.backend.repository.BeritaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,7 +29,10 @@ public class CommentService {    @Autowired
     private KomentarBeritaVoteRepository voteRepository;
 
     @Autowired
-    private BeritaRepository beritaRepository;    public CommentResponse createComment(CommentRequest request) {
+    private BeritaRepository beritaRepository;
+
+    @Autowired
+    private ReactionCounterService reactionCounterService;    public CommentResponse createComment(CommentRequest request) {
         // Validate beritaId is provided for new comments (not replies)
         if (request.getBeritaId() == null) {
             throw new RuntimeException("Berita ID tidak boleh kosong untuk komentar baru");
@@ -70,15 +74,22 @@ public class CommentService {    @Autowired
     }
 
     public List<CommentResponse> getCommentsByBerita(Long beritaId) {
+        return getCommentsByBerita(beritaId, null);
+    }
+
+    public List<CommentResponse> getCommentsByBerita(Long beritaId, Long currentUserId) {
         List<KomentarBerita> comments = komentarRepository.findByBeritaIdAndParentKomentarIsNullOrderByTanggalKomentarDesc(beritaId);
-        return comments.stream()
-                .map(this::convertToResponseWithReplies)
-                .collect(Collectors.toList());
+        return convertToResponsesWithReplies(comments, currentUserId);
     }
 
     public Page<CommentResponse> getCommentsByBeritaPaginated(Long beritaId, Pageable pageable) {
+        return getCommentsByBeritaPaginated(beritaId, pageable, null);
+    }
+
+    public Page<CommentResponse> getCommentsByBeritaPaginated(Long beritaId, Pageable pageable, Long currentUserId) {
         Page<KomentarBerita> commentsPage = komentarRepository.findByBeritaIdAndParentKomentarIsNull(beritaId, pageable);
-        return commentsPage.map(this::convertToResponseWithReplies);
+        List<CommentResponse> responses = convertToResponsesWithReplies(commentsPage.getContent(), currentUserId);
+        return new PageImpl<>(responses, commentsPage.getPageable(), commentsPage.getTotalElements());
     }    public CommentResponse likeComment(Long commentId, Long biografiId, String userName) {
         Optional<KomentarBerita> komentarOpt = komentarRepository.findById(commentId);
         if (!komentarOpt.isPresent()) {
@@ -89,6 +100,8 @@ public class CommentService {    @Autowired
         
         // Check if user already voted
         Optional<KomentarBeritaVote> existingVote = voteRepository.findByKomentarIdAndBiografiId(commentId, biografiId);
+        KomentarBeritaVote.VoteType previousType = existingVote.map(KomentarBeritaVote::getVoteType).orElse(null);
+        KomentarBeritaVote.VoteType currentType = previousType == KomentarBeritaVote.VoteType.LIKE ? null : KomentarBeritaVote.VoteType.LIKE;
           if (existingVote.isPresent()) {
             KomentarBeritaVote vote = existingVote.get();
             if (vote.getVoteType() == KomentarBeritaVote.VoteType.LIKE) {
@@ -110,11 +123,9 @@ public class CommentService {    @Autowired
             voteRepository.save(newVote);
         }
         
-        // Update counters based on actual votes
-        updateCommentCounters(komentar);
-        komentar.setUpdatedAt(LocalDateTime.now());
-        KomentarBerita savedKomentar = komentarRepository.save(komentar);
-        return convertToResponse(savedKomentar);
+        // Apply the vote transition to the denormalized counters
+        reactionCounterService.apply(komentar, commentId, previousType, currentType, komentarRepository::applyReactionDelta);
+        return convertToResponse(komentar);
     }
 
     public CommentResponse dislikeComment(Long commentId, Long biografiId, String userName) {
@@ -127,6 +138,8 @@ public class CommentService {    @Autowired
         
         // Check if user already voted
         Optional<KomentarBeritaVote> existingVote = voteRepository.findByKomentarIdAndBiografiId(commentId, biografiId);
+        KomentarBeritaVote.VoteType previousType = existingVote.map(KomentarBeritaVote::getVoteType).orElse(null);
+        KomentarBeritaVote.VoteType currentType = previousType == KomentarBeritaVote.VoteType.DISLIKE ? null : KomentarBeritaVote.VoteType.DISLIKE;
         
         if (existingVote.isPresent()) {
             KomentarBeritaVote vote = existingVote.get();
@@ -148,19 +161,11 @@ public class CommentService {    @Autowired
             voteRepository.save(newVote);
         }
         
-        // Update counters based on actual votes
-        updateCommentCounters(komentar);
-        komentar.setUpdatedAt(LocalDateTime.now());
-        KomentarBerita savedKomentar = komentarRepository.save(komentar);
-        return convertToResponse(savedKomentar);
+        // Apply the vote transition to the denormalized counters
+        reactionCounterService.apply(komentar, commentId, previousType, currentType, komentarRepository::applyReactionDelta);
+        return convertToResponse(komentar);
     }
     
-    private void updateCommentCounters(KomentarBerita komentar) {
-        long likes = voteRepository.countLikesByKomentarId(komentar.getId());
-        long dislikes = voteRepository.countDislikesByKomentarId(komentar.getId());
-        komentar.setLikes((int) likes);
-        komentar.setDislikes((int) dislikes);
-    }
 
     public CommentResponse replyToComment(Long commentId, CommentRequest request) {
         Optional<KomentarBerita> parentOpt = komentarRepository.findById(commentId);
@@ -236,17 +241,28 @@ public class CommentService {    @Autowired
         response.setUpdatedAt(komentar.getUpdatedAt());
         
         return response;
-    }private CommentResponse convertToResponseWithReplies(KomentarBerita komentar) {
-        CommentResponse response = convertToResponse(komentar);
-        
-        // Load replies recursively
-        List<KomentarBerita> replies = komentarRepository.findByParentKomentarIdOrderByTanggalKomentarAsc(komentar.getId());
-        List<CommentResponse> replyResponses = replies.stream()
-                .map(this::convertToResponseWithReplies) // Recursive call to load nested replies
+    }
+
+    private List<CommentResponse> convertToResponsesWithReplies(List<KomentarBerita> parents, Long currentUserId) {
+        List<CommentResponse> responses = parents.stream()
+                .map(this::convertToResponse)
                 .collect(Collectors.toList());
+        if (responses.isEmpty()) {
+            return responses;
+        }
         
-        response.setReplies(replyResponses);
+        // All replies below this page in one query by root_id, the threads are built in memory
+        List<CommentResponse> thread = CommentThreadAssembler.attachReplies(responses,
+                rootIds -> komentarRepository.findByRootIdInOrderByTanggalKomentarAsc(rootIds).stream()
+                        .map(this::convertToResponse)
+                        .collect(Collectors.toList()),
+                CommentResponse::getId, CommentResponse::getParentId, CommentResponse::setReplies);
+        if (currentUserId != null) {
+            CommentThreadAssembler.attachViewerVotes(thread,
+                    ids -> CommentThreadAssembler.votesByCommentId(voteRepository.findVoteTypesByKomentarIds(ids, currentUserId)),
+                    CommentResponse::getId, CommentResponse::setUserVote);
+        }
         
-        return response;
+        return responses;
     }
 }
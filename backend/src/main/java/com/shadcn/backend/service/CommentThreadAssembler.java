@@ -0,0 +1,108 @@
+package com.shadcn.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Builds comment threads for every commentable target (berita, document, usulan, pelaksanaan).
+ *
+ * Every reply stores the id of its top-level comment (root_id). Callers load one page of
+ * top-level comments, then all replies below that page with one root_id IN (...) query, and
+ * the trees are assembled in memory; a page costs two queries whatever the thread depth, and
+ * only reads the threads it shows. The viewer's votes on all comments of the page are looked up
+ * in one batch as well. Works on any comment DTO type through the id/parent accessors.
+ */
+public final class CommentThreadAssembler {
+
+    // Keeps the IN list of a root or vote lookup within what MySQL plans well
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    private CommentThreadAssembler() {
+    }
+
+    /**
+     * Load and attach the replies below the given top-level comments.
+     *
+     * Every node reachable from the roots receives a (possibly empty) reply list. Replies keep
+     * the order in which they were loaded.
+     *
+     * @param findRepliesByRootIds every reply whose root_id is one of the given ids, in display order
+     * @return the roots and every reply attached below them
+     */
+    public static <D> List<D> attachReplies(List<D> roots,
+                                            Function<List<Long>, List<D>> findRepliesByRootIds,
+                                            Function<D, Long> idOf,
+                                            Function<D, Long> parentIdOf,
+                                            BiConsumer<D, List<D>> setReplies) {
+        List<Long> rootIds = new ArrayList<>(roots.size());
+        for (D root : roots) {
+            rootIds.add(idOf.apply(root));
+        }
+        List<D> replies = new ArrayList<>();
+        for (int from = 0; from < rootIds.size(); from += MAX_IDS_PER_QUERY) {
+            replies.addAll(findRepliesByRootIds.apply(rootIds.subList(from, Math.min(rootIds.size(), from + MAX_IDS_PER_QUERY))));
+        }
+
+        Map<Long, List<D>> childrenByParent = new HashMap<>();
+        for (D reply : replies) {
+            Long parentId = parentIdOf.apply(reply);
+            if (parentId != null) {
+                childrenByParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(reply);
+            }
+        }
+
+        List<D> nodes = new ArrayList<>(roots);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            D node = nodes.get(i);
+            Long id = idOf.apply(node);
+            // A corrupt parent cycle would otherwise loop forever
+            List<D> children = id != null && seen.add(id)
+                ? childrenByParent.getOrDefault(id, new ArrayList<>())
+                : new ArrayList<>();
+            setReplies.accept(node, children);
+            nodes.addAll(children);
+        }
+        return nodes;
+    }
+
+    /**
+     * Set the viewer's vote on every node, looked up in batches of comment ids.
+     *
+     * @param findVotes vote type by comment id for the given comment ids
+     */
+    public static <D> void attachViewerVotes(List<D> nodes,
+                                             Function<List<Long>, Map<Long, String>> findVotes,
+                                             Function<D, Long> idOf,
+                                             BiConsumer<D, String> setVote) {
+        List<Long> ids = new ArrayList<>(nodes.size());
+        for (D node : nodes) {
+            ids.add(idOf.apply(node));
+        }
+
+        Map<Long, String> votes = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            votes.putAll(findVotes.apply(ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY))));
+        }
+        for (D node : nodes) {
+            setVote.accept(node, votes.get(idOf.apply(node)));
+        }
+    }
+
+    /**
+     * Vote type by comment id from {@code [komentarId, voteType]} rows.
+     */
+    public static Map<Long, String> votesByCommentId(List<Object[]> rows) {
+        Map<Long, String> votes = new HashMap<>();
+        for (Object[] row : rows) {
+            votes.put((Long) row[0], String.valueOf(row[1]));
+        }
+        return votes;
+    }
+}
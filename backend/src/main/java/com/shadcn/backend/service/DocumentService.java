@@ -17,8 +17,6 @@ import com.shadcn.backend.repository.KomentarDocumentVoteRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -47,11 +45,19 @@ public class DocumentService {
     private final DocumentRepository documentRepository;
     private final KomentarDocumentRepository komentarDocumentRepository;
     private final KomentarDocumentVoteRepository komentarDocumentVoteRepository;
+    private final ReactionCounterService reactionCounterService;
+    private final DocumentDownloadCounter downloadCounter;
     private final AppProperties appProperties;
 
     @Value("${app.upload.document-dir:/storage/documents}")
     private String uploadDir;
 
+    /**
+     * A document file ready to be streamed.
+     */
+    public record DocumentFile(Path path, String fileName, String mimeType, long size, long lastModified) {
+    }
+
     private static final List<String> ALLOWED_MIME_TYPES = List.of(
         "application/pdf",
         "application/msword",
@@ -278,24 +284,29 @@ public class DocumentService {
         log.info("Document permanently deleted successfully: {}", id);
     }
 
-    public Resource downloadDocument(Long id) throws IOException {
+    /**
+     * Resolve a document for download and count the download. The count is buffered in
+     * {@link DocumentDownloadCounter}; the entity itself is not written.
+     */
+    @Transactional(readOnly = true)
+    public DocumentFile downloadDocument(Long id, boolean countDownload) throws IOException {
         Document document = documentRepository.findById(id)
                 .filter(Document::getIsActive)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
 
-        // Increment download count
-        document.setDownloadCount(document.getDownloadCount() + 1);
-        documentRepository.save(document);
-
         Path filePath = Paths.get(document.getFilePath());
-        Resource resource = new UrlResource(filePath.toUri());
-        
-        if (resource.exists() && resource.isReadable()) {
-            return resource;
-        } else {
+        if (!Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
             throw new IOException("File not found or not readable: " + document.getFileName());
         }
-    }    private void validateFile(MultipartFile file) {
+
+        if (countDownload) {
+            downloadCounter.record(id);
+        }
+        return new DocumentFile(filePath, document.getFileName(), document.getMimeType(),
+                Files.size(filePath), Files.getLastModifiedTime(filePath).toMillis());
+    }
+
+    private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new ValidationException("File tidak boleh kosong");
         }
@@ -327,13 +338,18 @@ public class DocumentService {
                 .mimeType(document.getMimeType())
                 .fileSize(document.getFileSize())
                 .illustrationImage(document.getIllustrationImage())
-                .downloadCount(document.getDownloadCount())
+                .downloadCount(currentDownloadCount(document))
                 .isActive(document.getIsActive())
                 .createdAt(document.getCreatedAt())
                 .updatedAt(document.getUpdatedAt())
                 .build();
     }
 
+    private Integer currentDownloadCount(Document document) {
+        int stored = document.getDownloadCount() != null ? document.getDownloadCount() : 0;
+        return stored + (int) downloadCounter.pending(document.getId());
+    }
+
     // Comment-related methods
     public CommentResponse createComment(CommentRequest request, Long documentId) {
         Optional<Document> documentOpt = documentRepository.findById(documentId);
@@ -374,44 +390,55 @@ public class DocumentService {
 
     public List<CommentResponse> getCommentsByDocument(Long documentId) {
         List<KomentarDocument> comments = komentarDocumentRepository.findByDocumentIdAndParentKomentarIsNullOrderByTanggalKomentarDesc(documentId);
-        return comments.stream()
-                .map(this::convertToCommentResponseWithReplies)
+        List<CommentResponse> responses = comments.stream()
+                .map(this::convertToCommentResponse)
                 .collect(Collectors.toList());
+        if (responses.isEmpty()) {
+            return responses;
+        }
+        
+        // All replies below these comments in one query by root_id, the threads are built in memory
+        CommentThreadAssembler.attachReplies(responses,
+                rootIds -> komentarDocumentRepository.findByRootIdInOrderByTanggalKomentarAsc(rootIds).stream()
+                        .map(this::convertToCommentResponse)
+                        .collect(Collectors.toList()),
+                CommentResponse::getId, CommentResponse::getParentId, CommentResponse::setReplies);
+        return responses;
     }
     
     // Get comments as DTOs to avoid lazy loading issues - paginated
     public Page<KomentarDocumentDto> getCommentsByDocumentDto(Long documentId, int page, int size) {
+        return getCommentsByDocumentDto(documentId, page, size, null);
+    }
+    
+    public Page<KomentarDocumentDto> getCommentsByDocumentDto(Long documentId, int page, int size, Long currentUserId) {
         Pageable pageable = PageRequest.of(page, size);
         Page<KomentarDocumentDto> parentComments = komentarDocumentRepository.findParentCommentsDtoByDocumentId(documentId, pageable);
+        if (parentComments.isEmpty()) {
+            return parentComments;
+        }
         
-        // For each parent comment, fetch its replies recursively
-        parentComments.getContent().forEach(comment -> {
-            List<KomentarDocumentDto> replies = getRepliesRecursively(comment.getId());
-            comment.setReplies(replies);
-        });
+        // All replies below this page in one query by root_id, the threads are built in memory
+        List<KomentarDocumentDto> thread = CommentThreadAssembler.attachReplies(parentComments.getContent(),
+            komentarDocumentRepository::findRepliesDtoByRootIds,
+            KomentarDocumentDto::getId, KomentarDocumentDto::getParentId, KomentarDocumentDto::setReplies);
+        if (currentUserId != null) {
+            CommentThreadAssembler.attachViewerVotes(thread,
+                ids -> CommentThreadAssembler.votesByCommentId(komentarDocumentVoteRepository.findVoteTypesByKomentarIds(ids, currentUserId)),
+                KomentarDocumentDto::getId, KomentarDocumentDto::setUserVote);
+        }
         
         return parentComments;
     }
     
     // Get comments as DTOs without pagination
     public List<KomentarDocumentDto> getCommentsByDocumentDtoList(Long documentId) {
-        Page<KomentarDocumentDto> page = getCommentsByDocumentDto(documentId, 0, Integer.MAX_VALUE);
-        return page.getContent();
+        return getCommentsByDocumentDtoList(documentId, null);
     }
     
-    // Recursively fetch replies and their nested replies
-    private List<KomentarDocumentDto> getRepliesRecursively(Long parentId) {
-        List<KomentarDocumentDto> replies = komentarDocumentRepository.findRepliesDtoByParentId(parentId);
-        
-        // For each reply, get its nested replies
-        replies.forEach(reply -> {
-            List<KomentarDocumentDto> nestedReplies = getRepliesRecursively(reply.getId());
-            if (!nestedReplies.isEmpty()) {
-                reply.setReplies(nestedReplies);
-            }
-        });
-        
-        return replies;
+    public List<KomentarDocumentDto> getCommentsByDocumentDtoList(Long documentId, Long currentUserId) {
+        Page<KomentarDocumentDto> page = getCommentsByDocumentDto(documentId, 0, Integer.MAX_VALUE, currentUserId);
+        return page.getContent();
     }
 
     public CommentResponse likeComment(Long commentId, Long biografiId, String userName) {
@@ -424,6 +451,8 @@ public class DocumentService {
         
         // Check if user already voted
         Optional<KomentarDocumentVote> existingVote = komentarDocumentVoteRepository.findByKomentarIdAndBiografiId(commentId, biografiId);
+        KomentarDocumentVote.VoteType previousType = existingVote.map(KomentarDocumentVote::getVoteType).orElse(null);
+        KomentarDocumentVote.VoteType currentType = previousType == KomentarDocumentVote.VoteType.LIKE ? null : KomentarDocumentVote.VoteType.LIKE;
         
         if (existingVote.isPresent()) {
             KomentarDocumentVote vote = existingVote.get();
@@ -446,11 +475,9 @@ public class DocumentService {
             komentarDocumentVoteRepository.save(newVote);
         }
         
-        // Update counters based on actual votes
-        updateDocumentCommentCounters(komentar);
-        komentar.setUpdatedAt(LocalDateTime.now());
-        KomentarDocument savedKomentar = komentarDocumentRepository.save(komentar);
-        return convertToCommentResponse(savedKomentar);
+        // Apply the vote transition to the denormalized counters
+        reactionCounterService.apply(komentar, commentId, previousType, currentType, komentarDocumentRepository::applyReactionDelta);
+        return convertToCommentResponse(komentar);
     }
 
     public CommentResponse dislikeComment(Long commentId, Long biografiId, String userName) {
@@ -463,6 +490,8 @@ public class DocumentService {
         
         // Check if user already voted
         Optional<KomentarDocumentVote> existingVote = komentarDocumentVoteRepository.findByKomentarIdAndBiografiId(commentId, biografiId);
+        KomentarDocumentVote.VoteType previousType = existingVote.map(KomentarDocumentVote::getVoteType).orElse(null);
+        KomentarDocumentVote.VoteType currentType = previousType == KomentarDocumentVote.VoteType.DISLIKE ? null : KomentarDocumentVote.VoteType.DISLIKE;
         
         if (existingVote.isPresent()) {
             KomentarDocumentVote vote = existingVote.get();
@@ -485,19 +514,11 @@ public class DocumentService {
             komentarDocumentVoteRepository.save(newVote);
         }
         
-        // Update counters based on actual votes
-        updateDocumentCommentCounters(komentar);
-        komentar.setUpdatedAt(LocalDateTime.now());
-        KomentarDocument savedKomentar = komentarDocumentRepository.save(komentar);
-        return convertToCommentResponse(savedKomentar);
+        // Apply the vote transition to the denormalized counters
+        reactionCounterService.apply(komentar, commentId, previousType, currentType, komentarDocumentRepository::applyReactionDelta);
+        return convertToCommentResponse(komentar);
     }
-
-    private void updateDocumentCommentCounters(KomentarDocument komentar) {
-        long likes = komentarDocumentVoteRepository.countLikesByKomentarId(komentar.getId());
-        long dislikes = komentarDocumentVoteRepository.countDislikesByKomentarId(komentar.getId());
-        komentar.setLikes((int) likes);
-        komentar.setDislikes((int) dislikes);
-    }    public CommentResponse replyToComment(Long commentId, CommentRequest request, Long documentId) {
+    public CommentResponse replyToComment(Long commentId, CommentRequest request, Long documentId) {
         Optional<KomentarDocument> parentOpt = komentarDocumentRepository.findById(commentId);
         if (!parentOpt.isPresent()) {
             throw new RuntimeException("Komentar parent tidak ditemukan");
@@ -531,20 +552,6 @@ public class DocumentService {
         return response;
     }
 
-    private CommentResponse convertToCommentResponseWithReplies(KomentarDocument komentar) {
-        CommentResponse response = convertToCommentResponse(komentar);
-        
-        // Load replies recursively
-        List<KomentarDocument> replies = komentarDocumentRepository.findByParentKomentarIdOrderByTanggalKomentarAsc(komentar.getId());
-        List<CommentResponse> replyResponses = replies.stream()
-                .map(this::convertToCommentResponseWithReplies)
-                .collect(Collectors.toList());
-        
-        response.setReplies(replyResponses);
-        
-        return response;
-    }
-
     public long getCommentCount(Long documentId) {
         return komentarDocumentRepository.countByDocumentId(documentId);
     }
@@ -20,10 +20,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.Map;
 import java.time.LocalDateTime;
@@ -45,6 +50,10 @@ public class FilePegawaiService {
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
     
+    /**
+     * Page over (pegawai, kategori) groups in SQL, then load the files of just those groups in
+     * one query. Every page holds whole groups and totalElements counts groups.
+     */
     @Transactional(readOnly = true)
     public Page<FilePegawaiGroupResponse> findAllGrouped(String search, Long pegawaiId, Long kategoriId, Boolean isActive, 
                                                        int page, int size, String sortBy, String sortDir) {
@@ -53,51 +62,75 @@ public class FilePegawaiService {
         
         // Create sort direction
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Sort sort = Sort.by(direction, sortBy);
+        Pageable pageable = PageRequest.of(page, size, groupSort(sortBy, direction));
         
-        Pageable pageable = PageRequest.of(page, size, sort);
-        Page<FilePegawai> entities = repository.findWithFilters(search, pegawaiId, kategoriId, isActive, pageable);
+        Page<Object[]> groups = repository.findGroups(search, pegawaiId, kategoriId, isActive, pageable);
+        if (groups.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, groups.getTotalElements());
+        }
         
-        // Group files by pegawai and kategori
-        Map<String, List<FilePegawai>> groupedFiles = entities.getContent()
-                .stream()
-                .collect(Collectors.groupingBy(file -> 
-                    file.getPegawai().getId() + "_" + file.getKategori().getId()));
-        
-        List<FilePegawaiGroupResponse> groupedResponses = groupedFiles.entrySet().stream()
-                .map(entry -> {
-                    List<FilePegawai> files = entry.getValue();
-                    FilePegawai firstFile = files.get(0);
-                    
-                    List<FilePegawaiGroupResponse.FilePegawaiFileInfo> fileInfos = files.stream()
-                            .map(file -> new FilePegawaiGroupResponse.FilePegawaiFileInfo(
-                                    file.getId(),
-                                    file.getJudul(),
-                                    file.getDeskripsi(),
-                                    file.getFileName(),
-                                    file.getFileType(),
-                                    file.getFileSize(),
-                                    file.getIsActive(),
-                                    file.getCreatedAt(),
-                                    file.getUpdatedAt()
-                            ))
-                            .collect(Collectors.toList());
-                    
-                    return new FilePegawaiGroupResponse(
-                            firstFile.getId(), // Use first file's ID as group ID
-                            firstFile.getPegawai().getId(),
-                            firstFile.getPegawai().getFullName(),
-                            firstFile.getKategori().getId(),
-                            firstFile.getKategori().getNama(),
-                            firstFile.getIsActive(),
-                            files.stream().map(FilePegawai::getCreatedAt).min(LocalDateTime::compareTo).orElse(firstFile.getCreatedAt()),
-                            files.stream().map(FilePegawai::getUpdatedAt).max(LocalDateTime::compareTo).orElse(firstFile.getUpdatedAt()),
-                            fileInfos
-                    );
-                })
-                .collect(Collectors.toList());
-        
-        return new PageImpl<>(groupedResponses, pageable, entities.getTotalElements());
+        Set<Long> pegawaiIds = new HashSet<>();
+        Set<Long> kategoriIds = new HashSet<>();
+        for (Object[] group : groups.getContent()) {
+            pegawaiIds.add((Long) group[0]);
+            kategoriIds.add((Long) group[2]);
+        }
+        
+        // The IN lists select a superset (the cross product); keep only the page's pairs
+        Map<String, List<FilePegawai>> filesByGroup = new HashMap<>();
+        for (FilePegawai file : repository.findGroupFiles(pegawaiIds, kategoriIds, search, isActive)) {
+            filesByGroup.computeIfAbsent(file.getPegawai().getId() + "_" + file.getKategori().getId(), key -> new ArrayList<>())
+                    .add(file);
+        }
+        
+        List<FilePegawaiGroupResponse> groupedResponses = new ArrayList<>(groups.getNumberOfElements());
+        for (Object[] group : groups.getContent()) {
+            List<FilePegawai> files = filesByGroup.getOrDefault(group[0] + "_" + group[2], List.of());
+            if (files.isEmpty()) {
+                continue;
+            }
+            FilePegawai firstFile = files.get(0);
+            
+            List<FilePegawaiGroupResponse.FilePegawaiFileInfo> fileInfos = files.stream()
+                    .map(file -> new FilePegawaiGroupResponse.FilePegawaiFileInfo(
+                            file.getId(),
+                            file.getJudul(),
+                            file.getDeskripsi(),
+                            file.getFileName(),
+                            file.getFileType(),
+                            file.getFileSize(),
+                            file.getIsActive(),
+                            file.getCreatedAt(),
+                            file.getUpdatedAt()
+                    ))
+                    .collect(Collectors.toList());
+            
+            groupedResponses.add(new FilePegawaiGroupResponse(
+                    firstFile.getId(), // Use first file's ID as group ID
+                    (Long) group[0],
+                    (String) group[1],
+                    (Long) group[2],
+                    (String) group[3],
+                    firstFile.getIsActive(),
+                    (LocalDateTime) group[4],
+                    (LocalDateTime) group[5],
+                    fileInfos
+            ));
+        }
+        
+        return new PageImpl<>(groupedResponses, pageable, groups.getTotalElements());
+    }
+    
+    // Group-level sort expressions; ties are broken by the group key so pages stay stable
+    private static Sort groupSort(String sortBy, Sort.Direction direction) {
+        String expression;
+        switch (sortBy != null ? sortBy : "") {
+            case "pegawaiNama", "pegawai", "fullName" -> expression = "p.fullName";
+            case "kategoriNama", "kategori" -> expression = "k.nama";
+            case "updatedAt" -> expression = "MAX(fp.updatedAt)";
+            default -> expression = "MIN(fp.createdAt)";
+        }
+        return JpaSort.unsafe(direction, expression).andUnsafe(Sort.Direction.ASC, "fp.pegawai.id", "fp.kategori.id");
     }
     
     @Transactional
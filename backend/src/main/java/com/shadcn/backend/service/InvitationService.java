@@ -43,6 +43,7 @@ public class InvitationService {
     private final BiografiRepository biografiRepository;
     private final RoleRepository roleRepository;
     private final WhatsAppService whatsAppService;
+    private final WhatsAppQueueService whatsAppQueueService;
     private final BiografiService biografiService;
     private final PasswordEncoder passwordEncoder;
     
@@ -81,27 +82,15 @@ public class InvitationService {
             // Save invitation
             invitation = invitationRepository.save(invitation);
             
-            // Send WhatsApp message
-            try {
-                String messageId = whatsAppService.sendInvitationMessage(
-                    formattedPhone, 
-                    request.getNamaLengkap(), 
-                    invitation.getInvitationToken()
-                );
-                
-                invitation.markAsSent(messageId);
-                invitation = invitationRepository.save(invitation);
-                
-                log.info("Invitation sent successfully to {} ({})", 
-                    request.getNamaLengkap(), formattedPhone);
-                
-            } catch (Exception e) {
-                log.error("Failed to send WhatsApp message for invitation {}: {}", 
-                    invitation.getId(), e.getMessage());
-                invitation.markAsFailed();
-                invitationRepository.save(invitation);
-                throw new RuntimeException("Gagal mengirim pesan WhatsApp: " + e.getMessage());
-            }
+            // Queue WhatsApp message; the worker marks the invitation as sent or failed
+            whatsAppQueueService.enqueue(
+                formattedPhone,
+                whatsAppService.buildInvitationMessage(request.getNamaLengkap(), invitation.getInvitationToken()),
+                invitation.getId()
+            );
+            
+            log.info("Invitation queued for {} ({})", 
+                request.getNamaLengkap(), formattedPhone);
             
             return new InvitationResponse(invitation);
             
@@ -353,7 +342,8 @@ public class InvitationService {
         long usedInvitations = invitationRepository.findByStatus(Invitation.InvitationStatus.USED).size();
         long expiredInvitations = invitationRepository.findByStatus(Invitation.InvitationStatus.EXPIRED).size();
         long cancelledInvitations = invitationRepository.findByStatus(Invitation.InvitationStatus.CANCELLED).size();
-        long todaysInvitations = invitationRepository.findTodaysInvitations().size();
+        LocalDateTime startOfToday = java.time.LocalDate.now().atStartOfDay();
+        long todaysInvitations = invitationRepository.findSentBetween(startOfToday, startOfToday.plusDays(1)).size();
         
         return java.util.Map.of(
             "total", totalInvitations,
@@ -383,7 +373,7 @@ public class InvitationService {
         }
         
         try {
-            // Reset status and send WhatsApp message
+            // Reset status and queue WhatsApp message
             invitation.setStatus(Invitation.InvitationStatus.PENDING);
             invitation.setSentAt(LocalDateTime.now());
             
@@ -404,18 +394,14 @@ public class InvitationService {
                 registrationLink
             );
             
-            String messageId = whatsAppService.sendMessage(invitation.getNomorHp(), message);
-            invitation.markAsSent(messageId);
-            
             Invitation savedInvitation = invitationRepository.save(invitation);
-            log.info("Invitation resent successfully to: {}", invitation.getNomorHp());
+            whatsAppQueueService.enqueueForInvitation(invitation.getNomorHp(), message, savedInvitation.getId());
+            log.info("Invitation resend queued for: {}", invitation.getNomorHp());
             
             return convertToResponse(savedInvitation);
             
         } catch (Exception e) {
             log.error("Failed to resend invitation for: {}", invitation.getNomorHp(), e);
-            invitation.markAsFailed();
-            invitationRepository.save(invitation);
             throw new RuntimeException("Failed to resend invitation: " + e.getMessage());
         }
     }
@@ -453,9 +439,9 @@ public class InvitationService {
                 invitation.getNamaLengkap()
             );
             
-            whatsAppService.sendMessage(invitation.getNomorHp(), message);
-            
             Invitation savedInvitation = invitationRepository.save(invitation);
+            // Plain notification, not linked so the worker leaves the cancelled status alone
+            whatsAppQueueService.enqueue(invitation.getNomorHp(), message, null);
             log.info("Invitation cancelled successfully for: {}", invitation.getNomorHp());
             
             return convertToResponse(savedInvitation);
@@ -7,7 +7,6 @@ import com.shadcn.backend.model.JenisLaporan;
 import com.shadcn.backend.model.TahapanLaporan;
 import com.shadcn.backend.repository.JenisLaporanRepository;
 import com.shadcn.backend.repository.TahapanLaporanRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,7 +26,9 @@ import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -40,6 +41,7 @@ public class JenisLaporanService {
     private final JenisLaporanRepository jenisLaporanRepository;
     private final TahapanLaporanRepository tahapanLaporanRepository;
     private final ObjectMapper objectMapper;
+    private final LaporanCatalogService laporanCatalogService;
     
     @Value("${app.upload.temp-dir:/storage/temp}")
     private String tempUploadDir;
@@ -66,7 +68,8 @@ public class JenisLaporanService {
             pageable
         );
         
-        return jenisLaporanPage.map(this::convertToDto);
+        Map<Long, long[]> counts = loadCounts(jenisLaporanPage.getContent());
+        return jenisLaporanPage.map(jenisLaporan -> convertToDto(jenisLaporan, counts));
     }
     
     // Get all jenis laporan with tahapan, pagination and filters
@@ -86,15 +89,30 @@ public class JenisLaporanService {
             pageable
         );
         
-        return jenisLaporanPage.map(this::convertToDtoWithTahapan);
+        // Counts and active tahapan for the whole page in two queries
+        Map<Long, long[]> counts = loadCounts(jenisLaporanPage.getContent());
+        Map<Long, List<TahapanLaporan>> tahapanByJenis = loadActiveTahapan(jenisLaporanPage.getContent());
+        
+        return jenisLaporanPage.map(jenisLaporan -> {
+            JenisLaporanDto dto = convertToDto(jenisLaporan, counts);
+            dto.setTahapanList(tahapanByJenis.getOrDefault(jenisLaporan.getJenisLaporanId(), List.of()).stream()
+                    .map(this::convertTahapanToDto)
+                    .collect(Collectors.toList()));
+            return dto;
+        });
     }
     
     // Get active jenis laporan for dropdown
     public List<JenisLaporanDto> getActiveJenisLaporan() {
-        List<JenisLaporan> jenisLaporanList = jenisLaporanRepository.findActiveJenisLaporan();
-        return jenisLaporanList.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<Object[]> rows = jenisLaporanRepository.findActiveJenisLaporanWithCounts();
+        List<JenisLaporanDto> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            JenisLaporanDto dto = convertToDto((JenisLaporan) row[0], null);
+            dto.setJumlahTahapan(((Number) row[1]).intValue());
+            dto.setJumlahLaporan(((Number) row[2]).intValue());
+            result.add(dto);
+        }
+        return result;
     }
     
     // Get jenis laporan by ID
@@ -145,6 +163,8 @@ public class JenisLaporanService {
             }
         }
         
+        laporanCatalogService.invalidate();
+        
         // Return DTO with created tahapan
         JenisLaporanDto result = convertToDto(savedJenisLaporan);
         result.setTahapanList(createdTahapan);
@@ -175,8 +195,14 @@ public class JenisLaporanService {
             updateTahapanForJenisLaporan(id, jenisLaporanDto.getTahapanList());
         }
         
-        // Return with updated tahapan
-        return getJenisLaporanWithTahapan(id).orElse(convertToDto(savedJenisLaporan));
+        laporanCatalogService.invalidate();
+        
+        // Return with updated tahapan, from the rows just written: the catalog only changes after commit
+        JenisLaporanDto result = convertToDto(savedJenisLaporan);
+        result.setTahapanList(tahapanLaporanRepository.findActiveTahapanByJenisLaporan(id).stream()
+                .map(this::convertWrittenTahapanToDto)
+                .collect(Collectors.toList()));
+        return result;
     }
     
     // Delete jenis laporan (soft delete)
@@ -188,6 +214,7 @@ public class JenisLaporanService {
         jenisLaporan.setStatus(JenisLaporan.StatusJenisLaporan.TIDAK_AKTIF);
         jenisLaporan.setUpdatedAt(LocalDateTime.now());
         jenisLaporanRepository.save(jenisLaporan);
+        laporanCatalogService.invalidate();
     }
     
     // Hard delete jenis laporan
@@ -197,6 +224,7 @@ public class JenisLaporanService {
             throw new RuntimeException("Jenis laporan tidak ditemukan");
         }
         jenisLaporanRepository.deleteById(id);
+        laporanCatalogService.invalidate();
     }
     
     // Toggle status jenis laporan
@@ -214,6 +242,7 @@ public class JenisLaporanService {
         
         jenisLaporan.setUpdatedAt(LocalDateTime.now());
         JenisLaporan savedJenisLaporan = jenisLaporanRepository.save(jenisLaporan);
+        laporanCatalogService.invalidate();
         
         return convertToDto(savedJenisLaporan);
     }
@@ -259,7 +288,8 @@ public class JenisLaporanService {
         }
         
         TahapanLaporan savedTahapan = tahapanLaporanRepository.save(tahapan);
-        return convertTahapanToDto(savedTahapan);
+        laporanCatalogService.invalidate();
+        return convertWrittenTahapanToDto(savedTahapan);
     }
     
     // Update tahapan for jenis laporan
@@ -285,6 +315,7 @@ public class JenisLaporanService {
         
         if (!toDelete.isEmpty()) {
             tahapanLaporanRepository.deleteAllById(toDelete);
+            laporanCatalogService.invalidate();
         }
         
         // Process each tahapan in the new list
@@ -350,6 +381,7 @@ public class JenisLaporanService {
         }
         
         tahapanLaporanRepository.save(existingTahapan);
+        laporanCatalogService.invalidate();
     }
     
     // Get statistics
@@ -361,8 +393,40 @@ public class JenisLaporanService {
         return new JenisLaporanStats(totalAktif, totalTidakAktif, totalDraft);
     }
     
+    // Tahapan and laporan counts per jenis laporan, from one grouped query
+    private Map<Long, long[]> loadCounts(List<JenisLaporan> jenisLaporanList) {
+        Map<Long, long[]> counts = new HashMap<>();
+        if (jenisLaporanList.isEmpty()) {
+            return counts;
+        }
+        List<Long> ids = jenisLaporanList.stream()
+                .map(JenisLaporan::getJenisLaporanId)
+                .collect(Collectors.toList());
+        for (Object[] row : jenisLaporanRepository.countTahapanAndLaporanByIds(ids)) {
+            counts.put((Long) row[0], new long[] { ((Number) row[1]).longValue(), ((Number) row[2]).longValue() });
+        }
+        return counts;
+    }
+    
+    // Active tahapan grouped by jenis laporan, from one query
+    private Map<Long, List<TahapanLaporan>> loadActiveTahapan(List<JenisLaporan> jenisLaporanList) {
+        if (jenisLaporanList.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = jenisLaporanList.stream()
+                .map(JenisLaporan::getJenisLaporanId)
+                .collect(Collectors.toList());
+        return tahapanLaporanRepository.findActiveTahapanByJenisLaporanIds(ids).stream()
+                .collect(Collectors.groupingBy(tahapan -> tahapan.getJenisLaporan().getJenisLaporanId()));
+    }
+    
     // Convert entity to DTO
     private JenisLaporanDto convertToDto(JenisLaporan jenisLaporan) {
+        return convertToDto(jenisLaporan, loadCounts(List.of(jenisLaporan)));
+    }
+    
+    // Convert entity to DTO using preloaded counts (null when the caller sets them itself)
+    private JenisLaporanDto convertToDto(JenisLaporan jenisLaporan, Map<Long, long[]> counts) {
         JenisLaporanDto dto = new JenisLaporanDto();
         dto.setJenisLaporanId(jenisLaporan.getJenisLaporanId());
         dto.setNama(jenisLaporan.getNama());
@@ -372,23 +436,11 @@ public class JenisLaporanService {
         dto.setUpdatedAt(jenisLaporan.getUpdatedAt());
         
         // Count related data
-        dto.setJumlahTahapan(jenisLaporan.getTahapanList().size());
-        dto.setJumlahLaporan(jenisLaporan.getLaporanList().size());
-        
-        return dto;
-    }
-    
-    // Convert entity to DTO with tahapan details
-    private JenisLaporanDto convertToDtoWithTahapan(JenisLaporan jenisLaporan) {
-        JenisLaporanDto dto = convertToDto(jenisLaporan);
-        
-        // Get active tahapan for this jenis laporan
-        List<TahapanLaporan> tahapanList = tahapanLaporanRepository
-                .findActiveTahapanByJenisLaporan(jenisLaporan.getJenisLaporanId());
-        
-        dto.setTahapanList(tahapanList.stream()
-                .map(this::convertTahapanToDto)
-                .collect(Collectors.toList()));
+        if (counts != null) {
+            long[] count = counts.getOrDefault(jenisLaporan.getJenisLaporanId(), new long[] { 0, 0 });
+            dto.setJumlahTahapan((int) count[0]);
+            dto.setJumlahLaporan((int) count[1]);
+        }
         
         return dto;
     }
@@ -403,8 +455,19 @@ public class JenisLaporanService {
         return entity;
     }
     
-    // Convert tahapan entity to DTO
+    // Convert tahapan entity to DTO; allowed file types come parsed from the template catalog
     private TahapanLaporanDto convertTahapanToDto(TahapanLaporan tahapan) {
+        return convertTahapanToDto(tahapan, laporanCatalogService.getTahapan(tahapan.getTahapanLaporanId())
+                .map(LaporanCatalogService.TahapanEntry::jenisFileIzin)
+                .orElse(List.of()));
+    }
+    
+    // Convert a tahapan written in the current transaction; the catalog only sees it after commit
+    private TahapanLaporanDto convertWrittenTahapanToDto(TahapanLaporan tahapan) {
+        return convertTahapanToDto(tahapan, laporanCatalogService.parseJenisFileIzin(tahapan));
+    }
+    
+    private TahapanLaporanDto convertTahapanToDto(TahapanLaporan tahapan, List<String> jenisFileIzin) {
         TahapanLaporanDto dto = new TahapanLaporanDto();
         dto.setTahapanLaporanId(tahapan.getTahapanLaporanId());
         dto.setNama(tahapan.getNama());
@@ -416,21 +479,7 @@ public class JenisLaporanService {
         dto.setUpdatedAt(tahapan.getUpdatedAt());
         dto.setJenisLaporanId(tahapan.getJenisLaporan().getJenisLaporanId());
         dto.setJenisLaporanNama(tahapan.getJenisLaporan().getNama());
-        
-        // Convert JSON string to list
-        if (tahapan.getJenisFileIzin() != null) {
-            try {
-                List<String> jenisFileList = objectMapper.readValue(
-                    tahapan.getJenisFileIzin(), 
-                    new TypeReference<List<String>>() {}
-                );
-                dto.setJenisFileIzin(jenisFileList);
-            } catch (Exception e) {
-                log.error("Error parsing jenis file JSON", e);
-                dto.setJenisFileIzin(List.of());
-            }
-        }
-        
+        dto.setJenisFileIzin(new ArrayList<>(jenisFileIzin));
         return dto;
     }
     
@@ -5,6 +5,7 @@ import com.shadcn.backend.dto.KomentarBeritaDto;
 import com.shadcn.backend.model.KomentarBerita;
 import com.shadcn.backend.model.Berita;
 import com.shadcn.backend.repository.KomentarBeritaRepository;
+import com.shadcn.backend.repository.KomentarBeritaVoteRepository;
 import com.shadcn.backend.repository.BeritaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -24,6 +25,9 @@ public class KomentarService {
     @Autowired
     private KomentarBeritaRepository komentarRepository;
 
+    @Autowired
+    private KomentarBeritaVoteRepository voteRepository;
+
     @Autowired
     private BeritaRepository beritaRepository;
 
@@ -59,32 +63,28 @@ public class KomentarService {
     
     // Get comments as DTOs to avoid lazy loading issues
     public Page<KomentarBeritaDto> getKomentarByBeritaPaginatedDto(Long beritaId, int page, int size) {
+        return getKomentarByBeritaPaginatedDto(beritaId, page, size, null);
+    }
+
+    public Page<KomentarBeritaDto> getKomentarByBeritaPaginatedDto(Long beritaId, int page, int size, Long currentUserId) {
         Pageable pageable = PageRequest.of(page, size);
         Page<KomentarBeritaDto> parentComments = komentarRepository.findParentCommentsDtoByBeritaId(beritaId, pageable);
+        if (parentComments.isEmpty()) {
+            return parentComments;
+        }
         
-        // For each parent comment, fetch its replies recursively
-        parentComments.getContent().forEach(comment -> {
-            List<KomentarBeritaDto> replies = getRepliesRecursively(comment.getId());
-            comment.setReplies(replies);
-        });
+        // All replies below this page in one query by root_id, the threads are built in memory
+        List<KomentarBeritaDto> thread = CommentThreadAssembler.attachReplies(parentComments.getContent(),
+            komentarRepository::findRepliesDtoByRootIds,
+            KomentarBeritaDto::getId, KomentarBeritaDto::getParentId, KomentarBeritaDto::setReplies);
+        if (currentUserId != null) {
+            CommentThreadAssembler.attachViewerVotes(thread,
+                ids -> CommentThreadAssembler.votesByCommentId(voteRepository.findVoteTypesByKomentarIds(ids, currentUserId)),
+                KomentarBeritaDto::getId, KomentarBeritaDto::setUserVote);
+        }
         
         return parentComments;
     }
-    
-    // Recursively fetch replies and their nested replies
-    private List<KomentarBeritaDto> getRepliesRecursively(Long parentId) {
-        List<KomentarBeritaDto> replies = komentarRepository.findRepliesDtoByParentId(parentId);
-        
-        // For each reply, get its nested replies
-        replies.forEach(reply -> {
-            List<KomentarBeritaDto> nestedReplies = getRepliesRecursively(reply.getId());
-            if (!nestedReplies.isEmpty()) {
-                reply.setReplies(nestedReplies);
-            }
-        });
-        
-        return replies;
-    }
 
     public List<KomentarBerita> getBalasanKomentar(Long parentKomentarId) {
         return komentarRepository.findByParentKomentarIdOrderByTanggalKomentarAsc(parentKomentarId);
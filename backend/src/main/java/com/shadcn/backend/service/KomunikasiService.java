@@ -1,5 +1,6 @@
 package com.shadcn.backend.service;
 
+import com.shadcn.backend.config.AppMetrics;
 import com.shadcn.backend.dto.*;
 import com.shadcn.backend.model.*;
 import com.shadcn.backend.repository.*;
@@ -38,6 +39,15 @@ public class KomunikasiService {
     
     @Autowired
     private BiografiRepository biografiRepository;
+    
+    @Autowired
+    private ReactionCounterService reactionCounterService;
+    
+    @Autowired
+    private TrendingTopicService trendingTopicService;
+    
+    @Autowired
+    private AppMetrics appMetrics;
 
     // ========== POST OPERATIONS ==========
     
@@ -125,6 +135,8 @@ public class KomunikasiService {
             savedPost.setMedia(mediaList);
         }
         
+        trendingTopicService.recordPost(savedPost.getKonten(), savedPost.getCreatedAt());
+        
         return convertToPostDTO(savedPost, biografiId);
     }
       /**
@@ -138,6 +150,7 @@ public class KomunikasiService {
             if (post.getBiografiId().equals(biografiId)) {
                 post.setStatus(PostKomunikasi.StatusPost.DIHAPUS);
                 postRepository.save(post);
+                trendingTopicService.removePost(post.getKonten(), post.getCreatedAt());
                 return true;
             }
         }
@@ -157,29 +170,36 @@ public class KomunikasiService {
         
         Optional<PostReaction> existingReaction = postReactionRepository
             .findByPostIdAndBiografiId(postId, biografiId);
+        PostReaction.ReactionType requestedType = PostReaction.ReactionType.valueOf(reactionType);
+        PostReaction.ReactionType previousType = existingReaction.map(PostReaction::getReactionType).orElse(null);
+        PostReaction.ReactionType currentType;
         
         if (existingReaction.isPresent()) {
             PostReaction reaction = existingReaction.get();
             
-            if (reaction.getReactionType().toString().equals(reactionType)) {
+            if (reaction.getReactionType() == requestedType) {
                 // Remove reaction if same type
                 postReactionRepository.delete(reaction);
-                updatePostReactionCounts(post);            } else {
+                currentType = null;
+            } else {
                 // Update reaction type
-                reaction.setReactionType(PostReaction.ReactionType.valueOf(reactionType));
+                reaction.setReactionType(requestedType);
                 postReactionRepository.save(reaction);
-                updatePostReactionCounts(post);
+                currentType = requestedType;
             }
         } else {
             // Create new reaction
             PostReaction reaction = new PostReaction();
             reaction.setPostKomunikasi(post);
             reaction.setBiografi(biografi);
-            reaction.setReactionType(PostReaction.ReactionType.valueOf(reactionType));
+            reaction.setReactionType(requestedType);
             postReactionRepository.save(reaction);
-            updatePostReactionCounts(post);
+            currentType = requestedType;
         }
         
+        reactionCounterService.apply(post, postId, previousType, currentType, postRepository::applyReactionDelta);
+        appMetrics.reactionToggled("post", previousType, currentType);
+        
         return convertToPostDTO(post, biografiId);
     }
     
@@ -204,9 +224,7 @@ public class KomunikasiService {
      */
     public Page<PostCommentDTO> getPostComments(Long postId, Pageable pageable, Long currentUserId) {
         Page<PostComment> comments = commentRepository.findTopLevelCommentsByPostId(postId, pageable);
-        List<PostCommentDTO> commentDTOs = comments.getContent().stream()
-            .map(comment -> convertToCommentDTO(comment, currentUserId))
-            .collect(Collectors.toList());
+        List<PostCommentDTO> commentDTOs = convertToCommentDTOs(comments.getContent(), currentUserId);
         
         return new PageImpl<>(commentDTOs, pageable, comments.getTotalElements());
     }
@@ -216,9 +234,7 @@ public class KomunikasiService {
      */
     public List<PostCommentDTO> getCommentReplies(Long commentId, Long currentUserId) {
         List<PostComment> replies = commentRepository.findRepliesByParentCommentId(commentId);
-        return replies.stream()
-            .map(reply -> convertToCommentDTO(reply, currentUserId))
-            .collect(Collectors.toList());
+        return convertToCommentDTOs(replies, currentUserId);
     }
       /**
      * Create new comment
@@ -292,30 +308,36 @@ public class KomunikasiService {
         
         Optional<CommentReaction> existingReaction = commentReactionRepository
             .findByCommentIdAndBiografiId(commentId, biografiId);
+        CommentReaction.ReactionType requestedType = CommentReaction.ReactionType.valueOf(reactionType);
+        CommentReaction.ReactionType previousType = existingReaction.map(CommentReaction::getReactionType).orElse(null);
+        CommentReaction.ReactionType currentType;
         
         if (existingReaction.isPresent()) {
             CommentReaction reaction = existingReaction.get();
             
-            if (reaction.getReactionType().toString().equals(reactionType)) {
+            if (reaction.getReactionType() == requestedType) {
                 // Remove reaction if same type
                 commentReactionRepository.delete(reaction);
-                updateCommentReactionCounts(comment);
+                currentType = null;
             } else {
                 // Update reaction type
-                reaction.setReactionType(CommentReaction.ReactionType.valueOf(reactionType));
+                reaction.setReactionType(requestedType);
                 commentReactionRepository.save(reaction);
-                updateCommentReactionCounts(comment);
+                currentType = requestedType;
             }
         } else {
             // Create new reaction
             CommentReaction reaction = new CommentReaction();
             reaction.setPostComment(comment);
             reaction.setBiografi(biografi);
-            reaction.setReactionType(CommentReaction.ReactionType.valueOf(reactionType));
+            reaction.setReactionType(requestedType);
             commentReactionRepository.save(reaction);
-            updateCommentReactionCounts(comment);
+            currentType = requestedType;
         }
         
+        reactionCounterService.apply(comment, commentId, previousType, currentType, commentRepository::applyReactionDelta);
+        appMetrics.reactionToggled("comment", previousType, currentType);
+        
         return convertToCommentDTO(comment, biografiId);
     }
 
@@ -377,16 +399,40 @@ public class KomunikasiService {
         List<PostComment> recentComments = commentRepository
             .findRecentCommentsByPostId(post.getPostId(),
                 org.springframework.data.domain.PageRequest.of(0, 3));
-        dto.setRecentComments(recentComments.stream()
-            .map(comment -> convertToCommentDTO(comment, currentUserId))
-            .collect(Collectors.toList()));
+        dto.setRecentComments(convertToCommentDTOs(recentComments, currentUserId));
         
         return dto;
     }
-      /**
+    /**
      * Convert PostComment to PostCommentDTO
      */
     private PostCommentDTO convertToCommentDTO(PostComment comment, Long currentUserId) {
+        return convertToCommentDTOs(List.of(comment), currentUserId).get(0);
+    }
+    
+    /**
+     * Convert a batch of comments, looking up the viewer's reactions in one query
+     */
+    private List<PostCommentDTO> convertToCommentDTOs(List<PostComment> comments, Long currentUserId) {
+        Map<Long, String> userReactions = new HashMap<>();
+        if (currentUserId != null && !comments.isEmpty()) {
+            List<Long> commentIds = comments.stream()
+                .map(PostComment::getCommentId)
+                .collect(Collectors.toList());
+            commentReactionRepository.findByCommentIdInAndBiografiId(commentIds, currentUserId)
+                .forEach(reaction -> userReactions.put(reaction.getCommentId(), reaction.getReactionType().toString()));
+        }
+        
+        return comments.stream()
+            .map(comment -> {
+                PostCommentDTO dto = toCommentDTO(comment);
+                dto.setUserReaction(userReactions.get(comment.getCommentId()));
+                return dto;
+            })
+            .collect(Collectors.toList());
+    }
+    
+    private PostCommentDTO toCommentDTO(PostComment comment) {
         PostCommentDTO dto = new PostCommentDTO();
         dto.setCommentId(comment.getCommentId());
         dto.setPostId(comment.getPostId());
@@ -411,13 +457,6 @@ public class KomunikasiService {
         dto.setCreatedAt(comment.getCreatedAt());
         dto.setUpdatedAt(comment.getUpdatedAt());
         
-        // Get user's reaction
-        if (currentUserId != null) {
-            Optional<CommentReaction> userReaction = commentReactionRepository
-                .findByCommentIdAndBiografiId(comment.getCommentId(), currentUserId);
-            userReaction.ifPresent(reaction -> dto.setUserReaction(reaction.getReactionType().toString()));
-        }
-        
         return dto;
     }
     
@@ -440,30 +479,6 @@ public class KomunikasiService {
         return dto;
     }
     
-    /**
-     * Update post reaction counts
-     */
-    private void updatePostReactionCounts(PostKomunikasi post) {
-        Long likeCount = postReactionRepository.countLikesByPostId(post.getPostId());
-        Long dislikeCount = postReactionRepository.countDislikesByPostId(post.getPostId());
-        
-        post.setLikeCount(likeCount.intValue());
-        post.setDislikeCount(dislikeCount.intValue());
-        postRepository.save(post);
-    }
-    
-    /**
-     * Update comment reaction counts
-     */
-    private void updateCommentReactionCounts(PostComment comment) {
-        Long likeCount = commentReactionRepository.countLikesByCommentId(comment.getCommentId());
-        Long dislikeCount = commentReactionRepository.countDislikesByCommentId(comment.getCommentId());
-        
-        comment.setLikeCount(likeCount.intValue());
-        comment.setDislikeCount(dislikeCount.intValue());
-        commentRepository.save(comment);
-    }
-    
     // ========== STATISTICS & UTILITIES ==========
     
     /**
@@ -490,49 +505,12 @@ public class KomunikasiService {
         stats.put("onlineNow", Math.max(1, (int)(Math.random() * 20) + 5));
         
         return stats;
-    }    /**
-     * Get trending topics based on post content
+    }
+    
+    /**
+     * Get trending topics from the incremental hashtag counter
      */
     public List<String> getTrendingTopics() {
-        // Get recent posts and extract hashtags/trending terms
-        List<PostKomunikasi> recentPosts = postRepository.findTop50ByStatusOrderByCreatedAtDesc(PostKomunikasi.StatusPost.AKTIF);
-        
-        Map<String, Integer> hashtagCount = new HashMap<>();
-        
-        for (PostKomunikasi post : recentPosts) {
-            String content = post.getKonten().toLowerCase();
-            
-            // Extract hashtags
-            String[] words = content.split("\\s+");
-            for (String word : words) {
-                if (word.startsWith("#") && word.length() > 1) {
-                    hashtagCount.put(word, hashtagCount.getOrDefault(word, 0) + 1);
-                }
-            }
-            
-            // Add common trending topics based on content analysis
-            if (content.contains("alumni") || content.contains("lulusan")) {
-                hashtagCount.put("#Alumni2024", hashtagCount.getOrDefault("#Alumni2024", 0) + 1);
-            }
-            if (content.contains("kedokteran") || content.contains("dokter") || content.contains("medis")) {
-                hashtagCount.put("#Kedokteran", hashtagCount.getOrDefault("#Kedokteran", 0) + 1);
-            }
-            if (content.contains("networking") || content.contains("koneksi") || content.contains("bertemu")) {
-                hashtagCount.put("#Networking", hashtagCount.getOrDefault("#Networking", 0) + 1);
-            }
-            if (content.contains("karir") || content.contains("kerja") || content.contains("pekerjaan")) {
-                hashtagCount.put("#Karir", hashtagCount.getOrDefault("#Karir", 0) + 1);
-            }
-            if (content.contains("wisuda") || content.contains("graduation")) {
-                hashtagCount.put("#Wisuda2024", hashtagCount.getOrDefault("#Wisuda2024", 0) + 1);
-            }
-        }
-        
-        // Sort by frequency and return top trending topics
-        return hashtagCount.entrySet().stream()
-            .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-            .limit(5)
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toList());
+        return trendingTopicService.getTrendingTopics();
     }
 }
@@ -0,0 +1,193 @@
+package com.shadcn.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadcn.backend.dto.TahapanLaporanDto;
+import com.shadcn.backend.model.JenisLaporan;
+import com.shadcn.backend.model.TahapanLaporan;
+import com.shadcn.backend.repository.JenisLaporanRepository;
+import com.shadcn.backend.repository.TahapanLaporanRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through, immutable catalog of the report templates: jenis laporan with their ordered
+ * tahapan and the pre-parsed allowed file types of every tahapan.
+ *
+ * The catalog is built from two queries on first use and replaced as a whole (never mutated)
+ * after any jenis laporan or tahapan change commits, so upload validation and report views
+ * read it without touching the database or Jackson. The shared catalog is only built outside
+ * write transactions, so it never holds rows that are not committed yet.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LaporanCatalogService {
+
+    private final JenisLaporanRepository jenisLaporanRepository;
+    private final TahapanLaporanRepository tahapanLaporanRepository;
+    private final ObjectMapper objectMapper;
+
+    // Version the next catalog must be built for; bumped on every committed change
+    private final AtomicLong requestedVersion = new AtomicLong(1);
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Catalog catalog;
+
+    public record TahapanEntry(Long tahapanLaporanId, Long jenisLaporanId, String jenisLaporanNama,
+                               String nama, String deskripsi, String templateTahapan, Integer urutanTahapan,
+                               TahapanLaporan.StatusTahapan status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                               List<String> jenisFileIzin, Set<String> allowedTypes) {
+
+        public boolean isActive() {
+            return status == TahapanLaporan.StatusTahapan.AKTIF;
+        }
+
+        public TahapanLaporanDto toDto() {
+            return new TahapanLaporanDto(tahapanLaporanId, nama, deskripsi, templateTahapan, urutanTahapan,
+                new ArrayList<>(jenisFileIzin), status, createdAt, updatedAt, jenisLaporanId, jenisLaporanNama);
+        }
+    }
+
+    public record JenisEntry(Long jenisLaporanId, String nama, String deskripsi,
+                             JenisLaporan.StatusJenisLaporan status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                             List<TahapanEntry> tahapan) {
+
+        public List<TahapanEntry> activeTahapan() {
+            return tahapan.stream().filter(TahapanEntry::isActive).collect(Collectors.toList());
+        }
+    }
+
+    public record Catalog(long version, Map<Long, JenisEntry> jenisById, Map<Long, TahapanEntry> tahapanById) {
+    }
+
+    public Catalog getCatalog() {
+        Catalog current = catalog;
+        if (current != null && current.version() >= requestedVersion.get()) {
+            return current;
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // A write transaction sees its own uncommitted rows (and they may yet roll back):
+            // build a catalog for this caller only and leave the shared one stale
+            return build(requestedVersion.get());
+        }
+
+        rebuildLock.lock();
+        try {
+            current = catalog;
+            long version = requestedVersion.get();
+            if (current == null || current.version() < version) {
+                current = build(version);
+                catalog = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public Optional<JenisEntry> getJenis(Long jenisLaporanId) {
+        return Optional.ofNullable(getCatalog().jenisById().get(jenisLaporanId));
+    }
+
+    public Optional<TahapanEntry> getTahapan(Long tahapanLaporanId) {
+        return Optional.ofNullable(getCatalog().tahapanById().get(tahapanLaporanId));
+    }
+
+    /**
+     * Allowed file types of a tahapan, empty when unknown or not configured.
+     */
+    public Set<String> getAllowedTypes(Long tahapanLaporanId) {
+        return getTahapan(tahapanLaporanId).map(TahapanEntry::allowedTypes).orElse(Set.of());
+    }
+
+    /**
+     * Mark the catalog stale once the current transaction commits (immediately when there is no
+     * transaction). Rolled back changes therefore never reach the catalog.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestedVersion.incrementAndGet();
+                }
+            });
+        } else {
+            requestedVersion.incrementAndGet();
+        }
+    }
+
+    private Catalog build(long version) {
+        Map<Long, List<TahapanEntry>> tahapanByJenis = new HashMap<>();
+        Map<Long, TahapanEntry> tahapanById = new HashMap<>();
+        for (TahapanLaporan tahapan : tahapanLaporanRepository.findAllWithJenisLaporan()) {
+            List<String> jenisFileIzin = parseJenisFileIzin(tahapan);
+            TahapanEntry entry = new TahapanEntry(
+                tahapan.getTahapanLaporanId(),
+                tahapan.getJenisLaporan().getJenisLaporanId(),
+                tahapan.getJenisLaporan().getNama(),
+                tahapan.getNama(),
+                tahapan.getDeskripsi(),
+                tahapan.getTemplateTahapan(),
+                tahapan.getUrutanTahapan(),
+                tahapan.getStatus(),
+                tahapan.getCreatedAt(),
+                tahapan.getUpdatedAt(),
+                jenisFileIzin,
+                Collections.unmodifiableSet(new LinkedHashSet<>(jenisFileIzin)));
+            tahapanById.put(entry.tahapanLaporanId(), entry);
+            tahapanByJenis.computeIfAbsent(entry.jenisLaporanId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        Map<Long, JenisEntry> jenisById = new HashMap<>();
+        for (JenisLaporan jenis : jenisLaporanRepository.findAll()) {
+            jenisById.put(jenis.getJenisLaporanId(), new JenisEntry(
+                jenis.getJenisLaporanId(),
+                jenis.getNama(),
+                jenis.getDeskripsi(),
+                jenis.getStatus(),
+                jenis.getCreatedAt(),
+                jenis.getUpdatedAt(),
+                List.copyOf(tahapanByJenis.getOrDefault(jenis.getJenisLaporanId(), List.of()))));
+        }
+
+        log.info("Laporan catalog v{} built: {} jenis laporan, {} tahapan", version, jenisById.size(), tahapanById.size());
+        return new Catalog(version, Map.copyOf(jenisById), Map.copyOf(tahapanById));
+    }
+
+    /**
+     * Allowed file types stored on a tahapan entity, for callers that must not read the catalog
+     * (responses of the transaction that just wrote the tahapan).
+     */
+    public List<String> parseJenisFileIzin(TahapanLaporan tahapan) {
+        String json = tahapan.getJenisFileIzin();
+        if (json == null || json.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<String> types = objectMapper.readValue(json, new TypeReference<List<String>>() {});
+            return types.stream().filter(type -> type != null).collect(Collectors.toUnmodifiableList());
+        } catch (Exception e) {
+            log.error("Error parsing allowed file types of tahapan {}", tahapan.getTahapanLaporanId(), e);
+            return List.of();
+        }
+    }
+}
@@ -3,18 +3,18 @@ package com.shadcn.backend.service;
 import com.shadcn.backend.dto.*;
 import com.shadcn.backend.model.*;
 import com.shadcn.backend.repository.*;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -32,10 +32,19 @@ public class LaporanService {
     private final DetailPemilihanRepository detailPemilihanRepository;
     private final PemilihanRepository pemilihanRepository;
     private final FileUploadService fileUploadService;
-    private final ObjectMapper objectMapper;
+    private final LaporanCatalogService laporanCatalogService;
+    private final JdbcTemplate jdbcTemplate;
+    
+    private static final String INSERT_DETAIL_LAPORAN =
+        "INSERT INTO detail_laporan (laporan_id, tahapan_laporan_id, status, created_at, updated_at) " +
+        "VALUES (?, ?, 'BELUM_DIKERJAKAN', ?, ?)";
+    
+    private static final String INSERT_DETAIL_PEMILIHAN =
+        "INSERT INTO detail_pemilihan (pemilihan_id, laporan_id, urutan_tampil, posisi_layout, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
     
     // Get laporan with pagination and filters, including associated jenis laporan
-    public Page<Map<String, Object>> getAllLaporanWithJenisLaporan(LaporanFilterRequest filterRequest) {
+    public Page<LaporanListItemDto> getAllLaporanWithJenisLaporan(LaporanFilterRequest filterRequest) {
         Sort sort = Sort.by(
             filterRequest.getSortDirection().equalsIgnoreCase("desc") 
                 ? Sort.Direction.DESC 
@@ -64,55 +73,29 @@ public class LaporanService {
             pageable
         );
         
+        // Links, progress and jenis rows for the whole page in three grouped queries
+        LaporanLookups lookups = loadLookups(laporanPage.getContent());
+        
         return laporanPage.map(laporan -> {
-            Map<String, Object> result = new HashMap<>();
+            LaporanDto dto = convertToDto(laporan, lookups);
             
-            // Basic laporan info
-            LaporanDto dto = convertToDto(laporan);
-            result.put("laporan", dto);
+            List<JenisLaporan> jenisLaporanList = lookups.linkedJenis(laporan.getLaporanId());
             
-            // Get all associated jenis laporan through tahapan
-            List<DetailLaporan> detailList = detailLaporanRepository
-                    .findByLaporanLaporanIdOrderByTahapanLaporanUrutanTahapanAsc(laporan.getLaporanId());
-            
-            Set<Long> jenisLaporanIds = detailList.stream()
-                    .map(detail -> detail.getTahapanLaporan().getJenisLaporan().getJenisLaporanId())
-                    .collect(Collectors.toSet());
+            List<String> jenisLaporanNames = jenisLaporanList.stream()
+                    .limit(10) // Limit to reasonable number for backend processing
+                    .map(JenisLaporan::getNama)
+                    .collect(Collectors.toList());
             
-            // Only fetch jenis laporan data if there are any
-            if (!jenisLaporanIds.isEmpty()) {
-                List<JenisLaporan> jenisLaporanList = jenisLaporanRepository.findAllById(jenisLaporanIds);
-                
-                // Convert to names for display (limit to first 3 for performance)
-                List<String> jenisLaporanNames = jenisLaporanList.stream()
-                        .limit(10) // Limit to reasonable number for backend processing
-                        .map(JenisLaporan::getNama)
-                        .collect(Collectors.toList());
-                
-                // Convert JenisLaporan entities to simple DTOs (limit to first 3)
-                List<Map<String, Object>> jenisLaporanDtos = jenisLaporanList.stream()
-                        .limit(3) // Only process first 3 for detailed data
-                        .map(jenisLaporan -> {
-                            Map<String, Object> jenisDto = new HashMap<>();
-                            jenisDto.put("jenisLaporanId", jenisLaporan.getJenisLaporanId());
-                            jenisDto.put("nama", jenisLaporan.getNama());
-                            jenisDto.put("deskripsi", jenisLaporan.getDeskripsi());
-                            jenisDto.put("status", jenisLaporan.getStatus());
-                            return jenisDto;
-                        })
-                        .collect(Collectors.toList());
-                
-                result.put("jenisLaporanNames", jenisLaporanNames);
-                result.put("jenisLaporanList", jenisLaporanDtos);
-                result.put("totalJenisLaporan", jenisLaporanList.size()); // Add total count
-            } else {
-                // Handle case where there are no jenis laporan
-                result.put("jenisLaporanNames", new ArrayList<>());
-                result.put("jenisLaporanList", new ArrayList<>());
-                result.put("totalJenisLaporan", 0);
-            }
+            List<LaporanListItemDto.JenisLaporanSummary> jenisLaporanDtos = jenisLaporanList.stream()
+                    .limit(3) // Only the first 3 are shown in detail
+                    .map(jenisLaporan -> new LaporanListItemDto.JenisLaporanSummary(
+                            jenisLaporan.getJenisLaporanId(),
+                            jenisLaporan.getNama(),
+                            jenisLaporan.getDeskripsi(),
+                            jenisLaporan.getStatus()))
+                    .collect(Collectors.toList());
             
-            return result;
+            return new LaporanListItemDto(dto, jenisLaporanNames, jenisLaporanDtos, jenisLaporanList.size());
         });
     }
 
@@ -146,7 +129,8 @@ public class LaporanService {
             pageable
         );
         
-        return laporanPage.map(this::convertToDto);
+        LaporanLookups lookups = loadLookups(laporanPage.getContent());
+        return laporanPage.map(laporan -> convertToDto(laporan, lookups));
     }
     
     // Get laporan by user
@@ -232,20 +216,7 @@ public class LaporanService {
         Laporan savedLaporan = laporanRepository.save(laporan);
         
         // Create detail laporan untuk semua jenis laporan yang dipilih
-        for (JenisLaporan jenisLaporan : jenisLaporanList) {
-            List<TahapanLaporan> tahapanList = tahapanLaporanRepository
-                    .findActiveTahapanByJenisLaporan(jenisLaporan.getJenisLaporanId());
-            
-            for (TahapanLaporan tahapan : tahapanList) {
-                DetailLaporan detail = new DetailLaporan();
-                detail.setLaporan(savedLaporan);
-                detail.setTahapanLaporan(tahapan);
-                detail.setStatus(DetailLaporan.StatusDetailLaporan.BELUM_DIKERJAKAN);
-                detail.setCreatedAt(LocalDateTime.now());
-                detail.setUpdatedAt(LocalDateTime.now());
-                detailLaporanRepository.save(detail);
-            }
-        }
+        instantiateDetailLaporan(List.of(savedLaporan.getLaporanId()), wizardDto.getJenisLaporanIds());
         
         return convertToDto(savedLaporan);
     }
@@ -313,26 +284,111 @@ public class LaporanService {
         // Delete existing detail laporan to recreate them
         List<DetailLaporan> existingDetails = detailLaporanRepository.findByLaporanLaporanIdOrderByTahapanLaporanUrutanTahapanAsc(id);
         detailLaporanRepository.deleteAll(existingDetails);
+        detailLaporanRepository.flush();
         
         // Create new detail laporan untuk semua jenis laporan yang dipilih
-        for (JenisLaporan jenisLaporan : jenisLaporanList) {
-            List<TahapanLaporan> tahapanList = tahapanLaporanRepository
-                    .findActiveTahapanByJenisLaporan(jenisLaporan.getJenisLaporanId());
-            
-            for (TahapanLaporan tahapan : tahapanList) {
-                DetailLaporan detail = new DetailLaporan();
-                detail.setLaporan(savedLaporan);
-                detail.setTahapanLaporan(tahapan);
-                detail.setStatus(DetailLaporan.StatusDetailLaporan.BELUM_DIKERJAKAN);
-                detail.setCreatedAt(LocalDateTime.now());
-                detail.setUpdatedAt(LocalDateTime.now());
-                detailLaporanRepository.save(detail);
-            }
-        }
+        instantiateDetailLaporan(List.of(savedLaporan.getLaporanId()), wizardDto.getJenisLaporanIds());
         
         return convertToDto(savedLaporan);
     }
     
+    // Clone laporan setup (laporan, detail laporan, link ke pemilihan) ke banyak pemilihan sekaligus
+    @Transactional
+    public List<LaporanDto> cloneLaporanToPemilihan(Long laporanId, LaporanCloneRequest request, Long userId) {
+        Laporan source = laporanRepository.findById(laporanId)
+                .orElseThrow(() -> new RuntimeException("Laporan tidak ditemukan"));
+        
+        List<Long> pemilihanIds = request.getPemilihanIds().stream().distinct().collect(Collectors.toList());
+        if (pemilihanRepository.findAllById(pemilihanIds).size() != pemilihanIds.size()) {
+            throw new RuntimeException("Beberapa pemilihan tidak ditemukan");
+        }
+        
+        // Jenis laporan of the source setup, in tahapan order, falling back to the primary jenis
+        List<Long> jenisLaporanIds = detailLaporanRepository
+                .findJenisLaporanLinksByLaporanIds(List.of(laporanId)).stream()
+                .map(link -> (Long) link[1])
+                .distinct()
+                .collect(Collectors.toList());
+        if (jenisLaporanIds.isEmpty()) {
+            jenisLaporanIds = List.of(source.getJenisLaporan().getJenisLaporanId());
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Laporan> clones = new ArrayList<>(pemilihanIds.size());
+        for (int i = 0; i < pemilihanIds.size(); i++) {
+            Laporan clone = new Laporan();
+            clone.setNamaLaporan(source.getNamaLaporan());
+            clone.setDeskripsi(source.getDeskripsi());
+            clone.setJenisLaporan(source.getJenisLaporan());
+            clone.setUserId(userId);
+            clone.setStatus(source.getStatus());
+            clone.setCreatedAt(now);
+            clone.setUpdatedAt(now);
+            clones.add(clone);
+        }
+        clones = laporanRepository.saveAll(clones);
+        
+        List<Long> cloneIds = clones.stream().map(Laporan::getLaporanId).collect(Collectors.toList());
+        instantiateDetailLaporan(cloneIds, jenisLaporanIds);
+        
+        // Append each clone after the existing laporan of its pemilihan
+        Map<Long, Integer> maxUrutan = new HashMap<>();
+        for (Object[] row : detailPemilihanRepository.getMaxUrutanTampilByPemilihanIds(pemilihanIds)) {
+            maxUrutan.put((Long) row[0], row[1] != null ? ((Number) row[1]).intValue() : 0);
+        }
+        int posisiLayout = request.getPosisiLayout() != null ? request.getPosisiLayout() : 1;
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> detailPemilihanRows = new ArrayList<>(pemilihanIds.size());
+        for (int i = 0; i < pemilihanIds.size(); i++) {
+            Long pemilihanId = pemilihanIds.get(i);
+            detailPemilihanRows.add(new Object[] {
+                pemilihanId, cloneIds.get(i), maxUrutan.getOrDefault(pemilihanId, 0) + 1,
+                posisiLayout, timestamp, timestamp
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_DETAIL_PEMILIHAN, detailPemilihanRows);
+        
+        log.info("Laporan {} cloned to {} pemilihan", laporanId, pemilihanIds.size());
+        
+        LaporanLookups lookups = loadLookups(clones);
+        List<LaporanDto> result = new ArrayList<>(clones.size());
+        for (int i = 0; i < clones.size(); i++) {
+            LaporanDto dto = convertToDto(clones.get(i), lookups);
+            dto.setPemilihanId(pemilihanIds.get(i));
+            result.add(dto);
+        }
+        return result;
+    }
+    
+    /**
+     * Create the detail laporan rows (one per active tahapan of every selected jenis laporan)
+     * for all given laporan: one query for the tahapan, then JDBC batch inserts.
+     */
+    private void instantiateDetailLaporan(List<Long> laporanIds, List<Long> jenisLaporanIds) {
+        Map<Long, List<Long>> tahapanIdsByJenis = new HashMap<>();
+        for (Object[] row : tahapanLaporanRepository.findActiveTahapanIdsByJenisLaporanIds(jenisLaporanIds)) {
+            tahapanIdsByJenis.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+        
+        // Keep the order in which the jenis laporan were selected
+        List<Long> tahapanIds = new ArrayList<>();
+        for (Long jenisLaporanId : new LinkedHashSet<>(jenisLaporanIds)) {
+            tahapanIds.addAll(tahapanIdsByJenis.getOrDefault(jenisLaporanId, List.of()));
+        }
+        if (tahapanIds.isEmpty()) {
+            return;
+        }
+        
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(laporanIds.size() * tahapanIds.size());
+        for (Long laporanId : laporanIds) {
+            for (Long tahapanId : tahapanIds) {
+                rows.add(new Object[] { laporanId, tahapanId, timestamp, timestamp });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_DETAIL_LAPORAN, rows);
+    }
+    
     // Update laporan status
     @Transactional
     public LaporanDto updateLaporanStatus(Long id, Laporan.StatusLaporan status) {
@@ -375,58 +431,36 @@ public class LaporanService {
         
         LaporanDto laporan = laporanOpt.get();
         
-        // Get all detail laporan for this laporan
-        List<DetailLaporan> detailList = detailLaporanRepository
-                .findByLaporanLaporanIdOrderByTahapanLaporanUrutanTahapanAsc(laporanId);
-        
-        // Extract unique jenis laporan IDs and get their details with tahapan
-        Set<Long> jenisLaporanIds = detailList.stream()
-                .map(detail -> detail.getTahapanLaporan().getJenisLaporan().getJenisLaporanId())
-                .collect(Collectors.toSet());
-        
-        // Get jenis laporan details with tahapan
-        List<JenisLaporan> jenisLaporanList = jenisLaporanRepository.findAllById(jenisLaporanIds);
+        // Unique jenis laporan IDs linked through the detail laporan, in tahapan order
+        Set<Long> jenisLaporanIds = detailLaporanRepository.findJenisLaporanLinksByLaporanIds(List.of(laporanId)).stream()
+                .map(link -> (Long) link[1])
+                .collect(Collectors.toCollection(LinkedHashSet::new));
         
-        // Convert to DTOs with tahapan details
-        List<Map<String, Object>> jenisLaporanWithTahapan = jenisLaporanList.stream()
+        // Jenis laporan details with tahapan from the template catalog
+        LaporanCatalogService.Catalog catalog = laporanCatalogService.getCatalog();
+        List<Map<String, Object>> jenisLaporanWithTahapan = jenisLaporanIds.stream()
+                .map(catalog.jenisById()::get)
+                .filter(Objects::nonNull)
                 .map(jenisLaporan -> {
                     Map<String, Object> jenisLaporanDto = new HashMap<>();
-                    jenisLaporanDto.put("jenisLaporanId", jenisLaporan.getJenisLaporanId());
-                    jenisLaporanDto.put("nama", jenisLaporan.getNama());
-                    jenisLaporanDto.put("deskripsi", jenisLaporan.getDeskripsi());
-                    jenisLaporanDto.put("status", jenisLaporan.getStatus());
-                    jenisLaporanDto.put("createdAt", jenisLaporan.getCreatedAt());
-                    jenisLaporanDto.put("updatedAt", jenisLaporan.getUpdatedAt());
-                    
-                    // Get tahapan for this jenis laporan
-                    List<TahapanLaporan> tahapanList = tahapanLaporanRepository
-                            .findByJenisLaporanJenisLaporanIdOrderByUrutanTahapanAsc(jenisLaporan.getJenisLaporanId());
+                    jenisLaporanDto.put("jenisLaporanId", jenisLaporan.jenisLaporanId());
+                    jenisLaporanDto.put("nama", jenisLaporan.nama());
+                    jenisLaporanDto.put("deskripsi", jenisLaporan.deskripsi());
+                    jenisLaporanDto.put("status", jenisLaporan.status());
+                    jenisLaporanDto.put("createdAt", jenisLaporan.createdAt());
+                    jenisLaporanDto.put("updatedAt", jenisLaporan.updatedAt());
                     
-                    List<Map<String, Object>> tahapanDtoList = tahapanList.stream()
+                    List<Map<String, Object>> tahapanDtoList = jenisLaporan.tahapan().stream()
                             .map(tahapan -> {
                                 Map<String, Object> tahapanDto = new HashMap<>();
-                                tahapanDto.put("tahapanLaporanId", tahapan.getTahapanLaporanId());
-                                tahapanDto.put("nama", tahapan.getNama());
-                                tahapanDto.put("deskripsi", tahapan.getDeskripsi());
-                                tahapanDto.put("urutanTahapan", tahapan.getUrutanTahapan());
-                                tahapanDto.put("templateTahapan", tahapan.getTemplateTahapan());
-                                // Parse jenisFileIzin from JSON string to array
-                                try {
-                                    String jenisFileIzinStr = tahapan.getJenisFileIzin();
-                                    if (jenisFileIzinStr != null && !jenisFileIzinStr.isEmpty()) {
-                                        ObjectMapper objectMapper = new ObjectMapper();
-                                        List<String> jenisFileIzinList = objectMapper.readValue(jenisFileIzinStr, 
-                                                new TypeReference<List<String>>() {});
-                                        tahapanDto.put("jenisFileIzin", jenisFileIzinList);
-                                    } else {
-                                        tahapanDto.put("jenisFileIzin", new ArrayList<>());
-                                    }
-                                } catch (Exception e) {
-                                    // Fallback to empty array if parsing fails
-                                    tahapanDto.put("jenisFileIzin", new ArrayList<>());
-                                }
-                                tahapanDto.put("createdAt", tahapan.getCreatedAt());
-                                tahapanDto.put("updatedAt", tahapan.getUpdatedAt());
+                                tahapanDto.put("tahapanLaporanId", tahapan.tahapanLaporanId());
+                                tahapanDto.put("nama", tahapan.nama());
+                                tahapanDto.put("deskripsi", tahapan.deskripsi());
+                                tahapanDto.put("urutanTahapan", tahapan.urutanTahapan());
+                                tahapanDto.put("templateTahapan", tahapan.templateTahapan());
+                                tahapanDto.put("jenisFileIzin", new ArrayList<>(tahapan.jenisFileIzin()));
+                                tahapanDto.put("createdAt", tahapan.createdAt());
+                                tahapanDto.put("updatedAt", tahapan.updatedAt());
                                 return tahapanDto;
                             })
                             .collect(Collectors.toList());
@@ -516,7 +550,7 @@ public class LaporanService {
         
         // Validate file type against allowed types
         String jenisFile = getFileType(file.getOriginalFilename());
-        List<String> allowedTypes = getAllowedFileTypes(detail.getTahapanLaporan());
+        Set<String> allowedTypes = laporanCatalogService.getAllowedTypes(detail.getTahapanLaporan().getTahapanLaporanId());
         
         if (!allowedTypes.contains(jenisFile)) {
             throw new RuntimeException("Jenis file tidak diizinkan untuk tahapan ini");
@@ -596,27 +630,25 @@ public class LaporanService {
     // Get jenis laporan by laporan ID only
     public List<Map<String, Object>> getJenisLaporanByLaporanId(Long laporanId) {
         try {
-            // Get all detail laporan for this laporan
-            List<DetailLaporan> detailList = detailLaporanRepository
-                    .findByLaporanLaporanIdOrderByTahapanLaporanUrutanTahapanAsc(laporanId);
-            
-            // Extract unique jenis laporan IDs and get their details
-            Set<Long> jenisLaporanIds = detailList.stream()
-                    .map(detail -> detail.getTahapanLaporan().getJenisLaporan().getJenisLaporanId())
-                    .collect(Collectors.toSet());
+            // Unique jenis laporan IDs linked through the detail laporan
+            Set<Long> jenisLaporanIds = detailLaporanRepository.findJenisLaporanLinksByLaporanIds(List.of(laporanId)).stream()
+                    .map(link -> (Long) link[1])
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
             
-            // Get jenis laporan details
-            List<JenisLaporan> jenisLaporanList = jenisLaporanRepository.findAllById(jenisLaporanIds);
+            // Jenis laporan details from the template catalog
+            LaporanCatalogService.Catalog catalog = laporanCatalogService.getCatalog();
             
-            return jenisLaporanList.stream()
+            return jenisLaporanIds.stream()
+                    .map(catalog.jenisById()::get)
+                    .filter(Objects::nonNull)
                     .map(jenisLaporan -> {
                         Map<String, Object> jenisLaporanDto = new HashMap<>();
-                        jenisLaporanDto.put("jenisLaporanId", jenisLaporan.getJenisLaporanId());
-                        jenisLaporanDto.put("nama", jenisLaporan.getNama());
-                        jenisLaporanDto.put("deskripsi", jenisLaporan.getDeskripsi());
-                        jenisLaporanDto.put("status", jenisLaporan.getStatus());
-                        jenisLaporanDto.put("createdAt", jenisLaporan.getCreatedAt());
-                        jenisLaporanDto.put("updatedAt", jenisLaporan.getUpdatedAt());
+                        jenisLaporanDto.put("jenisLaporanId", jenisLaporan.jenisLaporanId());
+                        jenisLaporanDto.put("nama", jenisLaporan.nama());
+                        jenisLaporanDto.put("deskripsi", jenisLaporan.deskripsi());
+                        jenisLaporanDto.put("status", jenisLaporan.status());
+                        jenisLaporanDto.put("createdAt", jenisLaporan.createdAt());
+                        jenisLaporanDto.put("updatedAt", jenisLaporan.updatedAt());
                         return jenisLaporanDto;
                     })
                     .collect(Collectors.toList());
@@ -676,23 +708,70 @@ public class LaporanService {
     }
     
     private List<String> getAllowedFileTypes(TahapanLaporan tahapan) {
-        if (tahapan.getJenisFileIzin() == null) {
-            return List.of();
+        return laporanCatalogService.getTahapan(tahapan.getTahapanLaporanId())
+                .map(entry -> (List<String>) new ArrayList<>(entry.jenisFileIzin()))
+                .orElseGet(ArrayList::new);
+    }
+    
+    /**
+     * Jenis laporan links, progress and jenis rows for a set of laporan, loaded with one grouped
+     * query each instead of per laporan.
+     */
+    private record LaporanLookups(Map<Long, List<Long>> jenisIdsByLaporan,
+                                  Map<Long, long[]> progressByLaporan,
+                                  Map<Long, JenisLaporan> jenisById) {
+        
+        // Distinct jenis laporan linked through the laporan's tahapan, in tahapan order
+        List<JenisLaporan> linkedJenis(Long laporanId) {
+            return jenisIdsByLaporan.getOrDefault(laporanId, List.of()).stream()
+                    .map(jenisById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    private LaporanLookups loadLookups(Collection<Laporan> laporanList) {
+        if (laporanList.isEmpty()) {
+            return new LaporanLookups(Map.of(), Map.of(), Map.of());
         }
         
-        try {
-            return objectMapper.readValue(
-                tahapan.getJenisFileIzin(), 
-                new TypeReference<List<String>>() {}
-            );
-        } catch (Exception e) {
-            log.error("Error parsing allowed file types", e);
-            return List.of();
+        Set<Long> laporanIds = new HashSet<>();
+        Set<Long> jenisIds = new HashSet<>();
+        for (Laporan laporan : laporanList) {
+            laporanIds.add(laporan.getLaporanId());
+            jenisIds.add(laporan.getJenisLaporan().getJenisLaporanId());
+        }
+        
+        Map<Long, List<Long>> jenisIdsByLaporan = new HashMap<>();
+        for (Object[] link : detailLaporanRepository.findJenisLaporanLinksByLaporanIds(laporanIds)) {
+            Long laporanId = (Long) link[0];
+            Long jenisId = (Long) link[1];
+            List<Long> linked = jenisIdsByLaporan.computeIfAbsent(laporanId, id -> new ArrayList<>());
+            if (!linked.contains(jenisId)) {
+                linked.add(jenisId);
+            }
+            jenisIds.add(jenisId);
         }
+        
+        Map<Long, long[]> progressByLaporan = new HashMap<>();
+        for (Object[] row : detailLaporanRepository.getLaporanProgressByLaporanIds(laporanIds)) {
+            long total = row[1] != null ? ((Number) row[1]).longValue() : 0;
+            long selesai = row[2] != null ? ((Number) row[2]).longValue() : 0;
+            progressByLaporan.put((Long) row[0], new long[] { total, selesai });
+        }
+        
+        Map<Long, JenisLaporan> jenisById = jenisLaporanRepository.findAllById(jenisIds).stream()
+                .collect(Collectors.toMap(JenisLaporan::getJenisLaporanId, jenis -> jenis));
+        
+        return new LaporanLookups(jenisIdsByLaporan, progressByLaporan, jenisById);
     }
     
     // Convert entity to DTO with aggregated jenis laporan names
     private LaporanDto convertToDto(Laporan laporan) {
+        return convertToDto(laporan, loadLookups(List.of(laporan)));
+    }
+    
+    private LaporanDto convertToDto(Laporan laporan, LaporanLookups lookups) {
         LaporanDto dto = new LaporanDto();
         dto.setLaporanId(laporan.getLaporanId());
         dto.setNamaLaporan(laporan.getNamaLaporan());
@@ -701,20 +780,17 @@ public class LaporanService {
         dto.setStatus(laporan.getStatus().name());
         dto.setCreatedAt(laporan.getCreatedAt());
         dto.setUpdatedAt(laporan.getUpdatedAt());
-        dto.setJenisLaporanId(laporan.getJenisLaporan().getJenisLaporanId());
+        Long jenisLaporanId = laporan.getJenisLaporan().getJenisLaporanId();
+        dto.setJenisLaporanId(jenisLaporanId);
         
-        // Get all related jenis laporan through DetailLaporan -> TahapanLaporan -> JenisLaporan
-        List<DetailLaporan> detailList = detailLaporanRepository
-                .findByLaporanLaporanIdOrderByTahapanLaporanUrutanTahapanAsc(laporan.getLaporanId());
+        // All related jenis laporan through DetailLaporan -> TahapanLaporan -> JenisLaporan
+        List<String> namesList = lookups.linkedJenis(laporan.getLaporanId()).stream()
+                .map(JenisLaporan::getNama)
+                .distinct()
+                .collect(Collectors.toList());
         
-        if (!detailList.isEmpty()) {
-            // Collect unique jenis laporan names
-            Set<String> jenisLaporanNames = detailList.stream()
-                    .map(detail -> detail.getTahapanLaporan().getJenisLaporan().getNama())
-                    .collect(Collectors.toSet());
-            
+        if (!namesList.isEmpty()) {
             // Join with comma, limit to 3 and add "dll" if more
-            List<String> namesList = new ArrayList<>(jenisLaporanNames);
             String combinedNames;
             if (namesList.size() > 3) {
                 combinedNames = String.join(", ", namesList.subList(0, 3)) + ", dll";
@@ -724,52 +800,17 @@ public class LaporanService {
             dto.setJenisLaporanNama(combinedNames);
         } else {
             // Fallback to direct relationship if no details
-            dto.setJenisLaporanNama(laporan.getJenisLaporan().getNama());
+            JenisLaporan jenisLaporan = lookups.jenisById().get(jenisLaporanId);
+            dto.setJenisLaporanNama(jenisLaporan != null ? jenisLaporan.getNama() : null);
         }
         
-        // Calculate progress
-        Object[] progress = detailLaporanRepository.getLaporanProgress(laporan.getLaporanId());
-        if (progress != null && progress.length >= 2) {
-            try {
-                // Handle potential null values and different number types
-                Object totalObj = progress[0];
-                Object selesaiObj = progress[1];
-                
-                long total = 0;
-                long selesai = 0;
-                
-                if (totalObj != null) {
-                    if (totalObj instanceof Number) {
-                        total = ((Number) totalObj).longValue();
-                    } else {
-                        log.warn("Total progress is not a Number: {} for laporan {}", totalObj.getClass(), laporan.getLaporanId());
-                    }
-                }
-                
-                if (selesaiObj != null) {
-                    if (selesaiObj instanceof Number) {
-                        selesai = ((Number) selesaiObj).longValue();
-                    } else {
-                        log.warn("Selesai progress is not a Number: {} for laporan {}", selesaiObj.getClass(), laporan.getLaporanId());
-                    }
-                }
-                
-                dto.setTotalTahapan((int) total);
-                dto.setTahapanSelesai((int) selesai);
-                dto.setProgressPercentage(total > 0 ? (int) ((selesai * 100) / total) : 0);
-            } catch (Exception e) {
-                log.error("Error calculating progress for laporan {}: {}", laporan.getLaporanId(), e.getMessage());
-                // Set default values if calculation fails
-                dto.setTotalTahapan(0);
-                dto.setTahapanSelesai(0);
-                dto.setProgressPercentage(0);
-            }
-        } else {
-            // Set default values if no progress data
-            dto.setTotalTahapan(0);
-            dto.setTahapanSelesai(0);
-            dto.setProgressPercentage(0);
-        }
+        // Progress
+        long[] progress = lookups.progressByLaporan().get(laporan.getLaporanId());
+        long total = progress != null ? progress[0] : 0;
+        long selesai = progress != null ? progress[1] : 0;
+        dto.setTotalTahapan((int) total);
+        dto.setTahapanSelesai((int) selesai);
+        dto.setProgressPercentage(total > 0 ? (int) ((selesai * 100) / total) : 0);
         
         return dto;
     }
@@ -877,9 +918,10 @@ public class LaporanService {
         List<Laporan> laporanList = laporanRepository.findAllById(laporanIds);
         
         // Convert to DTO and set pemilihanId
+        LaporanLookups lookups = loadLookups(laporanList);
         return laporanList.stream()
                 .map(laporan -> {
-                    LaporanDto dto = convertToDto(laporan);
+                    LaporanDto dto = convertToDto(laporan, lookups);
                     dto.setPemilihanId(laporanIdToPemilihanIdMap.get(laporan.getLaporanId()));
                     return dto;
                 })
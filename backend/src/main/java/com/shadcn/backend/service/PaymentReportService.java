@@ -0,0 +1,169 @@
+package com.shadcn.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shadcn.backend.dto.PaymentReportResponse;
+import com.shadcn.backend.model.Payment;
+import com.shadcn.backend.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Payment totals by status, method and day.
+ *
+ * Totals come from one GROUP BY over the range instead of loading payments. A day that has
+ * ended does not receive new payments, so its rows are cached; only today is queried on every
+ * request. Editing or deleting a payment evicts the day it was created on.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentReportService {
+
+    private static final int DEFAULT_DAYS = 30;
+    private static final int MAX_DAYS = 731;
+
+    private final PaymentRepository paymentRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Closed day -> its (status, method) totals; days without payments cache an empty list
+    private final Cache<LocalDate, List<DailyTotal>> closedDays = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofHours(24))
+        .maximumSize(MAX_DAYS * 2L)
+        .recordStats()
+        .build();
+
+    private record DailyTotal(Payment.PaymentStatus status, Payment.PaymentMethod method, long count, BigDecimal amount) {
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, closedDays, "payment-report-days");
+    }
+
+    /**
+     * Report for [from, to], both inclusive. Defaults to the last 30 days up to today.
+     */
+    public PaymentReportResponse getReport(LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate end = to != null ? to : today;
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new RuntimeException("Tanggal awal tidak boleh setelah tanggal akhir");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new RuntimeException("Rentang laporan maksimal " + MAX_DAYS + " hari");
+        }
+
+        Map<LocalDate, List<DailyTotal>> days = new TreeMap<>(loadClosedDays(start, end.isBefore(today) ? end : today.minusDays(1)));
+        if (!today.isBefore(start) && !today.isAfter(end)) {
+            days.putAll(queryDays(today, today));
+        }
+        return buildReport(start, end, days);
+    }
+
+    /**
+     * Drop the cached totals of the day a payment was created on, after it was edited or deleted.
+     */
+    public void evict(LocalDateTime createdAt) {
+        if (createdAt != null) {
+            closedDays.invalidate(createdAt.toLocalDate());
+        }
+    }
+
+    private Map<LocalDate, List<DailyTotal>> loadClosedDays(LocalDate start, LocalDate end) {
+        Map<LocalDate, List<DailyTotal>> result = new HashMap<>();
+        if (start.isAfter(end)) {
+            return result;
+        }
+
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            List<DailyTotal> cached = closedDays.getIfPresent(day);
+            if (cached != null) {
+                result.put(day, cached);
+            } else {
+                firstMissing = firstMissing == null ? day : firstMissing;
+                lastMissing = day;
+            }
+        }
+
+        if (firstMissing != null) {
+            // One query for the whole missing span; cached days inside it are simply refreshed
+            Map<LocalDate, List<DailyTotal>> loaded = queryDays(firstMissing, lastMissing);
+            for (LocalDate day = firstMissing; !day.isAfter(lastMissing); day = day.plusDays(1)) {
+                List<DailyTotal> totals = loaded.getOrDefault(day, List.of());
+                closedDays.put(day, totals);
+                result.put(day, totals);
+            }
+            log.debug("Payment report loaded {} closed days from database", ChronoUnit.DAYS.between(firstMissing, lastMissing) + 1);
+        }
+        return result;
+    }
+
+    private Map<LocalDate, List<DailyTotal>> queryDays(LocalDate start, LocalDate end) {
+        Map<LocalDate, List<DailyTotal>> days = new HashMap<>();
+        for (Object[] row : paymentRepository.getDailyTotals(start.atStartOfDay(), end.plusDays(1).atStartOfDay())) {
+            LocalDate day = row[0] instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) row[0];
+            days.computeIfAbsent(day, d -> new ArrayList<>()).add(new DailyTotal(
+                (Payment.PaymentStatus) row[1],
+                (Payment.PaymentMethod) row[2],
+                ((Number) row[3]).longValue(),
+                row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO));
+        }
+        return days;
+    }
+
+    private PaymentReportResponse buildReport(LocalDate start, LocalDate end, Map<LocalDate, List<DailyTotal>> days) {
+        Map<Payment.PaymentStatus, PaymentReportResponse.Bucket> byStatus = new EnumMap<>(Payment.PaymentStatus.class);
+        for (Payment.PaymentStatus status : Payment.PaymentStatus.values()) {
+            byStatus.put(status, new PaymentReportResponse.Bucket(status.name(), 0, BigDecimal.ZERO));
+        }
+        Map<Payment.PaymentMethod, PaymentReportResponse.Bucket> byMethod = new EnumMap<>(Payment.PaymentMethod.class);
+        for (Payment.PaymentMethod method : Payment.PaymentMethod.values()) {
+            byMethod.put(method, new PaymentReportResponse.Bucket(method.name(), 0, BigDecimal.ZERO));
+        }
+
+        List<PaymentReportResponse.Bucket> byDay = new ArrayList<>();
+        PaymentReportResponse.Bucket total = new PaymentReportResponse.Bucket("total", 0, BigDecimal.ZERO);
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            PaymentReportResponse.Bucket dayBucket = new PaymentReportResponse.Bucket(day.toString(), 0, BigDecimal.ZERO);
+            for (DailyTotal row : days.getOrDefault(day, List.of())) {
+                add(dayBucket, row);
+                add(total, row);
+                if (row.status() != null) {
+                    add(byStatus.get(row.status()), row);
+                }
+                if (row.method() != null) {
+                    add(byMethod.get(row.method()), row);
+                }
+            }
+            byDay.add(dayBucket);
+        }
+
+        return new PaymentReportResponse(start, end, total.getCount(), total.getTotalAmount(),
+            new ArrayList<>(byStatus.values()), new ArrayList<>(byMethod.values()), byDay);
+    }
+
+    private static void add(PaymentReportResponse.Bucket bucket, DailyTotal row) {
+        bucket.setCount(bucket.getCount() + row.count());
+        bucket.setTotalAmount(bucket.getTotalAmount().add(row.amount()));
+    }
+}
@@ -3,6 +3,7 @@ package com.shadcn.backend.service;
 import com.shadcn.backend.config.AppProperties;
 import com.shadcn.backend.dto.PagedResponse;
 import com.shadcn.backend.dto.PaymentFilterRequest;
+import com.shadcn.backend.dto.PaymentKeysetResponse;
 import com.shadcn.backend.model.Payment;
 import com.shadcn.backend.model.User;
 import com.shadcn.backend.repository.PaymentRepository;
@@ -18,7 +19,10 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,6 +31,8 @@ public class PaymentService {
     
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
     
+    private static final int MAX_KEYSET_SIZE = 100;
+    
     @Autowired
     private PaymentRepository paymentRepository;
     
@@ -35,19 +41,16 @@ public class PaymentService {
     
     @Autowired
     private AppProperties appProperties;
-      public List<Payment> getAllPayments() {
+    
+    @Autowired
+    private PaymentReportService paymentReportService;
+    
+    public List<Payment> getAllPayments() {
         logger.info("Fetching all payments from database");
         try {
-            List<Payment> payments = paymentRepository.findAll();
+            // Users are fetched in the same query; they are serialized with every payment
+            List<Payment> payments = paymentRepository.findAllWithUser();
             logger.info("Successfully fetched {} payments from database", payments.size());
-            
-            // Log payment details for debugging
-            for (Payment payment : payments) {
-                logger.debug("Payment: id={}, paymentId={}, amount={}, status={}, user={}", 
-                    payment.getId(), payment.getPaymentId(), payment.getAmount(), 
-                    payment.getStatus(), payment.getUser() != null ? payment.getUser().getUsername() : "null");
-            }
-            
             return payments;
         } catch (Exception e) {
             logger.error("Error fetching payments from database", e);
@@ -55,6 +58,26 @@ public class PaymentService {
         }
     }
     
+    /**
+     * Newest-first listing that continues below the last id of the previous page, so deep pages
+     * cost the same as the first one and no count query runs.
+     */
+    public PaymentKeysetResponse getPaymentsKeyset(Long cursor, int size,
+                                                   Payment.PaymentStatus status, Payment.PaymentMethod method,
+                                                   BigDecimal minAmount, BigDecimal maxAmount,
+                                                   LocalDateTime startDate, LocalDateTime endDate) {
+        int pageSize = Math.max(1, Math.min(size, MAX_KEYSET_SIZE));
+        
+        // One extra row tells whether another page exists
+        List<Payment> rows = paymentRepository.findKeysetPage(cursor, status, method, minAmount, maxAmount,
+            startDate, endDate, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Payment> content = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        Long nextCursor = hasMore ? content.get(content.size() - 1).getId() : null;
+        
+        return new PaymentKeysetResponse(content, content.size(), nextCursor, hasMore);
+    }
+    
     public Optional<Payment> getPaymentById(Long id) {
         return paymentRepository.findById(id);
     }
@@ -116,13 +139,16 @@ public class PaymentService {
             payment.setUser(user);
         }
         
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        paymentReportService.evict(saved.getCreatedAt());
+        return saved;
     }
     
     public void deletePayment(Long id) {
         Payment payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
         paymentRepository.delete(payment);
+        paymentReportService.evict(payment.getCreatedAt());
     }
     
     public PagedResponse<Payment> getPaymentsWithFilters(PaymentFilterRequest filterRequest) {
@@ -174,4 +200,27 @@ public class PaymentService {
     public Long getCountByStatus(Payment.PaymentStatus status) {
         return paymentRepository.getCountByStatus(status);
     }
+    
+    /**
+     * Count and total amount for every status, from a single grouped query.
+     */
+    public Map<String, Object> getStatusStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        for (Payment.PaymentStatus status : Payment.PaymentStatus.values()) {
+            statistics.put(status.name().toLowerCase(), statusData(BigDecimal.ZERO, 0L));
+        }
+        for (Object[] row : paymentRepository.getTotalsByStatus()) {
+            Payment.PaymentStatus status = (Payment.PaymentStatus) row[0];
+            BigDecimal totalAmount = row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO;
+            statistics.put(status.name().toLowerCase(), statusData(totalAmount, ((Number) row[1]).longValue()));
+        }
+        return statistics;
+    }
+    
+    private static Map<String, Object> statusData(BigDecimal totalAmount, Long count) {
+        Map<String, Object> statusData = new HashMap<>();
+        statusData.put("totalAmount", totalAmount);
+        statusData.put("count", count);
+        return statusData;
+    }
 }
@@ -7,20 +7,29 @@ import com.shadcn.backend.dto.PegawaiRequest;
 import com.shadcn.backend.dto.UpdatePegawaiRequest;
 import com.shadcn.backend.dto.UserUpdateRequest;
 import com.shadcn.backend.dto.PegawaiResponse;
+import com.shadcn.backend.dto.BulkPemilihanAssignmentRequest;
+import com.shadcn.backend.dto.BulkPemilihanAssignmentResponse;
 import com.shadcn.backend.repository.PegawaiRepository;
 import com.shadcn.backend.repository.PemilihanRepository;
 import com.shadcn.backend.repository.JabatanRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -34,17 +43,32 @@ import java.util.stream.Collectors;
 @Transactional
 public class PegawaiService {
 
+    // Pegawai per statement in bulk pemilihan assignment
+    private static final int ASSIGNMENT_CHUNK_SIZE = 500;
+
+    private static final String INSERT_ASSIGNMENTS =
+        "INSERT INTO pegawai_pemilihan (pegawai_id, pemilihan_id) " +
+        "SELECT p.id, pm.pemilihan_id FROM pegawai p CROSS JOIN pemilihan pm " +
+        "WHERE p.id IN (:pegawaiIds) AND pm.pemilihan_id IN (:pemilihanIds) " +
+        "AND NOT EXISTS (SELECT 1 FROM pegawai_pemilihan pp WHERE pp.pegawai_id = p.id AND pp.pemilihan_id = pm.pemilihan_id)";
+
+    private static final String DELETE_ASSIGNMENTS =
+        "DELETE FROM pegawai_pemilihan WHERE pegawai_id IN (:pegawaiIds) AND pemilihan_id IN (:pemilihanIds)";
+
+    private static final String UPDATE_TOTAL_TPS =
+        "UPDATE pegawai p SET p.total_tps = (SELECT COUNT(*) FROM pegawai_pemilihan pp WHERE pp.pegawai_id = p.id), " +
+        "p.updated_at = :now WHERE p.id IN (:pegawaiIds)";
+
     private final PegawaiRepository pegawaiRepository;
     private final PemilihanRepository pemilihanRepository;
     private final JabatanRepository jabatanRepository;
     private final PasswordEncoder passwordEncoder;
     private final WilayahCacheService wilayahCacheService;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     public List<PegawaiResponse> getAllPegawai() {
         log.info("Fetching all pegawai");
-        return pegawaiRepository.findAll().stream()
-                .map(this::createPegawaiResponseWithLocationNames)
-                .collect(Collectors.toList());
+        return createPegawaiResponsesWithLocationNames(pegawaiRepository.findAll());
     }
 
     public Page<PegawaiResponse> getPegawaiWithPaging(int page, int size, String sortBy, String sortDir) {
@@ -54,7 +78,7 @@ public class PegawaiService {
         Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<Pegawai> pegawaiPage = pegawaiRepository.findAll(pageable);
-        return pegawaiPage.map(this::createPegawaiResponseWithLocationNames);
+        return createPegawaiResponsesWithLocationNames(pegawaiPage);
     }
 
     public Optional<PegawaiResponse> getPegawaiById(Long id) {
@@ -73,9 +97,7 @@ public class PegawaiService {
         log.info("Searching pegawai with keyword: {}", keyword);
         List<Pegawai> pegawaiList = pegawaiRepository.findByFullNameContainingIgnoreCaseOrUsernameContainingIgnoreCaseOrEmailContainingIgnoreCase(
                 keyword, keyword, keyword);
-        return pegawaiList.stream()
-                .map(this::createPegawaiResponseWithLocationNames)
-                .collect(Collectors.toList());
+        return createPegawaiResponsesWithLocationNames(pegawaiList);
     }
 
     public Page<PegawaiResponse> searchPegawaiWithPaging(String keyword, int page, int size) {
@@ -85,7 +107,7 @@ public class PegawaiService {
         Page<Pegawai> pegawaiPage = pegawaiRepository.findByFullNameContainingIgnoreCaseOrUsernameContainingIgnoreCaseOrEmailContainingIgnoreCase(
                 keyword, keyword, keyword, pageable);
         
-        return pegawaiPage.map(this::createPegawaiResponseWithLocationNames);
+        return createPegawaiResponsesWithLocationNames(pegawaiPage);
     }
 
     public Page<PegawaiResponse> getPegawaiWithFilters(String search, String nama, String email, String phoneNumber, 
@@ -104,12 +126,12 @@ public class PegawaiService {
             (status == null || status.trim().isEmpty()) && 
             (jabatan == null || jabatan.trim().isEmpty())) {
             Page<Pegawai> pegawaiPage = pegawaiRepository.findAll(pageable);
-            return pegawaiPage.map(this::createPegawaiResponseWithLocationNames);
+            return createPegawaiResponsesWithLocationNames(pegawaiPage);
         }
         
         // Apply filters using custom repository method
         Page<Pegawai> pegawaiPage = pegawaiRepository.findPegawaiWithFilters(search, nama, email, phoneNumber, status, jabatan, pageable);
-        return pegawaiPage.map(this::createPegawaiResponseWithLocationNames);
+        return createPegawaiResponsesWithLocationNames(pegawaiPage);
     }
 
     public PegawaiResponse createPegawai(PegawaiRequest request) {
@@ -363,16 +385,12 @@ public class PegawaiService {
 
     public List<PegawaiResponse> getPegawaiByStatus(Pegawai.PegawaiStatus status) {
         log.info("Fetching pegawai by status: {}", status);
-        return pegawaiRepository.findByStatus(status).stream()
-                .map(this::createPegawaiResponseWithLocationNames)
-                .collect(Collectors.toList());
+        return createPegawaiResponsesWithLocationNames(pegawaiRepository.findByStatus(status));
     }
 
     public List<PegawaiResponse> getPegawaiByJabatan(String jabatan) {
         log.info("Fetching pegawai by jabatan: {}", jabatan);
-        return pegawaiRepository.findByJabatan_Nama(jabatan).stream()
-                .map(this::createPegawaiResponseWithLocationNames)
-                .collect(Collectors.toList());
+        return createPegawaiResponsesWithLocationNames(pegawaiRepository.findByJabatan_Nama(jabatan));
     }
 
     public PegawaiResponse assignPemilihanToPegawai(Long pegawaiId, Long pemilihanId) {
@@ -409,6 +427,76 @@ public class PegawaiService {
         return createPegawaiResponseWithLocationNames(savedPegawai);
     }
 
+    /**
+     * Assign or remove many pemilihan for many pegawai at once.
+     *
+     * Works directly on the pegawai_pemilihan join table in chunks of pegawai, so no
+     * pemilihanList collection is ever loaded, and recomputes totalTps for each chunk with one
+     * aggregate update. Unknown ids are skipped and reported. A request must name pegawai ids or
+     * at least one filter criterion, never every pegawai implicitly.
+     */
+    public BulkPemilihanAssignmentResponse bulkAssignPemilihan(BulkPemilihanAssignmentRequest request) {
+        if (request.getAction() == null || request.getPemilihanIds() == null || request.getPemilihanIds().isEmpty()) {
+            throw new RuntimeException("Aksi dan daftar pemilihan harus diisi");
+        }
+        boolean hasPegawaiIds = request.getPegawaiIds() != null && !request.getPegawaiIds().isEmpty();
+        boolean hasFilter = request.getStatus() != null || StringUtils.hasText(request.getJabatan())
+            || StringUtils.hasText(request.getProvinsi()) || StringUtils.hasText(request.getKota());
+        // Without ids or a filter the request would select every pegawai
+        if (!hasPegawaiIds && !hasFilter) {
+            throw new RuntimeException("Pilih pegawai atau isi minimal satu filter (status, jabatan, provinsi, kota)");
+        }
+
+        Set<Long> requestedPemilihan = new LinkedHashSet<>(request.getPemilihanIds());
+        List<Long> pemilihanIds = pemilihanRepository.findExistingIds(requestedPemilihan);
+        List<Long> unknownPemilihan = new ArrayList<>(requestedPemilihan);
+        unknownPemilihan.removeAll(pemilihanIds);
+
+        List<Long> pegawaiIds;
+        List<Long> unknownPegawai = new ArrayList<>();
+        if (hasPegawaiIds) {
+            Set<Long> requestedPegawai = new LinkedHashSet<>(request.getPegawaiIds());
+            pegawaiIds = new ArrayList<>();
+            List<Long> requestedList = new ArrayList<>(requestedPegawai);
+            for (int from = 0; from < requestedList.size(); from += ASSIGNMENT_CHUNK_SIZE) {
+                pegawaiIds.addAll(pegawaiRepository.findExistingIds(
+                    requestedList.subList(from, Math.min(from + ASSIGNMENT_CHUNK_SIZE, requestedList.size()))));
+            }
+            unknownPegawai.addAll(requestedPegawai);
+            unknownPegawai.removeAll(new HashSet<>(pegawaiIds));
+        } else {
+            pegawaiIds = pegawaiRepository.findIdsByFilter(request.getStatus(), request.getJabatan(),
+                request.getProvinsi(), request.getKota());
+        }
+
+        log.info("Bulk {} of {} pemilihan for {} pegawai", request.getAction(), pemilihanIds.size(), pegawaiIds.size());
+
+        long changed = 0;
+        long updatedPegawai = 0;
+        if (!pemilihanIds.isEmpty()) {
+            String statement = request.getAction() == BulkPemilihanAssignmentRequest.Action.ASSIGN
+                ? INSERT_ASSIGNMENTS : DELETE_ASSIGNMENTS;
+            for (int from = 0; from < pegawaiIds.size(); from += ASSIGNMENT_CHUNK_SIZE) {
+                List<Long> chunk = pegawaiIds.subList(from, Math.min(from + ASSIGNMENT_CHUNK_SIZE, pegawaiIds.size()));
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("pegawaiIds", chunk)
+                    .addValue("pemilihanIds", pemilihanIds)
+                    .addValue("now", LocalDateTime.now());
+
+                int rows = namedParameterJdbcTemplate.update(statement, params);
+                changed += rows;
+                if (rows > 0) {
+                    updatedPegawai += namedParameterJdbcTemplate.update(UPDATE_TOTAL_TPS, params);
+                }
+            }
+        }
+
+        long requestedPairs = (long) pegawaiIds.size() * pemilihanIds.size();
+        log.info("Bulk {} finished: {} assignments changed, {} pegawai updated", request.getAction(), changed, updatedPegawai);
+        return new BulkPemilihanAssignmentResponse(request.getAction(), pegawaiIds.size(), pemilihanIds.size(),
+            changed, requestedPairs - changed, updatedPegawai, unknownPegawai, unknownPemilihan);
+    }
+
     public Long getTotalPegawai() {
         return pegawaiRepository.count();
     }
@@ -420,18 +508,10 @@ public class PegawaiService {
     @Transactional
     public void recalculateAllTotalTps() {
         log.info("Recalculating totalTps for all pegawai");
-        List<Pegawai> allPegawai = pegawaiRepository.findAll();
-        for (Pegawai pegawai : allPegawai) {
-            Integer calculatedTotalTps = pegawai.getPemilihanList() != null ? pegawai.getPemilihanList().size() : 0;
-            Integer currentTotalTps = pegawai.getTotalTps() != null ? pegawai.getTotalTps() : 0;
-            if (!calculatedTotalTps.equals(currentTotalTps)) {
-                log.info("Updating totalTps for pegawai {} from {} to {}", 
-                    pegawai.getId(), currentTotalTps, calculatedTotalTps);
-                pegawai.setTotalTps(calculatedTotalTps);
-                pegawaiRepository.save(pegawai);
-            }
-        }
-        log.info("Completed recalculating totalTps for all pegawai");
+        int updated = namedParameterJdbcTemplate.update(
+            "UPDATE pegawai p SET p.total_tps = (SELECT COUNT(*) FROM pegawai_pemilihan pp WHERE pp.pegawai_id = p.id)",
+            new MapSqlParameterSource());
+        log.info("Completed recalculating totalTps for {} pegawai", updated);
     }
 
     public boolean existsByUsername(String username) {
@@ -499,32 +579,74 @@ public class PegawaiService {
     }
 
     private PegawaiResponse createPegawaiResponseWithLocationNames(Pegawai pegawai) {
+        return createPegawaiResponsesWithLocationNames(List.of(pegawai)).get(0);
+    }
+
+    /**
+     * Responses with location names for a whole list; the wilayah codes of all rows are
+     * resolved in one batch instead of four lookups per pegawai.
+     */
+    private List<PegawaiResponse> createPegawaiResponsesWithLocationNames(List<Pegawai> pegawaiList) {
+        Map<String, String> locationNames = resolveLocationNames(pegawaiList);
+        return pegawaiList.stream()
+                .map(pegawai -> createPegawaiResponseWithLocationNames(pegawai, locationNames))
+                .collect(Collectors.toList());
+    }
+
+    private Page<PegawaiResponse> createPegawaiResponsesWithLocationNames(Page<Pegawai> pegawaiPage) {
+        return new PageImpl<>(createPegawaiResponsesWithLocationNames(pegawaiPage.getContent()),
+                pegawaiPage.getPageable(), pegawaiPage.getTotalElements());
+    }
+
+    private Map<String, String> resolveLocationNames(List<Pegawai> pegawaiList) {
+        List<String> codes = new ArrayList<>();
+        for (Pegawai pegawai : pegawaiList) {
+            codes.add(pegawai.getProvinsi());
+            codes.add(pegawai.getKota());
+            codes.add(pegawai.getKecamatan());
+            codes.add(pegawai.getKelurahan());
+        }
+        return wilayahCacheService.resolveNames(codes);
+    }
+
+    private PegawaiResponse createPegawaiResponseWithLocationNames(Pegawai pegawai, Map<String, String> locationNames) {
         PegawaiResponse response = PegawaiResponse.from(pegawai);
         
-        // Add location names using WilayahCacheService
+        // Add location names resolved through WilayahCacheService
         if (pegawai.getProvinsi() != null) {
-            response.setProvinsiNama(wilayahCacheService.getNamaByKode(pegawai.getProvinsi()));
+            response.setProvinsiNama(locationName(pegawai.getProvinsi(), locationNames));
         }
         if (pegawai.getKota() != null) {
-            response.setKotaNama(wilayahCacheService.getNamaByKode(pegawai.getKota()));
+            response.setKotaNama(locationName(pegawai.getKota(), locationNames));
         }
         if (pegawai.getKecamatan() != null) {
-            response.setKecamatanNama(wilayahCacheService.getNamaByKode(pegawai.getKecamatan()));
+            response.setKecamatanNama(locationName(pegawai.getKecamatan(), locationNames));
         }
         if (pegawai.getKelurahan() != null) {
-            response.setKelurahanNama(wilayahCacheService.getNamaByKode(pegawai.getKelurahan()));
+            response.setKelurahanNama(locationName(pegawai.getKelurahan(), locationNames));
         }
         
         return response;
     }
 
+    private static String locationName(String kode, Map<String, String> locationNames) {
+        if (kode == null || kode.isEmpty()) {
+            return "";
+        }
+        return locationNames.getOrDefault(kode, kode);
+    }
+
     public List<PegawaiResponse> getPegawaiWithLocationData(
             String search, String nama, String provinsi, String kota, 
             String kecamatan, String jabatan, String status) {
         log.info("Fetching pegawai with location data - search: {}", search);
         
-        return pegawaiRepository.findAll().stream()
+        List<Pegawai> withLocation = pegawaiRepository.findAll().stream()
                 .filter(pegawai -> pegawai.getLatitude() != null && pegawai.getLongitude() != null && pegawai.getAlamat() != null)
+                .collect(Collectors.toList());
+        Map<String, String> locationNames = resolveLocationNames(withLocation);
+        
+        return withLocation.stream()
                 .filter(pegawai -> {
                     if (search != null && !search.trim().isEmpty()) {
                         String searchLower = search.trim().toLowerCase();
@@ -542,21 +664,21 @@ public class PegawaiService {
                 })
                 .filter(pegawai -> {
                     if (provinsi != null && !provinsi.trim().isEmpty()) {
-                        String provinsiNama = wilayahCacheService.getNamaByKode(pegawai.getProvinsi());
+                        String provinsiNama = locationName(pegawai.getProvinsi(), locationNames);
                         return provinsiNama != null && provinsiNama.toLowerCase().contains(provinsi.trim().toLowerCase());
                     }
                     return true;
                 })
                 .filter(pegawai -> {
                     if (kota != null && !kota.trim().isEmpty()) {
-                        String kotaNama = wilayahCacheService.getNamaByKode(pegawai.getKota());
+                        String kotaNama = locationName(pegawai.getKota(), locationNames);
                         return kotaNama != null && kotaNama.toLowerCase().contains(kota.trim().toLowerCase());
                     }
                     return true;
                 })
                 .filter(pegawai -> {
                     if (kecamatan != null && !kecamatan.trim().isEmpty()) {
-                        String kecamatanNama = wilayahCacheService.getNamaByKode(pegawai.getKecamatan());
+                        String kecamatanNama = locationName(pegawai.getKecamatan(), locationNames);
                         return kecamatanNama != null && kecamatanNama.toLowerCase().contains(kecamatan.trim().toLowerCase());
                     }
                     return true;
@@ -574,7 +696,7 @@ public class PegawaiService {
                     }
                     return true;
                 })
-                .map(this::createPegawaiResponseWithLocationNames)
+                .map(pegawai -> createPegawaiResponseWithLocationNames(pegawai, locationNames))
                 .collect(Collectors.toList());
     }
 
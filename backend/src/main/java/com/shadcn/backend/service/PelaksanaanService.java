@@ -37,6 +37,7 @@ public class PelaksanaanService {    private final PelaksanaanRepository pelaksa
     private final DokumentasiPelaksanaanRepository dokumentasiRepository;
     private final KomentarPelaksanaanRepository komentarRepository;
     private final KomentarPelaksanaanVoteRepository komentarPelaksanaanVoteRepository;
+    private final ReactionCounterService reactionCounterService;
     private final UsulanRepository usulanRepository;
     private final AlumniKehadiranRepository alumniKehadiranRepository;
     private final BiografiRepository biografiRepository;
@@ -263,33 +264,29 @@ public class PelaksanaanService {    private final PelaksanaanRepository pelaksa
     }
       // Get comments as DTOs to avoid lazy loading issues
     public Page<KomentarPelaksanaanDto> getCommentsDto(Long pelaksanaanId, int page, int size) {
+        return getCommentsDto(pelaksanaanId, page, size, null);
+    }
+    
+    public Page<KomentarPelaksanaanDto> getCommentsDto(Long pelaksanaanId, int page, int size, Long currentUserId) {
         Pageable pageable = PageRequest.of(page, size);
         Page<KomentarPelaksanaanDto> parentComments = komentarRepository.findParentCommentsDtoByPelaksanaanId(pelaksanaanId, pageable);
+        if (parentComments.isEmpty()) {
+            return parentComments;
+        }
         
-        // For each parent comment, fetch its replies recursively
-        parentComments.getContent().forEach(comment -> {
-            List<KomentarPelaksanaanDto> replies = getRepliesRecursively(comment.getId());
-            comment.setReplies(replies);
-        });
+        // All replies below this page in one query by root_id, the threads are built in memory
+        List<KomentarPelaksanaanDto> thread = CommentThreadAssembler.attachReplies(parentComments.getContent(),
+            komentarRepository::findRepliesDtoByRootIds,
+            KomentarPelaksanaanDto::getId, KomentarPelaksanaanDto::getParentId, KomentarPelaksanaanDto::setReplies);
+        if (currentUserId != null) {
+            CommentThreadAssembler.attachViewerVotes(thread,
+                ids -> CommentThreadAssembler.votesByCommentId(komentarPelaksanaanVoteRepository.findVoteTypesByKomentarIds(ids, currentUserId)),
+                KomentarPelaksanaanDto::getId, KomentarPelaksanaanDto::setUserVote);
+        }
         
         return parentComments;
     }
     
-    // Recursively fetch replies and their nested replies
-    private List<KomentarPelaksanaanDto> getRepliesRecursively(Long parentId) {
-        List<KomentarPelaksanaanDto> replies = komentarRepository.findRepliesDtoByParentId(parentId);
-        
-        // For each reply, get its nested replies
-        replies.forEach(reply -> {
-            List<KomentarPelaksanaanDto> nestedReplies = getRepliesRecursively(reply.getId());
-            if (!nestedReplies.isEmpty()) {
-                reply.setReplies(nestedReplies);
-            }
-        });
-        
-        return replies;
-    }
-    
     // Alumni Kehadiran Methods
       // Save alumni participants for a pelaksanaan
     @Transactional
@@ -424,6 +421,7 @@ public class PelaksanaanService {    private final PelaksanaanRepository pelaksa
                 })
                 .collect(java.util.stream.Collectors.toList());
     }    // Like a comment
+    @Transactional
     public KomentarPelaksanaan likeComment(Long commentId, Long biografiId, String userName) {
         Optional<KomentarPelaksanaan> komentarOpt = komentarRepository.findById(commentId);
         if (komentarOpt.isEmpty()) {
@@ -434,6 +432,8 @@ public class PelaksanaanService {    private final PelaksanaanRepository pelaksa
         
         // Check if user already voted
         Optional<KomentarPelaksanaanVote> existingVote = komentarPelaksanaanVoteRepository.findByKomentarIdAndBiografiId(commentId, biografiId);
+        KomentarPelaksanaanVote.VoteType previousType = existingVote.map(KomentarPelaksanaanVote::getVoteType).orElse(null);
+        KomentarPelaksanaanVote.VoteType currentType = previousType == KomentarPelaksanaanVote.VoteType.LIKE ? null : KomentarPelaksanaanVote.VoteType.LIKE;
           if (existingVote.isPresent()) {
             KomentarPelaksanaanVote vote = existingVote.get();
             if (vote.getVoteType() == KomentarPelaksanaanVote.VoteType.LIKE) {
@@ -455,12 +455,13 @@ public class PelaksanaanService {    private final PelaksanaanRepository pelaksa
             komentarPelaksanaanVoteRepository.save(newVote);
         }
         
-        // Update counters based on actual votes
-        updateKomentarCounters(komentar);
-        return komentarRepository.save(komentar);
+        // Apply the vote transition to the denormalized counters
+        reactionCounterService.apply(komentar, commentId, previousType, currentType, komentarRepository::applyReactionDelta);
+        return komentar;
     }
     
     // Dislike a comment
+    @Transactional
     public KomentarPelaksanaan dislikeComment(Long commentId, Long biografiId, String userName) {
         Optional<KomentarPelaksanaan> komentarOpt = komentarRepository.findById(commentId);
         if (komentarOpt.isEmpty()) {
@@ -471,6 +472,8 @@ public class PelaksanaanService {    private final PelaksanaanRepository pelaksa
         
         // Check if user already voted
         Optional<KomentarPelaksanaanVote> existingVote = komentarPelaksanaanVoteRepository.findByKomentarIdAndBiografiId(commentId, biografiId);
+        KomentarPelaksanaanVote.VoteType previousType = existingVote.map(KomentarPelaksanaanVote::getVoteType).orElse(null);
+        KomentarPelaksanaanVote.VoteType currentType = previousType == KomentarPelaksanaanVote.VoteType.DISLIKE ? null : KomentarPelaksanaanVote.VoteType.DISLIKE;
         
         if (existingVote.isPresent()) {
             KomentarPelaksanaanVote vote = existingVote.get();
@@ -493,15 +496,8 @@ public class PelaksanaanService {    private final PelaksanaanRepository pelaksa
             komentarPelaksanaanVoteRepository.save(newVote);
         }
         
-        // Update counters based on actual votes
-        updateKomentarCounters(komentar);
-        return komentarRepository.save(komentar);
-    }
-    
-    private void updateKomentarCounters(KomentarPelaksanaan komentar) {
-        long likes = komentarPelaksanaanVoteRepository.countLikesByKomentarId(komentar.getId());
-        long dislikes = komentarPelaksanaanVoteRepository.countDislikesByKomentarId(komentar.getId());
-        komentar.setLikes((int) likes);
-        komentar.setDislikes((int) dislikes);
+        // Apply the vote transition to the denormalized counters
+        reactionCounterService.apply(komentar, commentId, previousType, currentType, komentarRepository::applyReactionDelta);
+        return komentar;
     }
 }
@@ -43,9 +43,7 @@ public class PemilihanService {
     
     public List<PemilihanDTO> getAllPemilihan() {
         List<Pemilihan> pemilihanList = pemilihanRepository.findAll();
-        return pemilihanList.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(pemilihanList, false);
     }
     
     public Optional<PemilihanDTO> getPemilihanById(Long id) {
@@ -56,16 +54,12 @@ public class PemilihanService {
     public List<PemilihanDTO> getPemilihanByStatus(String status) {
         Pemilihan.StatusPemilihan statusEnum = Pemilihan.StatusPemilihan.valueOf(status);
         List<Pemilihan> pemilihanList = pemilihanRepository.findByStatus(statusEnum);
-        return pemilihanList.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(pemilihanList, false);
     }
     
     public List<PemilihanDTO> getActivePemilihan() {
         List<Pemilihan> pemilihanList = pemilihanRepository.findActivePemilihan();
-        return pemilihanList.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(pemilihanList, false);
     }
     
     public PemilihanDTO createPemilihan(PemilihanDTO pemilihanDTO) {
@@ -182,9 +176,7 @@ public class PemilihanService {
     public List<PemilihanDTO> searchPemilihan(String keyword) {
         // Use the repository method that exists
         List<Pemilihan> pemilihanList = pemilihanRepository.findByNamaPemilihanContainingIgnoreCase(keyword, org.springframework.data.domain.Pageable.unpaged()).getContent();
-        return pemilihanList.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(pemilihanList, false);
     }
     
     public Map<String, Object> searchPemilihanWithPaging(String keyword, String tingkat, String status, 
@@ -217,9 +209,7 @@ public class PemilihanService {
             pemilihanPage = pemilihanRepository.findAll(pageable);
         }
         
-        List<PemilihanDTO> pemilihanList = pemilihanPage.getContent().stream()
-                .map(this::convertToDTOWithStats)
-                .collect(Collectors.toList());
+        List<PemilihanDTO> pemilihanList = convertToDTOs(pemilihanPage.getContent(), true);
         
         Map<String, Object> response = new java.util.HashMap<>();
         response.put("content", pemilihanList);
@@ -292,9 +282,7 @@ public class PemilihanService {
         // Use the existing findByWilayah method from repository
         List<Pemilihan> pemilihanList = pemilihanRepository.findByWilayah(provinsi, kota, kecamatan, kelurahan, org.springframework.data.domain.Pageable.unpaged()).getContent();
         
-        return pemilihanList.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(pemilihanList, false);
     }
     
     public void updateExpiredPemilihan() {
@@ -390,7 +378,44 @@ public class PemilihanService {
         return pemilihan;
     }
     
-    private PemilihanDTO convertToDTO(Pemilihan pemilihan) {
+    // Package-private for the benchmarks
+    PemilihanDTO convertToDTO(Pemilihan pemilihan) {
+        return convertToDTO(pemilihan, detailPemilihanRepository.findByPemilihanIdWithLaporanOrderByUrutan(pemilihan.getPemilihanId()));
+    }
+    
+    /**
+     * Convert a list of pemilihan with their detail laporan loaded in one query, and with
+     * withStats the pegawai counts in one more, instead of queries per pemilihan.
+     */
+    private List<PemilihanDTO> convertToDTOs(List<Pemilihan> pemilihanList, boolean withStats) {
+        if (pemilihanList.isEmpty()) {
+            return new java.util.ArrayList<>();
+        }
+        List<Long> ids = pemilihanList.stream()
+                .map(Pemilihan::getPemilihanId)
+                .collect(Collectors.toList());
+        Map<Long, List<DetailPemilihan>> detailsByPemilihan = detailPemilihanRepository.findByPemilihanIdsWithLaporanOrderByUrutan(ids).stream()
+                .collect(Collectors.groupingBy(detail -> detail.getPemilihan().getPemilihanId()));
+        Map<Long, Long> pegawaiCounts = new java.util.HashMap<>();
+        if (withStats) {
+            for (Object[] row : pegawaiRepository.countByPemilihanIds(ids)) {
+                pegawaiCounts.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        
+        List<PemilihanDTO> result = new java.util.ArrayList<>(pemilihanList.size());
+        for (Pemilihan pemilihan : pemilihanList) {
+            List<DetailPemilihan> details = detailsByPemilihan.getOrDefault(pemilihan.getPemilihanId(), List.of());
+            PemilihanDTO dto = convertToDTO(pemilihan, details);
+            if (withStats) {
+                addStats(dto, details, pegawaiCounts.getOrDefault(pemilihan.getPemilihanId(), 0L));
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+    
+    private PemilihanDTO convertToDTO(Pemilihan pemilihan, List<DetailPemilihan> detailPemilihanList) {
         PemilihanDTO dto = new PemilihanDTO();
         dto.setPemilihanId(pemilihan.getPemilihanId());
         dto.setJudulPemilihan(pemilihan.getNamaPemilihan());
@@ -427,7 +452,6 @@ public class PemilihanService {
         dto.setWilayahTingkat(getWilayahByTingkat(dto));
         
         // Set detail laporan and total laporan
-        List<DetailPemilihan> detailPemilihanList = detailPemilihanRepository.findByPemilihanIdWithLaporanOrderByUrutan(pemilihan.getPemilihanId());
         if (detailPemilihanList != null && !detailPemilihanList.isEmpty()) {
             List<PemilihanDTO.DetailPemilihanDTO> detailDTOList = detailPemilihanList.stream()
                 .map(detail -> {
@@ -637,7 +661,7 @@ public class PemilihanService {
             String search, String nama, String provinsi, String kota, 
             String kecamatan, String tingkat, String status) {
         
-        return pemilihanRepository.findAll().stream()
+        List<Pemilihan> pemilihanList = pemilihanRepository.findAll().stream()
                 .filter(pemilihan -> pemilihan.getLatitude() != null && pemilihan.getLongitude() != null)
                 .filter(pemilihan -> {
                     if (search != null && !search.trim().isEmpty()) {
@@ -686,21 +710,16 @@ public class PemilihanService {
                     }
                     return true;
                 })
-                .map(this::convertToDTOWithStats)
                 .collect(Collectors.toList());
+        return convertToDTOs(pemilihanList, true);
     }
     
-    private PemilihanDTO convertToDTOWithStats(Pemilihan pemilihan) {
-        PemilihanDTO dto = convertToDTO(pemilihan);
-        
-        // Calculate additional statistics
-        // Get total pegawai using this pemilihan
-        long totalPegawai = pegawaiRepository.countByPemilihanId(pemilihan.getPemilihanId());
+    private void addStats(PemilihanDTO dto, List<DetailPemilihan> detailPemilihanList, long totalPegawai) {
+        // Total pegawai using this pemilihan
         dto.setTotalPegawai((int) totalPegawai);
         
         // Get total jenis laporan from DetailPemilihan
-        List<DetailPemilihan> detailPemilihanList = detailPemilihanRepository.findByPemilihanIdWithLaporanOrderByUrutan(pemilihan.getPemilihanId());
-        if (detailPemilihanList != null && !detailPemilihanList.isEmpty()) {
+        if (!detailPemilihanList.isEmpty()) {
             // Count unique jenis laporan
             Set<Long> uniqueJenisLaporan = detailPemilihanList.stream()
                 .filter(detail -> detail.getLaporan() != null && detail.getLaporan().getJenisLaporan() != null)
@@ -714,7 +733,5 @@ public class PemilihanService {
             dto.setTotalJenisLaporan(0);
             dto.setTotalTahapan(0);
         }
-        
-        return dto;
     }
 }
@@ -0,0 +1,171 @@
+package com.shadcn.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Rendered placeholder PNGs.
+ *
+ * Requests are canonicalized (size clamped to 1..1000, colors to upper-case 6-digit hex) and the
+ * encoded bytes are kept in a cache bounded by total byte size, so a page full of identical
+ * placeholders renders the image once. Sizes the frontend uses are rendered at startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlaceholderImageService {
+
+    public static final String DEFAULT_BACKGROUND = "CCCCCC";
+    public static final String DEFAULT_TEXT = "666666";
+
+    private static final int MAX_DIMENSION = 1000;
+    private static final Pattern HEX_COLOR = Pattern.compile("[0-9A-F]{3}|[0-9A-F]{6}");
+    private static final Font BASE_FONT = new Font("Arial", Font.BOLD, 12);
+    // Part of every ETag; bump it when render() draws differently so clients refetch
+    private static final String RENDER_VERSION = "1";
+
+    @Value("${app.placeholder.cache-max-bytes:16777216}")
+    private long cacheMaxBytes;
+
+    // Comma separated WIDTHxHEIGHT list rendered at startup with the default colors
+    @Value("${app.placeholder.prewarm-sizes:800x400,400x300,300x200,200x200,100x100,64x64,40x40}")
+    private List<String> prewarmSizes;
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<Key, Image> images;
+
+    public record Key(int width, int height, String background, String text) {
+
+        public static Key of(int width, int height, String background, String text) {
+            return new Key(clamp(width), clamp(height),
+                color(background, DEFAULT_BACKGROUND), color(text, DEFAULT_TEXT));
+        }
+
+        /**
+         * Strong ETag of the image for this key. Rendering is deterministic, so the tag is
+         * derived from the key and a conditional request can be answered without rendering.
+         */
+        public String eTag() {
+            String value = RENDER_VERSION + ":" + width + "x" + height + ":" + background + ":" + text;
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+                return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static int clamp(int dimension) {
+            return Math.min(Math.max(dimension, 1), MAX_DIMENSION);
+        }
+
+        private static String color(String value, String fallback) {
+            if (value == null) {
+                return fallback;
+            }
+            String hex = value.trim().toUpperCase();
+            if (hex.startsWith("#")) {
+                hex = hex.substring(1);
+            }
+            if (!HEX_COLOR.matcher(hex).matches()) {
+                return fallback;
+            }
+            if (hex.length() == 3) {
+                hex = "" + hex.charAt(0) + hex.charAt(0) + hex.charAt(1) + hex.charAt(1) + hex.charAt(2) + hex.charAt(2);
+            }
+            return hex;
+        }
+    }
+
+    /**
+     * Encoded PNG with its strong ETag ({@link Key#eTag()}).
+     */
+    public record Image(byte[] bytes, String eTag) {
+    }
+
+    @PostConstruct
+    public void init() {
+        images = Caffeine.newBuilder()
+            .maximumWeight(cacheMaxBytes)
+            .weigher((Key key, Image image) -> image.bytes().length)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, images, "placeholder-images");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        int rendered = 0;
+        for (String size : prewarmSizes) {
+            String[] parts = size.trim().toLowerCase().split("x");
+            if (parts.length != 2) {
+                continue;
+            }
+            try {
+                getImage(Key.of(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), null, null));
+                rendered++;
+            } catch (RuntimeException e) {
+                log.warn("Placeholder prewarm skipped for {}: {}", size, e.getMessage());
+            }
+        }
+        log.info("Placeholder images prewarmed: {}", rendered);
+    }
+
+    public Image getImage(Key key) {
+        return images.get(key, PlaceholderImageService::render);
+    }
+
+    private static Image render(Key key) {
+        BufferedImage image = new BufferedImage(key.width(), key.height(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setColor(Color.decode("#" + key.background()));
+            g2d.fillRect(0, 0, key.width(), key.height());
+
+            g2d.setColor(Color.decode("#" + key.text()));
+            g2d.setFont(BASE_FONT.deriveFont((float) (Math.min(key.width(), key.height()) / 8)));
+
+            String text = key.width() + "×" + key.height();
+            FontMetrics fm = g2d.getFontMetrics();
+            int x = (key.width() - fm.stringWidth(text)) / 2;
+            int y = (key.height() + fm.getAscent()) / 2;
+            g2d.drawString(text, x, y);
+        } finally {
+            g2d.dispose();
+        }
+
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(4096);
+            ImageIO.write(image, "png", baos);
+            byte[] bytes = baos.toByteArray();
+            return new Image(bytes, key.eTag());
+        } catch (IOException e) {
+            throw new RuntimeException("Gagal membuat gambar placeholder: " + e.getMessage(), e);
+        }
+    }
+}
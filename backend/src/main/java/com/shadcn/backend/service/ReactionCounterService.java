@@ -0,0 +1,77 @@
+package com.shadcn.backend.service;
+
+import com.shadcn.backend.model.ReactionCounted;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Shared like/dislike counter maintenance for posts, comments and usulan.
+ *
+ * Instead of recounting the reaction table after every toggle, the caller passes the
+ * reaction the user had before and after the toggle; the resulting delta is applied with a
+ * relative {@code UPDATE ... SET likes = likes + :delta}. Every reaction table has a unique
+ * (target, user) constraint, so a racing duplicate insert fails and its delta is rolled back
+ * together with the row.
+ */
+@Service
+@Slf4j
+public class ReactionCounterService {
+
+    /**
+     * Bulk update applying the delta to a single target row, usually a {@code @Modifying}
+     * repository query.
+     */
+    @FunctionalInterface
+    public interface CounterUpdater {
+        int applyDelta(Long targetId, int likeDelta, int dislikeDelta);
+    }
+
+    public record Delta(int likes, int dislikes) {
+        public boolean isZero() {
+            return likes == 0 && dislikes == 0;
+        }
+    }
+
+    /**
+     * Compute the counter delta for a reaction transition. {@code null} means "no reaction".
+     * LIKE/UPVOTE count as likes, DISLIKE/DOWNVOTE as dislikes, anything else (LOVE, HAHA, ...)
+     * does not touch either counter.
+     */
+    public static Delta transition(Enum<?> before, Enum<?> after) {
+        int likes = (isLike(after) ? 1 : 0) - (isLike(before) ? 1 : 0);
+        int dislikes = (isDislike(after) ? 1 : 0) - (isDislike(before) ? 1 : 0);
+        return new Delta(likes, dislikes);
+    }
+
+    /**
+     * Apply the delta of a reaction transition to the target's counters and mirror it on the
+     * in-memory entity. The entity is not refreshed: that would reload its cascaded reaction
+     * and reply collections on every toggle.
+     */
+    @Transactional
+    public void apply(ReactionCounted target, Long targetId, Enum<?> before, Enum<?> after, CounterUpdater updater) {
+        Delta delta = transition(before, after);
+        if (delta.isZero()) {
+            return;
+        }
+
+        int updated = updater.applyDelta(targetId, delta.likes(), delta.dislikes());
+        if (updated == 0) {
+            log.warn("Reaction counter update touched no rows for target {}", targetId);
+            return;
+        }
+
+        if (target != null) {
+            target.addReactionDelta(delta.likes(), delta.dislikes());
+        }
+    }
+
+    private static boolean isLike(Enum<?> reaction) {
+        return reaction != null && ("LIKE".equals(reaction.name()) || "UPVOTE".equals(reaction.name()));
+    }
+
+    private static boolean isDislike(Enum<?> reaction) {
+        return reaction != null && ("DISLIKE".equals(reaction.name()) || "DOWNVOTE".equals(reaction.name()));
+    }
+}
@@ -0,0 +1,293 @@
+package com.shadcn.backend.service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming row reader for the import uploads (CSV and XLSX).
+ *
+ * Rows are handed to the caller one at a time, so an upload is never held in memory as a
+ * whole. XLSX files are read straight from the zip with StAX: only the shared string table
+ * is kept, the first worksheet is streamed. No formulas are evaluated; cached values are used.
+ *
+ * CSV files may be comma or semicolon separated (Excel with an Indonesian locale writes ';').
+ * The separator is detected once from the first line and used for the whole file, so values
+ * containing the other character stay intact. Quoted values may contain separators, doubled
+ * quotes and line breaks.
+ */
+public final class SpreadsheetRowReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private SpreadsheetRowReader() {
+    }
+
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param rowNumber 1-based row number as shown in the spreadsheet or CSV line number
+         * @param cells     trimmed cell values, blank cells as empty strings
+         */
+        void accept(int rowNumber, List<String> cells);
+    }
+
+    /**
+     * @param rowNumber of a record spanning several lines (quoted line breaks) is its first line
+     */
+    public static void readCsv(InputStream in, RowHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        Character separator = null;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int row = lineNumber;
+            if (row == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+
+            // A quoted value with line breaks continues on the next lines
+            StringBuilder record = new StringBuilder(line);
+            String next;
+            while (hasOpenQuote(record) && (next = reader.readLine()) != null) {
+                lineNumber++;
+                record.append('\n').append(next);
+            }
+
+            String text = record.toString();
+            if (text.isBlank()) {
+                continue;
+            }
+            if (separator == null) {
+                separator = detectSeparator(text);
+            }
+            handler.accept(row, splitCsvLine(text, separator));
+        }
+    }
+
+    /**
+     * Stream the first worksheet of an XLSX file. Empty rows are skipped.
+     */
+    public static void readXlsx(Path file, RowHandler handler) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            List<String> sharedStrings = new ArrayList<>();
+            ZipEntry sharedStringsEntry = zip.getEntry("xl/sharedStrings.xml");
+            if (sharedStringsEntry != null) {
+                try (InputStream in = zip.getInputStream(sharedStringsEntry)) {
+                    readSharedStrings(in, sharedStrings);
+                }
+            }
+
+            ZipEntry sheet = firstWorksheet(zip);
+            if (sheet == null) {
+                throw new RuntimeException("File XLSX tidak memiliki worksheet");
+            }
+            try (InputStream in = zip.getInputStream(sheet)) {
+                readSheet(in, sharedStrings, handler);
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("File XLSX tidak valid: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * ';' when the (header) line has more semicolons than commas outside quotes, otherwise ','.
+     */
+    public static char detectSeparator(String line) {
+        int semicolons = 0;
+        int commas = 0;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == ';') {
+                semicolons++;
+            } else if (!quoted && c == ',') {
+                commas++;
+            }
+        }
+        return semicolons > commas ? ';' : ',';
+    }
+
+    public static List<String> splitCsvLine(String line, char separator) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == separator && !quoted) {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString().trim());
+        return cells;
+    }
+
+    // Odd number of quotes: a quoted value is still open (escaped "" pairs do not change parity)
+    private static boolean hasOpenQuote(CharSequence text) {
+        boolean open = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    private static ZipEntry firstWorksheet(ZipFile zip) {
+        ZipEntry sheet = zip.getEntry("xl/worksheets/sheet1.xml");
+        if (sheet != null) {
+            return sheet;
+        }
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.getName().startsWith("xl/worksheets/sheet") && entry.getName().endsWith(".xml")) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static void readSharedStrings(InputStream in, List<String> sharedStrings) throws XMLStreamException {
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            StringBuilder text = null;
+            int phoneticDepth = 0;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "si" -> text = new StringBuilder();
+                        case "rPh" -> phoneticDepth++;
+                        case "t" -> {
+                            String value = xml.getElementText();
+                            if (text != null && phoneticDepth == 0) {
+                                text.append(value);
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("si".equals(xml.getLocalName()) && text != null) {
+                        sharedStrings.add(text.toString());
+                        text = null;
+                    } else if ("rPh".equals(xml.getLocalName())) {
+                        phoneticDepth--;
+                    }
+                }
+            }
+        } finally {
+            xml.close();
+        }
+    }
+
+    private static void readSheet(InputStream in, List<String> sharedStrings, RowHandler handler) throws XMLStreamException {
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            List<String> cells = null;
+            int rowNumber = 0;
+            int column = 0;
+            String cellType = null;
+            String value = null;
+
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "row" -> {
+                            String r = xml.getAttributeValue(null, "r");
+                            rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                            cells = new ArrayList<>();
+                            column = 0;
+                        }
+                        case "c" -> {
+                            String ref = xml.getAttributeValue(null, "r");
+                            column = ref != null ? columnIndex(ref) : column;
+                            cellType = xml.getAttributeValue(null, "t");
+                            value = null;
+                        }
+                        case "v" -> value = xml.getElementText();
+                        case "t" -> value = (value != null ? value : "") + xml.getElementText();
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("c".equals(xml.getLocalName()) && cells != null) {
+                        while (cells.size() < column) {
+                            cells.add("");
+                        }
+                        cells.add(cellValue(cellType, value, sharedStrings));
+                        column++;
+                    } else if ("row".equals(xml.getLocalName()) && cells != null) {
+                        if (cells.stream().anyMatch(cell -> !cell.isEmpty())) {
+                            handler.accept(rowNumber, cells);
+                        }
+                        cells = null;
+                    }
+                }
+            }
+        } finally {
+            xml.close();
+        }
+    }
+
+    private static String cellValue(String type, String value, List<String> sharedStrings) {
+        if (value == null) {
+            return "";
+        }
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(value.trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index).trim() : "";
+        }
+        if (type == null || "n".equals(type)) {
+            // Numbers such as NIP or phone come back as 1.9870101E17 or 81234567890.0
+            try {
+                return new BigDecimal(value.trim()).stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                return value.trim();
+            }
+        }
+        return value.trim();
+    }
+
+    // "AB12" -> 27 (0-based)
+    private static int columnIndex(String ref) {
+        int index = 0;
+        for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+            index = index * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+        }
+        return index - 1;
+    }
+}
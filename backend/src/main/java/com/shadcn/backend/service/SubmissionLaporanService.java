@@ -1,5 +1,6 @@
 package com.shadcn.backend.service;
 
+import com.shadcn.backend.config.AppMetrics;
 import com.shadcn.backend.dto.DetailLaporanRequest;
 import com.shadcn.backend.dto.DetailLaporanResponse;
 import com.shadcn.backend.dto.PaginatedResponse;
@@ -23,7 +24,9 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -44,12 +47,21 @@ public class SubmissionLaporanService {
     @Autowired
     private JenisLaporanRepository jenisLaporanRepository;
     
+    @Autowired
+    private LaporanCatalogService laporanCatalogService;
+    
     @Autowired
     private LaporanRepository laporanRepository;
     
+    @Autowired
+    private SubmissionProgressService submissionProgressService;
+    
     @Autowired
     private PemilihanRepository pemilihanRepository;
     
+    @Autowired
+    private AppMetrics appMetrics;
+    
     @Value("${app.upload.dir:uploads}")
     private String uploadsDirectory;
     
@@ -80,12 +92,15 @@ public class SubmissionLaporanService {
                 }
             }
 
-            TahapanLaporan tahapan = tahapanLaporanRepository.findById(request.getTahapanLaporanId().longValue())
+            // Validate against the template catalog, then link without loading the rows
+            LaporanCatalogService.TahapanEntry tahapanEntry = laporanCatalogService.getTahapan(request.getTahapanLaporanId().longValue())
                 .orElseThrow(() -> new RuntimeException("Tahapan laporan tidak ditemukan"));
-
-            JenisLaporan jenis = jenisLaporanRepository.findById(request.getJenisLaporanId().longValue())
+            LaporanCatalogService.JenisEntry jenisEntry = laporanCatalogService.getJenis(request.getJenisLaporanId().longValue())
                 .orElseThrow(() -> new RuntimeException("Jenis laporan tidak ditemukan"));
 
+            TahapanLaporan tahapan = tahapanLaporanRepository.getReferenceById(tahapanEntry.tahapanLaporanId());
+            JenisLaporan jenis = jenisLaporanRepository.getReferenceById(jenisEntry.jenisLaporanId());
+
             Laporan laporan = laporanRepository.findById(request.getLaporanId().longValue())
                 .orElseThrow(() -> new RuntimeException("Laporan tidak ditemukan"));
 
@@ -106,6 +121,7 @@ public class SubmissionLaporanService {
             submission.setStatus(SubmissionLaporan.StatusLaporan.SUBMITTED);
 
             submission = submissionLaporanRepository.save(submission);
+            submissionProgressService.recordCreated(submission);
 
             // Process temp files
             List<String> permanentFiles = new ArrayList<>();
@@ -133,12 +149,14 @@ public class SubmissionLaporanService {
             // Set related entity names
             response.setPemilihanJudul(submission.getPemilihan().getNamaPemilihan());
             response.setLaporanNama(submission.getLaporan().getNamaLaporan());
-            response.setJenisLaporanNama(submission.getJenisLaporan().getNama());
-            response.setTahapanLaporanNama(submission.getTahapanLaporan().getNama());
+            response.setJenisLaporanNama(jenisEntry.nama());
+            response.setTahapanLaporanNama(tahapanEntry.nama());
 
+            appMetrics.submissionCreated(true);
             return response;
 
         } catch (Exception e) {
+            appMetrics.submissionCreated(false);
             throw new RuntimeException("Gagal membuat submission: " + e.getMessage(), e);
         }
     }
@@ -213,7 +231,7 @@ public class SubmissionLaporanService {
             submissionPage = submissionLaporanRepository.findByPegawaiIdOrderByTanggalBuatDesc(pegawaiId, pageable);
         }
         
-        List<DetailLaporanResponse> filteredSubmissions = submissionPage.getContent().stream()
+        List<SubmissionLaporan> filtered = submissionPage.getContent().stream()
             .filter(submission -> {
                 if (search != null && !search.trim().isEmpty()) {
                     String searchLower = search.toLowerCase();
@@ -238,7 +256,19 @@ public class SubmissionLaporanService {
                 }
                 return true;
             })
-            .map(this::convertToResponse)
+            .toList();
+
+        // One attachment query for the whole page instead of one per submission
+        Map<Long, List<String>> filesBySubmission = new HashMap<>();
+        if (!filtered.isEmpty()) {
+            List<Long> ids = filtered.stream().map(SubmissionLaporan::getId).toList();
+            for (SubmissionLampiran lampiran : submissionLampiranRepository.findBySubmissionLaporanIdInOrderByTanggalUploadDesc(ids)) {
+                filesBySubmission.computeIfAbsent(lampiran.getSubmissionLaporan().getId(), id -> new ArrayList<>())
+                    .add(lampiran.getNamaFile());
+            }
+        }
+        List<DetailLaporanResponse> filteredSubmissions = filtered.stream()
+            .map(submission -> convertToResponse(submission, filesBySubmission.getOrDefault(submission.getId(), List.of())))
             .toList();
         
         PaginatedResponse.PageInfo pageInfo = new PaginatedResponse.PageInfo();
@@ -341,16 +371,22 @@ public class SubmissionLaporanService {
                 throw new RuntimeException("Laporan yang sudah disetujui tidak dapat diedit");
             }
 
+            // Progress cell the submission counts towards before the edit
+            SubmissionProgressService.CellKey previousCell = SubmissionProgressService.CellKey.of(existingSubmission);
+
             // Validate required entities
             Pegawai pegawai = pegawaiRepository.findById(request.getUserId().longValue())
                 .orElseThrow(() -> new RuntimeException("Pegawai tidak ditemukan"));
 
-            TahapanLaporan tahapan = tahapanLaporanRepository.findById(request.getTahapanLaporanId().longValue())
+            // Validate against the template catalog, then link without loading the rows
+            LaporanCatalogService.TahapanEntry tahapanEntry = laporanCatalogService.getTahapan(request.getTahapanLaporanId().longValue())
                 .orElseThrow(() -> new RuntimeException("Tahapan laporan tidak ditemukan"));
-
-            JenisLaporan jenis = jenisLaporanRepository.findById(request.getJenisLaporanId().longValue())
+            LaporanCatalogService.JenisEntry jenisEntry = laporanCatalogService.getJenis(request.getJenisLaporanId().longValue())
                 .orElseThrow(() -> new RuntimeException("Jenis laporan tidak ditemukan"));
 
+            TahapanLaporan tahapan = tahapanLaporanRepository.getReferenceById(tahapanEntry.tahapanLaporanId());
+            JenisLaporan jenis = jenisLaporanRepository.getReferenceById(jenisEntry.jenisLaporanId());
+
             Laporan laporan = laporanRepository.findById(request.getLaporanId().longValue())
                 .orElseThrow(() -> new RuntimeException("Laporan tidak ditemukan"));
 
@@ -370,6 +406,7 @@ public class SubmissionLaporanService {
             existingSubmission.setPemilihan(pemilihan);
 
             existingSubmission = submissionLaporanRepository.save(existingSubmission);
+            submissionProgressService.recordUpdated(previousCell, existingSubmission);
 
             // Handle file management
             List<String> permanentFiles = new ArrayList<>();
@@ -432,8 +469,8 @@ public class SubmissionLaporanService {
             // Set related entity names
             response.setPemilihanJudul(existingSubmission.getPemilihan().getNamaPemilihan());
             response.setLaporanNama(existingSubmission.getLaporan().getNamaLaporan());
-            response.setJenisLaporanNama(existingSubmission.getJenisLaporan().getNama());
-            response.setTahapanLaporanNama(existingSubmission.getTahapanLaporan().getNama());
+            response.setJenisLaporanNama(jenisEntry.nama());
+            response.setTahapanLaporanNama(tahapanEntry.nama());
 
             // Get existing files
             List<SubmissionLampiran> lampiranList = submissionLampiranRepository.findBySubmissionLaporanIdOrderByTanggalUploadDesc(existingSubmission.getId());
@@ -468,12 +505,18 @@ public class SubmissionLaporanService {
             
             // Delete the submission (lampiran records will be deleted by cascade)
             submissionLaporanRepository.delete(submissionEntity);
+            submissionProgressService.recordDeleted(submissionEntity);
         } else {
             throw new RuntimeException("Submission tidak ditemukan atau tidak memiliki akses");
         }
     }
 
     private DetailLaporanResponse convertToResponse(SubmissionLaporan submission) {
+        List<SubmissionLampiran> lampiranList = submissionLampiranRepository.findBySubmissionLaporanIdOrderByTanggalUploadDesc(submission.getId());
+        return convertToResponse(submission, lampiranList.stream().map(SubmissionLampiran::getNamaFile).toList());
+    }
+
+    private DetailLaporanResponse convertToResponse(SubmissionLaporan submission, List<String> files) {
         DetailLaporanResponse response = new DetailLaporanResponse();
         response.setId(submission.getId().intValue());
         response.setJudul(submission.getJudul());
@@ -494,12 +537,13 @@ public class SubmissionLaporanService {
         // Set related entity names
         response.setPemilihanJudul(submission.getPemilihan().getNamaPemilihan());
         response.setLaporanNama(submission.getLaporan().getNamaLaporan());
-        response.setJenisLaporanNama(submission.getJenisLaporan().getNama());
-        response.setTahapanLaporanNama(submission.getTahapanLaporan().getNama());
+        response.setJenisLaporanNama(laporanCatalogService.getJenis(submission.getJenisLaporan().getJenisLaporanId())
+            .map(LaporanCatalogService.JenisEntry::nama)
+            .orElseGet(() -> submission.getJenisLaporan().getNama()));
+        response.setTahapanLaporanNama(laporanCatalogService.getTahapan(submission.getTahapanLaporan().getTahapanLaporanId())
+            .map(LaporanCatalogService.TahapanEntry::nama)
+            .orElseGet(() -> submission.getTahapanLaporan().getNama()));
 
-        // Get files
-        List<SubmissionLampiran> lampiranList = submissionLampiranRepository.findBySubmissionLaporanIdOrderByTanggalUploadDesc(submission.getId());
-        List<String> files = lampiranList.stream().map(SubmissionLampiran::getNamaFile).toList();
         response.setFiles(files);
 
         return response;
@@ -550,7 +594,8 @@ public class SubmissionLaporanService {
      * @param dateString the date string to parse
      * @return LocalDate object or null if parsing fails
      */
-    private LocalDate parseDate(String dateString) {
+    // Package-private for the benchmarks
+    static LocalDate parseDate(String dateString) {
         if (dateString == null || dateString.trim().isEmpty()) {
             return null;
         }
@@ -0,0 +1,287 @@
+package com.shadcn.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shadcn.backend.dto.ProgressMatrixResponse;
+import com.shadcn.backend.model.DetailPemilihan;
+import com.shadcn.backend.model.Pemilihan;
+import com.shadcn.backend.model.SubmissionLaporan;
+import com.shadcn.backend.model.SubmissionProgress;
+import com.shadcn.backend.repository.DetailLaporanRepository;
+import com.shadcn.backend.repository.DetailPemilihanRepository;
+import com.shadcn.backend.repository.PegawaiRepository;
+import com.shadcn.backend.repository.PemilihanRepository;
+import com.shadcn.backend.repository.SubmissionProgressRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Per-(pemilihan, laporan, tahapan, pegawai) submission progress.
+ *
+ * Every submission write adjusts its cell in submission_progress inside the same transaction,
+ * so the matrix endpoint reads one row per cell instead of paging through submissions. Built
+ * matrices are cached for a few seconds; the election-day screen polls, and a slightly stale
+ * heatmap is cheaper than rebuilding it for every viewer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionProgressService {
+
+    // Latest statuses that count a cell as done
+    private static final Set<SubmissionLaporan.StatusLaporan> COMPLETED_STATUSES = EnumSet.of(
+        SubmissionLaporan.StatusLaporan.SUBMITTED,
+        SubmissionLaporan.StatusLaporan.REVIEWED,
+        SubmissionLaporan.StatusLaporan.APPROVED);
+
+    private final SubmissionProgressRepository progressRepository;
+    private final PemilihanRepository pemilihanRepository;
+    private final DetailPemilihanRepository detailPemilihanRepository;
+    private final DetailLaporanRepository detailLaporanRepository;
+    private final PegawaiRepository pegawaiRepository;
+    private final LaporanCatalogService laporanCatalogService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${progress.matrix.cache-seconds:5}")
+    private long matrixCacheSeconds;
+
+    private Cache<Long, ProgressMatrixResponse> matrices;
+
+    /**
+     * Identity of a progress cell, taken from a submission.
+     */
+    public record CellKey(Long pemilihanId, Long laporanId, Long tahapanLaporanId, Long pegawaiId) {
+
+        public static CellKey of(SubmissionLaporan submission) {
+            return new CellKey(
+                submission.getPemilihan().getPemilihanId(),
+                submission.getLaporan().getLaporanId(),
+                submission.getTahapanLaporan().getTahapanLaporanId(),
+                submission.getPegawai().getId());
+        }
+    }
+
+    private record ColumnKey(Long laporanId, Long tahapanLaporanId) {
+    }
+
+    @PostConstruct
+    public void init() {
+        matrices = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(matrixCacheSeconds))
+            .maximumSize(100)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, matrices, "progress-matrices");
+    }
+
+    /**
+     * Backfill the table the first time the application starts with it. A failure is only
+     * logged: the matrix is then empty until the nightly rebuild, the application still runs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (progressRepository.count() == 0) {
+                rebuildAll();
+            }
+        } catch (Exception e) {
+            log.error("Submission progress backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Full resync once a day, in case a submission was changed outside this service.
+     */
+    @Scheduled(cron = "0 45 3 * * ?")
+    public void rebuildAll() {
+        List<Long> pemilihanIds = progressRepository.findPemilihanIdsWithSubmissions();
+        for (Long pemilihanId : pemilihanIds) {
+            rebuild(pemilihanId);
+        }
+        log.info("Submission progress rebuilt for {} pemilihan", pemilihanIds.size());
+    }
+
+    /**
+     * Recompute all cells of one pemilihan from the submissions, in a single transaction.
+     */
+    public int rebuild(Long pemilihanId) {
+        Integer cells = transactionTemplate.execute(status -> {
+            progressRepository.deleteByPemilihan(pemilihanId);
+            return progressRepository.rebuildPemilihan(pemilihanId);
+        });
+        matrices.invalidate(pemilihanId);
+        return cells != null ? cells : 0;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(SubmissionLaporan submission) {
+        addToCell(CellKey.of(submission), submission.getStatus(), LocalDateTime.now());
+    }
+
+    /**
+     * Move the submission to its new cell if the edit changed pemilihan, laporan, tahapan or
+     * pegawai; otherwise only the latest status of the cell changes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(CellKey before, SubmissionLaporan submission) {
+        // tanggalUpdate is only refreshed on flush, so stamp the cell with the current time
+        LocalDateTime now = LocalDateTime.now();
+        CellKey after = CellKey.of(submission);
+        if (before.equals(after)) {
+            progressRepository.updateLatestStatus(after.pemilihanId(), after.laporanId(), after.tahapanLaporanId(),
+                after.pegawaiId(), submission.getStatus().name(), now);
+            return;
+        }
+        removeFromCell(before);
+        addToCell(after, submission.getStatus(), now);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(SubmissionLaporan submission) {
+        removeFromCell(CellKey.of(submission));
+    }
+
+    private void addToCell(CellKey cell, SubmissionLaporan.StatusLaporan status, LocalDateTime submittedAt) {
+        progressRepository.increment(cell.pemilihanId(), cell.laporanId(), cell.tahapanLaporanId(), cell.pegawaiId(),
+            status.name(), submittedAt);
+    }
+
+    // The removed submission may have been the cell's latest, so its status is recomputed from the rest
+    private void removeFromCell(CellKey cell) {
+        progressRepository.decrement(cell.pemilihanId(), cell.laporanId(), cell.tahapanLaporanId(), cell.pegawaiId());
+        if (progressRepository.deleteIfEmpty(cell.pemilihanId(), cell.laporanId(), cell.tahapanLaporanId(), cell.pegawaiId()) == 0) {
+            progressRepository.refreshLatest(cell.pemilihanId(), cell.laporanId(), cell.tahapanLaporanId(), cell.pegawaiId());
+        }
+    }
+
+    /**
+     * Progress matrix of a pemilihan: its laporan tahapan as columns, the assigned pegawai (plus
+     * anyone who submitted without being assigned) as rows. Empty for an unknown pemilihan.
+     */
+    public Optional<ProgressMatrixResponse> getMatrix(Long pemilihanId) {
+        // A null result (unknown pemilihan) is not cached
+        return Optional.ofNullable(matrices.get(pemilihanId, this::buildMatrix));
+    }
+
+    private ProgressMatrixResponse buildMatrix(Long pemilihanId) {
+        Pemilihan pemilihan = pemilihanRepository.findById(pemilihanId).orElse(null);
+        if (pemilihan == null) {
+            return null;
+        }
+
+        // Columns: every active tahapan of every laporan shown in the pemilihan
+        Map<Long, String> laporanNames = new LinkedHashMap<>();
+        for (DetailPemilihan detail : detailPemilihanRepository.findByPemilihanIdWithLaporanOrderByUrutan(pemilihanId)) {
+            if (detail.getLaporan() != null) {
+                laporanNames.putIfAbsent(detail.getLaporan().getLaporanId(), detail.getLaporan().getNamaLaporan());
+            }
+        }
+
+        Map<Long, List<Long>> tahapanByLaporan = new HashMap<>();
+        if (!laporanNames.isEmpty()) {
+            for (Object[] row : detailLaporanRepository.findTahapanLinksByLaporanIds(laporanNames.keySet())) {
+                tahapanByLaporan.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            }
+        }
+
+        LaporanCatalogService.Catalog catalog = laporanCatalogService.getCatalog();
+        List<ProgressMatrixResponse.ProgressColumn> columns = new ArrayList<>();
+        Map<ColumnKey, Integer> columnIndex = new HashMap<>();
+        laporanNames.forEach((laporanId, namaLaporan) -> {
+            for (Long tahapanId : tahapanByLaporan.getOrDefault(laporanId, List.of())) {
+                LaporanCatalogService.TahapanEntry tahapan = catalog.tahapanById().get(tahapanId);
+                if (tahapan == null || !tahapan.isActive()
+                        || columnIndex.putIfAbsent(new ColumnKey(laporanId, tahapanId), columns.size()) != null) {
+                    continue;
+                }
+                columns.add(new ProgressMatrixResponse.ProgressColumn(laporanId, namaLaporan, tahapanId,
+                    tahapan.nama(), tahapan.jenisLaporanNama(), 0, 0.0));
+            }
+        });
+
+        // Rows: assigned pegawai first, then pegawai that only appear in the cells
+        List<SubmissionProgress> cells = progressRepository.findByPemilihanId(pemilihanId);
+        Map<Long, ProgressMatrixResponse.ProgressRow> rows = new LinkedHashMap<>();
+        for (Object[] pegawai : pegawaiRepository.findSummaryByPemilihanId(pemilihanId)) {
+            rows.put((Long) pegawai[0], newRow(pegawai, columns.size()));
+        }
+        Set<Long> unassigned = new LinkedHashSet<>();
+        for (SubmissionProgress cell : cells) {
+            if (!rows.containsKey(cell.getPegawaiId())) {
+                unassigned.add(cell.getPegawaiId());
+            }
+        }
+        if (!unassigned.isEmpty()) {
+            for (Object[] pegawai : pegawaiRepository.findSummaryByIdIn(unassigned)) {
+                rows.put((Long) pegawai[0], newRow(pegawai, columns.size()));
+            }
+        }
+
+        long completedCells = 0;
+        for (SubmissionProgress cell : cells) {
+            Integer index = columnIndex.get(new ColumnKey(cell.getLaporanId(), cell.getTahapanLaporanId()));
+            ProgressMatrixResponse.ProgressRow row = rows.get(cell.getPegawaiId());
+            if (index == null || row == null) {
+                continue;
+            }
+            row.getStatuses().set(index, cell.getLatestStatus() != null ? cell.getLatestStatus().name() : null);
+            row.getCounts().set(index, cell.getSubmissionCount());
+            if (COMPLETED_STATUSES.contains(cell.getLatestStatus())) {
+                row.setCompleted(row.getCompleted() + 1);
+                ProgressMatrixResponse.ProgressColumn column = columns.get(index);
+                column.setCompleted(column.getCompleted() + 1);
+                completedCells++;
+            }
+        }
+
+        List<ProgressMatrixResponse.ProgressRow> sortedRows = new ArrayList<>(rows.values());
+        sortedRows.sort(Comparator.comparing(ProgressMatrixResponse.ProgressRow::getFullName,
+            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        for (ProgressMatrixResponse.ProgressRow row : sortedRows) {
+            row.setCompletionPercentage(percentage(row.getCompleted(), columns.size()));
+        }
+        for (ProgressMatrixResponse.ProgressColumn column : columns) {
+            column.setCompletionPercentage(percentage(column.getCompleted(), sortedRows.size()));
+        }
+
+        long totalCells = (long) columns.size() * sortedRows.size();
+        return new ProgressMatrixResponse(pemilihanId, pemilihan.getNamaPemilihan(), columns, sortedRows,
+            sortedRows.size(), totalCells, completedCells, percentage(completedCells, totalCells), LocalDateTime.now());
+    }
+
+    private static ProgressMatrixResponse.ProgressRow newRow(Object[] pegawai, int columnCount) {
+        return new ProgressMatrixResponse.ProgressRow((Long) pegawai[0], (String) pegawai[1], (String) pegawai[2],
+            new ArrayList<>(Collections.nCopies(columnCount, (String) null)),
+            new ArrayList<>(Collections.nCopies(columnCount, 0)), 0, 0.0);
+    }
+
+    private static double percentage(long part, long total) {
+        return total == 0 ? 0.0 : Math.round(part * 1000.0 / total) / 10.0;
+    }
+}
@@ -29,29 +29,30 @@ public class TahapanLaporanService {
     private final TahapanLaporanRepository tahapanLaporanRepository;
     private final JenisLaporanRepository jenisLaporanRepository;
     private final ObjectMapper objectMapper;
+    private final LaporanCatalogService laporanCatalogService;
     
     // Get tahapan by jenis laporan
     public List<TahapanLaporanDto> getTahapanByJenisLaporan(Long jenisLaporanId) {
-        List<TahapanLaporan> tahapanList = tahapanLaporanRepository
-                .findByJenisLaporanJenisLaporanIdOrderByUrutanTahapanAsc(jenisLaporanId);
-        return tahapanList.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return laporanCatalogService.getJenis(jenisLaporanId)
+                .map(jenis -> jenis.tahapan().stream()
+                        .map(LaporanCatalogService.TahapanEntry::toDto)
+                        .collect(Collectors.toList()))
+                .orElseGet(List::of);
     }
     
     // Get active tahapan by jenis laporan
     public List<TahapanLaporanDto> getActiveTahapanByJenisLaporan(Long jenisLaporanId) {
-        List<TahapanLaporan> tahapanList = tahapanLaporanRepository
-                .findActiveTahapanByJenisLaporan(jenisLaporanId);
-        return tahapanList.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return laporanCatalogService.getJenis(jenisLaporanId)
+                .map(jenis -> jenis.activeTahapan().stream()
+                        .map(LaporanCatalogService.TahapanEntry::toDto)
+                        .collect(Collectors.toList()))
+                .orElseGet(List::of);
     }
     
     // Get tahapan by ID
     public Optional<TahapanLaporanDto> getTahapanById(Long id) {
-        return tahapanLaporanRepository.findById(id)
-                .map(this::convertToDto);
+        return laporanCatalogService.getTahapan(id)
+                .map(LaporanCatalogService.TahapanEntry::toDto);
     }
     
     // Create tahapan
@@ -83,6 +84,7 @@ public class TahapanLaporanService {
         }
         
         TahapanLaporan savedTahapan = tahapanLaporanRepository.save(tahapan);
+        laporanCatalogService.invalidate();
         return convertToDto(savedTahapan);
     }
     
@@ -119,6 +121,7 @@ public class TahapanLaporanService {
         }
         
         TahapanLaporan savedTahapan = tahapanLaporanRepository.save(existingTahapan);
+        laporanCatalogService.invalidate();
         return convertToDto(savedTahapan);
     }
     
@@ -131,6 +134,7 @@ public class TahapanLaporanService {
         tahapan.setStatus(TahapanLaporan.StatusTahapan.TIDAK_AKTIF);
         tahapan.setUpdatedAt(LocalDateTime.now());
         tahapanLaporanRepository.save(tahapan);
+        laporanCatalogService.invalidate();
     }
     
     // Hard delete tahapan
@@ -140,6 +144,7 @@ public class TahapanLaporanService {
             throw new RuntimeException("Tahapan tidak ditemukan");
         }
         tahapanLaporanRepository.deleteById(id);
+        laporanCatalogService.invalidate();
     }
     
     // Get next urutan for jenis laporan
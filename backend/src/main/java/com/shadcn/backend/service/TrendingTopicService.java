@@ -0,0 +1,247 @@
+package com.shadcn.backend.service;
+
+import com.shadcn.backend.model.PostKomunikasi;
+import com.shadcn.backend.repository.PostKomunikasiRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streaming hashtag/topic counter for the komunikasi feed.
+ *
+ * Topic counts are kept in hourly buckets over a sliding 7 day window and updated when posts
+ * are created or deleted, so the trending endpoint never scans post content. The top topics
+ * are kept as a precomputed snapshot that is refreshed on every change, so reads are O(K).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingTopicService {
+
+    private static final int WINDOW_HOURS = 7 * 24;
+    private static final int TOP_K = 5;
+
+    // Topic tag -> content keywords that imply it
+    private static final Map<String, List<String>> KEYWORD_TOPICS = new LinkedHashMap<>();
+    static {
+        KEYWORD_TOPICS.put("#Alumni2024", List.of("alumni", "lulusan"));
+        KEYWORD_TOPICS.put("#Kedokteran", List.of("kedokteran", "dokter", "medis"));
+        KEYWORD_TOPICS.put("#Networking", List.of("networking", "koneksi", "bertemu"));
+        KEYWORD_TOPICS.put("#Karir", List.of("karir", "kerja", "pekerjaan"));
+        KEYWORD_TOPICS.put("#Wisuda2024", List.of("wisuda", "graduation"));
+    }
+
+    private final PostKomunikasiRepository postRepository;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Hour index -> topic counts for posts created in that hour
+    private final Map<Long, Map<String, Integer>> buckets = new HashMap<>();
+    // Topic counts summed over all live buckets
+    private final Map<String, Integer> totals = new HashMap<>();
+
+    private volatile List<String> topTopics = List.of();
+
+    /**
+     * Rebuild the window from the database on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Full resync once a day, so drift from posts changed outside KomunikasiService does not accumulate.
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void rebuild() {
+        LocalDateTime since = LocalDateTime.now().minusHours(WINDOW_HOURS);
+        List<Object[]> rows = postRepository.findKontenAndCreatedAtSince(PostKomunikasi.StatusPost.AKTIF, since);
+
+        lock.lock();
+        try {
+            buckets.clear();
+            totals.clear();
+            for (Object[] row : rows) {
+                apply((String) row[0], (LocalDateTime) row[1], 1);
+            }
+            refreshTopTopics();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Trending topics rebuilt from {} posts", rows.size());
+    }
+
+    /**
+     * Drop buckets that fell out of the window at the start of every hour.
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public void evictExpiredBuckets() {
+        long oldestHour = hourIndex(LocalDateTime.now()) - WINDOW_HOURS;
+        lock.lock();
+        try {
+            boolean changed = false;
+            var iterator = buckets.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Map<String, Integer>> bucket = iterator.next();
+                if (bucket.getKey() <= oldestHour) {
+                    bucket.getValue().forEach((topic, count) -> addToTotals(topic, -count));
+                    iterator.remove();
+                    changed = true;
+                }
+            }
+            if (changed) {
+                refreshTopTopics();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordPost(String konten, LocalDateTime createdAt) {
+        afterCommit(() -> update(konten, createdAt, 1));
+    }
+
+    public void removePost(String konten, LocalDateTime createdAt) {
+        afterCommit(() -> update(konten, createdAt, -1));
+    }
+
+    public List<String> getTrendingTopics() {
+        return topTopics;
+    }
+
+    /**
+     * Inside a transaction the counters change only once it commits, so a rolled back post
+     * never shows up in the trending topics.
+     */
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void update(String konten, LocalDateTime createdAt, int sign) {
+        lock.lock();
+        try {
+            if (apply(konten, createdAt, sign)) {
+                refreshTopTopics();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean apply(String konten, LocalDateTime createdAt, int sign) {
+        if (konten == null || createdAt == null) {
+            return false;
+        }
+        long hour = hourIndex(createdAt);
+        if (hour <= hourIndex(LocalDateTime.now()) - WINDOW_HOURS) {
+            return false;
+        }
+
+        Map<String, Integer> topics = extractTopics(konten);
+        if (topics.isEmpty()) {
+            return false;
+        }
+
+        Map<String, Integer> bucket = buckets.computeIfAbsent(hour, h -> new HashMap<>());
+        topics.forEach((topic, count) -> {
+            bucket.merge(topic, sign * count, Integer::sum);
+            if (bucket.get(topic) <= 0) {
+                bucket.remove(topic);
+            }
+            addToTotals(topic, sign * count);
+        });
+        if (bucket.isEmpty()) {
+            buckets.remove(hour);
+        }
+        return true;
+    }
+
+    private void addToTotals(String topic, int delta) {
+        int updated = totals.getOrDefault(topic, 0) + delta;
+        if (updated > 0) {
+            totals.put(topic, updated);
+        } else {
+            totals.remove(topic);
+        }
+    }
+
+    private void refreshTopTopics() {
+        // Bounded min-heap: O(n log K) per change, reads just return the snapshot
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(TOP_K + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<String, Integer> entry : totals.entrySet()) {
+            heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+            if (heap.size() > TOP_K) {
+                heap.poll();
+            }
+        }
+
+        List<String> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().getKey());
+        }
+        Collections.reverse(result);
+        topTopics = Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Hashtags (counted per occurrence) plus the keyword-derived topics (once per post).
+     */
+    static Map<String, Integer> extractTopics(String konten) {
+        String content = konten.toLowerCase();
+        Map<String, Integer> topics = new HashMap<>();
+
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(content.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(content.charAt(i))) {
+                i++;
+            }
+            if (i - start > 1 && content.charAt(start) == '#') {
+                topics.merge(content.substring(start, i), 1, Integer::sum);
+            }
+        }
+
+        for (Map.Entry<String, List<String>> topic : KEYWORD_TOPICS.entrySet()) {
+            for (String keyword : topic.getValue()) {
+                if (content.contains(keyword)) {
+                    topics.merge(topic.getKey(), 1, Integer::sum);
+                    break;
+                }
+            }
+        }
+        return topics;
+    }
+
+    private static long hourIndex(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+}
@@ -27,6 +27,7 @@ public class UsulanService {
     private final VoteUsulanRepository voteUsulanRepository;
     private final KomentarUsulanRepository komentarUsulanRepository;
     private final KomentarUsulanVoteRepository komentarUsulanVoteRepository;
+    private final ReactionCounterService reactionCounterService;
     private final PelaksanaanRepository pelaksanaanRepository;
     private final ImageService imageService;    // Get active usulan with pagination and advanced filtering
     public Page<Usulan> getActiveUsulan(int page, int size, String search, String judul, 
@@ -173,14 +174,15 @@ public class UsulanService {
         
         // Check if user already voted
         Optional<VoteUsulan> existingVote = voteUsulanRepository.findByUsulanIdAndEmailVoter(usulanId, emailVoter);
+        VoteUsulan.TipeVote previousVote = existingVote.map(VoteUsulan::getTipeVote).orElse(null);
+        VoteUsulan.TipeVote currentVote = tipeVote;
         
         if (existingVote.isPresent()) {
             VoteUsulan vote = existingVote.get();
             // If same vote type, remove vote (toggle)
             if (vote.getTipeVote() == tipeVote) {
                 voteUsulanRepository.delete(vote);
-                updateUsulanVoteCount(usulan);
-                return;
+                currentVote = null;
             } else {
                 // Change vote type
                 vote.setTipeVote(tipeVote);
@@ -196,17 +198,7 @@ public class UsulanService {
             voteUsulanRepository.save(newVote);
         }
         
-        updateUsulanVoteCount(usulan);
-    }
-    
-    // Update vote count for usulan
-    private void updateUsulanVoteCount(Usulan usulan) {
-        long upvoteCount = voteUsulanRepository.countByUsulanIdAndTipeVote(usulan.getId(), VoteUsulan.TipeVote.UPVOTE);
-        long downvoteCount = voteUsulanRepository.countByUsulanIdAndTipeVote(usulan.getId(), VoteUsulan.TipeVote.DOWNVOTE);
-        
-        usulan.setJumlahUpvote(upvoteCount);
-        usulan.setJumlahDownvote(downvoteCount);
-        usulanRepository.save(usulan);
+        reactionCounterService.apply(usulan, usulanId, previousVote, currentVote, usulanRepository::applyReactionDelta);
     }
     
     // Get user's vote for usulan
@@ -248,34 +240,31 @@ public class UsulanService {
     
     // Get comments as DTOs to avoid lazy loading issues
     public Page<KomentarUsulanDto> getCommentsDto(Long usulanId, int page, int size) {
+        return getCommentsDto(usulanId, page, size, null);
+    }
+    
+    public Page<KomentarUsulanDto> getCommentsDto(Long usulanId, int page, int size, Long currentUserId) {
         Pageable pageable = PageRequest.of(page, size);
         Page<KomentarUsulanDto> parentComments = komentarUsulanRepository.findParentCommentsDtoByUsulanId(usulanId, pageable);
+        if (parentComments.isEmpty()) {
+            return parentComments;
+        }
         
-        // For each parent comment, fetch its replies recursively
-        parentComments.getContent().forEach(comment -> {
-            List<KomentarUsulanDto> replies = getRepliesRecursively(comment.getId());
-            comment.setReplies(replies);
-        });
+        // All replies below this page in one query by root_id, the threads are built in memory
+        List<KomentarUsulanDto> thread = CommentThreadAssembler.attachReplies(parentComments.getContent(),
+            komentarUsulanRepository::findRepliesDtoByRootIds,
+            KomentarUsulanDto::getId, KomentarUsulanDto::getParentId, KomentarUsulanDto::setReplies);
+        if (currentUserId != null) {
+            CommentThreadAssembler.attachViewerVotes(thread,
+                ids -> CommentThreadAssembler.votesByCommentId(komentarUsulanVoteRepository.findVoteTypesByKomentarIds(ids, currentUserId)),
+                KomentarUsulanDto::getId, KomentarUsulanDto::setUserVote);
+        }
         
         return parentComments;
     }
     
-    // Recursively fetch replies and their nested replies
-    private List<KomentarUsulanDto> getRepliesRecursively(Long parentId) {
-        List<KomentarUsulanDto> replies = komentarUsulanRepository.findRepliesDtoByParentId(parentId);
-        
-        // For each reply, get its nested replies
-        replies.forEach(reply -> {
-            List<KomentarUsulanDto> nestedReplies = getRepliesRecursively(reply.getId());
-            if (!nestedReplies.isEmpty()) {
-                reply.setReplies(nestedReplies);
-            }
-        });
-        
-        return replies;
-    }
-    
     // Like a comment
+    @Transactional
     public KomentarUsulan likeComment(Long commentId, Long biografiId, String userName) {
         Optional<KomentarUsulan> komentarOpt = komentarUsulanRepository.findById(commentId);
         if (komentarOpt.isEmpty()) {
@@ -286,6 +275,8 @@ public class UsulanService {
         
         // Check if user already voted
         Optional<KomentarUsulanVote> existingVote = komentarUsulanVoteRepository.findByKomentarIdAndBiografiId(commentId, biografiId);
+        KomentarUsulanVote.VoteType previousType = existingVote.map(KomentarUsulanVote::getVoteType).orElse(null);
+        KomentarUsulanVote.VoteType currentType = previousType == KomentarUsulanVote.VoteType.LIKE ? null : KomentarUsulanVote.VoteType.LIKE;
           if (existingVote.isPresent()) {
             KomentarUsulanVote vote = existingVote.get();
             if (vote.getVoteType() == KomentarUsulanVote.VoteType.LIKE) {
@@ -307,12 +298,13 @@ public class UsulanService {
             komentarUsulanVoteRepository.save(newVote);
         }
         
-        // Update counters based on actual votes
-        updateKomentarCounters(komentar);
-        return komentarUsulanRepository.save(komentar);
+        // Apply the vote transition to the denormalized counters
+        reactionCounterService.apply(komentar, commentId, previousType, currentType, komentarUsulanRepository::applyReactionDelta);
+        return komentar;
     }
     
     // Dislike a comment
+    @Transactional
     public KomentarUsulan dislikeComment(Long commentId, Long biografiId, String userName) {
         Optional<KomentarUsulan> komentarOpt = komentarUsulanRepository.findById(commentId);
         if (komentarOpt.isEmpty()) {
@@ -323,6 +315,8 @@ public class UsulanService {
         
         // Check if user already voted
         Optional<KomentarUsulanVote> existingVote = komentarUsulanVoteRepository.findByKomentarIdAndBiografiId(commentId, biografiId);
+        KomentarUsulanVote.VoteType previousType = existingVote.map(KomentarUsulanVote::getVoteType).orElse(null);
+        KomentarUsulanVote.VoteType currentType = previousType == KomentarUsulanVote.VoteType.DISLIKE ? null : KomentarUsulanVote.VoteType.DISLIKE;
         
         if (existingVote.isPresent()) {
             KomentarUsulanVote vote = existingVote.get();
@@ -345,16 +339,9 @@ public class UsulanService {
             komentarUsulanVoteRepository.save(newVote);
         }
         
-        // Update counters based on actual votes
-        updateKomentarCounters(komentar);
-        return komentarUsulanRepository.save(komentar);
-    }
-    
-    private void updateKomentarCounters(KomentarUsulan komentar) {
-        long likes = komentarUsulanVoteRepository.countLikesByKomentarId(komentar.getId());
-        long dislikes = komentarUsulanVoteRepository.countDislikesByKomentarId(komentar.getId());
-        komentar.setLikes((int) likes);
-        komentar.setDislikes((int) dislikes);
+        // Apply the vote transition to the denormalized counters
+        reactionCounterService.apply(komentar, commentId, previousType, currentType, komentarUsulanRepository::applyReactionDelta);
+        return komentar;
     }
     
     // Get comment count for usulan
@@ -0,0 +1,191 @@
+package com.shadcn.backend.service;
+
+import com.shadcn.backend.model.Invitation;
+import com.shadcn.backend.model.WhatsAppOutbox;
+import com.shadcn.backend.repository.InvitationRepository;
+import com.shadcn.backend.repository.WhatsAppOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persistent outbound WhatsApp queue.
+ *
+ * Callers enqueue messages inside their own transaction, so a message is only sent when the
+ * invitation (or whatever triggered it) is committed. {@link WhatsAppQueueWorker} claims due
+ * rows, dispatches them and reports back here; delivery status is written to the linked
+ * invitation once the message is sent or has exhausted its retries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WhatsAppQueueService {
+
+    private final WhatsAppOutboxRepository outboxRepository;
+    private final InvitationRepository invitationRepository;
+
+    @Value("${whatsapp.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${whatsapp.queue.backoff-initial-seconds:30}")
+    private long backoffInitialSeconds;
+
+    @Value("${whatsapp.queue.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    /**
+     * Queue a message; {@code invitationId} may be null for plain notifications.
+     */
+    @Transactional
+    public WhatsAppOutbox enqueue(String nomorHp, String message, Long invitationId) {
+        WhatsAppOutbox outbox = outboxRepository.save(new WhatsAppOutbox(nomorHp, message, invitationId));
+        log.debug("WhatsApp message {} queued for {}", outbox.getId(), nomorHp);
+        return outbox;
+    }
+
+    /**
+     * Queue an invitation message unless one is already on its way. A message still waiting
+     * for its (next) attempt is reused with the new text and made due now; a message being
+     * sent right now is left to finish. Either way the invitation is delivered once.
+     */
+    @Transactional
+    public void enqueueForInvitation(String nomorHp, String message, Long invitationId) {
+        if (outboxRepository.refreshPending(invitationId, nomorHp, message, LocalDateTime.now()) > 0) {
+            log.debug("Pending WhatsApp message for invitation {} rescheduled", invitationId);
+            return;
+        }
+        if (outboxRepository.existsByInvitationIdAndStatus(invitationId, WhatsAppOutbox.OutboxStatus.SENDING)) {
+            log.debug("WhatsApp message for invitation {} is already being sent", invitationId);
+            return;
+        }
+        enqueue(nomorHp, message, invitationId);
+    }
+
+    /**
+     * Claim up to {@code limit} due messages for dispatch.
+     */
+    @Transactional
+    public List<WhatsAppOutbox> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxRepository.findDueIds(now, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String token = UUID.randomUUID().toString();
+        if (outboxRepository.claim(ids, token, now) == 0) {
+            return List.of();
+        }
+        return outboxRepository.findByClaimTokenAndStatusOrderByIdAsc(token, WhatsAppOutbox.OutboxStatus.SENDING);
+    }
+
+    /**
+     * Record the outcome of one dispatched chunk. {@code results} maps outbox id to the WhatsApp
+     * message id, or to null when that message was not accepted. Only rows still holding the
+     * chunk's claim are updated: a row released as stale meanwhile may belong to another worker.
+     */
+    @Transactional
+    public void recordResults(List<WhatsAppOutbox> dispatched, Map<Long, String> results, String error) {
+        if (dispatched.isEmpty() || dispatched.get(0).getClaimToken() == null) {
+            return;
+        }
+        Map<Long, WhatsAppOutbox> stillClaimed = new HashMap<>();
+        for (WhatsAppOutbox outbox : outboxRepository.findByClaimTokenAndStatusOrderByIdAsc(
+                dispatched.get(0).getClaimToken(), WhatsAppOutbox.OutboxStatus.SENDING)) {
+            stillClaimed.put(outbox.getId(), outbox);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WhatsAppOutbox> updated = new ArrayList<>(dispatched.size());
+        for (WhatsAppOutbox claimed : dispatched) {
+            WhatsAppOutbox outbox = stillClaimed.get(claimed.getId());
+            if (outbox == null) {
+                log.warn("WhatsApp message {} was released while being dispatched, result ignored", claimed.getId());
+                continue;
+            }
+            updated.add(outbox);
+            String messageId = results.get(outbox.getId());
+            outbox.setAttempts(outbox.getAttempts() + 1);
+            outbox.setClaimToken(null);
+
+            if (messageId != null) {
+                outbox.setStatus(WhatsAppOutbox.OutboxStatus.SENT);
+                outbox.setWhatsappMessageId(messageId);
+                outbox.setSentAt(now);
+                outbox.setLastError(null);
+                updateInvitation(outbox.getInvitationId(), messageId);
+            } else if (outbox.getAttempts() >= maxAttempts) {
+                outbox.setStatus(WhatsAppOutbox.OutboxStatus.FAILED);
+                outbox.setLastError(truncate(error));
+                updateInvitation(outbox.getInvitationId(), null);
+                log.error("WhatsApp message {} to {} failed after {} attempts: {}",
+                    outbox.getId(), outbox.getNomorHp(), outbox.getAttempts(), error);
+            } else {
+                outbox.setStatus(WhatsAppOutbox.OutboxStatus.PENDING);
+                outbox.setLastError(truncate(error));
+                outbox.setNextAttemptAt(now.plusSeconds(backoffSeconds(outbox.getAttempts())));
+                log.warn("WhatsApp message {} to {} failed (attempt {}), retrying at {}: {}",
+                    outbox.getId(), outbox.getNomorHp(), outbox.getAttempts(), outbox.getNextAttemptAt(), error);
+            }
+        }
+        outboxRepository.saveAll(updated);
+    }
+
+    /**
+     * Return rows stuck in SENDING (worker crashed or shut down mid-dispatch) to the queue.
+     */
+    @Transactional
+    public int releaseStale(LocalDateTime before) {
+        return outboxRepository.releaseStale(before);
+    }
+
+    public Map<String, Long> getQueueStatistics() {
+        return Map.of(
+            "pending", outboxRepository.countByStatus(WhatsAppOutbox.OutboxStatus.PENDING),
+            "sending", outboxRepository.countByStatus(WhatsAppOutbox.OutboxStatus.SENDING),
+            "sent", outboxRepository.countByStatus(WhatsAppOutbox.OutboxStatus.SENT),
+            "failed", outboxRepository.countByStatus(WhatsAppOutbox.OutboxStatus.FAILED)
+        );
+    }
+
+    private void updateInvitation(Long invitationId, String messageId) {
+        if (invitationId == null) {
+            return;
+        }
+        invitationRepository.findById(invitationId).ifPresent(invitation -> {
+            // Used or cancelled while the message was queued: keep that status
+            if (invitation.isUsed() || invitation.isCancelled()) {
+                return;
+            }
+            if (messageId != null) {
+                invitation.markAsSent(messageId);
+            } else if (invitation.getStatus() == Invitation.InvitationStatus.PENDING) {
+                invitation.markAsFailed();
+            }
+            invitationRepository.save(invitation);
+        });
+    }
+
+    // Exponential backoff: initial, 2x, 4x, ... capped at the configured maximum
+    private long backoffSeconds(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        return Math.min(backoffInitialSeconds * factor, backoffMaxSeconds);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= 500) {
+            return error;
+        }
+        return error.substring(0, 500);
+    }
+}
@@ -0,0 +1,194 @@
+package com.shadcn.backend.service;
+
+import com.shadcn.backend.model.WhatsAppOutbox;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the WhatsApp outbox on a small pool of worker threads.
+ *
+ * Every poll claims a batch of due messages, splits it into bulk requests of
+ * {@code whatsapp.queue.batch-size} and dispatches them in parallel, throttled by a token bucket
+ * shared by all workers ({@code whatsapp.queue.rate-per-second} messages, bursting up to
+ * {@code whatsapp.queue.burst}). Request threads never wait for the WhatsApp API.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WhatsAppQueueWorker {
+
+    private final WhatsAppQueueService queueService;
+    private final WhatsAppService whatsAppService;
+
+    @Value("${whatsapp.queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${whatsapp.queue.workers:2}")
+    private int workers;
+
+    @Value("${whatsapp.queue.batch-size:20}")
+    private int batchSize;
+
+    @Value("${whatsapp.queue.rate-per-second:2}")
+    private double ratePerSecond;
+
+    @Value("${whatsapp.queue.burst:20}")
+    private int burst;
+
+    @Value("${whatsapp.queue.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    private ExecutorService executor;
+    private TokenBucket tokenBucket;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "whatsapp-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A full bulk request must fit in the bucket
+        tokenBucket = new TokenBucket(ratePerSecond, Math.max(burst, batchSize));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${whatsapp.queue.poll-interval-ms:2000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+
+        List<WhatsAppOutbox> claimed;
+        try {
+            claimed = queueService.claimDue(Math.max(1, workers) * batchSize);
+        } catch (Exception e) {
+            log.error("Failed to claim WhatsApp outbox messages: {}", e.getMessage());
+            return;
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            List<WhatsAppOutbox> chunk = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+            futures.add(executor.submit(() -> dispatch(chunk)));
+        }
+
+        // Wait so that the next poll does not pile up work behind the rate limit
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("WhatsApp dispatch failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${whatsapp.queue.stale-check-interval-ms:300000}")
+    public void releaseStale() {
+        int released = queueService.releaseStale(LocalDateTime.now().minusMinutes(staleAfterMinutes));
+        if (released > 0) {
+            log.warn("Released {} stale WhatsApp outbox messages", released);
+        }
+    }
+
+    private void dispatch(List<WhatsAppOutbox> chunk) {
+        Map<Long, String> results = new HashMap<>();
+        String error = null;
+        try {
+            tokenBucket.acquire(chunk.size());
+
+            if (chunk.size() == 1) {
+                WhatsAppOutbox outbox = chunk.get(0);
+                results.put(outbox.getId(), whatsAppService.sendMessage(outbox.getNomorHp(), outbox.getMessage()));
+            } else {
+                List<WhatsAppService.BulkMessage> messages = new ArrayList<>(chunk.size());
+                for (WhatsAppOutbox outbox : chunk) {
+                    messages.add(new WhatsAppService.BulkMessage(outbox.getNomorHp(), outbox.getMessage()));
+                }
+                List<String> messageIds = whatsAppService.sendBulkMessages(messages);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.put(chunk.get(i).getId(), messageIds.get(i));
+                }
+                if (results.containsValue(null)) {
+                    error = "Pesan ditolak oleh WhatsApp API";
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Pengiriman dihentikan";
+        } catch (Exception e) {
+            error = e.getMessage();
+        }
+
+        queueService.recordResults(chunk, results, error);
+    }
+
+    /**
+     * Blocking token bucket shared by all worker threads. Waits outside the lock so a thread
+     * waiting for tokens does not block others from checking.
+     */
+    static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private final ReentrantLock lock = new ReentrantLock();
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double ratePerSecond, int capacity) {
+            this.tokensPerNano = Math.max(ratePerSecond, 0.001) / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        void acquire(int permits) throws InterruptedException {
+            double needed = Math.min(permits, capacity);
+            while (true) {
+                long waitNanos;
+                lock.lock();
+                try {
+                    long now = System.nanoTime();
+                    tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                    lastRefill = now;
+                    if (tokens >= needed) {
+                        tokens -= needed;
+                        return;
+                    }
+                    waitNanos = (long) Math.ceil((needed - tokens) / tokensPerNano);
+                } finally {
+                    lock.unlock();
+                }
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.shadcn.backend.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadcn.backend.config.AppMetrics;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class WhatsAppService {
@@ -37,6 +43,9 @@ public class WhatsAppService {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private AppMetrics appMetrics;
+    
     /**
      * Send invitation message via WhatsApp using Wablas API
      */
@@ -62,10 +71,74 @@ public class WhatsAppService {
         }
     }
     
+    /**
+     * Message for bulk dispatch
+     */
+    public record BulkMessage(String phoneNumber, String message) {
+    }
+    
+    /**
+     * Send several messages in one Wablas v2 request. Returns the message id of every message
+     * in input order; an entry is null when the API did not accept that message.
+     */
+    public List<String> sendBulkMessages(List<BulkMessage> messages) {
+        long startNanos = System.nanoTime();
+        try {
+            List<Map<String, String>> data = new ArrayList<>(messages.size());
+            for (BulkMessage message : messages) {
+                Map<String, String> item = new HashMap<>();
+                item.put("phone", formatPhoneNumberForWhatsApp(message.phoneNumber()));
+                item.put("message", message.message());
+                data.add(item);
+            }
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("Authorization", whatsappApiToken);
+            
+            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(Map.of("data", data), headers);
+            String url = whatsappApiUrl + "/api/v2/send-message";
+            
+            logger.info("Sending {} WhatsApp messages via {}", messages.size(), url);
+            
+            ResponseEntity<String> response = restTemplate.exchange(
+                url, HttpMethod.POST, requestEntity, String.class);
+            
+            if (response.getStatusCode() != HttpStatus.OK) {
+                throw new RuntimeException("WhatsApp API error: " + response.getStatusCode());
+            }
+            
+            JsonNode responseJson = objectMapper.readTree(response.getBody());
+            if (!responseJson.has("status") || !responseJson.get("status").asBoolean()) {
+                String errorMsg = responseJson.has("message") 
+                    ? responseJson.get("message").asText() 
+                    : "Unknown error";
+                throw new RuntimeException("WhatsApp API error: " + errorMsg);
+            }
+            
+            // Wablas echoes the messages in request order
+            JsonNode sent = responseJson.path("data").path("messages");
+            List<String> messageIds = new ArrayList<>(messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                JsonNode item = sent.path(i);
+                boolean accepted = item.has("id") && !"failed".equalsIgnoreCase(item.path("status").asText());
+                messageIds.add(accepted ? item.get("id").asText() : null);
+            }
+            int sentCount = (int) messageIds.stream().filter(Objects::nonNull).count();
+            appMetrics.whatsAppRequest("bulk", true, sentCount, messages.size() - sentCount, startNanos);
+            return messageIds;
+            
+        } catch (Exception e) {
+            appMetrics.whatsAppRequest("bulk", false, 0, messages.size(), startNanos);
+            logger.error("Error sending WhatsApp bulk message: {}", e.getMessage());
+            throw new RuntimeException("WhatsApp API error: " + e.getMessage());
+        }
+    }
+    
     /**
      * Build invitation message content
      */
-    private String buildInvitationMessage(String nama, String invitationToken) {
+    public String buildInvitationMessage(String nama, String invitationToken) {
         String registrationUrl = frontendUrl + "/register/invitation?token=" + invitationToken;
         
         return String.format(
@@ -89,6 +162,7 @@ public class WhatsAppService {
      * Send WhatsApp message using Wablas API (same as NotificationService)
      */
     private String sendWhatsAppMessage(String phoneNumber, String message) {
+        long startNanos = System.nanoTime();
         try {            // Clean and format phone number for WhatsApp
             String cleanPhone = formatPhoneNumberForWhatsApp(phoneNumber);
             
@@ -123,6 +197,7 @@ public class WhatsAppService {
                     String messageId = responseJson.has("data") && responseJson.get("data").has("id") 
                         ? responseJson.get("data").get("id").asText()
                         : "WA_" + System.currentTimeMillis();
+                    appMetrics.whatsAppRequest("single", true, 1, 0, startNanos);
                     return messageId;
                 } else {
                     String errorMsg = responseJson.has("message") 
@@ -137,6 +212,7 @@ public class WhatsAppService {
             }
             
         } catch (Exception e) {
+            appMetrics.whatsAppRequest("single", false, 0, 1, startNanos);
             logger.error("Error sending WhatsApp message: {}", e.getMessage(), e);
             throw new RuntimeException("WhatsApp API error: " + e.getMessage());
         }
@@ -1,15 +1,36 @@
 package com.shadcn.backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.shadcn.backend.model.*;
 import com.shadcn.backend.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @Slf4j
@@ -30,6 +51,62 @@ public class WilayahCacheService {
     @Autowired
     private WilayahService wilayahService;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Upserts run in a transaction of their own: callers such as BiografiService are read-only
+    private TransactionTemplate upsertTransaction;
+    
+    // Upserts requested inside a caller's transaction run here, on a thread holding no other connection
+    private ExecutorService upsertExecutor;
+    
+    private static final int IN_CHUNK_SIZE = 1000;
+    
+    // kode -> nama, in front of the wilayah tables; names practically never change
+    private final Cache<String, String> names = Caffeine.newBuilder()
+        .maximumSize(100_000)
+        .expireAfterWrite(Duration.ofHours(24))
+        .recordStats()
+        .build();
+    
+    private static final String UPSERT_PROVINSI =
+        "INSERT INTO wilayah_provinsi (kode, nama, created_at, updated_at) VALUES (?, ?, NOW(), NOW()) " +
+        "ON DUPLICATE KEY UPDATE nama = VALUES(nama), updated_at = NOW()";
+    
+    private static final String UPSERT_KOTA =
+        "INSERT INTO wilayah_kota (kode, nama, provinsi_kode, created_at, updated_at) VALUES (?, ?, ?, NOW(), NOW()) " +
+        "ON DUPLICATE KEY UPDATE nama = VALUES(nama), provinsi_kode = VALUES(provinsi_kode), updated_at = NOW()";
+    
+    private static final String UPSERT_KECAMATAN =
+        "INSERT INTO wilayah_kecamatan (kode, nama, kota_kode, created_at, updated_at) VALUES (?, ?, ?, NOW(), NOW()) " +
+        "ON DUPLICATE KEY UPDATE nama = VALUES(nama), kota_kode = VALUES(kota_kode), updated_at = NOW()";
+    
+    private static final String UPSERT_KELURAHAN =
+        "INSERT INTO wilayah_kelurahan (kode, nama, kecamatan_kode, kode_pos, created_at, updated_at) VALUES (?, ?, ?, ?, NOW(), NOW()) " +
+        "ON DUPLICATE KEY UPDATE nama = VALUES(nama), kecamatan_kode = VALUES(kecamatan_kode), kode_pos = VALUES(kode_pos), updated_at = NOW()";
+    
+    @PostConstruct
+    public void init() {
+        upsertTransaction = new TransactionTemplate(transactionManager);
+        upsertExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wilayah-upsert");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CaffeineCacheMetrics.monitor(meterRegistry, names, "wilayah-names");
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        upsertExecutor.shutdown();
+    }
+    
     /**
      * Get or fetch provinsi by code
      */
@@ -97,37 +174,19 @@ public class WilayahCacheService {
         log.info("Kelurahan {} not in cache, fetching from wilayah.id API", kode);
         return fetchAndCacheKelurahan(kode);
     }
-      /**
-     * Fetch provinsi from API and cache it
+    
+    /**
+     * Fetch provinsi from API and cache it, together with every other provinsi in the response.
+     * The provinsi is built from the API row; see {@link #upsert} for when its row is written.
      */
-    @SuppressWarnings("unchecked")
     private WilayahProvinsi fetchAndCacheProvinsi(String kode) {
         try {
-            // Get all provinsi and find the one with matching code
-            Map<String, Object> response = wilayahService.getProvinces();
-            
-            if (response.containsKey("error") && (Boolean) response.get("error")) {
-                throw new RuntimeException("Error from wilayah.id API: " + response.get("message"));
-            }
-              java.util.List<Map<String, Object>> provinsiList = 
-                (java.util.List<Map<String, Object>>) response.get("data");
-            
-            Optional<Map<String, Object>> provinsiOpt = provinsiList.stream()
-                .filter(p -> kode.equals(p.get("code")))
-                .findFirst();
-                
-            if (provinsiOpt.isPresent()) {
-                var provinsi = provinsiOpt.get();
-                WilayahProvinsi entity = new WilayahProvinsi();
-                entity.setKode((String) provinsi.get("code"));
-                entity.setNama((String) provinsi.get("name"));
-                
-                WilayahProvinsi saved = provinsiRepository.save(entity);
-                log.info("Cached new provinsi: {} - {}", saved.getKode(), saved.getNama());
-                return saved;
-            } else {
-                throw new RuntimeException("Provinsi dengan kode " + kode + " tidak ditemukan di wilayah.id");
-            }
+            Map<String, Object> row = fetchRow(1, kode, "Provinsi");
+            WilayahProvinsi provinsi = new WilayahProvinsi();
+            provinsi.setKode(kode);
+            provinsi.setNama((String) row.get("name"));
+            log.info("Cached provinsi {} - {}", provinsi.getKode(), provinsi.getNama());
+            return provinsi;
         } catch (Exception e) {
             log.error("Error fetching provinsi {}: {}", kode, e.getMessage());
             throw new RuntimeException("Gagal mengambil data provinsi: " + e.getMessage());
@@ -135,40 +194,17 @@ public class WilayahCacheService {
     }
     
     /**
-     * Fetch kota from API and cache it
+     * Fetch kota from API and cache it, together with the other kota of its provinsi
      */
-    @SuppressWarnings("unchecked")
     private WilayahKota fetchAndCacheKota(String kode) {
         try {
-            // Extract provinsi code from kota code (e.g., "33.02" -> "33")
-            String provinsiKode = kode.split("\\.")[0];
-            
-            // Get regencies for this province
-            Map<String, Object> response = wilayahService.getRegencies(provinsiKode);
-            
-            if (response.containsKey("error") && (Boolean) response.get("error")) {
-                throw new RuntimeException("Error from wilayah.id API: " + response.get("message"));
-            }
-              java.util.List<Map<String, Object>> kotaList = 
-                (java.util.List<Map<String, Object>>) response.get("data");
-            
-            Optional<Map<String, Object>> kotaOpt = kotaList.stream()
-                .filter(k -> kode.equals(k.get("code")))
-                .findFirst();
-                
-            if (kotaOpt.isPresent()) {
-                var kota = kotaOpt.get();
-                WilayahKota entity = new WilayahKota();
-                entity.setKode((String) kota.get("code"));
-                entity.setNama((String) kota.get("name"));
-                entity.setProvinsiKode(provinsiKode);
-                
-                WilayahKota saved = kotaRepository.save(entity);
-                log.info("Cached new kota: {} - {}", saved.getKode(), saved.getNama());
-                return saved;
-            } else {
-                throw new RuntimeException("Kota dengan kode " + kode + " tidak ditemukan di wilayah.id");
-            }
+            Map<String, Object> row = fetchRow(2, kode, "Kota");
+            WilayahKota kota = new WilayahKota();
+            kota.setKode(kode);
+            kota.setNama((String) row.get("name"));
+            kota.setProvinsiKode(parentKode(kode));
+            log.info("Cached kota {} - {}", kota.getKode(), kota.getNama());
+            return kota;
         } catch (Exception e) {
             log.error("Error fetching kota {}: {}", kode, e.getMessage());
             throw new RuntimeException("Gagal mengambil data kota: " + e.getMessage());
@@ -176,41 +212,17 @@ public class WilayahCacheService {
     }
     
     /**
-     * Fetch kecamatan from API and cache it
+     * Fetch kecamatan from API and cache it, together with the other kecamatan of its kota
      */
-    @SuppressWarnings("unchecked")
     private WilayahKecamatan fetchAndCacheKecamatan(String kode) {
         try {
-            // Extract kota code from kecamatan code (e.g., "33.02.27" -> "33.02")
-            String[] parts = kode.split("\\.");
-            String kotaKode = parts[0] + "." + parts[1];
-            
-            // Get districts for this regency
-            Map<String, Object> response = wilayahService.getDistricts(kotaKode);
-            
-            if (response.containsKey("error") && (Boolean) response.get("error")) {
-                throw new RuntimeException("Error from wilayah.id API: " + response.get("message"));
-            }
-              java.util.List<Map<String, Object>> kecamatanList = 
-                (java.util.List<Map<String, Object>>) response.get("data");
-            
-            Optional<Map<String, Object>> kecamatanOpt = kecamatanList.stream()
-                .filter(k -> kode.equals(k.get("code")))
-                .findFirst();
-                
-            if (kecamatanOpt.isPresent()) {
-                var kecamatan = kecamatanOpt.get();
-                WilayahKecamatan entity = new WilayahKecamatan();
-                entity.setKode((String) kecamatan.get("code"));
-                entity.setNama((String) kecamatan.get("name"));
-                entity.setKotaKode(kotaKode);
-                
-                WilayahKecamatan saved = kecamatanRepository.save(entity);
-                log.info("Cached new kecamatan: {} - {}", saved.getKode(), saved.getNama());
-                return saved;
-            } else {
-                throw new RuntimeException("Kecamatan dengan kode " + kode + " tidak ditemukan di wilayah.id");
-            }
+            Map<String, Object> row = fetchRow(3, kode, "Kecamatan");
+            WilayahKecamatan kecamatan = new WilayahKecamatan();
+            kecamatan.setKode(kode);
+            kecamatan.setNama((String) row.get("name"));
+            kecamatan.setKotaKode(parentKode(kode));
+            log.info("Cached kecamatan {} - {}", kecamatan.getKode(), kecamatan.getNama());
+            return kecamatan;
         } catch (Exception e) {
             log.error("Error fetching kecamatan {}: {}", kode, e.getMessage());
             throw new RuntimeException("Gagal mengambil data kecamatan: " + e.getMessage());
@@ -218,48 +230,121 @@ public class WilayahCacheService {
     }
     
     /**
-     * Fetch kelurahan from API and cache it
+     * Fetch kelurahan from API and cache it, together with the other kelurahan of its kecamatan
      */
-    @SuppressWarnings("unchecked")
     private WilayahKelurahan fetchAndCacheKelurahan(String kode) {
         try {
-            // Extract kecamatan code from kelurahan code (e.g., "33.02.27.1003" -> "33.02.27")
-            String[] parts = kode.split("\\.");
-            String kecamatanKode = parts[0] + "." + parts[1] + "." + parts[2];
-            
-            // Get villages for this district
-            Map<String, Object> response = wilayahService.getVillages(kecamatanKode);
-            
-            if (response.containsKey("error") && (Boolean) response.get("error")) {
-                throw new RuntimeException("Error from wilayah.id API: " + response.get("message"));
-            }
-              java.util.List<Map<String, Object>> kelurahanList = 
-                (java.util.List<Map<String, Object>>) response.get("data");
-            
-            Optional<Map<String, Object>> kelurahanOpt = kelurahanList.stream()
-                .filter(k -> kode.equals(k.get("code")))
-                .findFirst();
-                
-            if (kelurahanOpt.isPresent()) {
-                var kelurahan = kelurahanOpt.get();
-                WilayahKelurahan entity = new WilayahKelurahan();
-                entity.setKode((String) kelurahan.get("code"));
-                entity.setNama((String) kelurahan.get("name"));
-                entity.setKecamatanKode(kecamatanKode);
-                entity.setKodePos((String) kelurahan.get("postal_code"));
-                
-                WilayahKelurahan saved = kelurahanRepository.save(entity);
-                log.info("Cached new kelurahan: {} - {}", saved.getKode(), saved.getNama());
-                return saved;
-            } else {
-                throw new RuntimeException("Kelurahan dengan kode " + kode + " tidak ditemukan di wilayah.id");
-            }
+            Map<String, Object> row = fetchRow(4, kode, "Kelurahan");
+            WilayahKelurahan kelurahan = new WilayahKelurahan();
+            kelurahan.setKode(kode);
+            kelurahan.setNama((String) row.get("name"));
+            kelurahan.setKecamatanKode(parentKode(kode));
+            kelurahan.setKodePos((String) row.get("postal_code"));
+            log.info("Cached kelurahan {} - {}", kelurahan.getKode(), kelurahan.getNama());
+            return kelurahan;
         } catch (Exception e) {
             log.error("Error fetching kelurahan {}: {}", kode, e.getMessage());
             throw new RuntimeException("Gagal mengambil data kelurahan: " + e.getMessage());
         }
     }
     
+    /**
+     * Fetch every region of a level below one parent from wilayah.id and upsert them.
+     *
+     * @param level      1 provinsi, 2 kota, 3 kecamatan, 4 kelurahan
+     * @param parentKode code of the parent region, ignored for provinsi
+     * @return the rows fetched, with a code and a name
+     */
+    private List<Map<String, Object>> fetchLevel(int level, String parentKode) {
+        return switch (level) {
+            case 1 -> upsert(UPSERT_PROVINSI, dataOf(wilayahService.getProvinces()), (ps, provinsi) -> {
+                ps.setString(1, (String) provinsi.get("code"));
+                ps.setString(2, (String) provinsi.get("name"));
+            });
+            case 2 -> upsert(UPSERT_KOTA, dataOf(wilayahService.getRegencies(parentKode)), (ps, kota) -> {
+                ps.setString(1, (String) kota.get("code"));
+                ps.setString(2, (String) kota.get("name"));
+                ps.setString(3, parentKode);
+            });
+            case 3 -> upsert(UPSERT_KECAMATAN, dataOf(wilayahService.getDistricts(parentKode)), (ps, kecamatan) -> {
+                ps.setString(1, (String) kecamatan.get("code"));
+                ps.setString(2, (String) kecamatan.get("name"));
+                ps.setString(3, parentKode);
+            });
+            case 4 -> upsert(UPSERT_KELURAHAN, dataOf(wilayahService.getVillages(parentKode)), (ps, kelurahan) -> {
+                ps.setString(1, (String) kelurahan.get("code"));
+                ps.setString(2, (String) kelurahan.get("name"));
+                ps.setString(3, parentKode);
+                ps.setString(4, (String) kelurahan.get("postal_code"));
+            });
+            default -> throw new IllegalArgumentException("Level wilayah tidak dikenal: " + level);
+        };
+    }
+    
+    // The API row of one region, fetched with the rest of the level below its parent
+    private Map<String, Object> fetchRow(int level, String kode, String label) {
+        return fetchLevel(level, parentKode(kode)).stream()
+            .filter(row -> kode.equals(row.get("code")))
+            .findFirst()
+            .orElseThrow(() -> new RuntimeException(label + " dengan kode " + kode + " tidak ditemukan di wilayah.id"));
+    }
+    
+    // "33.02.27" -> "33.02"; null for provinsi codes
+    private static String parentKode(String kode) {
+        int lastDot = kode.lastIndexOf('.');
+        return lastDot > 0 ? kode.substring(0, lastDot) : null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> dataOf(Map<String, Object> response) {
+        if (response == null) {
+            throw new RuntimeException("Tidak ada respon dari wilayah.id API");
+        }
+        if (Boolean.TRUE.equals(response.get("error"))) {
+            throw new RuntimeException("Error from wilayah.id API: " + response.get("message"));
+        }
+        Object data = response.get("data");
+        return data instanceof List<?> ? (List<Map<String, Object>>) data : List.of();
+    }
+    
+    /**
+     * Remember the names, then insert-or-update every row of a level in one batch. Concurrent
+     * callers that fetched the same list write the same values, so the race that used to end in
+     * a duplicate key is gone. The names are cached first so that a failed write does not send
+     * every later lookup back to wilayah.id.
+     *
+     * Inside a caller's transaction the batch is handed to the wilayah-upsert thread instead of
+     * running in a nested transaction: a nested one would take a second connection while the
+     * caller keeps its own, and enough such callers at once exhaust the pool (or the
+     * DatabaseConcurrencyConfig permits) with every holder waiting for one more. The upsert
+     * thread holds nothing while it waits. Lookups do not need the row, they read the names.
+     */
+    private List<Map<String, Object>> upsert(String sql, List<Map<String, Object>> rows,
+                                             ParameterizedPreparedStatementSetter<Map<String, Object>> setter) {
+        List<Map<String, Object>> valid = rows.stream()
+            .filter(row -> row.get("code") != null && row.get("name") != null)
+            .toList();
+        if (!valid.isEmpty()) {
+            for (Map<String, Object> row : valid) {
+                names.put((String) row.get("code"), (String) row.get("name"));
+            }
+            Runnable write = () -> upsertTransaction.executeWithoutResult(
+                status -> jdbcTemplate.batchUpdate(sql, valid, valid.size(), setter));
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                upsertExecutor.execute(() -> {
+                    try {
+                        write.run();
+                    } catch (Exception e) {
+                        log.warn("Could not store {} wilayah rows: {}", valid.size(), e.getMessage());
+                    }
+                });
+            } else {
+                write.run();
+            }
+        }
+        return valid;
+    }
+    
     /**
      * Get nama by kode for display purposes
      */
@@ -267,27 +352,91 @@ public class WilayahCacheService {
         if (kode == null || kode.isEmpty()) {
             return "";
         }
+        return resolveNames(List.of(kode)).getOrDefault(kode, kode);
+    }
+    
+    /**
+     * Resolve many codes at once: in-memory names first, then one findByKodeIn per level for
+     * the misses, then one wilayah.id call per parent for codes not in the database yet.
+     * Codes that cannot be resolved map to themselves, like {@link #getNamaByKode(String)}.
+     */
+    public Map<String, String> resolveNames(Collection<String> codes) {
+        Map<String, String> result = new LinkedHashMap<>();
+        Map<Integer, Set<String>> missesByLevel = new TreeMap<>();
+        for (String kode : codes) {
+            if (kode == null || kode.isEmpty() || result.containsKey(kode)) {
+                continue;
+            }
+            String nama = names.getIfPresent(kode);
+            if (nama != null) {
+                result.put(kode, nama);
+                continue;
+            }
+            int level = kode.split("\\.").length;
+            if (level > 4) {
+                result.put(kode, kode); // Return code if pattern doesn't match
+                continue;
+            }
+            missesByLevel.computeIfAbsent(level, l -> new LinkedHashSet<>()).add(kode);
+        }
+        if (missesByLevel.isEmpty()) {
+            return result;
+        }
         
-        try {
-            // Determine type by code pattern
-            String[] parts = kode.split("\\.");
-            
-            switch (parts.length) {
-                case 1: // Provinsi
-                    return getOrFetchProvinsi(kode).getNama();
-                case 2: // Kota
-                    return getOrFetchKota(kode).getNama();
-                case 3: // Kecamatan
-                    return getOrFetchKecamatan(kode).getNama();
-                case 4: // Kelurahan
-                    return getOrFetchKelurahan(kode).getNama();
-                default:
-                    return kode; // Return code if pattern doesn't match
+        // Database, one IN query per level
+        missesByLevel.forEach((level, misses) -> {
+            for (List<String> chunk : chunks(misses)) {
+                Map<String, String> found = findNames(level, chunk);
+                names.putAll(found);
+                result.putAll(found);
             }
-        } catch (Exception e) {
-            log.warn("Could not resolve name for kode {}: {}", kode, e.getMessage());
-            return kode; // Return code if lookup fails
+            misses.removeAll(result.keySet());
+        });
+        
+        // Remote, one call per parent; the whole level below that parent is stored on the way
+        missesByLevel.forEach((level, misses) -> {
+            Set<String> parents = new LinkedHashSet<>();
+            for (String kode : misses) {
+                parents.add(level == 1 ? "" : parentKode(kode));
+            }
+            for (String parent : parents) {
+                try {
+                    fetchLevel(level, parent.isEmpty() ? null : parent);
+                } catch (Exception e) {
+                    log.warn("Could not fetch wilayah level {} under {}: {}", level, parent, e.getMessage());
+                }
+            }
+            for (String kode : misses) {
+                String nama = names.getIfPresent(kode);
+                if (nama == null) {
+                    log.warn("Could not resolve name for kode {}", kode);
+                }
+                result.put(kode, nama != null ? nama : kode); // Return code if lookup fails
+            }
+        });
+        return result;
+    }
+    
+    private Map<String, String> findNames(int level, List<String> kodes) {
+        Map<String, String> found = new HashMap<>();
+        switch (level) {
+            case 1 -> provinsiRepository.findByKodeIn(kodes).forEach(w -> found.put(w.getKode(), w.getNama()));
+            case 2 -> kotaRepository.findByKodeIn(kodes).forEach(w -> found.put(w.getKode(), w.getNama()));
+            case 3 -> kecamatanRepository.findByKodeIn(kodes).forEach(w -> found.put(w.getKode(), w.getNama()));
+            case 4 -> kelurahanRepository.findByKodeIn(kodes).forEach(w -> found.put(w.getKode(), w.getNama()));
+            default -> {
+            }
+        }
+        return found;
+    }
+    
+    private static List<List<String>> chunks(Collection<String> kodes) {
+        List<String> all = new ArrayList<>(kodes);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += IN_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(i + IN_CHUNK_SIZE, all.size())));
         }
+        return chunks;
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.shadcn.backend.service;
 
+import com.shadcn.backend.config.CacheConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -10,6 +11,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Service
 public class WilayahService {
@@ -27,11 +31,27 @@ public class WilayahService {
     
     private final RestTemplate restTemplate;
     
+    // List key (e.g. "regencies/33") -> fetch currently running for it
+    private final ConcurrentHashMap<String, CompletableFuture<Map<String, Object>>> inFlightFetches = new ConcurrentHashMap<>();
+    
     public WilayahService() {
         this.restTemplate = new RestTemplate();
     }
-      @Cacheable(value = "provinces", unless = "#result == null")
+    
+    @Cacheable(value = CacheConfig.PROVINCES, unless = "#result == null || #result['error'] == true")
     public Map<String, Object> getProvinces() {
+        return fetchProvinces();
+    }
+    
+    /**
+     * Uncached API call; also used by the cache to refresh entries ahead of expiry. Concurrent
+     * calls for the same list share one request to wilayah.id.
+     */
+    public Map<String, Object> fetchProvinces() {
+        return singleFlight("provinces", this::requestProvinces);
+    }
+    
+    private Map<String, Object> requestProvinces() {
         if (!apiEnabled) {
             return createErrorResponse("Wilayah API is disabled");
         }
@@ -50,8 +70,17 @@ public class WilayahService {
             return createErrorResponse("Failed to fetch provinces: " + e.getMessage());
         }
     }
-      @Cacheable(value = "regencies", key = "#provinceCode", unless = "#result == null")
+    
+    @Cacheable(value = CacheConfig.REGENCIES, key = "#provinceCode", unless = "#result == null || #result['error'] == true")
     public Map<String, Object> getRegencies(String provinceCode) {
+        return fetchRegencies(provinceCode);
+    }
+    
+    public Map<String, Object> fetchRegencies(String provinceCode) {
+        return singleFlight("regencies/" + provinceCode, () -> requestRegencies(provinceCode));
+    }
+    
+    private Map<String, Object> requestRegencies(String provinceCode) {
         if (!apiEnabled) {
             return createErrorResponse("Wilayah API is disabled");
         }
@@ -70,8 +99,17 @@ public class WilayahService {
             return createErrorResponse("Failed to fetch regencies: " + e.getMessage());
         }
     }
-      @Cacheable(value = "districts", key = "#regencyCode", unless = "#result == null")
+    
+    @Cacheable(value = CacheConfig.DISTRICTS, key = "#regencyCode", unless = "#result == null || #result['error'] == true")
     public Map<String, Object> getDistricts(String regencyCode) {
+        return fetchDistricts(regencyCode);
+    }
+    
+    public Map<String, Object> fetchDistricts(String regencyCode) {
+        return singleFlight("districts/" + regencyCode, () -> requestDistricts(regencyCode));
+    }
+    
+    private Map<String, Object> requestDistricts(String regencyCode) {
         if (!apiEnabled) {
             return createErrorResponse("Wilayah API is disabled");
         }
@@ -90,8 +128,17 @@ public class WilayahService {
             return createErrorResponse("Failed to fetch districts: " + e.getMessage());
         }
     }
-      @Cacheable(value = "villages", key = "#districtCode", unless = "#result == null")
+    
+    @Cacheable(value = CacheConfig.VILLAGES, key = "#districtCode", unless = "#result == null || #result['error'] == true")
     public Map<String, Object> getVillages(String districtCode) {
+        return fetchVillages(districtCode);
+    }
+    
+    public Map<String, Object> fetchVillages(String districtCode) {
+        return singleFlight("villages/" + districtCode, () -> requestVillages(districtCode));
+    }
+    
+    private Map<String, Object> requestVillages(String districtCode) {
         if (!apiEnabled) {
             return createErrorResponse("Wilayah API is disabled");
         }
@@ -111,6 +158,30 @@ public class WilayahService {
         }
     }
     
+    /**
+     * Run the fetch unless one for the same key is already in flight, in which case wait for
+     * and return its result. Nothing is kept once the fetch completes.
+     */
+    private Map<String, Object> singleFlight(String key, Supplier<Map<String, Object>> fetch) {
+        CompletableFuture<Map<String, Object>> own = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> inFlight = inFlightFetches.putIfAbsent(key, own);
+        if (inFlight != null) {
+            logger.debug("Waiting for in-flight wilayah fetch: {}", key);
+            return inFlight.join();
+        }
+        
+        try {
+            Map<String, Object> response = fetch.get();
+            own.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightFetches.remove(key, own);
+        }
+    }
+    
     private Map<String, Object> createErrorResponse(String message) {
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", true);
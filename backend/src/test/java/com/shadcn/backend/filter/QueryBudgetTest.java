@@ -0,0 +1,84 @@
+package com.shadcn.backend.filter;
+
+import com.shadcn.backend.config.QueryBudgetProperties;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.util.AntPathMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * Query budgets of the key listing endpoints against the CI data set (prod,ci profiles: H2 in
+ * MySQL mode seeded by CiDataSeeder, strict budgets). Each endpoint must return rows and stay
+ * within its app.query-budget.endpoints entry; strict mode also answers 500 when it does not.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"prod", "ci"})
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryBudgetProperties queryBudgetProperties;
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource(delimiter = '|', textBlock = """
+        GET  | /api/pemilihan/search-paged?page=0&size=10     |
+        GET  | /api/pemilihan/search?keyword=CI                |
+        POST | /api/laporan/search                             | {"page":0,"size":10}
+        GET  | /api/komunikasi/feed?page=0&size=10             |
+        GET  | /api/detail-laporan/user/1?page=0&size=10       |
+        GET  | /api/detail-laporan/pegawai/1?page=0&size=10    |
+        """)
+    void endpointStaysWithinItsQueryBudget(String method, String path, String body) throws Exception {
+        MockHttpServletRequestBuilder builder = request(HttpMethod.valueOf(method), path);
+        if (body != null) {
+            builder.contentType(MediaType.APPLICATION_JSON).content(body);
+        }
+
+        QueryBudgetProperties.Endpoint budget = findBudget(method, path);
+        assertThat(budget).as("%s %s has no entry in app.query-budget.endpoints", method, path).isNotNull();
+        assertThat(budget.getMaxQueries()).as("%s %s has no query limit", method, path).isPositive();
+
+        MvcResult result = mockMvc.perform(builder).andReturn();
+
+        String queries = result.getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER);
+        String content = result.getResponse().getContentAsString();
+        assertThat(result.getResponse().getStatus())
+            .as("%s %s (%s queries): %s", method, path, queries, content)
+            .isEqualTo(200);
+        // Listings answer an empty page when they fail, which would pass any budget
+        assertThat(content).as("%s %s returned no rows", method, path)
+            .isNotEqualTo("[]")
+            .doesNotContain("\"content\":[]");
+        assertThat(queries).isNotNull();
+        assertThat(Integer.parseInt(queries))
+            .as("%s %s ran %s queries, budget %d", method, path, queries, budget.getMaxQueries())
+            .isLessThanOrEqualTo(budget.getMaxQueries());
+    }
+
+    private QueryBudgetProperties.Endpoint findBudget(String method, String path) {
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+        String uri = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+        for (QueryBudgetProperties.Endpoint endpoint : queryBudgetProperties.getEndpoints()) {
+            boolean methodMatches = endpoint.getMethod() == null || endpoint.getMethod().isBlank()
+                || endpoint.getMethod().equalsIgnoreCase(method);
+            if (methodMatches && endpoint.getPattern() != null && pathMatcher.match(endpoint.getPattern(), uri)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
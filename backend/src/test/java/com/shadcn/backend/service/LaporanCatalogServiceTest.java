@@ -0,0 +1,82 @@
+package com.shadcn.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadcn.backend.model.JenisLaporan;
+import com.shadcn.backend.model.TahapanLaporan;
+import com.shadcn.backend.repository.JenisLaporanRepository;
+import com.shadcn.backend.repository.TahapanLaporanRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The shared template catalog is never built from inside a write transaction, where it could
+ * pick up rows that are not committed yet.
+ */
+class LaporanCatalogServiceTest {
+
+    private final JenisLaporanRepository jenisLaporanRepository = mock(JenisLaporanRepository.class);
+    private final TahapanLaporanRepository tahapanLaporanRepository = mock(TahapanLaporanRepository.class);
+
+    private LaporanCatalogService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = new LaporanCatalogService(jenisLaporanRepository, tahapanLaporanRepository, new ObjectMapper());
+
+        JenisLaporan jenis = new JenisLaporan();
+        jenis.setJenisLaporanId(1L);
+        jenis.setNama("Laporan TPS");
+        TahapanLaporan tahapan = new TahapanLaporan();
+        tahapan.setTahapanLaporanId(10L);
+        tahapan.setJenisLaporan(jenis);
+        tahapan.setJenisFileIzin("[\"pdf\",\"jpg\"]");
+        when(jenisLaporanRepository.findAll()).thenReturn(List.of(jenis));
+        when(tahapanLaporanRepository.findAllWithJenisLaporan()).thenReturn(List.of(tahapan));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void catalogBuiltOutsideATransactionIsShared() {
+        catalogService.getCatalog();
+        catalogService.getCatalog();
+
+        verify(tahapanLaporanRepository, times(1)).findAllWithJenisLaporan();
+    }
+
+    @Test
+    void catalogBuiltInsideAWriteTransactionIsNotShared() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(catalogService.getAllowedTypes(10L)).containsExactly("pdf", "jpg");
+
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        catalogService.getCatalog();
+        catalogService.getCatalog();
+
+        verify(tahapanLaporanRepository, times(2)).findAllWithJenisLaporan();
+    }
+
+    @Test
+    void jenisFileIzinIsParsedFromTheEntity() {
+        TahapanLaporan tahapan = new TahapanLaporan();
+        tahapan.setJenisFileIzin("[\"docx\"]");
+
+        assertThat(catalogService.parseJenisFileIzin(tahapan)).containsExactly("docx");
+        verify(tahapanLaporanRepository, never()).findAllWithJenisLaporan();
+    }
+}
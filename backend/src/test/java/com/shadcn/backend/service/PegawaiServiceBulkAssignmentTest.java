@@ -0,0 +1,85 @@
+package com.shadcn.backend.service;
+
+import com.shadcn.backend.controller.PegawaiController;
+import com.shadcn.backend.dto.BulkPemilihanAssignmentRequest;
+import com.shadcn.backend.model.Pegawai;
+import com.shadcn.backend.repository.JabatanRepository;
+import com.shadcn.backend.repository.PegawaiRepository;
+import com.shadcn.backend.repository.PemilihanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Selection rules of PegawaiService.bulkAssignPemilihan: a request must name pegawai ids or at
+ * least one filter criterion, otherwise it is rejected before anything is written.
+ */
+class PegawaiServiceBulkAssignmentTest {
+
+    private final PegawaiRepository pegawaiRepository = mock(PegawaiRepository.class);
+    private final PemilihanRepository pemilihanRepository = mock(PemilihanRepository.class);
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+
+    private PegawaiService pegawaiService;
+
+    @BeforeEach
+    void setUp() {
+        pegawaiService = new PegawaiService(pegawaiRepository, pemilihanRepository, mock(JabatanRepository.class),
+            mock(PasswordEncoder.class), mock(WilayahCacheService.class), jdbcTemplate);
+    }
+
+    @Test
+    void requestWithoutIdsOrFilterIsRejected() {
+        BulkPemilihanAssignmentRequest request = request(List.of());
+        request.setJabatan(" ");
+
+        assertThatThrownBy(() -> pegawaiService.bulkAssignPemilihan(request))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("filter");
+        verifyNoInteractions(pegawaiRepository, pemilihanRepository, jdbcTemplate);
+    }
+
+    @Test
+    void requestWithoutIdsOrFilterIsABadRequest() {
+        PegawaiController controller = new PegawaiController(pegawaiService, mock(BulkPegawaiImportService.class));
+
+        ResponseEntity<?> response = controller.bulkAssignPemilihan(request(null));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void filterAloneSelectsThePegawai() {
+        BulkPemilihanAssignmentRequest request = request(null);
+        request.setStatus(Pegawai.PegawaiStatus.AKTIF);
+        when(pemilihanRepository.findExistingIds(any())).thenReturn(List.of(10L));
+        when(pegawaiRepository.findIdsByFilter(Pegawai.PegawaiStatus.AKTIF, null, null, null)).thenReturn(List.of());
+
+        assertThat(pegawaiService.bulkAssignPemilihan(request)).isNotNull();
+        verify(pegawaiRepository).findIdsByFilter(Pegawai.PegawaiStatus.AKTIF, null, null, null);
+        verify(pegawaiRepository, never()).findExistingIds(any());
+    }
+
+    private static BulkPemilihanAssignmentRequest request(List<Long> pegawaiIds) {
+        BulkPemilihanAssignmentRequest request = new BulkPemilihanAssignmentRequest();
+        request.setAction(BulkPemilihanAssignmentRequest.Action.ASSIGN);
+        request.setPemilihanIds(List.of(10L));
+        request.setPegawaiIds(pegawaiIds);
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+package com.shadcn.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpreadsheetRowReaderTest {
+
+    @Test
+    void semicolonFileKeepsCommasInsideValues() throws IOException {
+        List<List<String>> rows = read("""
+            nama;alamat;nomor hp
+            Budi Santoso;Jl. Pemuda No. 1, Semarang;081234567801
+            Siti;Jl. Merdeka;081234567802
+            """);
+
+        assertThat(rows).containsExactly(
+            List.of("nama", "alamat", "nomor hp"),
+            List.of("Budi Santoso", "Jl. Pemuda No. 1, Semarang", "081234567801"),
+            List.of("Siti", "Jl. Merdeka", "081234567802"));
+    }
+
+    @Test
+    void commaFileKeepsSemicolonsInsideValues() throws IOException {
+        List<List<String>> rows = read("""
+            nama,catatan
+            Budi,"pagi; sore"
+            Siti,hadir; terlambat
+            """);
+
+        assertThat(rows.get(1)).containsExactly("Budi", "pagi; sore");
+        assertThat(rows.get(2)).containsExactly("Siti", "hadir; terlambat");
+    }
+
+    @Test
+    void quotedValuesMaySpanLinesAndContainQuotes() throws IOException {
+        List<Integer> rowNumbers = new ArrayList<>();
+        List<List<String>> rows = new ArrayList<>();
+        String csv = "\uFEFFnama;alamat\n"
+            + "Budi;\"Jl. Pemuda No. 1\nRT 003 \"\"Blok A\"\"\"\n"
+            + "\n"
+            + "Siti;Jl. Merdeka\n";
+        SpreadsheetRowReader.readCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), (row, cells) -> {
+            rowNumbers.add(row);
+            rows.add(cells);
+        });
+
+        assertThat(rows).containsExactly(
+            List.of("nama", "alamat"),
+            List.of("Budi", "Jl. Pemuda No. 1\nRT 003 \"Blok A\""),
+            List.of("Siti", "Jl. Merdeka"));
+        assertThat(rowNumbers).containsExactly(1, 2, 5);
+    }
+
+    private static List<List<String>> read(String csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        SpreadsheetRowReader.readCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+            (row, cells) -> rows.add(cells));
+        return rows;
+    }
+}
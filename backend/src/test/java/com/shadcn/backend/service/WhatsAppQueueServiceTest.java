@@ -0,0 +1,190 @@
+package com.shadcn.backend.service;
+
+import com.shadcn.backend.model.Invitation;
+import com.shadcn.backend.model.WhatsAppOutbox;
+import com.shadcn.backend.repository.InvitationRepository;
+import com.shadcn.backend.repository.WhatsAppOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Claim, retry, dead-letter and release paths of the WhatsApp outbox, against mocked
+ * repositories.
+ */
+class WhatsAppQueueServiceTest {
+
+    private static final String TOKEN = "claim-1";
+
+    private final WhatsAppOutboxRepository outboxRepository = mock(WhatsAppOutboxRepository.class);
+    private final InvitationRepository invitationRepository = mock(InvitationRepository.class);
+
+    private WhatsAppQueueService queueService;
+
+    @BeforeEach
+    void setUp() {
+        queueService = new WhatsAppQueueService(outboxRepository, invitationRepository);
+        ReflectionTestUtils.setField(queueService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(queueService, "backoffInitialSeconds", 30L);
+        ReflectionTestUtils.setField(queueService, "backoffMaxSeconds", 3600L);
+    }
+
+    @Test
+    void claimDueReturnsTheRowsClaimedWithItsToken() {
+        WhatsAppOutbox first = sending(1L, 0, null);
+        WhatsAppOutbox second = sending(2L, 0, null);
+        when(outboxRepository.findDueIds(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(outboxRepository.claim(eq(List.of(1L, 2L)), anyString(), any(LocalDateTime.class))).thenReturn(2);
+        when(outboxRepository.findByClaimTokenAndStatusOrderByIdAsc(anyString(), eq(WhatsAppOutbox.OutboxStatus.SENDING)))
+            .thenReturn(List.of(first, second));
+
+        assertThat(queueService.claimDue(10)).containsExactly(first, second);
+    }
+
+    @Test
+    void claimDueReturnsNothingWhenAnotherWorkerClaimedFirst() {
+        when(outboxRepository.findDueIds(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L));
+        when(outboxRepository.claim(anyList(), anyString(), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThat(queueService.claimDue(10)).isEmpty();
+        verify(outboxRepository, never()).findByClaimTokenAndStatusOrderByIdAsc(anyString(), any());
+    }
+
+    @Test
+    void releaseStaleReturnsTheReleasedCount() {
+        LocalDateTime before = LocalDateTime.now().minusMinutes(10);
+        when(outboxRepository.releaseStale(before)).thenReturn(2);
+
+        assertThat(queueService.releaseStale(before)).isEqualTo(2);
+    }
+
+    @Test
+    void sentMessageMarksTheInvitationAsSent() {
+        WhatsAppOutbox outbox = sending(1L, 0, 7L);
+        Invitation invitation = new Invitation();
+        invitation.setStatus(Invitation.InvitationStatus.PENDING);
+        stillClaimed(outbox);
+        when(invitationRepository.findById(7L)).thenReturn(Optional.of(invitation));
+
+        queueService.recordResults(List.of(outbox), Map.of(1L, "msg-1"), null);
+
+        assertThat(outbox.getStatus()).isEqualTo(WhatsAppOutbox.OutboxStatus.SENT);
+        assertThat(outbox.getWhatsappMessageId()).isEqualTo("msg-1");
+        assertThat(outbox.getClaimToken()).isNull();
+        assertThat(invitation.getStatus()).isEqualTo(Invitation.InvitationStatus.SENT);
+    }
+
+    @Test
+    void failedAttemptIsRetriedWithExponentialBackoff() {
+        WhatsAppOutbox firstFailure = sending(1L, 0, null);
+        WhatsAppOutbox secondFailure = sending(2L, 1, null);
+        stillClaimed(firstFailure, secondFailure);
+
+        queueService.recordResults(List.of(firstFailure, secondFailure), failed(1L, 2L), "timeout");
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(firstFailure.getStatus()).isEqualTo(WhatsAppOutbox.OutboxStatus.PENDING);
+        assertThat(firstFailure.getAttempts()).isEqualTo(1);
+        assertThat(firstFailure.getNextAttemptAt()).isCloseTo(now.plusSeconds(30), within(5, ChronoUnit.SECONDS));
+        assertThat(firstFailure.getLastError()).isEqualTo("timeout");
+        assertThat(secondFailure.getAttempts()).isEqualTo(2);
+        assertThat(secondFailure.getNextAttemptAt()).isCloseTo(now.plusSeconds(60), within(5, ChronoUnit.SECONDS));
+        assertThat(secondFailure.getClaimToken()).isNull();
+    }
+
+    @Test
+    void lastAttemptMovesTheMessageToFailed() {
+        WhatsAppOutbox outbox = sending(1L, 2, 7L);
+        Invitation invitation = new Invitation();
+        invitation.setStatus(Invitation.InvitationStatus.PENDING);
+        stillClaimed(outbox);
+        when(invitationRepository.findById(7L)).thenReturn(Optional.of(invitation));
+
+        queueService.recordResults(List.of(outbox), failed(1L), "rejected");
+
+        assertThat(outbox.getStatus()).isEqualTo(WhatsAppOutbox.OutboxStatus.FAILED);
+        assertThat(outbox.getAttempts()).isEqualTo(3);
+        assertThat(invitation.getStatus()).isEqualTo(Invitation.InvitationStatus.FAILED);
+    }
+
+    @Test
+    void resultForARowReleasedMeanwhileIsIgnored() {
+        WhatsAppOutbox outbox = sending(1L, 0, null);
+        // releaseStale cleared the token, so nothing is claimed with it any more
+        when(outboxRepository.findByClaimTokenAndStatusOrderByIdAsc(TOKEN, WhatsAppOutbox.OutboxStatus.SENDING))
+            .thenReturn(List.of());
+
+        queueService.recordResults(List.of(outbox), Map.of(1L, "msg-1"), null);
+
+        assertThat(outbox.getStatus()).isEqualTo(WhatsAppOutbox.OutboxStatus.SENDING);
+        verify(outboxRepository).saveAll(List.of());
+    }
+
+    @Test
+    void resendReusesThePendingMessageOfTheInvitation() {
+        when(outboxRepository.refreshPending(eq(7L), eq("628123"), eq("halo"), any(LocalDateTime.class))).thenReturn(1);
+
+        queueService.enqueueForInvitation("628123", "halo", 7L);
+
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void resendDoesNotQueueWhileTheInvitationIsBeingSent() {
+        when(outboxRepository.existsByInvitationIdAndStatus(7L, WhatsAppOutbox.OutboxStatus.SENDING)).thenReturn(true);
+
+        queueService.enqueueForInvitation("628123", "halo", 7L);
+
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void resendQueuesANewMessageOtherwise() {
+        when(outboxRepository.save(any(WhatsAppOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        queueService.enqueueForInvitation("628123", "halo", 7L);
+
+        verify(outboxRepository).save(any(WhatsAppOutbox.class));
+    }
+
+    private static WhatsAppOutbox sending(Long id, int attempts, Long invitationId) {
+        WhatsAppOutbox outbox = new WhatsAppOutbox("628123", "halo", invitationId);
+        outbox.setId(id);
+        outbox.setAttempts(attempts);
+        outbox.setStatus(WhatsAppOutbox.OutboxStatus.SENDING);
+        outbox.setClaimToken(TOKEN);
+        return outbox;
+    }
+
+    private void stillClaimed(WhatsAppOutbox... rows) {
+        when(outboxRepository.findByClaimTokenAndStatusOrderByIdAsc(TOKEN, WhatsAppOutbox.OutboxStatus.SENDING))
+            .thenReturn(List.of(rows));
+    }
+
+    private static Map<Long, String> failed(Long... ids) {
+        Map<Long, String> results = new HashMap<>();
+        for (Long id : ids) {
+            results.put(id, null);
+        }
+        return results;
+    }
+}
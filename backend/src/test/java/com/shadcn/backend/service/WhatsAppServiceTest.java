@@ -0,0 +1,179 @@
+package com.shadcn.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadcn.backend.config.AppMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * WhatsAppService against a local stub of the Wablas API (JDK HttpServer), through a real
+ * RestTemplate with a short read timeout.
+ */
+class WhatsAppServiceTest {
+
+    private static final int READ_TIMEOUT_MS = 500;
+    private static final String TOKEN = "stub-token";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer server;
+    private WhatsAppService whatsAppService;
+
+    // What the stub answers and what it last received
+    private volatile int responseStatus;
+    private volatile String responseBody;
+    private volatile long responseDelayMs;
+    private final AtomicReference<String> lastPath = new AtomicReference<>();
+    private final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+    private final AtomicReference<String> lastBody = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(READ_TIMEOUT_MS);
+        requestFactory.setReadTimeout(READ_TIMEOUT_MS);
+
+        whatsAppService = new WhatsAppService();
+        ReflectionTestUtils.setField(whatsAppService, "whatsappApiUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(whatsAppService, "whatsappApiToken", TOKEN);
+        ReflectionTestUtils.setField(whatsAppService, "whatsappSender", "628000000000");
+        ReflectionTestUtils.setField(whatsAppService, "restTemplate", new RestTemplate(requestFactory));
+        ReflectionTestUtils.setField(whatsAppService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(whatsAppService, "appMetrics", new AppMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendBulkMessagesReturnsMessageIdsInRequestOrder() throws IOException {
+        respond(200, """
+            {"status": true, "data": {"messages": [
+              {"id": "msg-1", "status": "pending"},
+              {"id": "msg-2", "status": "failed"},
+              {"id": "msg-3", "status": "sent"}
+            ]}}""");
+
+        List<String> ids = whatsAppService.sendBulkMessages(List.of(
+            new WhatsAppService.BulkMessage("081234567801", "Pesan 1"),
+            new WhatsAppService.BulkMessage("+6281234567802", "Pesan 2"),
+            new WhatsAppService.BulkMessage("81234567803", "Pesan 3")));
+
+        assertThat(ids).containsExactly("msg-1", null, "msg-3");
+        assertThat(lastPath.get()).isEqualTo("/api/v2/send-message");
+        assertThat(lastAuthorization.get()).isEqualTo(TOKEN);
+
+        JsonNode data = objectMapper.readTree(lastBody.get()).path("data");
+        assertThat(data.size()).isEqualTo(3);
+        assertThat(data.path(0).path("phone").asText()).isEqualTo("+6281234567801");
+        assertThat(data.path(2).path("phone").asText()).isEqualTo("+6281234567803");
+        assertThat(data.path(1).path("message").asText()).isEqualTo("Pesan 2");
+
+        assertThat(meterRegistry.counter("app.whatsapp.messages", "mode", "bulk", "outcome", "sent").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("app.whatsapp.messages", "mode", "bulk", "outcome", "failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendMessageReturnsMessageIdOnSuccess() {
+        respond(200, "{\"status\": true, \"data\": {\"id\": \"msg-42\"}}");
+
+        String messageId = whatsAppService.sendMessage("081234567801", "Halo");
+
+        assertThat(messageId).isEqualTo("msg-42");
+        assertThat(lastPath.get()).isEqualTo("/api/send-message");
+        assertThat(lastAuthorization.get()).isEqualTo(TOKEN);
+    }
+
+    @Test
+    void sendBulkMessagesFailsWhenTheApiDoesNotAnswerInTime() {
+        respond(200, "{\"status\": true, \"data\": {\"messages\": []}}");
+        responseDelayMs = READ_TIMEOUT_MS * 4L;
+
+        assertThatThrownBy(() -> whatsAppService.sendBulkMessages(List.of(
+                new WhatsAppService.BulkMessage("081234567801", "Pesan 1"),
+                new WhatsAppService.BulkMessage("081234567802", "Pesan 2"))))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("WhatsApp API error")
+            .hasMessageContaining("timed out");
+
+        assertThat(meterRegistry.counter("app.whatsapp.messages", "mode", "bulk", "outcome", "failed").count()).isEqualTo(2);
+    }
+
+    @Test
+    void sendBulkMessagesFailsOnServerError() {
+        respond(500, "{\"status\": false, \"message\": \"internal error\"}");
+
+        assertThatThrownBy(() -> whatsAppService.sendBulkMessages(List.of(
+                new WhatsAppService.BulkMessage("081234567801", "Pesan 1"))))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("WhatsApp API error")
+            .hasMessageContaining("500");
+    }
+
+    @Test
+    void sendMessageFailsWhenTheApiRejectsTheMessage() {
+        respond(200, "{\"status\": false, \"message\": \"device disconnected\"}");
+
+        assertThatThrownBy(() -> whatsAppService.sendMessage("081234567801", "Halo"))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("device disconnected");
+    }
+
+    private void respond(int status, String body) {
+        responseStatus = status;
+        responseBody = body;
+        responseDelayMs = 0;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        lastPath.set(exchange.getRequestURI().getPath());
+        lastAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+        lastBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+        if (responseDelayMs > 0) {
+            try {
+                Thread.sleep(responseDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(responseStatus, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // The client gave up (timeout test)
+        } finally {
+            exchange.close();
+        }
+    }
+}
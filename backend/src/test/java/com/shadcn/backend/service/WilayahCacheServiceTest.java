@@ -0,0 +1,167 @@
+package com.shadcn.backend.service;
+
+import com.shadcn.backend.repository.WilayahKecamatanRepository;
+import com.shadcn.backend.repository.WilayahKelurahanRepository;
+import com.shadcn.backend.repository.WilayahKotaRepository;
+import com.shadcn.backend.repository.WilayahProvinsiRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WilayahCacheService.resolveNames called from a read-only transaction, as BiografiService
+ * does. The transaction manager stub joins REQUIRED transactions like Spring does and counts
+ * transactions opened while the thread already has one (a second connection), and the
+ * JdbcTemplate mock rejects writes on a read-only transaction like a MySQL connection.
+ */
+class WilayahCacheServiceTest {
+
+    private final StubTransactionManager transactionManager = new StubTransactionManager();
+    private final WilayahService wilayahService = mock(WilayahService.class);
+    private final WilayahKotaRepository kotaRepository = mock(WilayahKotaRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private WilayahCacheService wilayahCacheService;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        wilayahCacheService = new WilayahCacheService();
+        ReflectionTestUtils.setField(wilayahCacheService, "provinsiRepository", mock(WilayahProvinsiRepository.class));
+        ReflectionTestUtils.setField(wilayahCacheService, "kotaRepository", kotaRepository);
+        ReflectionTestUtils.setField(wilayahCacheService, "kecamatanRepository", mock(WilayahKecamatanRepository.class));
+        ReflectionTestUtils.setField(wilayahCacheService, "kelurahanRepository", mock(WilayahKelurahanRepository.class));
+        ReflectionTestUtils.setField(wilayahCacheService, "wilayahService", wilayahService);
+        ReflectionTestUtils.setField(wilayahCacheService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(wilayahCacheService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(wilayahCacheService, "transactionManager", transactionManager);
+        wilayahCacheService.init();
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        when(wilayahService.getRegencies("33")).thenReturn(Map.of("data", List.of(
+            Map.of("code", "33.01", "name", "Kabupaten Cilacap"),
+            Map.of("code", "33.02", "name", "Kabupaten Banyumas"))));
+    }
+
+    @Test
+    void upsertFromReadOnlyTransactionRunsInItsOwnTransaction() {
+        rejectWritesOnReadOnlyTransactions();
+
+        Map<String, String> names = readOnly.execute(status -> wilayahCacheService.resolveNames(List.of("33.02")));
+
+        assertThat(names).containsExactly(Map.entry("33.02", "Kabupaten Banyumas"));
+        verify(jdbcTemplate, timeout(1000)).batchUpdate(anyString(), any(), anyInt(), any());
+        assertThat(transactionManager.writesRejected).hasValue(0);
+        assertThat(transactionManager.nestedTransactions).hasValue(0);
+    }
+
+    @Test
+    void upsertOutsideATransactionRunsRightAway() {
+        rejectWritesOnReadOnlyTransactions();
+
+        assertThat(wilayahCacheService.resolveNames(List.of("33.01"))).containsEntry("33.01", "Kabupaten Cilacap");
+
+        verify(jdbcTemplate).batchUpdate(anyString(), any(), anyInt(), any());
+        assertThat(transactionManager.nestedTransactions).hasValue(0);
+    }
+
+    @Test
+    void namesFetchedRemotelyStayCachedWhenTheUpsertFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(), anyInt(), any()))
+            .thenThrow(new TransientDataAccessResourceException("Connection is read-only"));
+
+        Map<String, String> first = readOnly.execute(status -> wilayahCacheService.resolveNames(List.of("33.02")));
+        Map<String, String> second = readOnly.execute(status -> wilayahCacheService.resolveNames(List.of("33.01", "33.02")));
+
+        assertThat(first).containsEntry("33.02", "Kabupaten Banyumas");
+        assertThat(second).containsEntry("33.01", "Kabupaten Cilacap").containsEntry("33.02", "Kabupaten Banyumas");
+        verify(wilayahService, times(1)).getRegencies("33");
+        verify(kotaRepository, times(1)).findByKodeIn(any());
+    }
+
+    private void rejectWritesOnReadOnlyTransactions() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(), anyInt(), any())).thenAnswer(invocation -> {
+            if (transactionManager.currentIsReadOnly()) {
+                throw new TransientDataAccessResourceException("Connection is read-only");
+            }
+            return new int[][] {{1, 1}};
+        });
+    }
+
+    /**
+     * Tracks the read-only flag of the innermost transaction per thread; REQUIRED joins an
+     * existing transaction and inherits its flag, REQUIRES_NEW starts its own. Also marks the
+     * thread's transaction as active, as the service checks that before writing.
+     */
+    private static class StubTransactionManager implements PlatformTransactionManager {
+
+        private final ThreadLocal<Deque<Boolean>> readOnlyStack = ThreadLocal.withInitial(ArrayDeque::new);
+        private final AtomicInteger writesRejected = new AtomicInteger();
+        private final AtomicInteger nestedTransactions = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            Deque<Boolean> stack = readOnlyStack.get();
+            boolean joins = !stack.isEmpty() && (definition == null
+                || definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED);
+            if (!joins && !stack.isEmpty()) {
+                nestedTransactions.incrementAndGet();
+            }
+            boolean readOnly = joins ? stack.peek() : definition != null && definition.isReadOnly();
+            stack.push(readOnly);
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            return new SimpleTransactionStatus(!joins);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            end();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            end();
+        }
+
+        private void end() {
+            Deque<Boolean> stack = readOnlyStack.get();
+            stack.pop();
+            TransactionSynchronizationManager.setActualTransactionActive(!stack.isEmpty());
+        }
+
+        boolean currentIsReadOnly() {
+            boolean readOnly = Boolean.TRUE.equals(readOnlyStack.get().peek());
+            if (readOnly) {
+                writesRejected.incrementAndGet();
+            }
+            return readOnly;
+        }
+    }
+}